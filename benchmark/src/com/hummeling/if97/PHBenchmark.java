@@ -0,0 +1,92 @@
+/*
+ * PHBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.function.DoubleBinaryOperator;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Properties as a function of pressure &amp; specific enthalpy, per region.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class PHBenchmark extends PropertyBenchmark {
+
+    @Param({"1", "2", "3", "4", "5"})
+    public int region;
+    @Param({"PrandtlPH", "compressibilityPH", "dielectricConstantPH",
+        "dynamicViscosityPH", "isobaricCubicExpansionCoefficientPH",
+        "isobaricHeatCapacityPH", "isochoricHeatCapacityPH",
+        "kinematicViscosityPH", "specificEntropyPH", "specificInternalEnergyPH",
+        "specificVolumePH", "statePH", "statePHHolder", "temperaturePH",
+        "thermalConductivityPH"})
+    public String function;
+
+    @Benchmark
+    public double evaluate() {
+        return next();
+    }
+
+    @Setup
+    public void setUp() {
+        setUp(region, IF97.Quantity.p, IF97.Quantity.h, property(if97, function));
+    }
+
+    static DoubleBinaryOperator property(final IF97 if97, String name) {
+        final MutableThermodynamicState state = new MutableThermodynamicState();
+
+        switch (name) {
+            case "PrandtlPH":
+                return if97::PrandtlPH;
+            case "compressibilityPH":
+                return if97::compressibilityPH;
+            case "dielectricConstantPH":
+                return if97::dielectricConstantPH;
+            case "dynamicViscosityPH":
+                return if97::dynamicViscosityPH;
+            case "isobaricCubicExpansionCoefficientPH":
+                return if97::isobaricCubicExpansionCoefficientPH;
+            case "isobaricHeatCapacityPH":
+                return if97::isobaricHeatCapacityPH;
+            case "isochoricHeatCapacityPH":
+                return if97::isochoricHeatCapacityPH;
+            case "kinematicViscosityPH":
+                return if97::kinematicViscosityPH;
+            case "specificEntropyPH":
+                return if97::specificEntropyPH;
+            case "specificInternalEnergyPH":
+                return if97::specificInternalEnergyPH;
+            case "specificVolumePH":
+                return if97::specificVolumePH;
+            case "statePH":
+                return (p, h) -> if97.statePH(p, h).getTemperature();
+            case "statePHHolder":
+                return (p, h) -> if97.statePH(p, h, state).getTemperature();
+            case "temperaturePH":
+                return if97::temperaturePH;
+            case "thermalConductivityPH":
+                return if97::thermalConductivityPH;
+            default:
+                throw new IllegalArgumentException("Unknown function: " + name);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * PTBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.function.DoubleBinaryOperator;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Properties as a function of pressure &amp; temperature, per region.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class PTBenchmark extends PropertyBenchmark {
+
+    @Param({"1", "2", "3", "5"})
+    public int region;
+    @Param({"PrandtlPT", "compressibilityPT", "dielectricConstantPT",
+        "dynamicViscosityPT", "isobaricCubicExpansionCoefficientPT",
+        "isobaricHeatCapacityPT", "isochoricHeatCapacityPT",
+        "kinematicViscosityPT", "partialDerivativePT", "refractiveIndexPTLambda",
+        "specificEnthalpyPT", "specificEntropyPT", "specificInternalEnergyPT",
+        "specificVolumePT", "statePT", "statePTHolder", "thermalConductivityPT"})
+    public String function;
+
+    @Benchmark
+    public double evaluate() {
+        return next();
+    }
+
+    @Setup
+    public void setUp() {
+        setUp(region, IF97.Quantity.p, IF97.Quantity.T, property(if97, function));
+    }
+
+    static DoubleBinaryOperator property(final IF97 if97, String name) {
+        final MutableThermodynamicState state = new MutableThermodynamicState();
+
+        switch (name) {
+            case "PrandtlPT":
+                return if97::PrandtlPT;
+            case "compressibilityPT":
+                return if97::compressibilityPT;
+            case "dielectricConstantPT":
+                return if97::dielectricConstantPT;
+            case "dynamicViscosityPT":
+                return if97::dynamicViscosityPT;
+            case "isobaricCubicExpansionCoefficientPT":
+                return if97::isobaricCubicExpansionCoefficientPT;
+            case "isobaricHeatCapacityPT":
+                return if97::isobaricHeatCapacityPT;
+            case "isochoricHeatCapacityPT":
+                return if97::isochoricHeatCapacityPT;
+            case "kinematicViscosityPT":
+                return if97::kinematicViscosityPT;
+            case "partialDerivativePT":
+                return (p, T) -> if97.partialDerivativePT(p, T, IF97.Quantity.h, IF97.Quantity.T, IF97.Quantity.p);
+            case "refractiveIndexPTLambda":
+                return (p, T) -> if97.refractiveIndexPTLambda(p, T, 0.5893);
+            case "specificEnthalpyPT":
+                return if97::specificEnthalpyPT;
+            case "specificEntropyPT":
+                return if97::specificEntropyPT;
+            case "specificInternalEnergyPT":
+                return if97::specificInternalEnergyPT;
+            case "specificVolumePT":
+                return if97::specificVolumePT;
+            case "statePT":
+                return (p, T) -> if97.statePT(p, T).getSpecificEnthalpy();
+            case "statePTHolder":
+                return (p, T) -> if97.statePT(p, T, state).getSpecificEnthalpy();
+            case "thermalConductivityPT":
+                return if97::thermalConductivityPT;
+            default:
+                throw new IllegalArgumentException("Unknown function: " + name);
+        }
+    }
+}
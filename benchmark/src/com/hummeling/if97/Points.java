@@ -0,0 +1,166 @@
+/*
+ * Points.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.Random;
+
+/**
+ * Benchmark input points of a single region in default units, starting with
+ * the IAPWS-IF97 verification points of the region tests followed by
+ * randomized in-range points. The random generator is seeded, so every run
+ * and every commit benchmarks the same points.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+final class Points {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    /**
+     * Number of candidate points per region.
+     */
+    static final int CANDIDATES = 4096;
+    private static final long SEED = 97;
+    /**
+     * Verification (p [MPa], T [K]) pairs of regions 1, 2, 3 &amp; 5, see
+     * Region1Test, Region2Test, Region3Test &amp; Region5Test. The region 3
+     * pairs are the (rho, T) verification points converted to pressure.
+     */
+    private static final double[][][] VERIFICATION = {
+        {},
+        {{3, 300}, {80, 300}, {3, 500}},
+        {{0.0035, 300}, {0.0035, 700}, {30, 700}},
+        {{25.5837018, 650}, {22.2930643, 650}, {78.3095639, 750}},
+        {},
+        {{0.5, 1500}, {30, 1500}, {30, 2000}}
+    };
+    /**
+     * Verification saturation temperatures [K] of region 4, see Region4Test,
+     * each as saturated liquid, wet steam &amp; saturated vapour.
+     */
+    private static final double[] VERIFICATION4 = {300, 500, 600};
+    final double[] p = new double[CANDIDATES],
+            T = new double[CANDIDATES],
+            h = new double[CANDIDATES],
+            s = new double[CANDIDATES],
+            u = new double[CANDIDATES],
+            v = new double[CANDIDATES],
+            rho = new double[CANDIDATES];
+    // </editor-fold>
+
+    /**
+     * Generate the points of the specified region.
+     *
+     * @param region region number, 1 to 5
+     */
+    Points(int region) {
+
+        if (region < 1 || region > 5) {
+            throw new IllegalArgumentException("Region should be 1 to 5: " + region);
+        }
+        Random random = new Random(SEED + region);
+        MutableThermodynamicState liquid = new MutableThermodynamicState(),
+                vapour = new MutableThermodynamicState();
+        int i = 0;
+
+        if (region == 4) {
+            for (double Tsat : VERIFICATION4) {
+                for (double x = 0; x <= 1; x += 0.5) {
+                    setWet(i++, Tsat, x, liquid, vapour);
+                }
+            }
+            while (i < CANDIDATES) {
+                setWet(i++, 273.16 + (623.15 - 273.16) * random.nextDouble(), random.nextDouble(), liquid, vapour);
+            }
+        } else {
+            for (double[] pT : VERIFICATION[region]) {
+                set(i++, pT[0], pT[1], liquid);
+            }
+            double Tmin = region == 5 ? 1073.15 : 273.15,
+                    Tmax = region == 5 ? 2273.15 : 1073.15;
+
+            while (i < CANDIDATES) {
+                double pressure = 6.117e-4 * Math.pow(100 / 6.117e-4, random.nextDouble()),
+                        temperature = Tmin + (Tmax - Tmin) * random.nextDouble();
+
+                try {
+                    if (Region.getRegionPT(pressure, temperature).ID == region) {
+                        set(i++, pressure, temperature, liquid);
+                    }
+                } catch (OutOfRangeException e) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Points of the specified quantity.
+     *
+     * @param quantity quantity
+     * @return points
+     */
+    double[] get(IF97.Quantity quantity) {
+
+        switch (quantity) {
+            case p:
+                return p;
+            case T:
+                return T;
+            case h:
+                return h;
+            case s:
+                return s;
+            case u:
+                return u;
+            case nu:
+                return v;
+            case rho:
+                return rho;
+            default:
+                throw new IllegalArgumentException("No points available for: " + quantity);
+        }
+    }
+
+    private void set(int i, double pressure, double temperature, MutableThermodynamicState state) {
+        RegionDispatch.statePT(Region.getRegionPT(pressure, temperature), pressure, temperature, state);
+        p[i] = pressure;
+        T[i] = temperature;
+        h[i] = state.h;
+        s[i] = state.s;
+        u[i] = state.u;
+        v[i] = state.v;
+        rho[i] = 1 / state.v;
+    }
+
+    private void setWet(int i, double temperature, double x, MutableThermodynamicState liquid, MutableThermodynamicState vapour) {
+        double pressure = Region4.saturationPressureT(temperature);
+
+        Regions.REGION1.statePT(pressure, temperature, liquid);
+        Regions.REGION2.statePT(pressure, temperature, vapour);
+        p[i] = pressure;
+        T[i] = temperature;
+        h[i] = liquid.h + x * (vapour.h - liquid.h);
+        s[i] = liquid.s + x * (vapour.s - liquid.s);
+        u[i] = liquid.u + x * (vapour.u - liquid.u);
+        v[i] = liquid.v + x * (vapour.v - liquid.v);
+        rho[i] = 1 / v[i];
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * PropertyBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleBinaryOperator;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Common state of the property benchmarks: a cycle of input pairs of a single
+ * region, each in range of the benchmarked property. Every fork benchmarks a
+ * single property, so its call site stays monomorphic.
+ *
+ * Settings are fixed here rather than on the command line, so results of
+ * different commits are comparable.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public abstract class PropertyBenchmark {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    /**
+     * Number of input pairs per cycle, a power of 2.
+     */
+    static final int SIZE = 1024;
+    final IF97 if97 = IF97.of(IF97.UnitSystem.DEFAULT);
+    private final double[] x = new double[SIZE], y = new double[SIZE];
+    private DoubleBinaryOperator property;
+    private int index;
+    // </editor-fold>
+
+    /**
+     * Evaluate the property for the next input pair.
+     *
+     * @return property value
+     */
+    final double next() {
+        int i = index = index + 1 & SIZE - 1;
+        return property.applyAsDouble(x[i], y[i]);
+    }
+
+    /**
+     * Select the input pairs of a region for which the property is in range,
+     * verification points first. Pairs the library fails on are skipped too
+     * but reported, together with the first failure, as they indicate a
+     * library bug rather than a range limit. The property isn't available in
+     * the region if no pairs remain.
+     *
+     * @param region region number
+     * @param qx quantity of the first argument
+     * @param qy quantity of the second argument
+     * @param property benchmarked property
+     */
+    final void setUp(int region, IF97.Quantity qx, IF97.Quantity qy, DoubleBinaryOperator property) {
+        Points points = new Points(region);
+        double[] px = points.get(qx), py = points.get(qy);
+        RuntimeException failure = null;
+        int n = 0, outOfRange = 0, failed = 0;
+
+        // all candidates are tried, so failures beyond the selection count too
+        for (int i = 0; i < Points.CANDIDATES; i++) {
+            try {
+                if (Double.isNaN(property.applyAsDouble(px[i], py[i]))) {
+                    outOfRange++;
+                } else if (n < SIZE) {
+                    x[n] = px[i];
+                    y[n++] = py[i];
+                }
+            } catch (OutOfRangeException e) {
+                outOfRange++;
+            } catch (RuntimeException e) {
+                if (failed++ == 0) {
+                    failure = e;
+                }
+            }
+        }
+        if (failed > 0) {
+            System.err.println("Region " + region + ": " + failed + " of " + Points.CANDIDATES
+                    + " points failed, first: " + failure);
+        }
+        if (outOfRange > 0) {
+            System.err.println("Region " + region + ": " + outOfRange + " of " + Points.CANDIDATES
+                    + " points out of range.");
+        }
+        if (n == 0) {
+            throw new IllegalStateException("Property not available in region " + region + ".", failure);
+        }
+        for (int i = n; i < SIZE; i++) {
+            x[i] = x[i % n];
+            y[i] = y[i % n];
+        }
+        this.property = property;
+        index = 0;
+    }
+}
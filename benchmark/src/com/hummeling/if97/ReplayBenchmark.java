@@ -0,0 +1,180 @@
+/*
+ * ReplayBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Function;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Replays a trace recorded by {@link TraceRecorder} through the public
+ * property functions, in recorded order &amp; units, one call per
+ * invocation. Sample time mode reports the latency percentiles, throughput
+ * mode the calls per microsecond. Out-of-range calls of the trace are
+ * replayed too, they count as regular calls.
+ *
+ * <pre>
+ * ant replay -Dtrace=plant.trace
+ * </pre>
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ReplayBenchmark {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    /**
+     * Trace file.
+     */
+    @Param("")
+    public String trace;
+    private Trace calls;
+    private IF97[] instances;
+    private int index;
+    // </editor-fold>
+
+    /**
+     * Evaluate a traced call.
+     *
+     * @param if97 IF97 instance in the units of the call
+     * @param function traced function
+     * @param x first input
+     * @param y second input
+     * @return property value
+     */
+    static double call(IF97 if97, Function function, double x, double y) {
+
+        switch (function) {
+            case PRANDTL_HS:
+                return if97.PrandtlHS(x, y);
+            case PRANDTL_PH:
+                return if97.PrandtlPH(x, y);
+            case PRANDTL_PT:
+                return if97.PrandtlPT(x, y);
+            case COMPRESSIBILITY_HS:
+                return if97.compressibilityHS(x, y);
+            case COMPRESSIBILITY_PH:
+                return if97.compressibilityPH(x, y);
+            case COMPRESSIBILITY_PT:
+                return if97.compressibilityPT(x, y);
+            case DIELECTRIC_CONSTANT_PH:
+                return if97.dielectricConstantPH(x, y);
+            case DIELECTRIC_CONSTANT_PT:
+                return if97.dielectricConstantPT(x, y);
+            case DIELECTRIC_CONSTANT_RHOT:
+                return if97.dielectricConstantRhoT(x, y);
+            case DYNAMIC_VISCOSITY_PH:
+                return if97.dynamicViscosityPH(x, y);
+            case DYNAMIC_VISCOSITY_PT:
+                return if97.dynamicViscosityPT(x, y);
+            case DYNAMIC_VISCOSITY_RHOT:
+                return if97.dynamicViscosityRhoT(x, y);
+            case ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PH:
+                return if97.isobaricCubicExpansionCoefficientPH(x, y);
+            case ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PT:
+                return if97.isobaricCubicExpansionCoefficientPT(x, y);
+            case ISOBARIC_HEAT_CAPACITY_PH:
+                return if97.isobaricHeatCapacityPH(x, y);
+            case ISOBARIC_HEAT_CAPACITY_PT:
+                return if97.isobaricHeatCapacityPT(x, y);
+            case ISOCHORIC_HEAT_CAPACITY_PH:
+                return if97.isochoricHeatCapacityPH(x, y);
+            case ISOCHORIC_HEAT_CAPACITY_PT:
+                return if97.isochoricHeatCapacityPT(x, y);
+            case KINEMATIC_VISCOSITY_PH:
+                return if97.kinematicViscosityPH(x, y);
+            case KINEMATIC_VISCOSITY_PT:
+                return if97.kinematicViscosityPT(x, y);
+            case KINEMATIC_VISCOSITY_RHOT:
+                return if97.kinematicViscosityRhoT(x, y);
+            case PRESSURE_HS:
+                return if97.pressureHS(x, y);
+            case SPECIFIC_ENTHALPY_PT:
+                return if97.specificEnthalpyPT(x, y);
+            case SPECIFIC_ENTROPY_PH:
+                return if97.specificEntropyPH(x, y);
+            case SPECIFIC_ENTROPY_PT:
+                return if97.specificEntropyPT(x, y);
+            case SPECIFIC_INTERNAL_ENERGY_HS:
+                return if97.specificInternalEnergyHS(x, y);
+            case SPECIFIC_INTERNAL_ENERGY_PH:
+                return if97.specificInternalEnergyPH(x, y);
+            case SPECIFIC_INTERNAL_ENERGY_PT:
+                return if97.specificInternalEnergyPT(x, y);
+            case SPECIFIC_VOLUME_PH:
+                return if97.specificVolumePH(x, y);
+            case SPECIFIC_VOLUME_PT:
+                return if97.specificVolumePT(x, y);
+            case TEMPERATURE_HS:
+                return if97.temperatureHS(x, y);
+            case TEMPERATURE_PH:
+                return if97.temperaturePH(x, y);
+            case THERMAL_CONDUCTIVITY_PH:
+                return if97.thermalConductivityPH(x, y);
+            case THERMAL_CONDUCTIVITY_PT:
+                return if97.thermalConductivityPT(x, y);
+            case VAPOUR_FRACTION_HS:
+                return if97.vapourFractionHS(x, y);
+            default:
+                throw new IllegalArgumentException("Unknown function: " + function);
+        }
+    }
+
+    @Benchmark
+    public double replay() {
+        int i = index;
+        index = i + 1 < calls.X.length ? i + 1 : 0;
+
+        try {
+            return call(instances[calls.UNIT[i]], calls.FUNCTIONS[i], calls.X[i], calls.Y[i]);
+
+        } catch (OutOfRangeException e) {
+            return Double.NaN;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+
+        if (trace.isEmpty()) {
+            throw new IllegalStateException("Trace file should be given: -p trace=<file>");
+        }
+        calls = Trace.read(Paths.get(trace));
+
+        if (calls.X.length == 0) {
+            throw new IllegalStateException("Trace file holds no calls: " + trace);
+        }
+        instances = new IF97[calls.UNITS.length];
+
+        for (int i = 0; i < instances.length; i++) {
+            instances[i] = IF97.of(calls.UNITS[i]);
+        }
+        index = 0;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * RhoTBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.function.DoubleBinaryOperator;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Properties as a function of density &amp; temperature, per region.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class RhoTBenchmark extends PropertyBenchmark {
+
+    @Param({"1", "2", "3", "4", "5"})
+    public int region;
+    @Param({"dielectricConstantRhoT", "dynamicViscosityRhoT",
+        "kinematicViscosityRhoT", "partialDerivativeRhoT",
+        "refractiveIndexRhoTLambda"})
+    public String function;
+
+    @Benchmark
+    public double evaluate() {
+        return next();
+    }
+
+    @Setup
+    public void setUp() {
+        setUp(region, IF97.Quantity.rho, IF97.Quantity.T, property(if97, function));
+    }
+
+    static DoubleBinaryOperator property(final IF97 if97, String name) {
+
+        switch (name) {
+            case "dielectricConstantRhoT":
+                return if97::dielectricConstantRhoT;
+            case "dynamicViscosityRhoT":
+                return if97::dynamicViscosityRhoT;
+            case "kinematicViscosityRhoT":
+                return if97::kinematicViscosityRhoT;
+            case "partialDerivativeRhoT":
+                return (rho, T) -> if97.partialDerivativeRhoT(rho, T, IF97.Quantity.h, IF97.Quantity.T, IF97.Quantity.p);
+            case "refractiveIndexRhoTLambda":
+                return (rho, T) -> if97.refractiveIndexRhoTLambda(rho, T, 0.5893);
+            default:
+                throw new IllegalArgumentException("Unknown function: " + name);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * SaturationBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Saturation properties, on the region 4 points.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class SaturationBenchmark extends PropertyBenchmark {
+
+    @Param({"saturationPressureH", "saturationPressureS", "saturationPressureT",
+        "saturationTemperatureP", "surfaceTensionT"})
+    public String function;
+
+    @Benchmark
+    public double evaluate() {
+        return next();
+    }
+
+    @Setup
+    public void setUp() {
+
+        switch (function) {
+            case "saturationPressureH":
+                setUp(4, IF97.Quantity.h, IF97.Quantity.h, property(if97::saturationPressureH));
+                break;
+            case "saturationPressureS":
+                setUp(4, IF97.Quantity.s, IF97.Quantity.s, property(if97::saturationPressureS));
+                break;
+            case "saturationPressureT":
+                setUp(4, IF97.Quantity.T, IF97.Quantity.T, property(if97::saturationPressureT));
+                break;
+            case "saturationTemperatureP":
+                setUp(4, IF97.Quantity.p, IF97.Quantity.p, property(if97::saturationTemperatureP));
+                break;
+            case "surfaceTensionT":
+                setUp(4, IF97.Quantity.T, IF97.Quantity.T, property(if97::surfaceTensionT));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown function: " + function);
+        }
+    }
+
+    private static DoubleBinaryOperator property(final DoubleUnaryOperator function) {
+        return (x, y) -> function.applyAsDouble(x);
+    }
+}
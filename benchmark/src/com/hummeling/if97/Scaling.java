@@ -0,0 +1,127 @@
+/*
+ * Scaling.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Scaling report of {@link ScalingBenchmark}: runs the workload on 1, 2, 4,
+ * &hellip; up to the maximum number of threads, with shared &amp; per-thread
+ * IF97 instances, and reports throughput, scaling efficiency &amp; allocation
+ * rate per thread count.
+ *
+ * Scaling efficiency is the throughput relative to the single-thread
+ * throughput times the number of threads, it drops below 1 when threads
+ * contend on shared state or wait for the garbage collector.
+ *
+ * <pre>
+ * java -cp benchmarks.jar com.hummeling.if97.Scaling [max threads [CSV file]]
+ * </pre>
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class Scaling {
+
+    private static final String HEADER = "instances,threads,ops/us,efficiency,alloc MB/s,alloc B/op";
+
+    private Scaling() {
+    }
+
+    /**
+     * Thread counts, powers of 2 followed by the maximum.
+     *
+     * @param max maximum number of threads
+     * @return thread counts
+     */
+    static List<Integer> threadCounts(int max) {
+
+        if (max < 1) {
+            throw new IllegalArgumentException("Maximum number of threads should be positive: " + max);
+        }
+        List<Integer> counts = new ArrayList<>();
+
+        for (int n = 1; n < max; n *= 2) {
+            counts.add(n);
+        }
+        counts.add(max);
+        return counts;
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        int max = args.length > 0 && !args[0].isEmpty() ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        List<String> rows = new ArrayList<>();
+        rows.add(HEADER);
+
+        for (String instances : new String[]{"shared", "perThread"}) {
+            double single = Double.NaN;
+
+            for (int threads : threadCounts(max)) {
+                Options options = new OptionsBuilder()
+                        .include(ScalingBenchmark.class.getName() + ".evaluate")
+                        .param("instances", instances)
+                        .threads(threads)
+                        .addProfiler(GCProfiler.class)
+                        .build();
+                RunResult result = new Runner(options).run().iterator().next();
+                double score = result.getPrimaryResult().getScore();
+
+                if (threads == 1) {
+                    single = score;
+                }
+                rows.add(String.format(Locale.ROOT, "%s,%d,%.3f,%.3f,%.2f,%.2f",
+                        instances, threads, score, score / (threads * single),
+                        secondary(result, "gc.alloc.rate"), secondary(result, "gc.alloc.rate.norm")));
+            }
+        }
+        System.out.println();
+
+        for (String row : rows) {
+            String[] columns = row.split(",");
+            System.out.println(String.format(Locale.ROOT, "%-10s %8s %10s %11s %11s %11s", (Object[]) columns));
+        }
+        if (args.length > 1) {
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(args[1])))) {
+                for (String row : rows) {
+                    writer.println(row);
+                }
+            }
+        }
+    }
+
+    private static double secondary(RunResult result, String label) {
+        Result secondary = result.getSecondaryResults().get(label);
+        return secondary == null ? Double.NaN : secondary.getScore();
+    }
+}
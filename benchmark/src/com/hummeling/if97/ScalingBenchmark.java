@@ -0,0 +1,205 @@
+/*
+ * ScalingBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Fixed mixed workload of PT, PH &amp; HS calls across all regions, for
+ * running on a varying number of threads, see {@link Scaling}. The threads
+ * either share a single IF97 instance or each use their own, so contention on
+ * shared state in the library shows up as the difference between the two.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ScalingBenchmark {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    /**
+     * Number of calls per workload cycle, a power of 2.
+     */
+    static final int SIZE = 4096;
+    private static final long SEED = 97;
+    /**
+     * Functions of the workload, each with the regions it is evaluated in.
+     */
+    private static final String[] FUNCTIONS = {
+        "specificEnthalpyPT", "specificVolumePT",
+        "temperaturePH", "specificEntropyPH",
+        "pressureHS", "temperatureHS"
+    };
+    private static final int[][] REGIONS = {
+        {1, 2, 3, 5}, {1, 2, 3, 5},
+        {1, 2, 3, 4, 5}, {1, 2, 3, 4, 5},
+        {1, 2, 3, 4}, {1, 2, 3, 4}
+    };
+    // </editor-fold>
+
+    /**
+     * Calls of the workload, shared read-only by all threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Workload {
+
+        /**
+         * Whether the threads share an IF97 instance.
+         */
+        @Param({"shared", "perThread"})
+        public String instances;
+        final int[] function = new int[SIZE];
+        final double[] x = new double[SIZE], y = new double[SIZE];
+
+        /**
+         * Interleave the in-range points of every function &amp; region in a
+         * seeded random order, so every run has the same region mix.
+         */
+        @Setup
+        public void setUp() {
+            IF97 if97 = new IF97();
+            List<double[]> calls = new ArrayList<>();
+            Points[] points = new Points[6];
+
+            for (int region = 1; region <= 5; region++) {
+                points[region] = new Points(region);
+            }
+            for (int f = 0; f < FUNCTIONS.length; f++) {
+                IF97.Quantity[] quantities = arguments(FUNCTIONS[f]);
+                int perRegion = SIZE / FUNCTIONS.length / REGIONS[f].length + 1;
+
+                for (int region : REGIONS[f]) {
+                    double[] px = points[region].get(quantities[0]),
+                            py = points[region].get(quantities[1]);
+                    int n = 0;
+
+                    for (int i = 0; i < Points.CANDIDATES && n < perRegion; i++) {
+                        try {
+                            if (!Double.isNaN(call(if97, f, px[i], py[i]))) {
+                                calls.add(new double[]{f, px[i], py[i]});
+                                n++;
+                            }
+                        } catch (RuntimeException e) {
+                        }
+                    }
+                    if (n == 0) {
+                        throw new IllegalStateException(FUNCTIONS[f] + " not available in region " + region + ".");
+                    }
+                }
+            }
+            Collections.shuffle(calls, new Random(SEED));
+
+            for (int i = 0; i < SIZE; i++) {
+                double[] call = calls.get(i % calls.size());
+                function[i] = (int) call[0];
+                x[i] = call[1];
+                y[i] = call[2];
+            }
+        }
+    }
+
+    /**
+     * Position in the workload &amp; IF97 instance of a thread.
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+
+        IF97 if97;
+        int index;
+
+        /**
+         * Threads start at different positions, they run the same calls but
+         * not in lockstep.
+         *
+         * @param workload workload
+         */
+        @Setup
+        public void setUp(Workload workload) {
+            if97 = workload.instances.equals("shared")
+                    ? IF97.of(IF97.UnitSystem.DEFAULT)
+                    : new IF97(IF97.UnitSystem.DEFAULT);
+            index = (int) (Thread.currentThread().getId() * 997) & SIZE - 1;
+        }
+    }
+
+    /**
+     * Arguments of the specified workload function.
+     *
+     * @param name function name
+     * @return argument quantities
+     */
+    private static IF97.Quantity[] arguments(String name) {
+        String suffix = name.substring(name.length() - 2);
+
+        switch (suffix) {
+            case "PT":
+                return new IF97.Quantity[]{IF97.Quantity.p, IF97.Quantity.T};
+            case "PH":
+                return new IF97.Quantity[]{IF97.Quantity.p, IF97.Quantity.h};
+            case "HS":
+                return new IF97.Quantity[]{IF97.Quantity.h, IF97.Quantity.s};
+            default:
+                throw new IllegalArgumentException("Unknown arguments: " + suffix);
+        }
+    }
+
+    /**
+     * Evaluate a workload function.
+     *
+     * @param if97 IF97 instance
+     * @param function index in FUNCTIONS
+     * @param x first argument
+     * @param y second argument
+     * @return property value
+     */
+    static double call(IF97 if97, int function, double x, double y) {
+
+        switch (function) {
+            case 0:
+                return if97.specificEnthalpyPT(x, y);
+            case 1:
+                return if97.specificVolumePT(x, y);
+            case 2:
+                return if97.temperaturePH(x, y);
+            case 3:
+                return if97.specificEntropyPH(x, y);
+            case 4:
+                return if97.pressureHS(x, y);
+            default:
+                return if97.temperatureHS(x, y);
+        }
+    }
+
+    @Benchmark
+    public double evaluate(Workload workload, Caller caller) {
+        int i = caller.index = caller.index + 1 & SIZE - 1;
+        return call(caller.if97, workload.function[i], workload.x[i], workload.y[i]);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * VUBenchmark.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.function.DoubleBinaryOperator;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Properties as a function of specific volume &amp; specific internal energy,
+ * per region.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class VUBenchmark extends PropertyBenchmark {
+
+    @Param({"1", "2", "3", "4"})
+    public int region;
+    @Param({"pressureVU", "specificEnthalpyVU", "specificEntropyVU", "stateVU",
+        "stateVUHolder", "temperatureVU", "vapourFractionVU"})
+    public String function;
+
+    @Benchmark
+    public double evaluate() {
+        return next();
+    }
+
+    @Setup
+    public void setUp() {
+        setUp(region, IF97.Quantity.nu, IF97.Quantity.u, property(if97, function));
+    }
+
+    static DoubleBinaryOperator property(final IF97 if97, String name) {
+        final MutableThermodynamicState state = new MutableThermodynamicState();
+
+        switch (name) {
+            case "pressureVU":
+                return if97::pressureVU;
+            case "specificEnthalpyVU":
+                return if97::specificEnthalpyVU;
+            case "specificEntropyVU":
+                return if97::specificEntropyVU;
+            case "stateVU":
+                return (v, u) -> if97.stateVU(v, u).getPressure();
+            case "stateVUHolder":
+                return (v, u) -> if97.stateVU(v, u, state).getPressure();
+            case "temperatureVU":
+                return if97::temperatureVU;
+            case "vapourFractionVU":
+                return if97::vapourFractionVU;
+            default:
+                throw new IllegalArgumentException("Unknown function: " + name);
+        }
+    }
+}
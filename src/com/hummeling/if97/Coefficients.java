@@ -0,0 +1,83 @@
+/*
+ * Coefficients.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+/**
+ * Coefficient table of an IAPWS-IF97 polynomial.
+ *
+ * The table is written down row by row, as in the IAPWS releases, but stored
+ * column by column in separate exponent &amp; coefficient arrays.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+final class Coefficients {
+
+// <editor-fold defaultstate="collapsed" desc="fields">
+    /**
+     * Exponents.
+     */
+    final int[] I, J;
+    /**
+     * Coefficients.
+     */
+    final double[] n;
+// </editor-fold>
+
+    /**
+     * Coefficient table.
+     *
+     * @param rows table rows {I, J, n}, or {I, n} for polynomials of a single
+     * variable, in which case all J are zero
+     */
+    Coefficients(double[][] rows) {
+
+        int length = rows.length;
+
+        I = new int[length];
+        J = new int[length];
+        n = new double[length];
+
+        for (int k = 0; k < length; k++) {
+            double[] row = rows[k];
+
+            I[k] = exponent(row[0]);
+
+            if (row.length == 2) {
+                n[k] = row[1];
+
+            } else {
+                J[k] = exponent(row[1]);
+                n[k] = row[2];
+            }
+        }
+    }
+
+    private static int exponent(double value) {
+
+        int exponent = (int) value;
+
+        if (exponent != value) {
+            throw new IllegalArgumentException("Non-integer exponent: " + value);
+        }
+        return exponent;
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ * GibbsBatch.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import static com.hummeling.if97.IF97.R;
+import static com.hummeling.if97.Region.*;
+import static com.hummeling.if97.Regions.*;
+import static java.lang.Math.*;
+import java.util.Arrays;
+
+/**
+ * Block evaluation of the Gibbs free energy of regions 1 &amp; 2 for batches.
+ *
+ * Points of a batch are gathered per region into blocks, the double sums are
+ * then evaluated term-outer &amp; point-inner. The inner loops are plain
+ * array arithmetic which HotSpot compiles to SIMD instructions where the
+ * processor supports them, and to scalar code elsewhere. Points in other
+ * regions are evaluated one at a time.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+final class GibbsBatch {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    /**
+     * Number of points per block, sized for the working set of the inner
+     * loops to stay in the L1 cache.
+     */
+    static final int BLOCK = 128;
+    /**
+     * Power table rows, covering the widest exponent range: J - 2 to J of
+     * regions 1 &amp; 2.
+     */
+    private static final int ROWS = 61;
+    private final int size;
+    private final int[] index1, index2;
+    private final double[] p1, T1, p2, T2, pi, tau, x, y;
+    private final double[][] g, gO, xPow, yPow;
+    private final RangeStatus status = new RangeStatus();
+// </editor-fold>
+
+    /**
+     * Scratch space for blocks of at most size points.
+     *
+     * @param size block size, at most {@link #BLOCK}
+     */
+    GibbsBatch(int size) {
+
+        this.size = size;
+        index1 = new int[size];
+        index2 = new int[size];
+        p1 = new double[size];
+        T1 = new double[size];
+        p2 = new double[size];
+        T2 = new double[size];
+        pi = new double[size];
+        tau = new double[size];
+        x = new double[size];
+        y = new double[size];
+        g = new double[6][size];
+        gO = new double[6][size];
+        xPow = new double[ROWS][size];
+        yPow = new double[ROWS][size];
+    }
+
+    /**
+     * Evaluate a function for the elements from (inclusive) to (exclusive),
+     * see {@link IF97}'s batch methods.
+     *
+     * @param function Gibbs free energy derived function
+     * @param unitX unit of pressure
+     * @param unitY unit of temperature
+     * @param unitOut unit of the result
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out results
+     * @param outOfRange out-of-range mask, may be null
+     * @param from first element
+     * @param to element after the last one
+     * @return number of out-of-range elements
+     */
+    int batch(IF97.Function function, Units.Conversion unitX, Units.Conversion unitY, Units.Conversion unitOut,
+            double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, int from, int to) {
+
+        int count = 0;
+        double ax = unitX.SCALE, bx = unitX.BIAS,
+                ay = unitY.SCALE, by = unitY.BIAS,
+                aOut = unitOut.SCALE, bOut = unitOut.BIAS;
+
+        for (int start = from; start < to; start += size) {
+            int end = min(start + size, to), n1 = 0, n2 = 0;
+
+            for (int i = start; i < end; i++) {
+                double p = pressure[i] * ax + bx, T = temperature[i] * ay + by;
+                boolean invalid = !isInRangePT(p, T, status);
+
+                if (!invalid) {
+                    try {
+                        Region region = getRegionPT(p, T);
+
+                        if (region == REGION1) {
+                            p1[n1] = p;
+                            T1[n1] = T;
+                            index1[n1++] = i;
+
+                        } else if (region == REGION2) {
+                            p2[n2] = p;
+                            T2[n2] = T;
+                            index2[n2++] = i;
+
+                        } else {
+                            out[i] = (function.calculate(p, T) - bOut) / aOut;
+                        }
+                    } catch (OutOfRangeException e) {
+                        invalid = true;
+                    }
+                }
+                if (invalid) {
+                    out[i] = Double.NaN;
+                    count++;
+                }
+                if (outOfRange != null) {
+                    outOfRange[i] = invalid;
+                }
+            }
+            if (n1 > 0) {
+                gammas1(n1);
+                scatter(function, p1, T1, index1, n1, out, aOut, bOut);
+            }
+            if (n2 > 0) {
+                gammas2(n2);
+                scatter(function, p2, T2, index2, n2, out, aOut, bOut);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Dimensionless Gibbs free energy of region 1 and its partial
+     * derivatives for the gathered points.
+     *
+     * @param n number of points
+     */
+    private void gammas1(int n) {
+
+        for (int j = 0; j < n; j++) {
+            pi[j] = p1[j] / Region1.pRef;
+            tau[j] = Region1.Tref / T1[j];
+            x[j] = 7.1 - pi[j];
+            y[j] = tau[j] - 1.222;
+        }
+        sums(Region1.IJn, n, g);
+
+        // derivatives to pi rather than to (7.1 - pi)
+        double[] g1 = g[1], g5 = g[5];
+
+        for (int j = 0; j < n; j++) {
+            g1[j] = -g1[j];
+            g5[j] = -g5[j];
+        }
+    }
+
+    /**
+     * Dimensionless Gibbs free energy of region 2, ideal-gas plus residual
+     * part, and its partial derivatives for the gathered points.
+     *
+     * @param n number of points
+     */
+    private void gammas2(int n) {
+
+        for (int j = 0; j < n; j++) {
+            pi[j] = p2[j] / Region2.pRef;
+            tau[j] = Region2.Tref / T2[j];
+            x[j] = pi[j];
+            y[j] = tau[j];
+        }
+        // ideal-gas part, the exponents I are 0 so only tau derivatives remain
+        sums(Region2.Jno, n, gO);
+
+        for (int j = 0; j < n; j++) {
+            y[j] = tau[j] - 0.5;
+        }
+        sums(Region2.IJnr, n, g);
+
+        for (int k = 0; k < 6; k++) {
+            double[] gk = g[k], gOk = gO[k];
+
+            for (int j = 0; j < n; j++) {
+                gk[j] += gOk[j];
+            }
+        }
+        double[] g0 = g[0], g1 = g[1], g2 = g[2];
+
+        for (int j = 0; j < n; j++) {
+            g0[j] += log(pi[j]);
+            g1[j] += 1 / pi[j];
+            g2[j] -= 1 / (pi[j] * pi[j]);
+        }
+    }
+
+    /**
+     * Fill a table with the integer powers lo to hi of the n first values.
+     *
+     * @param values values
+     * @param n number of values
+     * @param lo lowest exponent
+     * @param hi highest exponent
+     * @param pow table, row k holds the powers lo + k
+     */
+    private static void powers(double[] values, int n, int lo, int hi, double[][] pow) {
+
+        double[] one = pow[-lo];
+
+        for (int j = 0; j < n; j++) {
+            one[j] = 1;
+        }
+        for (int e = 1; e <= hi; e++) {
+            double[] row = pow[e - lo], previous = pow[e - 1 - lo];
+
+            for (int j = 0; j < n; j++) {
+                row[j] = previous[j] * values[j];
+            }
+        }
+        if (lo < 0) {
+            double[] inverse = pow[-1 - lo];
+
+            for (int j = 0; j < n; j++) {
+                inverse[j] = 1 / values[j];
+            }
+            for (int e = -2; e >= lo; e--) {
+                double[] row = pow[e - lo], previous = pow[e + 1 - lo];
+
+                for (int j = 0; j < n; j++) {
+                    row[j] = previous[j] * inverse[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute the Gibbs free energy derived property for the gathered points
+     * and scatter the results.
+     *
+     * @param function function
+     * @param p pressures [MPa]
+     * @param T temperatures [K]
+     * @param index batch indices
+     * @param n number of points
+     * @param out results
+     * @param aOut unit scale of the result
+     * @param bOut unit offset of the result
+     */
+    private void scatter(IF97.Function function, double[] p, double[] T, int[] index, int n,
+            double[] out, double aOut, double bOut) {
+
+        double[] g0 = g[0], g1 = g[1], g2 = g[2], g3 = g[3], g4 = g[4], g5 = g[5];
+
+        for (int j = 0; j < n; j++) {
+            double value, pij = pi[j], tj = tau[j];
+
+            switch (function) {
+                case COMPRESSIBILITY_PT:
+                    value = -pij * g2[j] / g1[j] / p[j];
+                    break;
+
+                case ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PT:
+                    value = (1 - tj * g5[j] / g1[j]) / T[j];
+                    break;
+
+                case ISOBARIC_HEAT_CAPACITY_PT:
+                    value = -tj * tj * g4[j] * R;
+                    break;
+
+                case ISOCHORIC_HEAT_CAPACITY_PT:
+                    double a = g1[j] - tj * g5[j];
+                    value = (-tj * tj * g4[j] + a * a / g2[j]) * R;
+                    break;
+
+                case SPECIFIC_ENTHALPY_PT:
+                    value = tj * g3[j] * R * T[j];
+                    break;
+
+                case SPECIFIC_ENTROPY_PT:
+                    value = (tj * g3[j] - g0[j]) * R;
+                    break;
+
+                case SPECIFIC_INTERNAL_ENERGY_PT:
+                    value = (tj * g3[j] - pij * g1[j]) * R * T[j];
+                    break;
+
+                case SPECIFIC_VOLUME_PT:
+                    value = pij * g1[j] / 1e3 * R * T[j] / p[j];
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("No Gibbs free energy batch for: " + function);
+            }
+            out[index[j]] = (value - bOut) / aOut;
+        }
+    }
+
+    /**
+     * Double sum &Sigma; n x<sup>I</sup> y<sup>J</sup> and its first &amp;
+     * second partial derivatives to x and y for the n first points.
+     *
+     * @param IJn coefficients
+     * @param n number of points
+     * @param sums sum, d/dx, d&sup2;/dx&sup2;, d/dy, d&sup2;/dy&sup2;,
+     * d&sup2;/dxdy
+     */
+    private void sums(Coefficients IJn, int n, double[][] sums) {
+
+        int[] I = IJn.I, J = IJn.J;
+        double[] c = IJn.n,
+                s0 = sums[0], s1 = sums[1], s2 = sums[2],
+                s3 = sums[3], s4 = sums[4], s5 = sums[5];
+        int iLo = 0, iHi = 0, jLo = 0, jHi = 0;
+
+        for (int k = 0; k < c.length; k++) {
+            iLo = min(iLo, I[k] - 2);
+            iHi = max(iHi, I[k]);
+            jLo = min(jLo, J[k] - 2);
+            jHi = max(jHi, J[k]);
+        }
+        powers(x, n, iLo, iHi, xPow);
+        powers(y, n, jLo, jHi, yPow);
+
+        for (int k = 0; k < 6; k++) {
+            Arrays.fill(sums[k], 0, n, 0);
+        }
+        for (int k = 0; k < c.length; k++) {
+            double[] xI = xPow[I[k] - iLo], xI1 = xPow[I[k] - 1 - iLo], xI2 = xPow[I[k] - 2 - iLo],
+                    yJ = yPow[J[k] - jLo], yJ1 = yPow[J[k] - 1 - jLo], yJ2 = yPow[J[k] - 2 - jLo];
+            double cI = c[k] * I[k], cII = cI * (I[k] - 1),
+                    cJ = c[k] * J[k], cJJ = cJ * (J[k] - 1), cIJ = cI * J[k], ck = c[k];
+
+            for (int j = 0; j < n; j++) {
+                s0[j] += ck * xI[j] * yJ[j];
+                s1[j] += cI * xI1[j] * yJ[j];
+                s2[j] += cII * xI2[j] * yJ[j];
+                s3[j] += cJ * xI[j] * yJ1[j];
+                s4[j] += cJJ * xI[j] * yJ2[j];
+                s5[j] += cIJ * xI1[j] * yJ1[j];
+            }
+        }
+    }
+
+    /**
+     * Whether a function is derived from the Gibbs free energy alone and can
+     * be evaluated in blocks.
+     *
+     * @param function function
+     * @return true if supported
+     */
+    static boolean supports(IF97.Function function) {
+
+        switch (function) {
+            case COMPRESSIBILITY_PT:
+            case ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PT:
+            case ISOBARIC_HEAT_CAPACITY_PT:
+            case ISOCHORIC_HEAT_CAPACITY_PT:
+            case SPECIFIC_ENTHALPY_PT:
+            case SPECIFIC_ENTROPY_PT:
+            case SPECIFIC_INTERNAL_ENERGY_PT:
+            case SPECIFIC_VOLUME_PT:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -21,7 +21,11 @@
 package com.hummeling.if97;
 
 import static com.hummeling.if97.Region.*;
+import static com.hummeling.if97.Regions.*;
 import static java.lang.Math.*;
+import java.nio.DoubleBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * <p>
@@ -38,6 +42,12 @@ import static java.lang.Math.*;
  * combinations: pressure &amp; temperature (p, T), pressure &amp; specific
  * enthalpy (p, h), and specific enthalpy &amp; specific entropy (h, s).</p>
  *
+ * <p>
+ * Calculations keep no state, so instances are thread-safe. The units of an
+ * instance from a constructor can be changed though, use
+ * {@link #of(UnitSystem)} for a shared, immutable instance serving all
+ * threads without locking.</p>
+ *
  * <ul> <li>Wagner, Wolfgang &amp; Kretzschmar, Hans-Joachim, 2008,
  * <i>International Steam Tables &mdash; Properties of Water and Steam Based on
  * the Industrial Formulation IAPWS-IF97</i>, 2<sup>nd</sup> Edition,
@@ -49,7 +59,15 @@ import static java.lang.Math.*;
 public class IF97 {
 // <editor-fold defaultstate="collapsed" desc="fields">
 
-    private UnitSystem UNIT_SYSTEM;
+    private volatile Units UNITS;
+    /**
+     * True if the units can't be changed.
+     */
+    private final boolean IMMUTABLE;
+    /**
+     * Spline tables for the (p,h) functions, null for the IF97 equations.
+     */
+    private final SplineTablesPH SPLINES;
     /**
      * Specific gas constant of ordinary water [kJ/kg-K].
      */
@@ -97,7 +115,55 @@ public class IF97 {
      * @param unitSystem unit system
      */
     public IF97(UnitSystem unitSystem) {
-        setUnitSystem(unitSystem);
+        this(unitSystem, null);
+    }
+
+    /**
+     * Instantiate an IF97 object with the specified unit system, calculating
+     * temperature, specific entropy, internal energy &amp; volume as a function
+     * of pressure &amp; specific enthalpy from spline tables. The tables serve
+     * every (p,h) entry point: the scalar, status &amp; batch methods and
+     * {@link #statePH(double, double)}. Tables can be shared among IF97
+     * objects.
+     *
+     * @param unitSystem unit system
+     * @param splines spline tables, null for the IF97 equations
+     */
+    public IF97(UnitSystem unitSystem, SplineTablesPH splines) {
+        this(unitSystem.UNITS, splines);
+    }
+
+    /**
+     * Instantiate an IF97 object with custom units, see
+     * {@link Units#builder()}.
+     *
+     * @param units units
+     */
+    public IF97(Units units) {
+        this(units, null);
+    }
+
+    /**
+     * Instantiate an IF97 object with custom units, calculating temperature,
+     * specific entropy, internal energy &amp; volume as a function of pressure
+     * &amp; specific enthalpy from spline tables, for every (p,h) entry point
+     * like {@link #IF97(UnitSystem, SplineTablesPH)}.
+     *
+     * @param units units
+     * @param splines spline tables, null for the IF97 equations
+     */
+    public IF97(Units units, SplineTablesPH splines) {
+        this(units, splines, false);
+    }
+
+    private IF97(Units units, SplineTablesPH splines, boolean immutable) {
+
+        if (units == null) {
+            throw new IllegalArgumentException("Units should not be null.");
+        }
+        UNITS = units;
+        SPLINES = splines;
+        IMMUTABLE = immutable;
     }
 
     /**
@@ -109,23 +175,94 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double PrandtlHS(double enthalpy, double entropy) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                    s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+            double h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                    s = units.SPECIFIC_ENTROPY.toDefault(entropy);
 
             Region region = getRegionHS(h, s);
 
-            double p = region.pressureHS(h, s),
-                    T = region.temperatureHS(h, s);
+            double p = RegionDispatch.pressureHS(region, h, s),
+                    T = RegionDispatch.temperatureHS(region, h, s);
 
             return Calculate.PrandtlPT(p, T);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
+    /**
+     * Prandtl number, status version for solver loops. Out-of-range inputs
+     * yield NaN and are reported in the status instead of throwing. The (h,s)
+     * equations have no global limits, the pressure &amp; temperature they
+     * yield are checked against those of the (p,T) equations.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @param status range status
+     * @return Prandtl number, NaN when out of range
+     */
+    public double PrandtlHS(double enthalpy, double entropy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.PRANDTL_HS, units, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, Units.IDENTITY, enthalpy, entropy, status);
+    }
+
+    /**
+     * Prandtl number, batch version for arrays. Out-of-range elements yield NaN
+     * and are flagged in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out Prandtl numbers
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int PrandtlHS(double[] enthalpy, double[] entropy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.PRANDTL_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, Units.IDENTITY,
+                enthalpy, entropy, out, outOfRange);
+    }
+
+    /**
+     * Prandtl number, batch version for buffers. Out-of-range elements yield
+     * NaN and are flagged in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out Prandtl numbers
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int PrandtlHS(DoubleBuffer enthalpy, DoubleBuffer entropy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.PRANDTL_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, Units.IDENTITY,
+                enthalpy, entropy, out, outOfRange);
+    }
+
+    /**
+     * Prandtl number, parallel batch version for arrays. The elements are split
+     * over fork/join tasks of at most threshold elements, out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out Prandtl numbers
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int PrandtlHS(double[] enthalpy, double[] entropy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.PRANDTL_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, Units.IDENTITY,
+                enthalpy, entropy, out, outOfRange, pool, threshold);
+    }
+
     /**
      * Prandtl number.
      *
@@ -135,19 +272,88 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double PrandtlPH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
                     T = Calculate.temperaturePH(p, h);
 
             return Calculate.PrandtlPT(p, T);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
+    /**
+     * Prandtl number, status version for solver loops. Out-of-range inputs
+     * yield NaN and are reported in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @param status range status
+     * @return Prandtl number, NaN when out of range
+     */
+    public double PrandtlPH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.PRANDTL_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, Units.IDENTITY, pressure, enthalpy, status);
+    }
+
+    /**
+     * Prandtl number, batch version for arrays. Out-of-range elements yield NaN
+     * and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out Prandtl numbers
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int PrandtlPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.PRANDTL_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, Units.IDENTITY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Prandtl number, batch version for buffers. Out-of-range elements yield
+     * NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out Prandtl numbers
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int PrandtlPH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.PRANDTL_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, Units.IDENTITY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Prandtl number, parallel batch version for arrays. The elements are split
+     * over fork/join tasks of at most threshold elements, out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out Prandtl numbers
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int PrandtlPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.PRANDTL_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, Units.IDENTITY,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
+    }
+
     /**
      * Prandtl number.
      *
@@ -157,15 +363,257 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double PrandtlPT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
 
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
+        double p = units.PRESSURE.toDefault(pressure),
+                T = units.TEMPERATURE.toDefault(temperature);
 
         try {
             return Calculate.PrandtlPT(p, T);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Prandtl number, status version for solver loops. Out-of-range inputs
+     * yield NaN and are reported in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param status range status
+     * @return Prandtl number, NaN when out of range
+     */
+    public double PrandtlPT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.PRANDTL_PT, units, units.PRESSURE, units.TEMPERATURE, Units.IDENTITY, pressure, temperature, status);
+    }
+
+    /**
+     * Prandtl number, batch version for arrays. Out-of-range elements yield NaN
+     * and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out Prandtl numbers
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int PrandtlPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.PRANDTL_PT,
+                units.PRESSURE, units.TEMPERATURE, Units.IDENTITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Prandtl number, batch version for buffers. Out-of-range elements yield
+     * NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out Prandtl numbers
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int PrandtlPT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.PRANDTL_PT,
+                units.PRESSURE, units.TEMPERATURE, Units.IDENTITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Prandtl number, parallel batch version for arrays. The elements are split
+     * over fork/join tasks of at most threshold elements, out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out Prandtl numbers
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int PrandtlPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.PRANDTL_PT,
+                units.PRESSURE, units.TEMPERATURE, Units.IDENTITY,
+                pressure, temperature, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Evaluate a function element-wise. Unit conversions are looked up once
+     * per batch, out-of-range elements yield NaN and are flagged in the mask.
+     * (p,h) functions use the spline tables when present.
+     *
+     * @param function function in default units
+     * @param unitX unit of the first argument
+     * @param unitY unit of the second argument
+     * @param unitOut unit of the result
+     * @param x first arguments
+     * @param y second arguments
+     * @param out results
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    private int batch(Function function, Units.Conversion unitX, Units.Conversion unitY, Units.Conversion unitOut,
+            double[] x, double[] y, double[] out, boolean[] outOfRange) {
+
+        checkBatch(x, y, out, outOfRange);
+        return batch(SPLINES, function, unitX, unitY, unitOut, x, y, out, outOfRange, 0, out.length);
+    }
+
+    /**
+     * Evaluate a function element-wise for the elements from (inclusive) to
+     * (exclusive).
+     *
+     * @param splines spline tables, null for the IF97 equations
+     * @param function function in default units
+     * @param unitX unit of the first argument
+     * @param unitY unit of the second argument
+     * @param unitOut unit of the result
+     * @param x first arguments
+     * @param y second arguments
+     * @param out results
+     * @param outOfRange out-of-range mask, may be null
+     * @param from first element
+     * @param to element after the last one
+     * @return number of out-of-range elements
+     */
+    private static int batch(SplineTablesPH splines, Function function, Units.Conversion unitX, Units.Conversion unitY, Units.Conversion unitOut,
+            double[] x, double[] y, double[] out, boolean[] outOfRange, int from, int to) {
+
+        if (GibbsBatch.supports(function)) {
+            return new GibbsBatch(min(to - from, GibbsBatch.BLOCK)).batch(function,
+                    unitX, unitY, unitOut, x, y, out, outOfRange, from, to);
+        }
+        int count = 0;
+        double ax = unitX.SCALE, bx = unitX.BIAS,
+                ay = unitY.SCALE, by = unitY.BIAS,
+                aOut = unitOut.SCALE, bOut = unitOut.BIAS;
+        RangeStatus status = new RangeStatus();
+
+        for (int i = from; i < to; i++) {
+            status.clear();
+
+            double xi = x[i] * ax + bx, yi = y[i] * ay + by,
+                    value = splines == null
+                    ? function.calculate(xi, yi, status)
+                    : splines.calculate(function, xi, yi, status);
+            boolean invalid = !status.isInRange();
+
+            if (invalid) {
+                count++;
+
+            } else {
+                value = (value - bOut) / aOut;
+            }
+            out[i] = value;
+
+            if (outOfRange != null) {
+                outOfRange[i] = invalid;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Evaluate a function element-wise in a fork/join pool.
+     *
+     * @param function function in default units
+     * @param unitX unit of the first argument
+     * @param unitY unit of the second argument
+     * @param unitOut unit of the result
+     * @param x first arguments
+     * @param y second arguments
+     * @param out results
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    private int batch(Function function, Units.Conversion unitX, Units.Conversion unitY, Units.Conversion unitOut,
+            double[] x, double[] y, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+
+        checkBatch(x, y, out, outOfRange);
+
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Batch threshold should be positive: " + threshold);
+        }
+        return pool.invoke(new BatchTask(SPLINES, function, unitX, unitY, unitOut,
+                x, y, out, outOfRange, 0, out.length, threshold));
+    }
+
+    /**
+     * Evaluate a function element-wise over the remaining buffer elements,
+     * buffer positions are left unchanged.
+     *
+     * @param function function in default units
+     * @param unitX unit of the first argument
+     * @param unitY unit of the second argument
+     * @param unitOut unit of the result
+     * @param x first arguments
+     * @param y second arguments
+     * @param out results
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    private int batch(Function function, Units.Conversion unitX, Units.Conversion unitY, Units.Conversion unitOut,
+            DoubleBuffer x, DoubleBuffer y, DoubleBuffer out, boolean[] outOfRange) {
+
+        SplineTablesPH splines = SPLINES;
+        int n = out.remaining(), count = 0,
+                i0 = x.position(), j0 = y.position(), k0 = out.position();
+
+        if (x.remaining() != n || y.remaining() != n || outOfRange != null && outOfRange.length != n) {
+            throw new IllegalArgumentException("Batch buffers should be of equal length.");
+        }
+        double ax = unitX.SCALE, bx = unitX.BIAS,
+                ay = unitY.SCALE, by = unitY.BIAS,
+                aOut = unitOut.SCALE, bOut = unitOut.BIAS;
+        RangeStatus status = new RangeStatus();
+
+        for (int i = 0; i < n; i++) {
+            status.clear();
+
+            double xi = x.get(i0 + i) * ax + bx, yi = y.get(j0 + i) * ay + by,
+                    value = splines == null
+                    ? function.calculate(xi, yi, status)
+                    : splines.calculate(function, xi, yi, status);
+            boolean invalid = !status.isInRange();
+
+            if (invalid) {
+                count++;
+
+            } else {
+                value = (value - bOut) / aOut;
+            }
+            out.put(k0 + i, value);
+
+            if (outOfRange != null) {
+                outOfRange[i] = invalid;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Check batch array lengths.
+     *
+     * @param x first arguments
+     * @param y second arguments
+     * @param out results
+     * @param outOfRange out-of-range mask, may be null
+     */
+    private static void checkBatch(double[] x, double[] y, double[] out, boolean[] outOfRange) {
+
+        int n = out.length;
+
+        if (x.length != n || y.length != n || outOfRange != null && outOfRange.length != n) {
+            throw new IllegalArgumentException("Batch arrays should be of equal length.");
         }
     }
 
@@ -179,24 +627,99 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double compressibilityHS(double enthalpy, double entropy) throws OutOfRangeException {
+        Units units = UNITS;
 
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+        double h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                s = units.SPECIFIC_ENTROPY.toDefault(entropy);
 
         try {
             Region region = getRegionHS(h, s);
 
-            double p = region.pressureHS(h, s),
-                    T = region.temperatureHS(h, s),
-                    kappaT = region.isothermalCompressibilityPT(p, T);
+            double p = RegionDispatch.pressureHS(region, h, s),
+                    T = RegionDispatch.temperatureHS(region, h, s);
+
+            checkRangePT(p, T, HS_TOLERANCE);
+            double kappaT = RegionDispatch.isothermalCompressibilityPT(region, p, T);
 
-            return convertFromDefault(UNIT_SYSTEM.COMPRESSIBILITY, kappaT);
+            return units.COMPRESSIBILITY.fromDefault(kappaT);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
+    /**
+     * Isothermal compressibility as a function of specific enthalpy &amp;
+     * specific entropy, status version for solver loops. Out-of-range inputs
+     * yield NaN and are reported in the status instead of throwing.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @param status range status
+     * @return isothermal compressibility, NaN when out of range
+     */
+    public double compressibilityHS(double enthalpy, double entropy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.COMPRESSIBILITY_HS, units, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.COMPRESSIBILITY, enthalpy, entropy, status);
+    }
+
+    /**
+     * Isothermal compressibility as a function of specific enthalpy & specific
+     * entropy, batch version for arrays. Out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out compressibilities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int compressibilityHS(double[] enthalpy, double[] entropy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.COMPRESSIBILITY_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.COMPRESSIBILITY,
+                enthalpy, entropy, out, outOfRange);
+    }
+
+    /**
+     * Isothermal compressibility as a function of specific enthalpy & specific
+     * entropy, batch version for buffers. Out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out compressibilities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int compressibilityHS(DoubleBuffer enthalpy, DoubleBuffer entropy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.COMPRESSIBILITY_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.COMPRESSIBILITY,
+                enthalpy, entropy, out, outOfRange);
+    }
+
+    /**
+     * Isothermal compressibility as a function of specific enthalpy & specific
+     * entropy, parallel batch version for arrays. The elements are split over
+     * fork/join tasks of at most threshold elements, out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out compressibilities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int compressibilityHS(double[] enthalpy, double[] entropy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.COMPRESSIBILITY_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.COMPRESSIBILITY,
+                enthalpy, entropy, out, outOfRange, pool, threshold);
+    }
+
     /**
      * Isothermal compressibility as a function of pressure & specific enthalpy.
      *
@@ -206,20 +729,93 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double compressibilityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
                     T = Calculate.temperaturePH(p, h),
-                    kappaT = getRegionPT(p, T).isothermalCompressibilityPT(p, T);
+                    kappaT = RegionDispatch.isothermalCompressibilityPT(getRegionPT(p, T), p, T);
 
-            return convertFromDefault(UNIT_SYSTEM.COMPRESSIBILITY, kappaT);
+            return units.COMPRESSIBILITY.fromDefault(kappaT);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
+    /**
+     * Isothermal compressibility as a function of pressure & specific enthalpy,
+     * status version for solver loops. Out-of-range inputs yield NaN and are
+     * reported in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @param status range status
+     * @return isothermal compressibility, NaN when out of range
+     */
+    public double compressibilityPH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.COMPRESSIBILITY_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, units.COMPRESSIBILITY, pressure, enthalpy, status);
+    }
+
+    /**
+     * Isothermal compressibility as a function of pressure & specific enthalpy,
+     * batch version for arrays. Out-of-range elements yield NaN and are flagged
+     * in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out compressibilities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int compressibilityPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.COMPRESSIBILITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.COMPRESSIBILITY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Isothermal compressibility as a function of pressure & specific enthalpy,
+     * batch version for buffers. Out-of-range elements yield NaN and are
+     * flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out compressibilities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int compressibilityPH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.COMPRESSIBILITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.COMPRESSIBILITY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Isothermal compressibility as a function of pressure & specific enthalpy,
+     * parallel batch version for arrays. The elements are split over fork/join
+     * tasks of at most threshold elements, out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out compressibilities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int compressibilityPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.COMPRESSIBILITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.COMPRESSIBILITY,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
+    }
+
     /**
      * Isothermal compressibility as a function of pressure & temperature.
      *
@@ -229,41 +825,90 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double compressibilityPT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    kappaT = getRegionPT(p, T).isothermalCompressibilityPT(p, T);
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    kappaT = RegionDispatch.isothermalCompressibilityPT(getRegionPT(p, T), p, T);
 
-            return convertFromDefault(UNIT_SYSTEM.COMPRESSIBILITY, kappaT);
+            return units.COMPRESSIBILITY.fromDefault(kappaT);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
-    static double convertFromDefault(UnitSystem unitSystem, IF97.Quantity quantity, double value) {
+    /**
+     * Isothermal compressibility as a function of pressure & temperature,
+     * status version for solver loops. Out-of-range inputs yield NaN and are
+     * reported in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param status range status
+     * @return isothermal compressibility, NaN when out of range
+     */
+    public double compressibilityPT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.COMPRESSIBILITY_PT, units, units.PRESSURE, units.TEMPERATURE, units.COMPRESSIBILITY, pressure, temperature, status);
+    }
+
+    /**
+     * Isothermal compressibility as a function of pressure & temperature, batch
+     * version for arrays. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out compressibilities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int compressibilityPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.COMPRESSIBILITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.COMPRESSIBILITY,
+                pressure, temperature, out, outOfRange);
+    }
 
-        switch (quantity) {
-            case rho:
-                return convertFromDefault(unitSystem.DENSITY, value);
-            case p:
-                return convertFromDefault(unitSystem.PRESSURE, value);
-            case u:
-                return convertFromDefault(unitSystem.SPECIFIC_ENERGY, value);
-            case h:
-                return convertFromDefault(unitSystem.SPECIFIC_ENTHALPY, value);
-            case s:
-                return convertFromDefault(unitSystem.SPECIFIC_ENTROPY, value);
-            case nu:
-                return convertFromDefault(unitSystem.SPECIFIC_VOLUME, value);
-            case T:
-                return convertFromDefault(unitSystem.TEMPERATURE, value);
-            case lambda:
-                return convertFromDefault(unitSystem.WAVE_LENGTH, value);
-            default:
-                throw new IllegalArgumentException("No conversion available for: " + quantity);
-        }
+    /**
+     * Isothermal compressibility as a function of pressure & temperature, batch
+     * version for buffers. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out compressibilities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int compressibilityPT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.COMPRESSIBILITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.COMPRESSIBILITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Isothermal compressibility as a function of pressure & temperature,
+     * parallel batch version for arrays. The elements are split over fork/join
+     * tasks of at most threshold elements, out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out compressibilities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int compressibilityPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.COMPRESSIBILITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.COMPRESSIBILITY,
+                pressure, temperature, out, outOfRange, pool, threshold);
     }
 
     static double convertFromDefault(double[] quantity, double value) {
@@ -283,87 +928,353 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double dielectricConstantPH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
                     T = Calculate.temperaturePH(p, h),
                     rho = 1 / Calculate.specificVolumePT(p, T);
 
             return Calculate.dielectricConstantRhoT(rho, T);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Dielectric constant.
+     * Dielectric constant, status version for solver loops. Out-of-range inputs
+     * yield NaN and are reported in the status instead of throwing.
      *
      * @param pressure pressure
-     * @param temperature temperature
-     * @return dielectric constant [-]
-     * @throws OutOfRangeException out-of-range exception
+     * @param enthalpy specific enthalpy
+     * @param status range status
+     * @return dielectric constant [-], NaN when out of range
      */
-    public double dielectricConstantPT(double pressure, double temperature) throws OutOfRangeException {
+    public double dielectricConstantPH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.DIELECTRIC_CONSTANT_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, Units.IDENTITY, pressure, enthalpy, status);
+    }
 
-        try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    rho = 1 / Calculate.specificVolumePT(p, T);
+    /**
+     * Dielectric constant, batch version for arrays. Out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out dielectric constants
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int dielectricConstantPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.DIELECTRIC_CONSTANT_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, Units.IDENTITY,
+                pressure, enthalpy, out, outOfRange);
+    }
 
-            return Calculate.dielectricConstantRhoT(rho, T);
+    /**
+     * Dielectric constant, batch version for buffers. Out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out dielectric constants
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int dielectricConstantPH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.DIELECTRIC_CONSTANT_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, Units.IDENTITY,
+                pressure, enthalpy, out, outOfRange);
+    }
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    /**
+     * Dielectric constant, parallel batch version for arrays. The elements are
+     * split over fork/join tasks of at most threshold elements, out-of-range
+     * elements yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out dielectric constants
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int dielectricConstantPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.DIELECTRIC_CONSTANT_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, Units.IDENTITY,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
     }
 
     /**
      * Dielectric constant.
      *
-     * @param density density
+     * @param pressure pressure
      * @param temperature temperature
      * @return dielectric constant [-]
      * @throws OutOfRangeException out-of-range exception
      */
-    public double dielectricConstantRhoT(double density, double temperature) throws OutOfRangeException {
+    public double dielectricConstantPT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double rho = convertToDefault(UNIT_SYSTEM.DENSITY, density),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    rho = 1 / Calculate.specificVolumePT(p, T);
 
             return Calculate.dielectricConstantRhoT(rho, T);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Dynamic viscosity as a function of pressure & specific enthalpy.
+     * Dielectric constant, status version for solver loops. Out-of-range inputs
+     * yield NaN and are reported in the status instead of throwing.
      *
      * @param pressure pressure
-     * @param enthalpy specific enthalpy
-     * @return dynamic viscosity
-     * @throws OutOfRangeException out-of-range exception
+     * @param temperature temperature
+     * @param status range status
+     * @return dielectric constant [-], NaN when out of range
      */
-    public double dynamicViscosityPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                    T = Calculate.temperaturePH(p, h),
-                    rho = 1 / Calculate.specificVolumePT(p, T),
-                    eta = Calculate.dynamicViscosityRhoT(rho, T);
-
-            return convertFromDefault(UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
+    public double dielectricConstantPT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.DIELECTRIC_CONSTANT_PT, units, units.PRESSURE, units.TEMPERATURE, Units.IDENTITY, pressure, temperature, status);
+    }
+
+    /**
+     * Dielectric constant, batch version for arrays. Out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out dielectric constants
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int dielectricConstantPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.DIELECTRIC_CONSTANT_PT,
+                units.PRESSURE, units.TEMPERATURE, Units.IDENTITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Dielectric constant, batch version for buffers. Out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out dielectric constants
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int dielectricConstantPT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.DIELECTRIC_CONSTANT_PT,
+                units.PRESSURE, units.TEMPERATURE, Units.IDENTITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Dielectric constant, parallel batch version for arrays. The elements are
+     * split over fork/join tasks of at most threshold elements, out-of-range
+     * elements yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out dielectric constants
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int dielectricConstantPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.DIELECTRIC_CONSTANT_PT,
+                units.PRESSURE, units.TEMPERATURE, Units.IDENTITY,
+                pressure, temperature, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Dielectric constant.
+     *
+     * @param density density
+     * @param temperature temperature
+     * @return dielectric constant [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dielectricConstantRhoT(double density, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double rho = units.DENSITY.toDefault(density),
+                    T = units.TEMPERATURE.toDefault(temperature);
+
+            return Calculate.dielectricConstantRhoT(rho, T);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Dielectric constant, batch version for arrays. Out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param density densities
+     * @param temperature temperatures
+     * @param out dielectric constants
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int dielectricConstantRhoT(double[] density, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.DIELECTRIC_CONSTANT_RHOT,
+                units.DENSITY, units.TEMPERATURE, Units.IDENTITY,
+                density, temperature, out, outOfRange);
+    }
+
+    /**
+     * Dielectric constant, batch version for buffers. Out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param density densities
+     * @param temperature temperatures
+     * @param out dielectric constants
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int dielectricConstantRhoT(DoubleBuffer density, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.DIELECTRIC_CONSTANT_RHOT,
+                units.DENSITY, units.TEMPERATURE, Units.IDENTITY,
+                density, temperature, out, outOfRange);
+    }
+
+    /**
+     * Dielectric constant, parallel batch version for arrays. The elements are
+     * split over fork/join tasks of at most threshold elements, out-of-range
+     * elements yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param density densities
+     * @param temperature temperatures
+     * @param out dielectric constants
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int dielectricConstantRhoT(double[] density, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.DIELECTRIC_CONSTANT_RHOT,
+                units.DENSITY, units.TEMPERATURE, Units.IDENTITY,
+                density, temperature, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Dynamic viscosity as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return dynamic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dynamicViscosityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                    T = Calculate.temperaturePH(p, h),
+                    rho = 1 / Calculate.specificVolumePT(p, T),
+                    eta = Calculate.dynamicViscosityRhoT(rho, T);
+
+            return units.DYNAMIC_VISCOSITY.fromDefault(eta);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
+    /**
+     * Dynamic viscosity as a function of pressure & specific enthalpy, status
+     * version for solver loops. Out-of-range inputs yield NaN and are reported
+     * in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @param status range status
+     * @return dynamic viscosity, NaN when out of range
+     */
+    public double dynamicViscosityPH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.DYNAMIC_VISCOSITY_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, units.DYNAMIC_VISCOSITY, pressure, enthalpy, status);
+    }
+
+    /**
+     * Dynamic viscosity as a function of pressure & specific enthalpy, batch
+     * version for arrays. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out dynamic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int dynamicViscosityPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.DYNAMIC_VISCOSITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.DYNAMIC_VISCOSITY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Dynamic viscosity as a function of pressure & specific enthalpy, batch
+     * version for buffers. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out dynamic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int dynamicViscosityPH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.DYNAMIC_VISCOSITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.DYNAMIC_VISCOSITY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Dynamic viscosity as a function of pressure & specific enthalpy, parallel
+     * batch version for arrays. The elements are split over fork/join tasks of
+     * at most threshold elements, out-of-range elements yield NaN and are
+     * flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out dynamic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int dynamicViscosityPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.DYNAMIC_VISCOSITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.DYNAMIC_VISCOSITY,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
+    }
+
     /**
      * Dynamic viscosity.
      *
@@ -373,20 +1284,89 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double dynamicViscosityPT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature),
                     rho = 1 / Calculate.specificVolumePT(p, T),
                     eta = Calculate.dynamicViscosityRhoT(rho, T);
 
-            return convertFromDefault(UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
+            return units.DYNAMIC_VISCOSITY.fromDefault(eta);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
+    /**
+     * Dynamic viscosity, status version for solver loops. Out-of-range inputs
+     * yield NaN and are reported in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param status range status
+     * @return dynamic viscosity, NaN when out of range
+     */
+    public double dynamicViscosityPT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.DYNAMIC_VISCOSITY_PT, units, units.PRESSURE, units.TEMPERATURE, units.DYNAMIC_VISCOSITY, pressure, temperature, status);
+    }
+
+    /**
+     * Dynamic viscosity, batch version for arrays. Out-of-range elements yield
+     * NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out dynamic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int dynamicViscosityPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.DYNAMIC_VISCOSITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.DYNAMIC_VISCOSITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Dynamic viscosity, batch version for buffers. Out-of-range elements yield
+     * NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out dynamic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int dynamicViscosityPT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.DYNAMIC_VISCOSITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.DYNAMIC_VISCOSITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Dynamic viscosity, parallel batch version for arrays. The elements are
+     * split over fork/join tasks of at most threshold elements, out-of-range
+     * elements yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out dynamic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int dynamicViscosityPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.DYNAMIC_VISCOSITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.DYNAMIC_VISCOSITY,
+                pressure, temperature, out, outOfRange, pool, threshold);
+    }
+
     /**
      * Dynamic viscosity.
      *
@@ -396,17 +1376,126 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double dynamicViscosityRhoT(double density, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double rho = convertToDefault(UNIT_SYSTEM.DENSITY, density),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
+            double rho = units.DENSITY.toDefault(density),
+                    T = units.TEMPERATURE.toDefault(temperature),
                     eta = Calculate.dynamicViscosityRhoT(rho, T);
 
-            return convertFromDefault(UNIT_SYSTEM.DYNAMIC_VISCOSITY, eta);
+            return units.DYNAMIC_VISCOSITY.fromDefault(eta);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Dynamic viscosity, batch version for arrays. Out-of-range elements yield
+     * NaN and are flagged in the mask instead of throwing.
+     *
+     * @param density densities
+     * @param temperature temperatures
+     * @param out dynamic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int dynamicViscosityRhoT(double[] density, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.DYNAMIC_VISCOSITY_RHOT,
+                units.DENSITY, units.TEMPERATURE, units.DYNAMIC_VISCOSITY,
+                density, temperature, out, outOfRange);
+    }
+
+    /**
+     * Dynamic viscosity, batch version for buffers. Out-of-range elements yield
+     * NaN and are flagged in the mask instead of throwing.
+     *
+     * @param density densities
+     * @param temperature temperatures
+     * @param out dynamic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int dynamicViscosityRhoT(DoubleBuffer density, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.DYNAMIC_VISCOSITY_RHOT,
+                units.DENSITY, units.TEMPERATURE, units.DYNAMIC_VISCOSITY,
+                density, temperature, out, outOfRange);
+    }
+
+    /**
+     * Dynamic viscosity, parallel batch version for arrays. The elements are
+     * split over fork/join tasks of at most threshold elements, out-of-range
+     * elements yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param density densities
+     * @param temperature temperatures
+     * @param out dynamic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int dynamicViscosityRhoT(double[] density, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.DYNAMIC_VISCOSITY_RHOT,
+                units.DENSITY, units.TEMPERATURE, units.DYNAMIC_VISCOSITY,
+                density, temperature, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Units in use.
+     *
+     * @return units
+     */
+    Units getUnits() {
+        return UNITS;
+    }
+
+    /**
+     * Whether the units of this instance are fixed, see
+     * {@link #of(UnitSystem)}.
+     *
+     * @return true if immutable
+     */
+    public boolean isImmutable() {
+        return IMMUTABLE;
+    }
+
+    /**
+     * Evaluate a function for the status versions: units are converted
+     * once, (p,h) functions use the spline tables when present. Out-of-range
+     * arguments are detected by the non-throwing checks of the function,
+     * so they neither allocate nor capture a stack trace.
+     *
+     * @param function function in default units
+     * @param units units of this instance
+     * @param unitX unit of the first argument
+     * @param unitY unit of the second argument
+     * @param unitOut unit of the result
+     * @param x first argument
+     * @param y second argument
+     * @param status status, cleared or set out of range
+     * @return function value, NaN when out of range
+     */
+    private double evaluate(Function function, Units units, Units.Conversion unitX, Units.Conversion unitY, Units.Conversion unitOut,
+            double x, double y, RangeStatus status) {
+
+        SplineTablesPH splines = SPLINES;
+        double xi = unitX.toDefault(x), yi = unitY.toDefault(y);
+
+        status.clear();
+
+        double value = splines == null
+                ? function.calculate(xi, yi, status)
+                : splines.calculate(function, xi, yi, status);
+
+        if (status.isInRange()) {
+            return unitOut.fromDefault(value);
         }
+        status.convertFromDefault(units);
+        return Double.NaN;
     }
 
     /**
@@ -418,20 +1507,93 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double isobaricCubicExpansionCoefficientPH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
                     T = Calculate.temperaturePH(p, h),
-                    alphav = getRegionPH(p, h).isobaricCubicExpansionCoefficientPT(p, T);
+                    alphav = RegionDispatch.isobaricCubicExpansionCoefficientPT(getRegionPH(p, h), p, T);
 
-            return convertFromDefault(UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphav);
+            return units.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT.fromDefault(alphav);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
+    /**
+     * Isobaric cubic expansion coefficient, status version for solver loops.
+     * Out-of-range inputs yield NaN and are reported in the status instead of
+     * throwing.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @param status range status
+     * @return isobaric cubic expansion coefficient, NaN when out of range
+     */
+    public double isobaricCubicExpansionCoefficientPH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, units.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, pressure, enthalpy, status);
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient, batch version for arrays.
+     * Out-of-range elements yield NaN and are flagged in the mask instead of
+     * throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out isobaric cubic expansion coefficients
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int isobaricCubicExpansionCoefficientPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient, batch version for buffers.
+     * Out-of-range elements yield NaN and are flagged in the mask instead of
+     * throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out isobaric cubic expansion coefficients
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int isobaricCubicExpansionCoefficientPH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient, parallel batch version for arrays.
+     * The elements are split over fork/join tasks of at most threshold
+     * elements, out-of-range elements yield NaN and are flagged in the mask
+     * instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out isobaric cubic expansion coefficients
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int isobaricCubicExpansionCoefficientPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
+    }
+
     /**
      * Isobaric cubic expansion coefficient.
      *
@@ -443,19 +1605,92 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double isobaricCubicExpansionCoefficientPT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    alphav = getRegionPT(p, T).isobaricCubicExpansionCoefficientPT(p, T);
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    alphav = RegionDispatch.isobaricCubicExpansionCoefficientPT(getRegionPT(p, T), p, T);
 
-            return convertFromDefault(UNIT_SYSTEM.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, alphav);
+            return units.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT.fromDefault(alphav);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
+    /**
+     * Isobaric cubic expansion coefficient, status version for solver loops.
+     * Out-of-range inputs yield NaN and are reported in the status instead of
+     * throwing.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param status range status
+     * @return isobaric cubic expansion coefficient, NaN when out of range
+     */
+    public double isobaricCubicExpansionCoefficientPT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PT, units, units.PRESSURE, units.TEMPERATURE, units.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT, pressure, temperature, status);
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient, batch version for arrays.
+     * Out-of-range elements yield NaN and are flagged in the mask instead of
+     * throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out isobaric cubic expansion coefficients
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int isobaricCubicExpansionCoefficientPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PT,
+                units.PRESSURE, units.TEMPERATURE, units.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient, batch version for buffers.
+     * Out-of-range elements yield NaN and are flagged in the mask instead of
+     * throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out isobaric cubic expansion coefficients
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int isobaricCubicExpansionCoefficientPT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PT,
+                units.PRESSURE, units.TEMPERATURE, units.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient, parallel batch version for arrays.
+     * The elements are split over fork/join tasks of at most threshold
+     * elements, out-of-range elements yield NaN and are flagged in the mask
+     * instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out isobaric cubic expansion coefficients
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int isobaricCubicExpansionCoefficientPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PT,
+                units.PRESSURE, units.TEMPERATURE, units.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT,
+                pressure, temperature, out, outOfRange, pool, threshold);
+    }
+
     /**
      * Specific isobaric heat capacity as a function of pressure & specific
      * enthalpy.
@@ -466,20 +1701,93 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double isobaricHeatCapacityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
                     T = Calculate.temperaturePH(p, h),
-                    cp = getRegionPT(p, T).specificIsobaricHeatCapacityPT(p, T);
+                    cp = RegionDispatch.specificIsobaricHeatCapacityPT(getRegionPT(p, T), p, T);
 
-            return convertFromDefault(UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cp);
+            return units.SPECIFIC_HEAT_CAPACITY.fromDefault(cp);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
+    /**
+     * Specific isobaric heat capacity as a function of pressure & specific
+     * enthalpy, status version for solver loops. Out-of-range inputs yield NaN
+     * and are reported in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @param status range status
+     * @return specific isobaric heat capacity, NaN when out of range
+     */
+    public double isobaricHeatCapacityPH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.ISOBARIC_HEAT_CAPACITY_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_HEAT_CAPACITY, pressure, enthalpy, status);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure & specific
+     * enthalpy, batch version for arrays. Out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific isobaric heat capacities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int isobaricHeatCapacityPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.ISOBARIC_HEAT_CAPACITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_HEAT_CAPACITY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure & specific
+     * enthalpy, batch version for buffers. Out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific isobaric heat capacities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int isobaricHeatCapacityPH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.ISOBARIC_HEAT_CAPACITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_HEAT_CAPACITY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure & specific
+     * enthalpy, parallel batch version for arrays. The elements are split over
+     * fork/join tasks of at most threshold elements, out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific isobaric heat capacities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int isobaricHeatCapacityPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.ISOBARIC_HEAT_CAPACITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_HEAT_CAPACITY,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
+    }
+
     /**
      * Specific isobaric heat capacity as a function of pressure & temperature.
      *
@@ -489,19 +1797,92 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double isobaricHeatCapacityPT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    cp = getRegionPT(p, T).specificIsobaricHeatCapacityPT(p, T);
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    cp = RegionDispatch.specificIsobaricHeatCapacityPT(getRegionPT(p, T), p, T);
 
-            return convertFromDefault(UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cp);
+            return units.SPECIFIC_HEAT_CAPACITY.fromDefault(cp);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
+    /**
+     * Specific isobaric heat capacity as a function of pressure & temperature,
+     * status version for solver loops. Out-of-range inputs yield NaN and are
+     * reported in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param status range status
+     * @return specific isobaric heat capacity, NaN when out of range
+     */
+    public double isobaricHeatCapacityPT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.ISOBARIC_HEAT_CAPACITY_PT, units, units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_HEAT_CAPACITY, pressure, temperature, status);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure & temperature,
+     * batch version for arrays. Out-of-range elements yield NaN and are flagged
+     * in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific isobaric heat capacities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int isobaricHeatCapacityPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.ISOBARIC_HEAT_CAPACITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_HEAT_CAPACITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure & temperature,
+     * batch version for buffers. Out-of-range elements yield NaN and are
+     * flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific isobaric heat capacities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int isobaricHeatCapacityPT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.ISOBARIC_HEAT_CAPACITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_HEAT_CAPACITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure & temperature,
+     * parallel batch version for arrays. The elements are split over fork/join
+     * tasks of at most threshold elements, out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific isobaric heat capacities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int isobaricHeatCapacityPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.ISOBARIC_HEAT_CAPACITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_HEAT_CAPACITY,
+                pressure, temperature, out, outOfRange, pool, threshold);
+    }
+
     /**
      * Specific isochoric heat capacity as a function of pressure & specific
      * enthalpy.
@@ -512,647 +1893,2466 @@ public class IF97 {
      * @throws OutOfRangeException out-of-range exception
      */
     public double isochoricHeatCapacityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
                     T = Calculate.temperaturePH(p, h),
-                    cv = getRegionPT(p, T).specificIsochoricHeatCapacityPT(p, T);
+                    cv = RegionDispatch.specificIsochoricHeatCapacityPT(getRegionPT(p, T), p, T);
 
-            return convertFromDefault(UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cv);
+            return units.SPECIFIC_HEAT_CAPACITY.fromDefault(cv);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Specific isochoric heat capacity as a function of pressure & temperature.
+     * Specific isochoric heat capacity as a function of pressure & specific
+     * enthalpy, status version for solver loops. Out-of-range inputs yield NaN
+     * and are reported in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @param status range status
+     * @return specific isochoric heat capacity, NaN when out of range
+     */
+    public double isochoricHeatCapacityPH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.ISOCHORIC_HEAT_CAPACITY_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_HEAT_CAPACITY, pressure, enthalpy, status);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure & specific
+     * enthalpy, batch version for arrays. Out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific isochoric heat capacities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int isochoricHeatCapacityPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.ISOCHORIC_HEAT_CAPACITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_HEAT_CAPACITY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure & specific
+     * enthalpy, batch version for buffers. Out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific isochoric heat capacities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int isochoricHeatCapacityPH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.ISOCHORIC_HEAT_CAPACITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_HEAT_CAPACITY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure & specific
+     * enthalpy, parallel batch version for arrays. The elements are split over
+     * fork/join tasks of at most threshold elements, out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific isochoric heat capacities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int isochoricHeatCapacityPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.ISOCHORIC_HEAT_CAPACITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_HEAT_CAPACITY,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific isochoric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isochoricHeatCapacityPT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    cv = RegionDispatch.specificIsochoricHeatCapacityPT(getRegionPT(p, T), p, T);
+
+            return units.SPECIFIC_HEAT_CAPACITY.fromDefault(cv);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure & temperature,
+     * status version for solver loops. Out-of-range inputs yield NaN and are
+     * reported in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param status range status
+     * @return specific isochoric heat capacity, NaN when out of range
+     */
+    public double isochoricHeatCapacityPT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.ISOCHORIC_HEAT_CAPACITY_PT, units, units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_HEAT_CAPACITY, pressure, temperature, status);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure & temperature,
+     * batch version for arrays. Out-of-range elements yield NaN and are flagged
+     * in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific isochoric heat capacities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int isochoricHeatCapacityPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.ISOCHORIC_HEAT_CAPACITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_HEAT_CAPACITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure & temperature,
+     * batch version for buffers. Out-of-range elements yield NaN and are
+     * flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific isochoric heat capacities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int isochoricHeatCapacityPT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.ISOCHORIC_HEAT_CAPACITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_HEAT_CAPACITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure & temperature,
+     * parallel batch version for arrays. The elements are split over fork/join
+     * tasks of at most threshold elements, out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific isochoric heat capacities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int isochoricHeatCapacityPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.ISOCHORIC_HEAT_CAPACITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_HEAT_CAPACITY,
+                pressure, temperature, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Kinematic viscosity.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double kinematicViscosityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                    T = Calculate.temperaturePH(p, h),
+                    rho = 1 / Calculate.specificVolumePT(p, T),
+                    nu = Calculate.dynamicViscosityRhoT(rho, T) / rho;
+
+            return units.KINEMATIC_VISCOSITY.fromDefault(nu);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Kinematic viscosity, status version for solver loops. Out-of-range inputs
+     * yield NaN and are reported in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @param status range status
+     * @return kinematic viscosity, NaN when out of range
+     */
+    public double kinematicViscosityPH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.KINEMATIC_VISCOSITY_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, units.KINEMATIC_VISCOSITY, pressure, enthalpy, status);
+    }
+
+    /**
+     * Kinematic viscosity, batch version for arrays. Out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out kinematic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int kinematicViscosityPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.KINEMATIC_VISCOSITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.KINEMATIC_VISCOSITY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Kinematic viscosity, batch version for buffers. Out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out kinematic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int kinematicViscosityPH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.KINEMATIC_VISCOSITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.KINEMATIC_VISCOSITY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Kinematic viscosity, parallel batch version for arrays. The elements are
+     * split over fork/join tasks of at most threshold elements, out-of-range
+     * elements yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out kinematic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int kinematicViscosityPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.KINEMATIC_VISCOSITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.KINEMATIC_VISCOSITY,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Kinematic viscosity.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double kinematicViscosityPT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    rho = 1 / Calculate.specificVolumePT(p, T),
+                    nu = Calculate.dynamicViscosityRhoT(rho, T) / rho;
+
+            return units.KINEMATIC_VISCOSITY.fromDefault(nu);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Kinematic viscosity, status version for solver loops. Out-of-range inputs
+     * yield NaN and are reported in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param status range status
+     * @return kinematic viscosity, NaN when out of range
+     */
+    public double kinematicViscosityPT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.KINEMATIC_VISCOSITY_PT, units, units.PRESSURE, units.TEMPERATURE, units.KINEMATIC_VISCOSITY, pressure, temperature, status);
+    }
+
+    /**
+     * Kinematic viscosity, batch version for arrays. Out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out kinematic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int kinematicViscosityPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.KINEMATIC_VISCOSITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.KINEMATIC_VISCOSITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Kinematic viscosity, batch version for buffers. Out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out kinematic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int kinematicViscosityPT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.KINEMATIC_VISCOSITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.KINEMATIC_VISCOSITY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Kinematic viscosity, parallel batch version for arrays. The elements are
+     * split over fork/join tasks of at most threshold elements, out-of-range
+     * elements yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out kinematic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int kinematicViscosityPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.KINEMATIC_VISCOSITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.KINEMATIC_VISCOSITY,
+                pressure, temperature, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Kinematic viscosity.
+     *
+     * @param density density
+     * @param temperature temperature
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double kinematicViscosityRhoT(double density, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double rho = units.DENSITY.toDefault(density),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    nu = Calculate.dynamicViscosityRhoT(rho, T) / rho;
+
+            return units.KINEMATIC_VISCOSITY.fromDefault(nu);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Kinematic viscosity, batch version for arrays. Out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param density densities
+     * @param temperature temperatures
+     * @param out kinematic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int kinematicViscosityRhoT(double[] density, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.KINEMATIC_VISCOSITY_RHOT,
+                units.DENSITY, units.TEMPERATURE, units.KINEMATIC_VISCOSITY,
+                density, temperature, out, outOfRange);
+    }
+
+    /**
+     * Kinematic viscosity, batch version for buffers. Out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param density densities
+     * @param temperature temperatures
+     * @param out kinematic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int kinematicViscosityRhoT(DoubleBuffer density, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.KINEMATIC_VISCOSITY_RHOT,
+                units.DENSITY, units.TEMPERATURE, units.KINEMATIC_VISCOSITY,
+                density, temperature, out, outOfRange);
+    }
+
+    /**
+     * Kinematic viscosity, parallel batch version for arrays. The elements are
+     * split over fork/join tasks of at most threshold elements, out-of-range
+     * elements yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param density densities
+     * @param temperature temperatures
+     * @param out kinematic viscosities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int kinematicViscosityRhoT(double[] density, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.KINEMATIC_VISCOSITY_RHOT,
+                units.DENSITY, units.TEMPERATURE, units.KINEMATIC_VISCOSITY,
+                density, temperature, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Shared, immutable instance for the specified unit system, one per unit
+     * system. Its units can't be changed, so a single instance can serve all
+     * threads without locking or thread-local copies.
+     *
+     * @param unitSystem unit system
+     * @return shared instance
+     */
+    public static IF97 of(UnitSystem unitSystem) {
+        return Shared.INSTANCES[unitSystem.ordinal()];
+    }
+
+    /**
+     * Immutable instance with custom units, see {@link Units#builder()}.
+     * Units are immutable too, so the instance can be shared among threads.
+     *
+     * @param units units
+     * @return immutable instance
+     */
+    public static IF97 of(Units units) {
+        return new IF97(units, null, true);
+    }
+
+    /**
+     * Partial derivative of z with respect to x for constant y, as a function
+     * of pressure and temperature.
+     *
+     * <p>
+     * (<sup>&part;z</sup>/<sub>&part;x</sub>)<sub>y</sub>(p, T) </p>
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param x
+     * @param y
+     * @param z
+     * @return partial derivative in default units
+     * @throws OutOfRangeException
+     */
+    public double partialDerivativePT(double pressure, double temperature, Quantity x, Quantity y, Quantity z) throws OutOfRangeException {
+        Units units = UNITS;
+
+        double p = units.PRESSURE.toDefault(pressure),
+                T = units.TEMPERATURE.toDefault(temperature);
+
+        try {
+            Region region = Region.getRegionPT(p, T);
+
+            if (region.getName().equals("Region 3")) {
+                double rho = 1 / RegionDispatch.specificVolumePT(region, p, T);
+                return Calculate.partialDerivativeRhoT(rho, T, x, y, z);
+            }
+            return Calculate.partialDerivativePT(p, T, x, y, z);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Partial derivative of z with respect to x for constant y, as a function
+     * of density and temperature.
+     *
+     * <p>
+     * (<sup>&part;z</sup>/<sub>&part;x</sub>)<sub>y</sub>(&rho;, T) </p>
+     *
+     * @param density density
+     * @param temperature temperature
+     * @param x
+     * @param y
+     * @param z
+     * @return partial derivative in default units
+     * @throws OutOfRangeException
+     */
+    public double partialDerivativeRhoT(double density, double temperature, Quantity x, Quantity y, Quantity z) throws OutOfRangeException {
+        Units units = UNITS;
+
+        double rho = units.DENSITY.toDefault(density),
+                T = units.TEMPERATURE.toDefault(temperature);
+
+        try {
+            return Calculate.partialDerivativeRhoT(rho, T, x, y, z);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+
+        //Region region = Region.getRegionPT(p, T);
+        //
+        //if (region.getName().equals("Region 3")) {
+        //}
+        //
+        //throw new OutOfRangeException(null, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * Pressure as a function of specific enthalpy & specific entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return pressure
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double pressureHS(double enthalpy, double entropy) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                    s = units.SPECIFIC_ENTROPY.toDefault(entropy),
+                    p = RegionDispatch.pressureHS(getRegionHS(h, s), h, s);
+
+            return units.PRESSURE.fromDefault(p);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Pressure as a function of specific enthalpy &amp; specific entropy,
+     * status version for solver loops. Out-of-range inputs yield NaN and are
+     * reported in the status instead of throwing.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @param status range status
+     * @return pressure, NaN when out of range
+     */
+    public double pressureHS(double enthalpy, double entropy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.PRESSURE_HS, units, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.PRESSURE, enthalpy, entropy, status);
+    }
+
+    /**
+     * Pressure as a function of specific enthalpy & specific entropy, batch
+     * version for arrays. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out pressures
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int pressureHS(double[] enthalpy, double[] entropy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.PRESSURE_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.PRESSURE,
+                enthalpy, entropy, out, outOfRange);
+    }
+
+    /**
+     * Pressure as a function of specific enthalpy & specific entropy, batch
+     * version for buffers. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out pressures
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int pressureHS(DoubleBuffer enthalpy, DoubleBuffer entropy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.PRESSURE_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.PRESSURE,
+                enthalpy, entropy, out, outOfRange);
+    }
+
+    /**
+     * Pressure as a function of specific enthalpy & specific entropy, parallel
+     * batch version for arrays. The elements are split over fork/join tasks of
+     * at most threshold elements, out-of-range elements yield NaN and are
+     * flagged in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out pressures
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int pressureHS(double[] enthalpy, double[] entropy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.PRESSURE_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.PRESSURE,
+                enthalpy, entropy, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Pressure as a function of specific volume &amp; specific internal
+     * energy.
+     *
+     * @param volume specific volume
+     * @param energy specific internal energy
+     * @return pressure
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double pressureVU(double volume, double energy) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double v = units.SPECIFIC_VOLUME.toDefault(volume),
+                    u = units.SPECIFIC_ENERGY.toDefault(energy),
+                    p = Calculate.stateVU(v, u, new MutableThermodynamicState()).p;
+
+            return units.PRESSURE.fromDefault(p);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Refractive index.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param waveLength wave length
+     * @return refractive index [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double refractiveIndexPTLambda(double pressure, double temperature, double waveLength) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    rho = 1 / Calculate.specificVolumePT(p, T),
+                    lambda = units.WAVE_LENGTH.toDefault(waveLength);
+
+            return Calculate.refractiveIndexRhoTLambda(rho, T, lambda);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Refractive index.
+     *
+     * @param density density [kg/m3]
+     * @param temperature temperature [K]
+     * @param waveLength wave length [10^-6 m]
+     * @return refractive index [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double refractiveIndexRhoTLambda(double density, double temperature, double waveLength) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double rho = units.DENSITY.toDefault(density),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    lambda = units.WAVE_LENGTH.toDefault(waveLength);
+
+            return Calculate.refractiveIndexRhoTLambda(rho, T, lambda);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Boundary saturation pressure for the boundary between regions 3 and 4.
+     *
+     * @param enthalpy specific enthalpy
+     * @return saturation pressure
+     */
+    public double saturationPressureH(double enthalpy) {
+        Units units = UNITS;
+
+        double h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                p = Region4.saturationPressureH(h);
+
+        return units.PRESSURE.fromDefault(p);
+    }
+
+    /**
+     * Boundary saturation pressure for the boundary between regions 3 and 4.
+     *
+     * @param entropy specific entropy
+     * @return saturation pressure
+     */
+    public double saturationPressureS(double entropy) {
+        Units units = UNITS;
+
+        double s = units.SPECIFIC_ENTROPY.toDefault(entropy),
+                p = Region4.saturationPressureS(s);
+
+        return units.PRESSURE.fromDefault(p);
+    }
+
+    /**
+     * Saturation pressure as a function of temperature.
+     *
+     * @param temperature saturation temperature
+     * @return saturation pressure
+     * @throws com.hummeling.if97.OutOfRangeException
+     */
+    public double saturationPressureT(double temperature) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double T = units.TEMPERATURE.toDefault(temperature),
+                    p = Region4.saturationPressureT(T);
+
+            return units.PRESSURE.fromDefault(p);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Saturation temperature as a function of pressure.
+     *
+     * @param pressure saturation pressure
+     * @return saturation temperature
+     * @throws com.hummeling.if97.OutOfRangeException
+     */
+    public double saturationTemperatureP(double pressure) throws OutOfRangeException {
+        Units units = UNITS;
+
+        double p = units.PRESSURE.toDefault(pressure);
+        double[] pLimits = {0.000611212677, 22.064};
+
+        try {
+            if (p < pLimits[0]) {
+                throw new OutOfRangeException(Quantity.p, p, pLimits[0]);
+
+            } else if (p > pLimits[1]) {
+                throw new OutOfRangeException(Quantity.p, p, pLimits[1]);
+            }
+            double T = Region4.saturationTemperatureP(p);
+
+            return units.TEMPERATURE.fromDefault(T);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Set (change) the unit system. Calls &amp; batches already running keep
+     * the unit system they started with.
+     *
+     * @param unitSystem unit system
+     * @throws UnsupportedOperationException for immutable instances
+     */
+    public final void setUnitSystem(UnitSystem unitSystem) {
+        setUnits(unitSystem.UNITS);
+    }
+
+    /**
+     * Set (change) the units, see {@link Units#builder()}. Calls &amp;
+     * batches already running keep the units they started with.
+     *
+     * @param units units
+     * @throws UnsupportedOperationException for immutable instances
+     */
+    public final void setUnits(Units units) {
+
+        if (IMMUTABLE) {
+            throw new UnsupportedOperationException("Units of a shared IF97 instance can't be changed.");
+        }
+        if (units == null) {
+            throw new IllegalArgumentException("Units should not be null.");
+        }
+        UNITS = units;
+    }
+
+    /**
+     * Immutable instance with the units currently in use &amp; the same spline
+     * tables, this instance when it's immutable already.
+     *
+     * @return immutable instance
+     */
+    IF97 snapshot() {
+        return IMMUTABLE ? this : new IF97(UNITS, SPLINES, true);
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEnthalpyPT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    h = RegionDispatch.specificEnthalpyPT(getRegionPT(p, T), p, T);
+
+            return units.SPECIFIC_ENTHALPY.fromDefault(h);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure & temperature, status version
+     * for solver loops. Out-of-range inputs yield NaN and are reported in the
+     * status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param status range status
+     * @return specific enthalpy, NaN when out of range
+     */
+    public double specificEnthalpyPT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.SPECIFIC_ENTHALPY_PT, units, units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_ENTHALPY, pressure, temperature, status);
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure & temperature, batch version
+     * for arrays. Out-of-range elements yield NaN and are flagged in the mask
+     * instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific enthalpies
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificEnthalpyPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_ENTHALPY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_ENTHALPY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure & temperature, batch version
+     * for buffers. Out-of-range elements yield NaN and are flagged in the mask
+     * instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific enthalpies
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificEnthalpyPT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_ENTHALPY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_ENTHALPY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure & temperature, parallel batch
+     * version for arrays. The elements are split over fork/join tasks of at
+     * most threshold elements, out-of-range elements yield NaN and are flagged
+     * in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific enthalpies
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int specificEnthalpyPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_ENTHALPY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_ENTHALPY,
+                pressure, temperature, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Specific enthalpy as a function of specific volume &amp; specific internal
+     * energy.
+     *
+     * @param volume specific volume
+     * @param energy specific internal energy
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEnthalpyVU(double volume, double energy) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double v = units.SPECIFIC_VOLUME.toDefault(volume),
+                    u = units.SPECIFIC_ENERGY.toDefault(energy),
+                    h = Calculate.stateVU(v, u, new MutableThermodynamicState()).h;
+
+            return units.SPECIFIC_ENTHALPY.fromDefault(h);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Specific entropy as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyPH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                    s = SPLINES == null
+                    ? Calculate.specificEntropyPH(p, h)
+                    : SPLINES.specificEntropyPH(p, h);
+
+            return units.SPECIFIC_ENTROPY.fromDefault(s);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Specific entropy as a function of pressure & specific enthalpy, status
+     * version for solver loops. Out-of-range inputs yield NaN and are reported
+     * in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @param status range status
+     * @return specific entropy, NaN when out of range
+     */
+    public double specificEntropyPH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.SPECIFIC_ENTROPY_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, pressure, enthalpy, status);
+    }
+
+    /**
+     * Specific entropy as a function of pressure & specific enthalpy, batch
+     * version for arrays. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific entropies
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificEntropyPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_ENTROPY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Specific entropy as a function of pressure & specific enthalpy, batch
+     * version for buffers. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific entropies
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificEntropyPH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_ENTROPY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Specific entropy as a function of pressure & specific enthalpy, parallel
+     * batch version for arrays. The elements are split over fork/join tasks of
+     * at most threshold elements, out-of-range elements yield NaN and are
+     * flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific entropies
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int specificEntropyPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_ENTROPY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Specific entropy as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyPT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
+
+        double p = units.PRESSURE.toDefault(pressure),
+                T = units.TEMPERATURE.toDefault(temperature);
+
+        try {
+            Region region = getRegionPT(p, T);
+            double s = RegionDispatch.specificEntropyPT(region, p, T);
+
+            return units.SPECIFIC_ENTROPY.fromDefault(s);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Specific entropy as a function of pressure & temperature, status version
+     * for solver loops. Out-of-range inputs yield NaN and are reported in the
+     * status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param status range status
+     * @return specific entropy, NaN when out of range
+     */
+    public double specificEntropyPT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.SPECIFIC_ENTROPY_PT, units, units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_ENTROPY, pressure, temperature, status);
+    }
+
+    /**
+     * Specific entropy as a function of pressure & temperature, batch version
+     * for arrays. Out-of-range elements yield NaN and are flagged in the mask
+     * instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific entropies
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificEntropyPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_ENTROPY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_ENTROPY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Specific entropy as a function of pressure & temperature, batch version
+     * for buffers. Out-of-range elements yield NaN and are flagged in the mask
+     * instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific entropies
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificEntropyPT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_ENTROPY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_ENTROPY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Specific entropy as a function of pressure & temperature, parallel batch
+     * version for arrays. The elements are split over fork/join tasks of at
+     * most threshold elements, out-of-range elements yield NaN and are flagged
+     * in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific entropies
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int specificEntropyPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_ENTROPY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_ENTROPY,
+                pressure, temperature, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Specific entropy as a function of specific volume &amp; specific internal
+     * energy.
+     *
+     * @param volume specific volume
+     * @param energy specific internal energy
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyVU(double volume, double energy) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double v = units.SPECIFIC_VOLUME.toDefault(volume),
+                    u = units.SPECIFIC_ENERGY.toDefault(energy),
+                    s = Calculate.stateVU(v, u, new MutableThermodynamicState()).s;
+
+            return units.SPECIFIC_ENTROPY.fromDefault(s);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Specific internal energy as a function of specific enthalpy & specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyHS(double enthalpy, double entropy) throws OutOfRangeException {
+        Units units = UNITS;
+
+        double h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                s = units.SPECIFIC_ENTROPY.toDefault(entropy);
+
+        try {
+            Region region = getRegionHS(h, s);
+            double p = RegionDispatch.pressureHS(region, h, s),
+                    T = RegionDispatch.temperatureHS(region, h, s);
+
+            checkRangePT(p, T, HS_TOLERANCE);
+            double u = RegionDispatch.specificInternalEnergyPT(region, p, T);
+
+            return units.SPECIFIC_ENERGY.fromDefault(u);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Specific internal energy as a function of specific enthalpy &amp;
+     * specific entropy, status version for solver loops. Out-of-range inputs
+     * yield NaN and are reported in the status instead of throwing.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @param status range status
+     * @return specific internal energy, NaN when out of range
+     */
+    public double specificInternalEnergyHS(double enthalpy, double entropy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.SPECIFIC_INTERNAL_ENERGY_HS, units, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.SPECIFIC_ENERGY, enthalpy, entropy, status);
+    }
+
+    /**
+     * Specific internal energy as a function of specific enthalpy & specific
+     * entropy, batch version for arrays. Out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out specific internal energies
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificInternalEnergyHS(double[] enthalpy, double[] entropy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_INTERNAL_ENERGY_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.SPECIFIC_ENERGY,
+                enthalpy, entropy, out, outOfRange);
+    }
+
+    /**
+     * Specific internal energy as a function of specific enthalpy & specific
+     * entropy, batch version for buffers. Out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out specific internal energies
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificInternalEnergyHS(DoubleBuffer enthalpy, DoubleBuffer entropy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_INTERNAL_ENERGY_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.SPECIFIC_ENERGY,
+                enthalpy, entropy, out, outOfRange);
+    }
+
+    /**
+     * Specific internal energy as a function of specific enthalpy & specific
+     * entropy, parallel batch version for arrays. The elements are split over
+     * fork/join tasks of at most threshold elements, out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out specific internal energies
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int specificInternalEnergyHS(double[] enthalpy, double[] entropy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_INTERNAL_ENERGY_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.SPECIFIC_ENERGY,
+                enthalpy, entropy, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyPH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                    u = SPLINES == null
+                    ? Calculate.specificInternalEnergyPH(p, h)
+                    : SPLINES.specificInternalEnergyPH(p, h);
+
+            return units.SPECIFIC_ENERGY.fromDefault(u);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & specific enthalpy,
+     * status version for solver loops. Out-of-range inputs yield NaN and are
+     * reported in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @param status range status
+     * @return specific internal energy, NaN when out of range
+     */
+    public double specificInternalEnergyPH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.SPECIFIC_INTERNAL_ENERGY_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENERGY, pressure, enthalpy, status);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & specific enthalpy,
+     * batch version for arrays. Out-of-range elements yield NaN and are flagged
+     * in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific internal energies
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificInternalEnergyPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_INTERNAL_ENERGY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENERGY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & specific enthalpy,
+     * batch version for buffers. Out-of-range elements yield NaN and are
+     * flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific internal energies
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificInternalEnergyPH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_INTERNAL_ENERGY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENERGY,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & specific enthalpy,
+     * parallel batch version for arrays. The elements are split over fork/join
+     * tasks of at most threshold elements, out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific internal energies
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int specificInternalEnergyPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_INTERNAL_ENERGY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENERGY,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyPT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    u = RegionDispatch.specificInternalEnergyPT(getRegionPT(p, T), p, T);
+
+            return units.SPECIFIC_ENERGY.fromDefault(u);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & temperature, status
+     * version for solver loops. Out-of-range inputs yield NaN and are reported
+     * in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param status range status
+     * @return specific internal energy, NaN when out of range
+     */
+    public double specificInternalEnergyPT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.SPECIFIC_INTERNAL_ENERGY_PT, units, units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_ENERGY, pressure, temperature, status);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & temperature, batch
+     * version for arrays. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific internal energies
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificInternalEnergyPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_INTERNAL_ENERGY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_ENERGY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & temperature, batch
+     * version for buffers. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific internal energies
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificInternalEnergyPT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_INTERNAL_ENERGY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_ENERGY,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & temperature,
+     * parallel batch version for arrays. The elements are split over fork/join
+     * tasks of at most threshold elements, out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific internal energies
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int specificInternalEnergyPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_INTERNAL_ENERGY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_ENERGY,
+                pressure, temperature, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Specific volume as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                    nu = SPLINES == null
+                    ? Calculate.specificVolumePH(p, h)
+                    : SPLINES.specificVolumePH(p, h);
+
+            return units.SPECIFIC_VOLUME.fromDefault(nu);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Specific volume as a function of pressure & specific enthalpy, status
+     * version for solver loops. Out-of-range inputs yield NaN and are reported
+     * in the status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @param status range status
+     * @return specific volume, NaN when out of range
+     */
+    public double specificVolumePH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.SPECIFIC_VOLUME_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_VOLUME, pressure, enthalpy, status);
+    }
+
+    /**
+     * Specific volume as a function of pressure & specific enthalpy, batch
+     * version for arrays. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific volumes
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificVolumePH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_VOLUME_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_VOLUME,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Specific volume as a function of pressure & specific enthalpy, batch
+     * version for buffers. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific volumes
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificVolumePH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_VOLUME_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_VOLUME,
+                pressure, enthalpy, out, outOfRange);
+    }
+
+    /**
+     * Specific volume as a function of pressure & specific enthalpy, parallel
+     * batch version for arrays. The elements are split over fork/join tasks of
+     * at most threshold elements, out-of-range elements yield NaN and are
+     * flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out specific volumes
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int specificVolumePH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_VOLUME_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.SPECIFIC_VOLUME,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Specific volume as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
+
+        try {
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    nu = Calculate.specificVolumePT(p, T);
+
+            return units.SPECIFIC_VOLUME.fromDefault(nu);
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(units);
+        }
+    }
+
+    /**
+     * Specific volume as a function of pressure & temperature, status version
+     * for solver loops. Out-of-range inputs yield NaN and are reported in the
+     * status instead of throwing.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param status range status
+     * @return specific volume, NaN when out of range
+     */
+    public double specificVolumePT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.SPECIFIC_VOLUME_PT, units, units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_VOLUME, pressure, temperature, status);
+    }
+
+    /**
+     * Specific volume as a function of pressure & temperature, batch version
+     * for arrays. Out-of-range elements yield NaN and are flagged in the mask
+     * instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific volumes
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificVolumePT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_VOLUME_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_VOLUME,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Specific volume as a function of pressure & temperature, batch version
+     * for buffers. Out-of-range elements yield NaN and are flagged in the mask
+     * instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific volumes
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int specificVolumePT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_VOLUME_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_VOLUME,
+                pressure, temperature, out, outOfRange);
+    }
+
+    /**
+     * Specific volume as a function of pressure & temperature, parallel batch
+     * version for arrays. The elements are split over fork/join tasks of at
+     * most threshold elements, out-of-range elements yield NaN and are flagged
+     * in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out specific volumes
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int specificVolumePT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.SPECIFIC_VOLUME_PT,
+                units.PRESSURE, units.TEMPERATURE, units.SPECIFIC_VOLUME,
+                pressure, temperature, out, outOfRange, pool, threshold);
+    }
+
+    /**
+     * Thermodynamic state as a function of specific enthalpy &amp; specific
+     * entropy.
+     *
+     * Wet steam is mixed as in {@link #statePH(double, double)}.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return thermodynamic state
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public ThermodynamicState stateHS(double enthalpy, double entropy) throws OutOfRangeException {
+        return new ThermodynamicState(stateHS(enthalpy, entropy, new MutableThermodynamicState()));
+    }
+
+    /**
+     * Thermodynamic state as a function of specific enthalpy &amp; specific
+     * entropy, filled into the supplied holder without allocating.
      *
-     * @param pressure pressure
-     * @param temperature temperature
-     * @return specific isochoric heat capacity
+     * Wet steam is mixed as in {@link #statePH(double, double)}.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @param state state holder to fill
+     * @return the state holder
      * @throws OutOfRangeException out-of-range exception
      */
-    public double isochoricHeatCapacityPT(double pressure, double temperature) throws OutOfRangeException {
+    public MutableThermodynamicState stateHS(double enthalpy, double entropy, MutableThermodynamicState state) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    cv = getRegionPT(p, T).specificIsochoricHeatCapacityPT(p, T);
+            double h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                    s = units.SPECIFIC_ENTROPY.toDefault(entropy);
 
-            return convertFromDefault(UNIT_SYSTEM.SPECIFIC_HEAT_CAPACITY, cv);
+            Region region = getRegionHS(h, s);
+            double p = RegionDispatch.pressureHS(region, h, s);
+
+            state.clear();
+            if (region == REGION4) {
+                REGION4.statePH(p, h, state);
+            } else {
+                double T = RegionDispatch.temperatureHS(region, h, s);
+
+                checkRangePT(p, T, HS_TOLERANCE);
+                RegionDispatch.statePT(region, p, T, state);
+            }
+            Calculate.transportProperties(state);
+            state.convertFromDefault(units);
+            return state;
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Kinematic viscosity.
+     * Thermodynamic state as a function of pressure &amp; specific enthalpy.
+     *
+     * Wet steam is mixed from the saturated liquid &amp; vapour by the vapour
+     * fraction, unlike the scalar (p,h) methods, which return the properties
+     * of the saturated phase at the saturation temperature. Its single-phase
+     * derivatives &amp; transport properties are NaN. The state keeps the given
+     * pressure &amp; specific enthalpy, in regions 3 &amp; 5 it's solved from
+     * the basic equations rather than the less accurate backward equations.
+     * With spline tables, the single-phase temperature, volume, density,
+     * entropy &amp; internal energy are interpolated where the tables cover
+     * the point.
      *
      * @param pressure pressure
      * @param enthalpy specific enthalpy
-     * @return kinematic viscosity
+     * @return thermodynamic state
      * @throws OutOfRangeException out-of-range exception
      */
-    public double kinematicViscosityPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                    T = Calculate.temperaturePH(p, h),
-                    rho = 1 / Calculate.specificVolumePT(p, T),
-                    nu = Calculate.dynamicViscosityRhoT(rho, T) / rho;
-
-            return convertFromDefault(UNIT_SYSTEM.KINEMATIC_VISCOSITY, nu);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    public ThermodynamicState statePH(double pressure, double enthalpy) throws OutOfRangeException {
+        return new ThermodynamicState(statePH(pressure, enthalpy, new MutableThermodynamicState()));
     }
 
     /**
-     * Kinematic viscosity.
+     * Thermodynamic state as a function of pressure &amp; specific enthalpy,
+     * filled into the supplied holder without allocating.
+     *
+     * Wet steam is mixed as in {@link #statePH(double, double)}.
      *
      * @param pressure pressure
-     * @param temperature temperature
-     * @return kinematic viscosity
+     * @param enthalpy specific enthalpy
+     * @param state state holder to fill
+     * @return the state holder
      * @throws OutOfRangeException out-of-range exception
      */
-    public double kinematicViscosityPT(double pressure, double temperature) throws OutOfRangeException {
+    public MutableThermodynamicState statePH(double pressure, double enthalpy, MutableThermodynamicState state) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    rho = 1 / Calculate.specificVolumePT(p, T),
-                    nu = Calculate.dynamicViscosityRhoT(rho, T) / rho;
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy);
 
-            return convertFromDefault(UNIT_SYSTEM.KINEMATIC_VISCOSITY, nu);
+            Region region = getRegionPH(p, h);
+
+            state.clear();
+            if (region == REGION4) {
+                REGION4.statePH(p, h, state);
+            } else {
+                if (region == REGION3) {
+                    REGION3.statePH(p, h, state);
+                } else if (region == REGION5) {
+                    REGION5.statePH(p, h, state);
+                } else {
+                    RegionDispatch.statePT(region, p, RegionDispatch.temperaturePH(region, p, h), state);
+                    state.h = h;
+                }
+                if (SPLINES != null) {
+                    SPLINES.interpolate(p, h, state);
+                }
+            }
+            Calculate.transportProperties(state);
+            state.convertFromDefault(units);
+            return state;
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Kinematic viscosity.
+     * Thermodynamic state as a function of pressure &amp; temperature.
      *
-     * @param density density
+     * @param pressure pressure
      * @param temperature temperature
-     * @return kinematic viscosity
+     * @return thermodynamic state
      * @throws OutOfRangeException out-of-range exception
      */
-    public double kinematicViscosityRhoT(double density, double temperature) throws OutOfRangeException {
-
-        try {
-            double rho = convertToDefault(UNIT_SYSTEM.DENSITY, density),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    nu = Calculate.dynamicViscosityRhoT(rho, T) / rho;
-
-            return convertFromDefault(UNIT_SYSTEM.KINEMATIC_VISCOSITY, nu);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    public ThermodynamicState statePT(double pressure, double temperature) throws OutOfRangeException {
+        return new ThermodynamicState(statePT(pressure, temperature, new MutableThermodynamicState()));
     }
 
     /**
-     * Partial derivative of z with respect to x for constant y, as a function
-     * of pressure and temperature.
-     *
-     * <p>
-     * (<sup>&part;z</sup>/<sub>&part;x</sub>)<sub>y</sub>(p, T) </p>
+     * Thermodynamic state as a function of pressure &amp; temperature, filled
+     * into the supplied holder without allocating.
      *
      * @param pressure pressure
      * @param temperature temperature
-     * @param x
-     * @param y
-     * @param z
-     * @return partial derivative in default units
-     * @throws OutOfRangeException
+     * @param state state holder to fill
+     * @return the state holder
+     * @throws OutOfRangeException out-of-range exception
      */
-    public double partialDerivativePT(double pressure, double temperature, Quantity x, Quantity y, Quantity z) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
+    public MutableThermodynamicState statePT(double pressure, double temperature, MutableThermodynamicState state) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            Region region = Region.getRegionPT(p, T);
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature);
 
-            if (region.getName().equals("Region 3")) {
-                double rho = 1 / region.specificVolumePT(p, T);
-                return Calculate.partialDerivativeRhoT(rho, T, x, y, z);
-            }
-            return Calculate.partialDerivativePT(p, T, x, y, z);
+            state.clear();
+            RegionDispatch.statePT(getRegionPT(p, T), p, T, state);
+            Calculate.transportProperties(state);
+            state.convertFromDefault(units);
+            return state;
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Partial derivative of z with respect to x for constant y, as a function
-     * of density and temperature.
-     *
-     * <p>
-     * (<sup>&part;z</sup>/<sub>&part;x</sub>)<sub>y</sub>(&rho;, T) </p>
+     * Thermodynamic state as a function of specific volume &amp; specific
+     * internal energy.
      *
-     * @param density density
-     * @param temperature temperature
-     * @param x
-     * @param y
-     * @param z
-     * @return partial derivative in default units
-     * @throws OutOfRangeException
+     * @param volume specific volume
+     * @param energy specific internal energy
+     * @return thermodynamic state
+     * @throws OutOfRangeException out-of-range exception
      */
-    public double partialDerivativeRhoT(double density, double temperature, Quantity x, Quantity y, Quantity z) throws OutOfRangeException {
-
-        double rho = convertToDefault(UNIT_SYSTEM.DENSITY, density),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
-
-        try {
-            return Calculate.partialDerivativeRhoT(rho, T, x, y, z);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
-
-        //Region region = Region.getRegionPT(p, T);
-        //
-        //if (region.getName().equals("Region 3")) {
-        //}
-        //
-        //throw new OutOfRangeException(null, Double.NaN, Double.NaN);
+    public ThermodynamicState stateVU(double volume, double energy) throws OutOfRangeException {
+        return new ThermodynamicState(stateVU(volume, energy, new MutableThermodynamicState()));
     }
 
     /**
-     * Pressure as a function of specific enthalpy & specific entropy.
+     * Thermodynamic state as a function of specific volume &amp; specific
+     * internal energy, filled into the supplied holder.
      *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return pressure
+     * @param volume specific volume
+     * @param energy specific internal energy
+     * @param state state holder to fill
+     * @return the state holder
      * @throws OutOfRangeException out-of-range exception
      */
-    public double pressureHS(double enthalpy, double entropy) throws OutOfRangeException {
+    public MutableThermodynamicState stateVU(double volume, double energy, MutableThermodynamicState state) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                    s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                    p = getRegionHS(h, s).pressureHS(h, s);
+            double v = units.SPECIFIC_VOLUME.toDefault(volume),
+                    u = units.SPECIFIC_ENERGY.toDefault(energy);
 
-            return convertFromDefault(UNIT_SYSTEM.PRESSURE, p);
+            Calculate.stateVU(v, u, state);
+            Calculate.transportProperties(state);
+            state.convertFromDefault(units);
+            return state;
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Refractive index.
+     * Surface tension as a function of temperature.
      *
-     * @param pressure pressure
      * @param temperature temperature
-     * @param waveLength wave length
-     * @return refractive index [-]
+     * @return surface tension
      * @throws OutOfRangeException out-of-range exception
      */
-    public double refractiveIndexPTLambda(double pressure, double temperature, double waveLength) throws OutOfRangeException {
+    public double surfaceTensionT(double temperature) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    rho = 1 / Calculate.specificVolumePT(p, T),
-                    lambda = convertToDefault(UNIT_SYSTEM.WAVE_LENGTH, waveLength);
+            double T = units.TEMPERATURE.toDefault(temperature),
+                    sigma = Calculate.surfaceTensionT(T);
 
-            return Calculate.refractiveIndexRhoTLambda(rho, T, lambda);
+            return units.SURFACE_TENSION.fromDefault(sigma);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Refractive index.
+     * Temperature. [IF97 Supplementary Release S04]
      *
-     * @param density density [kg/m3]
-     * @param temperature temperature [K]
-     * @param waveLength wave length [10^-6 m]
-     * @return refractive index [-]
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return temperature
      * @throws OutOfRangeException out-of-range exception
      */
-    public double refractiveIndexRhoTLambda(double density, double temperature, double waveLength) throws OutOfRangeException {
+    public double temperatureHS(double enthalpy, double entropy) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double rho = convertToDefault(UNIT_SYSTEM.DENSITY, density),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    lambda = convertToDefault(UNIT_SYSTEM.WAVE_LENGTH, waveLength);
+            double h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                    s = units.SPECIFIC_ENTROPY.toDefault(entropy),
+                    T = RegionDispatch.temperatureHS(getRegionHS(h, s), h, s);
 
-            return Calculate.refractiveIndexRhoTLambda(rho, T, lambda);
+            return units.TEMPERATURE.fromDefault(T);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Boundary saturation pressure for the boundary between regions 3 and 4.
+     * Temperature. [IF97 Supplementary Release S04], status version for solver
+     * loops. Out-of-range inputs yield NaN and are reported in the status
+     * instead of throwing.
      *
      * @param enthalpy specific enthalpy
-     * @return saturation pressure
-     */
-    public double saturationPressureH(double enthalpy) {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                p = Region4.saturationPressureH(h);
-
-        return convertFromDefault(UNIT_SYSTEM.PRESSURE, p);
-    }
-
-    /**
-     * Boundary saturation pressure for the boundary between regions 3 and 4.
-     *
      * @param entropy specific entropy
-     * @return saturation pressure
+     * @param status range status
+     * @return temperature, NaN when out of range
      */
-    public double saturationPressureS(double entropy) {
-
-        double s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                p = Region4.saturationPressureS(s);
-
-        return convertFromDefault(UNIT_SYSTEM.PRESSURE, p);
+    public double temperatureHS(double enthalpy, double entropy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.TEMPERATURE_HS, units, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.TEMPERATURE, enthalpy, entropy, status);
     }
 
     /**
-     * Saturation pressure as a function of temperature.
+     * Temperature. [IF97 Supplementary Release S04], batch version for arrays.
+     * Out-of-range elements yield NaN and are flagged in the mask instead of
+     * throwing.
      *
-     * @param temperature saturation temperature
-     * @return saturation pressure
-     * @throws com.hummeling.if97.OutOfRangeException
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out temperatures
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
      */
-    public double saturationPressureT(double temperature) throws OutOfRangeException {
-
-        try {
-            double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    p = Region4.saturationPressureT(T);
-
-            return convertFromDefault(UNIT_SYSTEM.PRESSURE, p);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    public int temperatureHS(double[] enthalpy, double[] entropy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.TEMPERATURE_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.TEMPERATURE,
+                enthalpy, entropy, out, outOfRange);
     }
 
     /**
-     * Saturation temperature as a function of pressure.
+     * Temperature. [IF97 Supplementary Release S04], batch version for buffers.
+     * Out-of-range elements yield NaN and are flagged in the mask instead of
+     * throwing.
      *
-     * @param pressure saturation pressure
-     * @return saturation temperature
-     * @throws com.hummeling.if97.OutOfRangeException
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out temperatures
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
      */
-    public double saturationTemperatureP(double pressure) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure);
-        double[] pLimits = {0.000611212677, 22.064};
-
-        try {
-            if (p < pLimits[0]) {
-                throw new OutOfRangeException(Quantity.p, p, pLimits[0]);
-
-            } else if (p > pLimits[1]) {
-                throw new OutOfRangeException(Quantity.p, p, pLimits[1]);
-            }
-            double T = Region4.saturationTemperatureP(p);
-
-            return convertFromDefault(UNIT_SYSTEM.TEMPERATURE, T);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    public int temperatureHS(DoubleBuffer enthalpy, DoubleBuffer entropy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.TEMPERATURE_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.TEMPERATURE,
+                enthalpy, entropy, out, outOfRange);
     }
 
     /**
-     * Set (change) the unit system.
+     * Temperature. [IF97 Supplementary Release S04], parallel batch version for
+     * arrays. The elements are split over fork/join tasks of at most threshold
+     * elements, out-of-range elements yield NaN and are flagged in the mask
+     * instead of throwing.
      *
-     * @param unitSystem unit system
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out temperatures
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
      */
-    public final void setUnitSystem(UnitSystem unitSystem) {
-        UNIT_SYSTEM = unitSystem;
+    public int temperatureHS(double[] enthalpy, double[] entropy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.TEMPERATURE_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, units.TEMPERATURE,
+                enthalpy, entropy, out, outOfRange, pool, threshold);
     }
 
     /**
-     * Specific enthalpy as a function of pressure & temperature.
+     * Temperature.
      *
      * @param pressure pressure
-     * @param temperature temperature
-     * @return specific enthalpy
+     * @param enthalpy specific enthalpy
+     * @return temperature
      * @throws OutOfRangeException out-of-range exception
      */
-    public double specificEnthalpyPT(double pressure, double temperature) throws OutOfRangeException {
+    public double temperaturePH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    h = getRegionPT(p, T).specificEnthalpyPT(p, T);
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                    T = SPLINES == null
+                    ? Calculate.temperaturePH(p, h)
+                    : SPLINES.temperaturePH(p, h);
 
-            return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, h);
+            return units.TEMPERATURE.fromDefault(T);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Specific entropy as a function of pressure & specific enthalpy.
+     * Temperature, status version for solver loops. Out-of-range inputs yield
+     * NaN and are reported in the status instead of throwing.
      *
      * @param pressure pressure
      * @param enthalpy specific enthalpy
-     * @return specific entropy
-     * @throws OutOfRangeException out-of-range exception
+     * @param status range status
+     * @return temperature, NaN when out of range
      */
-    public double specificEntropyPH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                    T = Calculate.temperaturePH(p, h),
-                    s = getRegionPT(p, T).specificEntropyPT(p, T);
-
-            return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    public double temperaturePH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.TEMPERATURE_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, units.TEMPERATURE, pressure, enthalpy, status);
     }
 
     /**
-     * Specific entropy as a function of pressure & temperature.
+     * Temperature, batch version for arrays. Out-of-range elements yield NaN
+     * and are flagged in the mask instead of throwing.
      *
-     * @param pressure pressure
-     * @param temperature temperature
-     * @return specific entropy
-     * @throws OutOfRangeException out-of-range exception
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out temperatures
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
      */
-    public double specificEntropyPT(double pressure, double temperature) throws OutOfRangeException {
-
-        double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature);
-
-        try {
-            Region region = getRegionPT(p, T);
-            double s = region.specificEntropyPT(p, T);
+    public int temperaturePH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.TEMPERATURE_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.TEMPERATURE,
+                pressure, enthalpy, out, outOfRange);
+    }
 
-            return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, s);
+    /**
+     * Temperature, batch version for buffers. Out-of-range elements yield NaN
+     * and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out temperatures
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int temperaturePH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.TEMPERATURE_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.TEMPERATURE,
+                pressure, enthalpy, out, outOfRange);
+    }
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    /**
+     * Temperature, parallel batch version for arrays. The elements are split
+     * over fork/join tasks of at most threshold elements, out-of-range elements
+     * yield NaN and are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out temperatures
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int temperaturePH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.TEMPERATURE_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.TEMPERATURE,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
     }
 
     /**
-     * Specific internal energy as a function of specific enthalpy & specific
-     * entropy.
+     * Temperature as a function of specific volume &amp; specific internal
+     * energy.
      *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return specific internal energy
+     * @param volume specific volume
+     * @param energy specific internal energy
+     * @return temperature
      * @throws OutOfRangeException out-of-range exception
      */
-    public double specificInternalEnergyHS(double enthalpy, double entropy) throws OutOfRangeException {
-
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+    public double temperatureVU(double volume, double energy) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            Region region = getRegionHS(h, s);
-            double p = region.pressureHS(h, s),
-                    T = region.temperatureHS(h, s),
-                    u = region.specificInternalEnergyPT(p, T);
+            double v = units.SPECIFIC_VOLUME.toDefault(volume),
+                    u = units.SPECIFIC_ENERGY.toDefault(energy),
+                    T = Calculate.stateVU(v, u, new MutableThermodynamicState()).T;
 
-            return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENERGY, u);
+            return units.TEMPERATURE.fromDefault(T);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Specific internal energy as a function of pressure & specific enthalpy.
+     * Thermal conductivity as a function of pressure & specific enthalpy.
      *
      * @param pressure pressure
      * @param enthalpy specific enthalpy
-     * @return specific internal energy
+     * @return thermal conductivity
      * @throws OutOfRangeException out-of-range exception
      */
-    public double specificInternalEnergyPH(double pressure, double enthalpy) throws OutOfRangeException {
+    public double thermalConductivityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
+            double p = units.PRESSURE.toDefault(pressure),
+                    h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
                     T = Calculate.temperaturePH(p, h),
-                    u = getRegionPT(p, T).specificInternalEnergyPT(p, T);
+                    lambda = Calculate.thermalConductivityPT(p, T);
 
-            return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENERGY, u);
+            return units.THERMAL_CONDUCTIVITY.fromDefault(lambda);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Specific internal energy as a function of pressure & temperature.
+     * Thermal conductivity as a function of pressure & specific enthalpy,
+     * status version for solver loops. Out-of-range inputs yield NaN and are
+     * reported in the status instead of throwing.
      *
      * @param pressure pressure
-     * @param temperature temperature
-     * @return specific internal energy
-     * @throws OutOfRangeException out-of-range exception
+     * @param enthalpy specific enthalpy
+     * @param status range status
+     * @return thermal conductivity, NaN when out of range
      */
-    public double specificInternalEnergyPT(double pressure, double temperature) throws OutOfRangeException {
-
-        try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    u = getRegionPT(p, T).specificInternalEnergyPT(p, T);
-
-            return convertFromDefault(UNIT_SYSTEM.SPECIFIC_ENERGY, u);
-
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    public double thermalConductivityPH(double pressure, double enthalpy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.THERMAL_CONDUCTIVITY_PH, units, units.PRESSURE, units.SPECIFIC_ENTHALPY, units.THERMAL_CONDUCTIVITY, pressure, enthalpy, status);
     }
 
     /**
-     * Specific volume as a function of pressure & specific enthalpy.
+     * Thermal conductivity as a function of pressure & specific enthalpy, batch
+     * version for arrays. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
      *
-     * @param pressure pressure
-     * @param enthalpy specific enthalpy
-     * @return specific volume
-     * @throws OutOfRangeException out-of-range exception
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out thermal conductivities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
      */
-    public double specificVolumePH(double pressure, double enthalpy) throws OutOfRangeException {
-
-        try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                    T = Calculate.temperaturePH(p, h),
-                    nu = Calculate.specificVolumePT(p, T);
+    public int thermalConductivityPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.THERMAL_CONDUCTIVITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.THERMAL_CONDUCTIVITY,
+                pressure, enthalpy, out, outOfRange);
+    }
 
-            return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, nu);
+    /**
+     * Thermal conductivity as a function of pressure & specific enthalpy, batch
+     * version for buffers. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out thermal conductivities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int thermalConductivityPH(DoubleBuffer pressure, DoubleBuffer enthalpy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.THERMAL_CONDUCTIVITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.THERMAL_CONDUCTIVITY,
+                pressure, enthalpy, out, outOfRange);
+    }
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    /**
+     * Thermal conductivity as a function of pressure & specific enthalpy,
+     * parallel batch version for arrays. The elements are split over fork/join
+     * tasks of at most threshold elements, out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param enthalpy specific enthalpies
+     * @param out thermal conductivities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int thermalConductivityPH(double[] pressure, double[] enthalpy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.THERMAL_CONDUCTIVITY_PH,
+                units.PRESSURE, units.SPECIFIC_ENTHALPY, units.THERMAL_CONDUCTIVITY,
+                pressure, enthalpy, out, outOfRange, pool, threshold);
     }
 
     /**
-     * Specific volume as a function of pressure & temperature.
+     * Thermal conductivity as a function of pressure & temperature.
      *
      * @param pressure pressure
      * @param temperature temperature
-     * @return specific volume
+     * @return thermal conductivity
      * @throws OutOfRangeException out-of-range exception
      */
-    public double specificVolumePT(double pressure, double temperature) throws OutOfRangeException {
+    public double thermalConductivityPT(double pressure, double temperature) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    nu = Calculate.specificVolumePT(p, T);
+            double p = units.PRESSURE.toDefault(pressure),
+                    T = units.TEMPERATURE.toDefault(temperature),
+                    lambda = Calculate.thermalConductivityPT(p, T);
 
-            return convertFromDefault(UNIT_SYSTEM.SPECIFIC_VOLUME, nu);
+            return units.THERMAL_CONDUCTIVITY.fromDefault(lambda);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Surface tension as a function of temperature.
+     * Thermal conductivity as a function of pressure & temperature, status
+     * version for solver loops. Out-of-range inputs yield NaN and are reported
+     * in the status instead of throwing.
      *
+     * @param pressure pressure
      * @param temperature temperature
-     * @return surface tension
-     * @throws OutOfRangeException out-of-range exception
+     * @param status range status
+     * @return thermal conductivity, NaN when out of range
      */
-    public double surfaceTensionT(double temperature) throws OutOfRangeException {
+    public double thermalConductivityPT(double pressure, double temperature, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.THERMAL_CONDUCTIVITY_PT, units, units.PRESSURE, units.TEMPERATURE, units.THERMAL_CONDUCTIVITY, pressure, temperature, status);
+    }
 
-        try {
-            double T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    sigma = Calculate.surfaceTensionT(T);
+    /**
+     * Thermal conductivity as a function of pressure & temperature, batch
+     * version for arrays. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out thermal conductivities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int thermalConductivityPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.THERMAL_CONDUCTIVITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.THERMAL_CONDUCTIVITY,
+                pressure, temperature, out, outOfRange);
+    }
 
-            return convertFromDefault(UNIT_SYSTEM.SURFACE_TENSION, sigma);
+    /**
+     * Thermal conductivity as a function of pressure & temperature, batch
+     * version for buffers. Out-of-range elements yield NaN and are flagged in
+     * the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out thermal conductivities
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int thermalConductivityPT(DoubleBuffer pressure, DoubleBuffer temperature, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.THERMAL_CONDUCTIVITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.THERMAL_CONDUCTIVITY,
+                pressure, temperature, out, outOfRange);
+    }
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    /**
+     * Thermal conductivity as a function of pressure & temperature, parallel
+     * batch version for arrays. The elements are split over fork/join tasks of
+     * at most threshold elements, out-of-range elements yield NaN and are
+     * flagged in the mask instead of throwing.
+     *
+     * @param pressure pressures
+     * @param temperature temperatures
+     * @param out thermal conductivities
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int thermalConductivityPT(double[] pressure, double[] temperature, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.THERMAL_CONDUCTIVITY_PT,
+                units.PRESSURE, units.TEMPERATURE, units.THERMAL_CONDUCTIVITY,
+                pressure, temperature, out, outOfRange, pool, threshold);
     }
 
     /**
-     * Temperature. [IF97 Supplementary Release S04]
+     * Vapour fraction as a function of specific enthalpy & specific entropy.
      *
      * @param enthalpy specific enthalpy
      * @param entropy specific entropy
-     * @return temperature
+     * @return vapour fraction [-]
      * @throws OutOfRangeException out-of-range exception
      */
-    public double temperatureHS(double enthalpy, double entropy) throws OutOfRangeException {
+    public double vapourFractionHS(double enthalpy, double entropy) throws OutOfRangeException {
+        Units units = UNITS;
 
-        try {
-            double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                    s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy),
-                    T = getRegionHS(h, s).temperatureHS(h, s);
+        double h = units.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                s = units.SPECIFIC_ENTROPY.toDefault(entropy);
 
-            return convertFromDefault(UNIT_SYSTEM.TEMPERATURE, T);
+        try {
+            return RegionDispatch.vapourFractionHS(getRegionHS(h, s), h, s);
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Temperature.
+     * Vapour fraction as a function of specific enthalpy &amp; specific
+     * entropy, status version for solver loops. Out-of-range inputs yield NaN
+     * and are reported in the status instead of throwing.
      *
-     * @param pressure pressure
      * @param enthalpy specific enthalpy
-     * @return temperature
-     * @throws OutOfRangeException out-of-range exception
+     * @param entropy specific entropy
+     * @param status range status
+     * @return vapour fraction [-], NaN when out of range
      */
-    public double temperaturePH(double pressure, double enthalpy) throws OutOfRangeException {
+    public double vapourFractionHS(double enthalpy, double entropy, RangeStatus status) {
+        Units units = UNITS;
+        return evaluate(Function.VAPOUR_FRACTION_HS, units, units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, Units.IDENTITY, enthalpy, entropy, status);
+    }
 
-        try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                    T = Calculate.temperaturePH(p, h);
+    /**
+     * Vapour fraction as a function of specific enthalpy & specific entropy,
+     * batch version for arrays. Out-of-range elements yield NaN and are flagged
+     * in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out vapour fractions
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int vapourFractionHS(double[] enthalpy, double[] entropy, double[] out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.VAPOUR_FRACTION_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, Units.IDENTITY,
+                enthalpy, entropy, out, outOfRange);
+    }
 
-            return convertFromDefault(UNIT_SYSTEM.TEMPERATURE, T);
+    /**
+     * Vapour fraction as a function of specific enthalpy & specific entropy,
+     * batch version for buffers. Out-of-range elements yield NaN and are
+     * flagged in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out vapour fractions
+     * @param outOfRange out-of-range mask, may be null
+     * @return number of out-of-range elements
+     */
+    public int vapourFractionHS(DoubleBuffer enthalpy, DoubleBuffer entropy, DoubleBuffer out, boolean[] outOfRange) {
+        Units units = UNITS;
+        return batch(Function.VAPOUR_FRACTION_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, Units.IDENTITY,
+                enthalpy, entropy, out, outOfRange);
+    }
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
-        }
+    /**
+     * Vapour fraction as a function of specific enthalpy & specific entropy,
+     * parallel batch version for arrays. The elements are split over fork/join
+     * tasks of at most threshold elements, out-of-range elements yield NaN and
+     * are flagged in the mask instead of throwing.
+     *
+     * @param enthalpy specific enthalpies
+     * @param entropy specific entropies
+     * @param out vapour fractions
+     * @param outOfRange out-of-range mask, may be null
+     * @param pool fork/join pool to run the tasks in
+     * @param threshold maximum number of elements per task
+     * @return number of out-of-range elements
+     */
+    public int vapourFractionHS(double[] enthalpy, double[] entropy, double[] out, boolean[] outOfRange, ForkJoinPool pool, int threshold) {
+        Units units = UNITS;
+        return batch(Function.VAPOUR_FRACTION_HS,
+                units.SPECIFIC_ENTHALPY, units.SPECIFIC_ENTROPY, Units.IDENTITY,
+                enthalpy, entropy, out, outOfRange, pool, threshold);
     }
 
     /**
-     * Thermal conductivity as a function of pressure & specific enthalpy.
+     * Vapour fraction as a function of specific volume &amp; specific internal
+     * energy.
      *
-     * @param pressure pressure
-     * @param enthalpy specific enthalpy
-     * @return thermal conductivity
+     * @param volume specific volume
+     * @param energy specific internal energy
+     * @return vapour fraction [-]
      * @throws OutOfRangeException out-of-range exception
      */
-    public double thermalConductivityPH(double pressure, double enthalpy) throws OutOfRangeException {
+    public double vapourFractionVU(double volume, double energy) throws OutOfRangeException {
+        Units units = UNITS;
 
         try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                    T = Calculate.temperaturePH(p, h),
-                    lambda = Calculate.thermalConductivityPT(p, T);
+            double v = units.SPECIFIC_VOLUME.toDefault(volume),
+                    u = units.SPECIFIC_ENERGY.toDefault(energy);
 
-            return convertFromDefault(UNIT_SYSTEM.THERMAL_CONDUCTIVITY, lambda);
+            return Calculate.stateVU(v, u, new MutableThermodynamicState()).x;
 
         } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            throw e.convertFromDefault(units);
         }
     }
 
     /**
-     * Thermal conductivity as a function of pressure & temperature.
+     * Immutable instance with the same spline tables &amp; the given units,
+     * this instance itself if it's immutable with those units already.
      *
-     * @param pressure pressure
-     * @param temperature temperature
-     * @return thermal conductivity
-     * @throws OutOfRangeException out-of-range exception
+     * @param units units
+     * @return immutable instance
      */
-    public double thermalConductivityPT(double pressure, double temperature) throws OutOfRangeException {
+    IF97 withUnits(Units units) {
+        return IMMUTABLE && units == UNITS ? this : new IF97(units, SPLINES, true);
+    }
 
-        try {
-            double p = convertToDefault(UNIT_SYSTEM.PRESSURE, pressure),
-                    T = convertToDefault(UNIT_SYSTEM.TEMPERATURE, temperature),
-                    lambda = Calculate.thermalConductivityPT(p, T);
+    /**
+     * Shared immutable instances by unit system, created on first use.
+     */
+    private static final class Shared {
 
-            return convertFromDefault(UNIT_SYSTEM.THERMAL_CONDUCTIVITY, lambda);
+        static final IF97[] INSTANCES = new IF97[UnitSystem.values().length];
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+        static {
+            for (UnitSystem unitSystem : UnitSystem.values()) {
+                INSTANCES[unitSystem.ordinal()] = new IF97(unitSystem.UNITS, null, true);
+            }
         }
     }
 
     /**
-     * Vapour fraction as a function of specific enthalpy & specific entropy.
-     *
-     * @param enthalpy specific enthalpy
-     * @param entropy specific entropy
-     * @return vapour fraction [-]
-     * @throws OutOfRangeException out-of-range exception
+     * Fork/join task evaluating a slice of a batch, split in halves until at
+     * most threshold elements remain.
      */
-    public double vapourFractionHS(double enthalpy, double entropy) throws OutOfRangeException {
+    private static final class BatchTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+        private final SplineTablesPH SPLINES;
+        private final Function FUNCTION;
+        private final Units.Conversion UNIT_X, UNIT_Y, UNIT_OUT;
+        private final double[] X, Y, OUT;
+        private final boolean[] OUT_OF_RANGE;
+        private final int FROM, TO, THRESHOLD;
+
+        BatchTask(SplineTablesPH splines, Function function, Units.Conversion unitX, Units.Conversion unitY, Units.Conversion unitOut,
+                double[] x, double[] y, double[] out, boolean[] outOfRange, int from, int to, int threshold) {
+
+            SPLINES = splines;
+            FUNCTION = function;
+            UNIT_X = unitX;
+            UNIT_Y = unitY;
+            UNIT_OUT = unitOut;
+            X = x;
+            Y = y;
+            OUT = out;
+            OUT_OF_RANGE = outOfRange;
+            FROM = from;
+            TO = to;
+            THRESHOLD = threshold;
+        }
 
-        double h = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTHALPY, enthalpy),
-                s = convertToDefault(UNIT_SYSTEM.SPECIFIC_ENTROPY, entropy);
+        @Override
+        protected Integer compute() {
 
-        try {
-            return getRegionHS(h, s).vapourFractionHS(h, s);
+            if (TO - FROM <= THRESHOLD) {
+                return batch(SPLINES, FUNCTION, UNIT_X, UNIT_Y, UNIT_OUT, X, Y, OUT, OUT_OF_RANGE, FROM, TO);
+            }
+            int middle = (FROM + TO) >>> 1;
+            BatchTask left = new BatchTask(SPLINES, FUNCTION, UNIT_X, UNIT_Y, UNIT_OUT, X, Y, OUT, OUT_OF_RANGE, FROM, middle, THRESHOLD),
+                    right = new BatchTask(SPLINES, FUNCTION, UNIT_X, UNIT_Y, UNIT_OUT, X, Y, OUT, OUT_OF_RANGE, middle, TO, THRESHOLD);
 
-        } catch (OutOfRangeException e) {
-            throw e.convertFromDefault(UNIT_SYSTEM);
+            left.fork();
+            return right.compute() + left.join();
         }
     }
 
@@ -1161,6 +4361,95 @@ public class IF97 {
      */
     static class Calculate {
 
+// <editor-fold defaultstate="collapsed" desc="fields">
+        /**
+         * Dielectric constant coefficients, the exponents J are non-integer.
+         */
+        private static final int[] IDielectric = {1, 1, 1, 2, 3, 3, 4, 5, 6, 7, 10};
+        private static final double[] JDielectric = {0.25, 1.0, 2.5, 1.5, 1.5, 2.5, 2, 2, 5, 0.5, 10};
+        private static final double[] nDielectric = {
+            0.978224486826,
+            -0.957771379375,
+            0.237511794148,
+            0.714692244396,
+            -.298217036956,
+            -.108863472196,
+            0.949327488264e-1,
+            -.980469816509e-2,
+            0.165167634970e-4,
+            0.937359795772e-4,
+            -.123179218720e-9
+        };
+        /**
+         * Dynamic viscosity coefficients.
+         */
+        private static final double[] n0Viscosity = {
+            0.167752e-1, 0.220462e-1, 0.6366564e-2, -0.241605e-2
+        };
+        private static final Coefficients IJnViscosity = new Coefficients(new double[][]{
+            {0, 0, 0.520094},
+            {0, 1, 0.850895e-1},
+            {0, 2, -.108374e1},
+            {0, 3, -.289555},
+            {1, 0, 0.222531},
+            {1, 1, 0.999115},
+            {1, 2, 0.188797e1},
+            {1, 3, 0.126613e1},
+            {1, 5, 0.120573},
+            {2, 0, -.281378},
+            {2, 1, -.906851},
+            {2, 2, -.772479},
+            {2, 3, -.489837},
+            {2, 4, -.257040},
+            {3, 0, 0.161913},
+            {3, 1, 0.257399},
+            {4, 0, -.325372e-1},
+            {4, 3, 0.698452e-1},
+            {5, 4, 0.872102e-2},
+            {6, 3, -.435673e-2},
+            {6, 5, -.593264e-3}
+        });
+        /**
+         * Refractive index coefficients.
+         */
+        private static final double[] aRefractive = {
+            0.244257733,
+            0.974634476e-2,
+            -.373234996e-2,
+            0.268678472e-3,
+            0.158920570e-2,
+            0.245934259e-2,
+            0.900704920,
+            -.166626219e-1
+        };
+        /**
+         * Thermal conductivity coefficients.
+         */
+        private static final double[] n0Conductivity = {
+            0.102811e-1,
+            0.299621e-1,
+            0.156146e-1,
+            -.422464e-2
+        }, n1Conductivity = {
+            -.397070,
+            0.400302,
+            0.106000e1,
+            -.171587,
+            0.239219e1
+        }, n2Conductivity = {
+            0.701309e-1,
+            0.118520e-1,
+            0.642857,
+            0.169937e-2,
+            -.102000e1,
+            -.411717e1,
+            -.617937e1,
+            0.822994e-1,
+            0.100932e2,
+            0.308976e-2
+        };
+// </editor-fold>
+
         /**
          * Prandtl number.
          *
@@ -1173,7 +4462,7 @@ public class IF97 {
 
             double rho = 1 / specificVolumePT(p, T),
                     eta = dynamicViscosityRhoT(rho, T),
-                    cp = getRegionPT(p, T).specificIsobaricHeatCapacityPT(p, T),
+                    cp = RegionDispatch.specificIsobaricHeatCapacityPT(getRegionPT(p, T), p, T),
                     lambda = thermalConductivityPT(p, T) / 1e3;
 
             return eta * cp / lambda;
@@ -1194,22 +4483,9 @@ public class IF97 {
                     n12 = 0.196096504426e-2,
                     delta = rho / rhoc, tau = Tc / T,
                     g = 1 + n12 * delta * pow(Tc / 228 / tau - 1, -1.2);
-            double[][] IJn = new double[][]{
-                {1, 0.25, 0.978224486826},
-                {1, 1.0, -0.957771379375},
-                {1, 2.5, 0.237511794148},
-                {2, 1.5, 0.714692244396},
-                {3, 1.5, -.298217036956},
-                {3, 2.5, -.108863472196},
-                {4, 2, 0.949327488264e-1},
-                {5, 2, -.980469816509e-2},
-                {6, 5, 0.165167634970e-4},
-                {7, 0.5, 0.937359795772e-4},
-                {10, 10, -.123179218720e-9}
-            };
-
-            for (double[] ijn : IJn) {
-                g += ijn[2] * pow(delta, ijn[0]) * pow(tau, ijn[1]);
+
+            for (int i = 0; i < nDielectric.length; i++) {
+                g += nDielectric[i] * Region.intPow(delta, IDielectric[i]) * pow(tau, JDielectric[i]);
             }
 
             double A = NA * mu * mu * rho * g / (M * epsilon0 * k * T),
@@ -1231,43 +4507,13 @@ public class IF97 {
 
             double delta = rho / rhoc, theta = T / Tc,
                     psi0 = 0, psi1 = 0;
-            double[] n0 = new double[]{
-                0.167752e-1, 0.220462e-1, 0.6366564e-2, -0.241605e-2
-            };
-            double[][] IJn = new double[][]{
-                {0, 0, 0.520094},
-                {0, 1, 0.850895e-1},
-                {0, 2, -.108374e1},
-                {0, 3, -.289555},
-                {1, 0, 0.222531},
-                {1, 1, 0.999115},
-                {1, 2, 0.188797e1},
-                {1, 3, 0.126613e1},
-                {1, 5, 0.120573},
-                {2, 0, -.281378},
-                {2, 1, -.906851},
-                {2, 2, -.772479},
-                {2, 3, -.489837},
-                {2, 4, -.257040},
-                {3, 0, 0.161913},
-                {3, 1, 0.257399},
-                {4, 0, -.325372e-1},
-                {4, 3, 0.698452e-1},
-                {5, 4, 0.872102e-2},
-                {6, 3, -.435673e-2},
-                {6, 5, -.593264e-3}
-            };
-
-            for (int i = 0; i < n0.length; i++) {
-                psi0 += n0[i] / pow(theta, i);
+
+            for (int i = 0; i < n0Viscosity.length; i++) {
+                psi0 += n0Viscosity[i] / Region.intPow(theta, i);
             }
             psi0 = sqrt(theta) / psi0;
 
-            double[] x = new double[]{delta - 1, 1 / theta - 1};
-
-            for (double[] ijn : IJn) {
-                psi1 += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-            }
+            psi1 += Region.polynomial(IJnViscosity, delta - 1, 1 / theta - 1);
             psi1 = exp(delta * psi1);
 
             return psi0 * psi1 * 1e-6;
@@ -1291,11 +4537,11 @@ public class IF97 {
 
             Region region = Region.getRegionPT(p, T);
 
-            double nu = region.specificVolumePT(p, T), rho = 1.0 / nu,
-                    s = region.specificEntropyRhoT(rho, T),
-                    cp = region.specificIsobaricHeatCapacityPT(p, T),
-                    alphanu = region.isobaricCubicExpansionCoefficientPT(p, T),
-                    kappaT = region.isothermalCompressibilityPT(p, T);
+            double nu = RegionDispatch.specificVolumePT(region, p, T),
+                    s = RegionDispatch.specificEntropyPT(region, p, T),
+                    cp = RegionDispatch.specificIsobaricHeatCapacityPT(region, p, T),
+                    alphanu = RegionDispatch.isobaricCubicExpansionCoefficientPT(region, p, T),
+                    kappaT = RegionDispatch.isothermalCompressibilityPT(region, p, T);
 
             double[] dx = partialDerivativesPT(p, T, x, nu, s, cp, alphanu, kappaT),
                     dy = partialDerivativesPT(p, T, y, nu, s, cp, alphanu, kappaT),
@@ -1325,7 +4571,7 @@ public class IF97 {
          */
         private static double partialDerivativeRhoT(double rho, double T, Quantity x, Quantity y, Quantity z) throws OutOfRangeException {
 
-            Region3 region3 = new Region3();
+            Region3 region3 = REGION3;
             double nu = 1.0 / rho,
                     p = region3.pressureRhoT(rho, T),
                     s = region3.specificEntropyRhoT(rho, T),
@@ -1347,7 +4593,8 @@ public class IF97 {
         /**
          * Partial derivatives of the given quantity with respect to specific
          * volume and temperature for region 3 described by specific Helmholtz
-         * free energy.
+         * free energy. Derivatives are in default units, p &middot; &nu; in
+         * MJ/kg is converted to kJ/kg.
          *
          * @param nu specific volume [m&sup3;/kg]
          * @param T temperature [K]
@@ -1381,27 +4628,27 @@ public class IF97 {
                     break;
 
                 case u:
-                    d_dnu = p * (T * alphap - 1);
+                    d_dnu = 1e3 * p * (T * alphap - 1);
                     d_dT = cv;
                     break;
 
                 case h:
-                    d_dnu = p * (T * alphap - nu * betap);
-                    d_dT = cv + p * nu * alphap;
+                    d_dnu = 1e3 * p * (T * alphap - nu * betap);
+                    d_dT = cv + 1e3 * p * nu * alphap;
                     break;
 
                 case s:
-                    d_dnu = p * alphap;
+                    d_dnu = 1e3 * p * alphap;
                     d_dT = cv / T;
                     break;
 
                 case g:
-                    d_dnu = -p * nu * betap;
-                    d_dT = p * nu * alphap - s;
+                    d_dnu = -1e3 * p * nu * betap;
+                    d_dT = 1e3 * p * nu * alphap - s;
                     break;
 
                 case f:
-                    d_dnu = -p;
+                    d_dnu = -1e3 * p;
                     d_dT = -s;
                     break;
             }
@@ -1409,9 +4656,25 @@ public class IF97 {
             return new double[]{d_dnu, d_dT};
         }
 
+        /**
+         * Partial derivatives of the given quantity with respect to pressure
+         * and temperature at a state in default units. Any single-phase
+         * region qualifies, the state supplies the derivatives of the free
+         * energy.
+         *
+         * @param state state in default units
+         * @param quantity quantity
+         * @return partial derivatives d/dT [1/K] and d/dp [1/MPa]
+         */
+        static double[] partialDerivativesPT(MutableThermodynamicState state, Quantity quantity) {
+            return partialDerivativesPT(state.p, state.T, quantity, state.v, state.s, state.cp, state.alpha, state.kappa);
+        }
+
         /**
          * Partial derivatives of the given quantity with respect to pressure
          * and temperature for regions described by specific Gibbs free energy.
+         * Derivatives are in default units, p &middot; &nu; in MJ/kg is
+         * converted to kJ/kg.
          *
          * @param p pressure [MPa]
          * @param T temperature [K]
@@ -1445,28 +4708,28 @@ public class IF97 {
                     break;
 
                 case u:
-                    d_dT = cp - p * nu * alphanu;
-                    d_dp = nu * (p * kappaT - T * alphanu);
+                    d_dT = cp - 1e3 * p * nu * alphanu;
+                    d_dp = 1e3 * nu * (p * kappaT - T * alphanu);
                     break;
 
                 case h:
                     d_dT = cp;
-                    d_dp = nu * (1 - T * alphanu);
+                    d_dp = 1e3 * nu * (1 - T * alphanu);
                     break;
 
                 case s:
                     d_dT = cp / T;
-                    d_dp = -nu * alphanu;
+                    d_dp = -1e3 * nu * alphanu;
                     break;
 
                 case g:
                     d_dT = -s;
-                    d_dp = nu;
+                    d_dp = 1e3 * nu;
                     break;
 
                 case f:
-                    d_dT = -p * nu * alphanu - s;
-                    d_dp = p * nu * kappaT;
+                    d_dT = -1e3 * p * nu * alphanu - s;
+                    d_dp = 1e3 * p * nu * kappaT;
                     break;
             }
 
@@ -1503,16 +4766,7 @@ public class IF97 {
                 throw new OutOfRangeException(Quantity.lambda, lambda, 1.1);
             }
 
-            double[] a = new double[]{
-                0.244257733,
-                0.974634476e-2,
-                -.373234996e-2,
-                0.268678472e-3,
-                0.158920570e-2,
-                0.245934259e-2,
-                0.900704920,
-                -.166626219e-1
-            };
+            double[] a = aRefractive;
             double delta = rho / 1e3, theta = T / 273.15,
                     Lambda = lambda / 0.589, Lambda2 = Lambda * Lambda,
                     LambdaIR = 5.432937, LambdaUV = -0.229202,
@@ -1528,6 +4782,45 @@ public class IF97 {
             return sqrt((2 * A + 1) / (1 - A));
         }
 
+        /**
+         * Specific entropy as a function of pressure & specific enthalpy.
+         *
+         * @param p pressure [MPa]
+         * @param h specific enthalpy [kJ/kg]
+         * @return specific entropy [kJ/kg-K]
+         * @throws OutOfRangeException out-of-range exception
+         */
+        static double specificEntropyPH(double p, double h) throws OutOfRangeException {
+            double T = temperaturePH(p, h);
+            return RegionDispatch.specificEntropyPT(getRegionPT(p, T), p, T);
+        }
+
+        /**
+         * Specific internal energy as a function of pressure & specific
+         * enthalpy.
+         *
+         * @param p pressure [MPa]
+         * @param h specific enthalpy [kJ/kg]
+         * @return specific internal energy [kJ/kg]
+         * @throws OutOfRangeException out-of-range exception
+         */
+        static double specificInternalEnergyPH(double p, double h) throws OutOfRangeException {
+            double T = temperaturePH(p, h);
+            return RegionDispatch.specificInternalEnergyPT(getRegionPT(p, T), p, T);
+        }
+
+        /**
+         * Specific volume as a function of pressure & specific enthalpy.
+         *
+         * @param p pressure [MPa]
+         * @param h specific enthalpy [kJ/kg]
+         * @return specific volume [m&sup3;/kg]
+         * @throws OutOfRangeException out-of-range exception
+         */
+        static double specificVolumePH(double p, double h) throws OutOfRangeException {
+            return specificVolumePT(p, temperaturePH(p, h));
+        }
+
         /**
          * Specific volume as a function of pressure & temperature.
          *
@@ -1537,7 +4830,22 @@ public class IF97 {
          * @throws OutOfRangeException out-of-range exception
          */
         static double specificVolumePT(double p, double T) throws OutOfRangeException {
-            return getRegionPT(p, T).specificVolumePT(p, T);
+            return RegionDispatch.specificVolumePT(getRegionPT(p, T), p, T);
+        }
+
+        /**
+         * Thermodynamic state as a function of specific volume &amp; specific
+         * internal energy.
+         *
+         * @param v specific volume [m&sup3;/kg]
+         * @param u specific internal energy [kJ/kg]
+         * @param state state holder to fill
+         * @return the state holder
+         * @throws OutOfRangeException out-of-range exception
+         */
+        static MutableThermodynamicState stateVU(double v, double u, MutableThermodynamicState state) throws OutOfRangeException {
+            SplineTableVU.getInstance().stateVU(v, u, state);
+            return state;
         }
 
         /**
@@ -1569,7 +4877,7 @@ public class IF97 {
          * @throws OutOfRangeException out-of-range exception
          */
         static double temperaturePH(double p, double h) throws OutOfRangeException {
-            return getRegionPH(p, h).temperaturePH(p, h);
+            return RegionDispatch.temperaturePH(getRegionPH(p, h), p, h);
         }
 
         /**
@@ -1581,42 +4889,28 @@ public class IF97 {
          * @throws OutOfRangeException out-of-range exception
          */
         static double thermalConductivityPT(double p, double T) throws OutOfRangeException {
+            return thermalConductivityRhoT(1.0 / specificVolumePT(p, T), T);
+        }
 
-            /*
-             * Coefficients
-             */
-            double[] n0 = new double[]{
-                0.102811e-1,
-                0.299621e-1,
-                0.156146e-1,
-                -.422464e-2
-            }, n1 = new double[]{
-                -.397070,
-                0.400302,
-                0.106000e1,
-                -.171587,
-                0.239219e1
-            }, n2 = new double[]{
-                0.701309e-1,
-                0.118520e-1,
-                0.642857,
-                0.169937e-2,
-                -.102000e1,
-                -.411717e1,
-                -.617937e1,
-                0.822994e-1,
-                0.100932e2,
-                0.308976e-2
-            };
+        /**
+         * Thermal conductivity as a function of density & temperature.
+         *
+         * @param rho density [kg/m3]
+         * @param T temperature [K]
+         * @return thermal conductivity []
+         */
+        static double thermalConductivityRhoT(double rho, double T) {
+
+            double[] n0 = n0Conductivity, n1 = n1Conductivity, n2 = n2Conductivity;
 
             double theta = T / 647.26, DeltaTheta = abs(theta - 1.0) + n2[9],
-                    rho = 1.0 / specificVolumePT(p, T), delta = rho / 317.7,
+                    delta = rho / 317.7,
                     Lambda0 = 0.0,
                     A, B = 2.0 + n2[7] * pow(DeltaTheta, -0.6);
 
             //System.out.println("rho: " + rho + ", theta: " + theta);
             for (int i = 0; i < 4; i++) {
-                Lambda0 += n0[i] * pow(theta, i);
+                Lambda0 += n0[i] * Region.intPow(theta, i);
             }
             if (theta < 1.0) {
                 A = n2[8] / pow(DeltaTheta, 0.6);
@@ -1625,13 +4919,386 @@ public class IF97 {
                 A = 1.0 / DeltaTheta;
             }
 
-            double Lambda1 = n1[0] + n1[1] * delta + n1[2] * exp(n1[3] * pow(delta + n1[4], 2)),
-                    Lambda2 = (n2[0] / pow(theta, 10) + n2[1]) * pow(delta, 1.8) * exp(n2[2] * (1.0 - pow(delta, 2.8)))
+            double Lambda1 = n1[0] + n1[1] * delta + n1[2] * exp(n1[3] * Region.intPow(delta + n1[4], 2)),
+                    Lambda2 = (n2[0] / Region.intPow(theta, 10) + n2[1]) * pow(delta, 1.8) * exp(n2[2] * (1.0 - pow(delta, 2.8)))
                     + n2[3] * A * pow(delta, B) * exp(B / (1.0 + B) * (1.0 - pow(delta, 1.0 + B)))
-                    + n2[4] * exp(n2[5] * pow(theta, 1.5) + n2[6] / pow(delta, 5));
+                    + n2[4] * exp(n2[5] * pow(theta, 1.5) + n2[6] / Region.intPow(delta, 5));
 
             return sqrt(theta) * Lambda0 + Lambda1 + Lambda2;
         }
+
+        /**
+         * Fills the dynamic viscosity &amp; thermal conductivity of a state
+         * from its density &amp; temperature. Wet steam is left untouched,
+         * like its other single-phase properties.
+         *
+         * @param state state holder, in default units
+         * @throws OutOfRangeException out-of-range exception
+         */
+        static void transportProperties(MutableThermodynamicState state) throws OutOfRangeException {
+
+            if (state.region != 4) {
+                state.eta = dynamicViscosityRhoT(state.rho, state.T);
+                state.lambda = thermalConductivityRhoT(state.rho, state.T);
+            }
+        }
+    }
+
+    /**
+     * Property functions of two variables in default units, evaluated
+     * element-wise by the batch methods.
+     */
+    enum Function {
+
+        PRANDTL_HS(Variables.HS) {
+            @Override
+            double calculate(double h, double s) throws OutOfRangeException {
+                Region region = getRegionHS(h, s);
+                double p = RegionDispatch.pressureHS(region, h, s),
+                        T = RegionDispatch.temperatureHS(region, h, s);
+                return Calculate.PrandtlPT(p, T);
+            }
+
+            @Override
+            double calculate(double h, double s, RangeStatus status) {
+                Region region = getRegionHS(h, s);
+                double p = RegionDispatch.pressureHS(region, h, s),
+                        T = RegionDispatch.temperatureHS(region, h, s);
+                return Region.isInRangePT(p, T, status) ? Calculate.PrandtlPT(p, T) : Double.NaN;
+            }
+        },
+        PRANDTL_PH(Variables.PH, true) {
+            @Override
+            double calculateT(double p, double T) throws OutOfRangeException {
+                return Calculate.PrandtlPT(p, T);
+            }
+        },
+        PRANDTL_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                return Calculate.PrandtlPT(p, T);
+            }
+        },
+        COMPRESSIBILITY_HS(Variables.HS) {
+            @Override
+            double calculate(double h, double s) throws OutOfRangeException {
+                Region region = getRegionHS(h, s);
+                double p = RegionDispatch.pressureHS(region, h, s),
+                        T = RegionDispatch.temperatureHS(region, h, s);
+                checkRangePT(p, T, HS_TOLERANCE);
+                return RegionDispatch.isothermalCompressibilityPT(region, p, T);
+            }
+
+            @Override
+            double calculate(double h, double s, RangeStatus status) {
+                Region region = getRegionHS(h, s);
+                double p = RegionDispatch.pressureHS(region, h, s),
+                        T = RegionDispatch.temperatureHS(region, h, s);
+                return Region.isInRangePT(p, T, HS_TOLERANCE, status) ? RegionDispatch.isothermalCompressibilityPT(region, p, T) : Double.NaN;
+            }
+        },
+        COMPRESSIBILITY_PH(Variables.PH, true) {
+            @Override
+            double calculateT(double p, double T) throws OutOfRangeException {
+                return RegionDispatch.isothermalCompressibilityPT(getRegionPT(p, T), p, T);
+            }
+        },
+        COMPRESSIBILITY_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                return RegionDispatch.isothermalCompressibilityPT(getRegionPT(p, T), p, T);
+            }
+        },
+        DIELECTRIC_CONSTANT_PH(Variables.PH, true) {
+            @Override
+            double calculateT(double p, double T) throws OutOfRangeException {
+                double rho = 1 / Calculate.specificVolumePT(p, T);
+                return Calculate.dielectricConstantRhoT(rho, T);
+            }
+        },
+        DIELECTRIC_CONSTANT_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                double rho = 1 / Calculate.specificVolumePT(p, T);
+                return Calculate.dielectricConstantRhoT(rho, T);
+            }
+        },
+        DIELECTRIC_CONSTANT_RHOT(Variables.RHOT) {
+            @Override
+            double calculate(double rho, double T) throws OutOfRangeException {
+                return Calculate.dielectricConstantRhoT(rho, T);
+            }
+        },
+        DYNAMIC_VISCOSITY_PH(Variables.PH, true) {
+            @Override
+            double calculateT(double p, double T) throws OutOfRangeException {
+                double rho = 1 / Calculate.specificVolumePT(p, T);
+                return Calculate.dynamicViscosityRhoT(rho, T);
+            }
+        },
+        DYNAMIC_VISCOSITY_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                double rho = 1 / Calculate.specificVolumePT(p, T);
+                return Calculate.dynamicViscosityRhoT(rho, T);
+            }
+        },
+        DYNAMIC_VISCOSITY_RHOT(Variables.RHOT) {
+            @Override
+            double calculate(double rho, double T) throws OutOfRangeException {
+                return Calculate.dynamicViscosityRhoT(rho, T);
+            }
+        },
+        ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PH(Variables.PH) {
+            @Override
+            double calculate(double p, double h) throws OutOfRangeException {
+                double T = Calculate.temperaturePH(p, h);
+                return RegionDispatch.isobaricCubicExpansionCoefficientPT(getRegionPH(p, h), p, T);
+            }
+        },
+        ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                return RegionDispatch.isobaricCubicExpansionCoefficientPT(getRegionPT(p, T), p, T);
+            }
+        },
+        ISOBARIC_HEAT_CAPACITY_PH(Variables.PH, true) {
+            @Override
+            double calculateT(double p, double T) throws OutOfRangeException {
+                return RegionDispatch.specificIsobaricHeatCapacityPT(getRegionPT(p, T), p, T);
+            }
+        },
+        ISOBARIC_HEAT_CAPACITY_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                return RegionDispatch.specificIsobaricHeatCapacityPT(getRegionPT(p, T), p, T);
+            }
+        },
+        ISOCHORIC_HEAT_CAPACITY_PH(Variables.PH, true) {
+            @Override
+            double calculateT(double p, double T) throws OutOfRangeException {
+                return RegionDispatch.specificIsochoricHeatCapacityPT(getRegionPT(p, T), p, T);
+            }
+        },
+        ISOCHORIC_HEAT_CAPACITY_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                return RegionDispatch.specificIsochoricHeatCapacityPT(getRegionPT(p, T), p, T);
+            }
+        },
+        KINEMATIC_VISCOSITY_PH(Variables.PH, true) {
+            @Override
+            double calculateT(double p, double T) throws OutOfRangeException {
+                double rho = 1 / Calculate.specificVolumePT(p, T);
+                return Calculate.dynamicViscosityRhoT(rho, T) / rho;
+            }
+        },
+        KINEMATIC_VISCOSITY_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                double rho = 1 / Calculate.specificVolumePT(p, T);
+                return Calculate.dynamicViscosityRhoT(rho, T) / rho;
+            }
+        },
+        KINEMATIC_VISCOSITY_RHOT(Variables.RHOT) {
+            @Override
+            double calculate(double rho, double T) throws OutOfRangeException {
+                return Calculate.dynamicViscosityRhoT(rho, T) / rho;
+            }
+        },
+        PRESSURE_HS(Variables.HS) {
+            @Override
+            double calculate(double h, double s) throws OutOfRangeException {
+                return RegionDispatch.pressureHS(getRegionHS(h, s), h, s);
+            }
+        },
+        SPECIFIC_ENTHALPY_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                return RegionDispatch.specificEnthalpyPT(getRegionPT(p, T), p, T);
+            }
+        },
+        SPECIFIC_ENTROPY_PH(Variables.PH, true) {
+            @Override
+            double calculateT(double p, double T) throws OutOfRangeException {
+                return RegionDispatch.specificEntropyPT(getRegionPT(p, T), p, T);
+            }
+        },
+        SPECIFIC_ENTROPY_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                return RegionDispatch.specificEntropyPT(getRegionPT(p, T), p, T);
+            }
+        },
+        SPECIFIC_INTERNAL_ENERGY_HS(Variables.HS) {
+            @Override
+            double calculate(double h, double s) throws OutOfRangeException {
+                Region region = getRegionHS(h, s);
+                double p = RegionDispatch.pressureHS(region, h, s),
+                        T = RegionDispatch.temperatureHS(region, h, s);
+                checkRangePT(p, T, HS_TOLERANCE);
+                return RegionDispatch.specificInternalEnergyPT(region, p, T);
+            }
+
+            @Override
+            double calculate(double h, double s, RangeStatus status) {
+                Region region = getRegionHS(h, s);
+                double p = RegionDispatch.pressureHS(region, h, s),
+                        T = RegionDispatch.temperatureHS(region, h, s);
+                return Region.isInRangePT(p, T, HS_TOLERANCE, status) ? RegionDispatch.specificInternalEnergyPT(region, p, T) : Double.NaN;
+            }
+        },
+        SPECIFIC_INTERNAL_ENERGY_PH(Variables.PH, true) {
+            @Override
+            double calculateT(double p, double T) throws OutOfRangeException {
+                return RegionDispatch.specificInternalEnergyPT(getRegionPT(p, T), p, T);
+            }
+        },
+        SPECIFIC_INTERNAL_ENERGY_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                return RegionDispatch.specificInternalEnergyPT(getRegionPT(p, T), p, T);
+            }
+        },
+        SPECIFIC_VOLUME_PH(Variables.PH, true) {
+            @Override
+            double calculateT(double p, double T) throws OutOfRangeException {
+                return Calculate.specificVolumePT(p, T);
+            }
+        },
+        SPECIFIC_VOLUME_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                return Calculate.specificVolumePT(p, T);
+            }
+        },
+        TEMPERATURE_HS(Variables.HS) {
+            @Override
+            double calculate(double h, double s) throws OutOfRangeException {
+                return RegionDispatch.temperatureHS(getRegionHS(h, s), h, s);
+            }
+        },
+        TEMPERATURE_PH(Variables.PH) {
+            @Override
+            double calculate(double p, double h) throws OutOfRangeException {
+                return Calculate.temperaturePH(p, h);
+            }
+        },
+        THERMAL_CONDUCTIVITY_PH(Variables.PH, true) {
+            @Override
+            double calculateT(double p, double T) throws OutOfRangeException {
+                return Calculate.thermalConductivityPT(p, T);
+            }
+        },
+        THERMAL_CONDUCTIVITY_PT(Variables.PT) {
+            @Override
+            double calculate(double p, double T) throws OutOfRangeException {
+                return Calculate.thermalConductivityPT(p, T);
+            }
+        },
+        VAPOUR_FRACTION_HS(Variables.HS) {
+            @Override
+            double calculate(double h, double s) throws OutOfRangeException {
+                return RegionDispatch.vapourFractionHS(getRegionHS(h, s), h, s);
+            }
+        };
+
+        /**
+         * Independent variables of a function.
+         */
+        enum Variables {
+
+            HS, PH, PT, RHOT
+        }
+        private final Variables VARIABLES;
+        /**
+         * Whether a (p,h) function evaluates the (p,T) equations at the
+         * temperature of the backward equations, see
+         * {@link #calculateT(double, double)}.
+         */
+        private final boolean AT_TEMPERATURE;
+
+        Function(Variables variables) {
+            this(variables, false);
+        }
+
+        Function(Variables variables, boolean atTemperature) {
+            VARIABLES = variables;
+            AT_TEMPERATURE = atTemperature;
+        }
+
+        /**
+         * Evaluate in default units, (p,h) functions evaluated at a
+         * temperature by {@link #calculateT(double, double)}.
+         *
+         * @param x first independent variable
+         * @param y second independent variable
+         * @return function value
+         * @throws OutOfRangeException out-of-range exception
+         */
+        double calculate(double x, double y) throws OutOfRangeException {
+            return calculateT(x, Calculate.temperaturePH(x, y));
+        }
+
+        /**
+         * Evaluate in default units without throwing for out-of-range
+         * arguments. Besides the global limits, the temperature of (p,h)
+         * functions evaluated at a temperature &amp; the pressure &amp;
+         * temperature of the (h,s) Prandtl number are checked against the
+         * limits of the (p,T) equations, those are all the limits the
+         * functions have.
+         *
+         * @param x first independent variable
+         * @param y second independent variable
+         * @param status status, set out of range when applicable
+         * @return function value, NaN when out of range
+         */
+        double calculate(double x, double y, RangeStatus status) {
+
+            if (!isInRange(x, y, status)) {
+                return Double.NaN;
+
+            } else if (!AT_TEMPERATURE) {
+                return calculate(x, y);
+            }
+            double T = Calculate.temperaturePH(x, y);
+
+            return Region.isInRangePT(x, T, status) ? calculateT(x, T) : Double.NaN;
+        }
+
+        /**
+         * Evaluate a (p,h) function in default units at the temperature of
+         * the backward equations.
+         *
+         * @param p pressure [MPa]
+         * @param T temperature [K]
+         * @return function value
+         * @throws OutOfRangeException out-of-range exception
+         */
+        double calculateT(double p, double T) throws OutOfRangeException {
+            throw new UnsupportedOperationException("Function not evaluated at a temperature: " + this);
+        }
+
+        /**
+         * Checks the arguments against the global limits of the (p,h) or
+         * (p,T) equations without throwing, other arguments are left to
+         * {@link #calculate(double, double)}.
+         *
+         * @param x first independent variable
+         * @param y second independent variable
+         * @param status status, set out of range when applicable
+         * @return false when out of range
+         */
+        boolean isInRange(double x, double y, RangeStatus status) {
+
+            if (VARIABLES == Variables.PH) {
+                return Region.isInRangePH(x, y, status);
+
+            } else if (VARIABLES == Variables.PT) {
+                return Region.isInRangePT(x, y, status);
+            }
+            return true;
+        }
     }
 
     /**
@@ -1715,7 +5382,9 @@ public class IF97 {
     }
 
     /**
-     * Unit system conversion is pending complete implementation.
+     * Unit system conversion is pending complete implementation, the US
+     * customary &amp; imperial systems can be composed with
+     * {@link Units#builder(UnitSystem)} meanwhile.
      *
      * <table border="1"> <tr>
      * <th></th><th></th><th>Default</th><th>Engineering</th><th>SI</th><th>US
@@ -1846,7 +5515,7 @@ public class IF97 {
         //new double[]{1, 0}, // thermal conductivity
         //new double[]{1, 0}); // wave length
         //BTU = 1054.5 J
-        double[] COMPRESSIBILITY,
+        final double[] COMPRESSIBILITY,
                 DENSITY,
                 DYNAMIC_VISCOSITY,
                 ISOBARIC_CUBIC_EXPANSION_COEFFICIENT,
@@ -1861,6 +5530,10 @@ public class IF97 {
                 TEMPERATURE,
                 THERMAL_CONDUCTIVITY,
                 WAVE_LENGTH;
+        /**
+         * Precompiled conversions.
+         */
+        final Units UNITS;
 
         /**
          * Scale and bias values for conversion to default unit system.
@@ -1906,6 +5579,11 @@ public class IF97 {
             TEMPERATURE = temperature;
             THERMAL_CONDUCTIVITY = thermalConductivity;
             WAVE_LENGTH = waveLength;
+            UNITS = new Units(compressibility, density, dynamicViscosity,
+                    isobaricCubicExpansionCoefficient, kinematicViscosity,
+                    pressure, specificEnergy, specificEnthalpy, specificEntropy,
+                    specificHeatCapacity, specificVolume, surfaceTension,
+                    temperature, thermalConductivity, waveLength);
         }
     }
 }
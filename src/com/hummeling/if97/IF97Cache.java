@@ -0,0 +1,594 @@
+/*
+ * IF97Cache.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Function;
+import static java.lang.Double.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded memoization cache in front of an IF97 instance, for simulations
+ * querying the same states repeatedly. Values are keyed on the raw bits of
+ * both inputs, the input pair &amp; the property, inputs &amp; values are in
+ * the units the underlying instance used when the cache was created. Changing
+ * the units of that instance afterwards doesn't affect the cache.
+ *
+ * Entries are kept in an open-addressing table of primitive longs, one cache
+ * line per entry, looked up in a window of {@value #PROBES} slots. A full
+ * window evicts by the clock algorithm: hits mark their entry referenced,
+ * insertion clears reference marks until it finds an unreferenced entry.
+ * Readers validate entries by a sequence number instead of locking, so a
+ * cache can be shared by threads &amp; a hit doesn't allocate. Out-of-range
+ * exceptions are thrown on every query, they're not cached.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class IF97Cache {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    /**
+     * Maximum capacity.
+     */
+    public static final int MAX_CAPACITY = 1 << 24;
+    /**
+     * Number of slots searched for an entry.
+     */
+    static final int PROBES = 4;
+    /**
+     * Slot layout: sequence number, odd while written, input bits, function
+     * ordinal + 1 or 0 when empty, value bits &amp; clock reference mark.
+     */
+    private static final int SEQ = 0, X = 1, Y = 2, FUNCTION = 3, VALUE = 4,
+            REFERENCED = 5, STRIDE = 8;
+    /**
+     * Counter stripes, each counter on its own cache line.
+     */
+    private static final int STRIPES = 16, HITS = 0, MISSES = STRIDE;
+    /**
+     * Not-a-number bits, never stored since stored values are canonicalized.
+     */
+    private static final long MISS = 0x7ff00000deadbeefL;
+    private final AtomicLongArray counters = new AtomicLongArray(STRIPES * STRIDE * 2), slots;
+    private final IF97 if97;
+    private final int mask;
+    // </editor-fold>
+
+    /**
+     * Cache in front of the given IF97 instance.
+     *
+     * @param if97 IF97 instance calculating values not cached, with the units
+     * in use at construction
+     * @param capacity maximum number of cached values, rounded up to a power
+     * of two
+     * @throws IllegalArgumentException when the capacity is below 1 or above
+     * {@link #MAX_CAPACITY}
+     */
+    public IF97Cache(IF97 if97, int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity out of range: " + capacity);
+        }
+        this.if97 = if97.snapshot();
+        mask = Integer.highestOneBit(2 * capacity - 1) - 1;
+        slots = new AtomicLongArray((mask + 1) * STRIDE);
+    }
+
+    /**
+     * Prandtl number.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return Prandtl number
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double PrandtlPH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.PRANDTL_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.PRANDTL_PH, pressure, enthalpy, if97.PrandtlPH(pressure, enthalpy));
+    }
+
+    /**
+     * Prandtl number.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return Prandtl number
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double PrandtlPT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.PRANDTL_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.PRANDTL_PT, pressure, temperature, if97.PrandtlPT(pressure, temperature));
+    }
+
+    /**
+     * Removes all cached values &amp; resets the hit &amp; miss counters.
+     * Values stored concurrently with this call may survive it.
+     */
+    public void clear() {
+
+        for (int base = 0; base < slots.length(); base += STRIDE) {
+            long seq = slots.get(base + SEQ);
+
+            if ((seq & 1) == 0 && slots.compareAndSet(base + SEQ, seq, seq + 1)) {
+                slots.set(base + FUNCTION, 0);
+                slots.set(base + REFERENCED, 0);
+                slots.set(base + SEQ, seq + 2);
+            }
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    /**
+     * Isothermal compressibility as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return isothermal compressibility
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double compressibilityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.COMPRESSIBILITY_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.COMPRESSIBILITY_PH, pressure, enthalpy, if97.compressibilityPH(pressure, enthalpy));
+    }
+
+    /**
+     * Isothermal compressibility as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return isothermal compressibility
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double compressibilityPT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.COMPRESSIBILITY_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.COMPRESSIBILITY_PT, pressure, temperature, if97.compressibilityPT(pressure, temperature));
+    }
+
+    private void count(int counter) {
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        counters.getAndIncrement(stripe * STRIDE * 2 + counter);
+    }
+
+    /**
+     * Dielectric constant.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return dielectric constant [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dielectricConstantPH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.DIELECTRIC_CONSTANT_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.DIELECTRIC_CONSTANT_PH, pressure, enthalpy, if97.dielectricConstantPH(pressure, enthalpy));
+    }
+
+    /**
+     * Dielectric constant.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return dielectric constant [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dielectricConstantPT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.DIELECTRIC_CONSTANT_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.DIELECTRIC_CONSTANT_PT, pressure, temperature, if97.dielectricConstantPT(pressure, temperature));
+    }
+
+    /**
+     * Dynamic viscosity as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return dynamic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dynamicViscosityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.DYNAMIC_VISCOSITY_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.DYNAMIC_VISCOSITY_PH, pressure, enthalpy, if97.dynamicViscosityPH(pressure, enthalpy));
+    }
+
+    /**
+     * Dynamic viscosity.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return dynamic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dynamicViscosityPT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.DYNAMIC_VISCOSITY_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.DYNAMIC_VISCOSITY_PT, pressure, temperature, if97.dynamicViscosityPT(pressure, temperature));
+    }
+
+    /**
+     * Looks up a cached value.
+     *
+     * @param function property &amp; input pair
+     * @param x first input
+     * @param y second input
+     * @return bits of the cached value, or {@link #MISS}
+     */
+    private long get(Function function, double x, double y) {
+        long xBits = doubleToRawLongBits(x),
+                yBits = doubleToRawLongBits(y);
+        int key = function.ordinal() + 1,
+                hash = hash(key, xBits, yBits);
+
+        for (int i = 0; i < PROBES; i++) {
+            int base = ((hash + i) & mask) * STRIDE;
+            long seq = slots.get(base + SEQ);
+
+            if ((seq & 1) != 0
+                    || slots.get(base + FUNCTION) != key
+                    || slots.get(base + X) != xBits
+                    || slots.get(base + Y) != yBits) {
+                continue;
+            }
+            long value = slots.get(base + VALUE);
+
+            // a writer may have replaced the entry while it was being read
+            if (slots.get(base + SEQ) == seq) {
+                if (slots.get(base + REFERENCED) == 0) {
+                    slots.lazySet(base + REFERENCED, 1);
+                }
+                count(HITS);
+                return value;
+            }
+        }
+        count(MISSES);
+        return MISS;
+    }
+
+    /**
+     * Number of entries, the requested capacity rounded up to a power of two.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Number of queries answered from the cache since construction or the
+     * last {@link #clear()}.
+     *
+     * @return hits
+     */
+    public long getHits() {
+        return sum(HITS);
+    }
+
+    /**
+     * Number of queries calculated by the underlying IF97 instance since
+     * construction or the last {@link #clear()}, including out-of-range
+     * queries.
+     *
+     * @return misses
+     */
+    public long getMisses() {
+        return sum(MISSES);
+    }
+
+    private static int hash(int key, long xBits, long yBits) {
+        long h = xBits * 0x9e3779b97f4a7c15L ^ yBits * 0xc2b2ae3d27d4eb4fL ^ key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return isobaric cubic expansion coefficient
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricCubicExpansionCoefficientPH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PH, pressure, enthalpy, if97.isobaricCubicExpansionCoefficientPH(pressure, enthalpy));
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return isobaric cubic expansion coefficient
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricCubicExpansionCoefficientPT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PT, pressure, temperature, if97.isobaricCubicExpansionCoefficientPT(pressure, temperature));
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure & specific
+     * enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific isobaric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricHeatCapacityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.ISOBARIC_HEAT_CAPACITY_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.ISOBARIC_HEAT_CAPACITY_PH, pressure, enthalpy, if97.isobaricHeatCapacityPH(pressure, enthalpy));
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific isobaric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricHeatCapacityPT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.ISOBARIC_HEAT_CAPACITY_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.ISOBARIC_HEAT_CAPACITY_PT, pressure, temperature, if97.isobaricHeatCapacityPT(pressure, temperature));
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure & specific
+     * enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific isochoric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isochoricHeatCapacityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.ISOCHORIC_HEAT_CAPACITY_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.ISOCHORIC_HEAT_CAPACITY_PH, pressure, enthalpy, if97.isochoricHeatCapacityPH(pressure, enthalpy));
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific isochoric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isochoricHeatCapacityPT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.ISOCHORIC_HEAT_CAPACITY_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.ISOCHORIC_HEAT_CAPACITY_PT, pressure, temperature, if97.isochoricHeatCapacityPT(pressure, temperature));
+    }
+
+    /**
+     * Kinematic viscosity.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double kinematicViscosityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.KINEMATIC_VISCOSITY_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.KINEMATIC_VISCOSITY_PH, pressure, enthalpy, if97.kinematicViscosityPH(pressure, enthalpy));
+    }
+
+    /**
+     * Kinematic viscosity.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double kinematicViscosityPT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.KINEMATIC_VISCOSITY_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.KINEMATIC_VISCOSITY_PT, pressure, temperature, if97.kinematicViscosityPT(pressure, temperature));
+    }
+
+    /**
+     * Stores a calculated value. The entry replaces an empty slot or else the
+     * first slot in the probe window not referenced since the clock last
+     * passed it, or the first slot when all were referenced. The value is
+     * not stored when another thread is writing the chosen slot.
+     *
+     * @param function property &amp; input pair
+     * @param x first input
+     * @param y second input
+     * @param value calculated value
+     * @return value
+     */
+    private double put(Function function, double x, double y, double value) {
+        long xBits = doubleToRawLongBits(x),
+                yBits = doubleToRawLongBits(y);
+        int key = function.ordinal() + 1,
+                hash = hash(key, xBits, yBits),
+                victim = -1;
+
+        for (int i = 0; i < PROBES; i++) {
+            int base = ((hash + i) & mask) * STRIDE;
+
+            if (slots.get(base + FUNCTION) == 0) {
+                victim = base;
+                break;
+            }
+        }
+        for (int i = 0; victim < 0; i++) {
+            int base = ((hash + i % PROBES) & mask) * STRIDE;
+
+            // second chance, after one pass all reference bits are cleared
+            if (i >= PROBES || slots.get(base + REFERENCED) == 0) {
+                victim = base;
+            } else {
+                slots.lazySet(base + REFERENCED, 0);
+            }
+        }
+        long seq = slots.get(victim + SEQ);
+
+        if ((seq & 1) == 0 && slots.compareAndSet(victim + SEQ, seq, seq + 1)) {
+            slots.set(victim + FUNCTION, key);
+            slots.set(victim + X, xBits);
+            slots.set(victim + Y, yBits);
+            slots.set(victim + VALUE, doubleToLongBits(value));
+            slots.set(victim + REFERENCED, 0);
+            slots.set(victim + SEQ, seq + 2);
+        }
+        return value;
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEnthalpyPT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.SPECIFIC_ENTHALPY_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.SPECIFIC_ENTHALPY_PT, pressure, temperature, if97.specificEnthalpyPT(pressure, temperature));
+    }
+
+    /**
+     * Specific entropy as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyPH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.SPECIFIC_ENTROPY_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.SPECIFIC_ENTROPY_PH, pressure, enthalpy, if97.specificEntropyPH(pressure, enthalpy));
+    }
+
+    /**
+     * Specific entropy as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyPT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.SPECIFIC_ENTROPY_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.SPECIFIC_ENTROPY_PT, pressure, temperature, if97.specificEntropyPT(pressure, temperature));
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyPH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.SPECIFIC_INTERNAL_ENERGY_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.SPECIFIC_INTERNAL_ENERGY_PH, pressure, enthalpy, if97.specificInternalEnergyPH(pressure, enthalpy));
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyPT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.SPECIFIC_INTERNAL_ENERGY_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.SPECIFIC_INTERNAL_ENERGY_PT, pressure, temperature, if97.specificInternalEnergyPT(pressure, temperature));
+    }
+
+    /**
+     * Specific volume as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.SPECIFIC_VOLUME_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.SPECIFIC_VOLUME_PH, pressure, enthalpy, if97.specificVolumePH(pressure, enthalpy));
+    }
+
+    /**
+     * Specific volume as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.SPECIFIC_VOLUME_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.SPECIFIC_VOLUME_PT, pressure, temperature, if97.specificVolumePT(pressure, temperature));
+    }
+
+    private long sum(int counter) {
+        long sum = 0;
+
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            sum += counters.get(stripe * STRIDE * 2 + counter);
+        }
+        return sum;
+    }
+
+    /**
+     * Temperature.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return temperature
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double temperaturePH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.TEMPERATURE_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.TEMPERATURE_PH, pressure, enthalpy, if97.temperaturePH(pressure, enthalpy));
+    }
+
+    /**
+     * Thermal conductivity as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return thermal conductivity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double thermalConductivityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        long bits = get(Function.THERMAL_CONDUCTIVITY_PH, pressure, enthalpy);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.THERMAL_CONDUCTIVITY_PH, pressure, enthalpy, if97.thermalConductivityPH(pressure, enthalpy));
+    }
+
+    /**
+     * Thermal conductivity as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return thermal conductivity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double thermalConductivityPT(double pressure, double temperature) throws OutOfRangeException {
+        long bits = get(Function.THERMAL_CONDUCTIVITY_PT, pressure, temperature);
+        return bits != MISS ? longBitsToDouble(bits) : put(Function.THERMAL_CONDUCTIVITY_PT, pressure, temperature, if97.thermalConductivityPT(pressure, temperature));
+    }
+}
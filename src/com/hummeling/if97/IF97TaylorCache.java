@@ -0,0 +1,382 @@
+/*
+ * IF97TaylorCache.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Quantity;
+import static java.lang.Math.*;
+import java.util.Arrays;
+
+/**
+ * Approximate cache for slowly changing states, e.g. successive time steps of
+ * a transient simulation. Entries store properties at a pressure &amp;
+ * temperature together with their first-order partial derivatives, queries
+ * near an entry are answered by first-order Taylor extrapolation.
+ *
+ * An entry is used within its trust radii only, one for the relative change
+ * of pressure &amp; one for temperature. Queries within the neighbourhood of
+ * an entry but beyond its radii are calculated in full &amp; measure the
+ * extrapolation error: when the error of every property is within half the
+ * tolerance the radii grow, along the measured direction, to where the error
+ * is expected to reach that margin, otherwise the query becomes a new entry
+ * with radii seeded from the same estimate. Extrapolation never crosses region
+ * boundaries, nor those of the region 3 subregions. The error is relative to
+ * the magnitude of the property plus its change over the temperature, so
+ * properties passing through zero have a sensible scale.
+ *
+ * Entries are replaced round-robin. Instances aren't thread-safe, use one per
+ * thread.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class IF97TaylorCache {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    /**
+     * Cached quantities, each with its value, derivative to pressure &amp;
+     * derivative to temperature.
+     */
+    private static final Quantity[] QUANTITIES = new Quantity[]{Quantity.nu, Quantity.h, Quantity.s, Quantity.u};
+    private static final int NU = 0, H = 3, S = 6, U = 9, COEFFICIENTS = 3 * QUANTITIES.length;
+    /**
+     * Fraction of the tolerance the radii grow to, leaving room for cross
+     * terms, &amp; maximum growth per calculation, as roundoff may dominate
+     * small errors.
+     */
+    private static final double MARGIN = 0.5, GROWTH = 2;
+    private final Units UNITS;
+    private final double NEIGHBOURHOOD, TOLERANCE;
+    private final double[] pressures, temperatures, pressureRadii, temperatureRadii, coefficients,
+            taylor = new double[COEFFICIENTS];
+    private final Region[] regions;
+    private final Region3.SubRegion[] subRegions;
+    private final MutableThermodynamicState state = new MutableThermodynamicState();
+    private int size, next, last;
+    private long hits, misses;
+    // </editor-fold>
+
+    /**
+     * Cache for the given unit system.
+     *
+     * @param unitSystem unit system of inputs &amp; properties
+     * @param capacity maximum number of entries
+     * @param neighbourhood maximum relative change of pressure &amp;
+     * temperature to extrapolate over
+     * @param tolerance relative tolerance of extrapolated properties
+     * @throws IllegalArgumentException when capacity, neighbourhood or
+     * tolerance isn't positive
+     */
+    public IF97TaylorCache(IF97.UnitSystem unitSystem, int capacity, double neighbourhood, double tolerance) {
+        this(unitSystem.UNITS, capacity, neighbourhood, tolerance);
+    }
+
+    /**
+     * Cache for custom units, see {@link Units#builder()}.
+     *
+     * @param units units of inputs &amp; properties
+     * @param capacity maximum number of entries
+     * @param neighbourhood maximum relative change of pressure &amp;
+     * temperature to extrapolate over
+     * @param tolerance relative tolerance of extrapolated properties
+     * @throws IllegalArgumentException when units are null, or capacity,
+     * neighbourhood or tolerance isn't positive
+     */
+    public IF97TaylorCache(Units units, int capacity, double neighbourhood, double tolerance) {
+        if (units == null) {
+            throw new IllegalArgumentException("Units should not be null.");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity should be positive: " + capacity);
+        }
+        if (!(neighbourhood > 0)) {
+            throw new IllegalArgumentException("Neighbourhood should be positive.");
+        }
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Tolerance should be positive.");
+        }
+        UNITS = units;
+        NEIGHBOURHOOD = neighbourhood;
+        TOLERANCE = tolerance;
+        pressures = new double[capacity];
+        temperatures = new double[capacity];
+        pressureRadii = new double[capacity];
+        temperatureRadii = new double[capacity];
+        coefficients = new double[capacity * COEFFICIENTS];
+        regions = new Region[capacity];
+        subRegions = new Region3.SubRegion[capacity];
+    }
+
+    /**
+     * Removes all entries &amp; resets the hit &amp; miss counters.
+     */
+    public void clear() {
+        size = next = last = 0;
+        hits = misses = 0;
+        Arrays.fill(regions, null);
+        Arrays.fill(subRegions, null);
+    }
+
+    /**
+     * Factor of the distance from an entry to a freshly calculated point
+     * where the extrapolation error of any property is expected to reach the
+     * margin of the tolerance, at most the maximum growth. Extrapolating
+     * forward from the entry &amp; backward from the point separates the
+     * error into a quadratic part, curvature, &amp; a linear part, derivatives
+     * inconsistent with the values as in region 3.
+     *
+     * @param entry entry index
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return growth factor, at least 1 when the point is within the margin
+     */
+    private double growth(int entry, double p, double T) {
+        double growth = GROWTH, dp = p - pressures[entry], dT = T - temperatures[entry];
+
+        for (int i = 0; i < COEFFICIENTS; i += 3) {
+            int j = entry * COEFFICIENTS + i;
+            double forward = taylor[i] - coefficients[j] - coefficients[j + 1] * dp - coefficients[j + 2] * dT,
+                    backward = coefficients[j] - taylor[i] + taylor[i + 1] * dp + taylor[i + 2] * dT,
+                    quadratic = abs(forward + backward) / 2,
+                    linear = abs(backward - forward) / 2,
+                    bound = MARGIN * TOLERANCE * (abs(taylor[i]) + T * abs(taylor[i + 2]));
+
+            // root of linear * x + quadratic * x^2 = bound
+            growth = min(growth, 2 * bound / (linear + sqrt(linear * linear + 4 * quadratic * bound)));
+        }
+        return growth;
+    }
+
+    /**
+     * First-order Taylor extrapolation of a property from an entry.
+     *
+     * @param entry entry index
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @param quantity coefficient offset of the property
+     * @return property in default units
+     */
+    private double extrapolate(int entry, double p, double T, int quantity) {
+        int i = entry * COEFFICIENTS + quantity;
+
+        return coefficients[i]
+                + coefficients[i + 1] * (p - pressures[entry])
+                + coefficients[i + 2] * (T - temperatures[entry]);
+    }
+
+    /**
+     * Maximum number of entries.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return regions.length;
+    }
+
+    /**
+     * Number of queries answered by extrapolation since construction or the
+     * last {@link #clear()}.
+     *
+     * @return hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Number of queries calculated in full since construction or the last
+     * {@link #clear()}, including out-of-range queries.
+     *
+     * @return misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Maximum relative change of pressure &amp; temperature to extrapolate
+     * over.
+     *
+     * @return neighbourhood
+     */
+    public double getNeighbourhood() {
+        return NEIGHBOURHOOD;
+    }
+
+    /**
+     * Relative tolerance of extrapolated properties.
+     *
+     * @return tolerance
+     */
+    public double getTolerance() {
+        return TOLERANCE;
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEnthalpyPT(double pressure, double temperature) throws OutOfRangeException {
+        return UNITS.SPECIFIC_ENTHALPY.fromDefault(valuePT(pressure, temperature, H));
+    }
+
+    /**
+     * Specific entropy as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyPT(double pressure, double temperature) throws OutOfRangeException {
+        return UNITS.SPECIFIC_ENTROPY.fromDefault(valuePT(pressure, temperature, S));
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyPT(double pressure, double temperature) throws OutOfRangeException {
+        return UNITS.SPECIFIC_ENERGY.fromDefault(valuePT(pressure, temperature, U));
+    }
+
+    /**
+     * Specific volume as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePT(double pressure, double temperature) throws OutOfRangeException {
+        return UNITS.SPECIFIC_VOLUME.fromDefault(valuePT(pressure, temperature, NU));
+    }
+
+    /**
+     * Property by extrapolation from the nearest trusted entry, or else
+     * calculated in full.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @param quantity coefficient offset of the property
+     * @return property in default units
+     * @throws OutOfRangeException out-of-range exception
+     */
+    private double valuePT(double pressure, double temperature, int quantity) throws OutOfRangeException {
+        double p = UNITS.PRESSURE.toDefault(pressure),
+                T = UNITS.TEMPERATURE.toDefault(temperature);
+
+        try {
+            Region region = Region.getRegionPT(p, T);
+            Region3.SubRegion subRegion = region == Regions.REGION3 ? Regions.REGION3.getSubRegionPT(p, T) : null;
+            double distance = 1, dpNearest = 0, dTNearest = 0;
+            int nearest = -1;
+
+            // the last entry used is the likeliest to hit
+            for (int j = 0, i = last; j < size; j++, i = i + 1 == size ? 0 : i + 1) {
+                if (regions[i] != region || subRegions[i] != subRegion) {
+                    continue;
+                }
+                double dp = abs(p - pressures[i]) / pressures[i] / NEIGHBOURHOOD,
+                        dT = abs(T - temperatures[i]) / temperatures[i] / NEIGHBOURHOOD,
+                        d = max(dp, dT);
+
+                if (dp <= pressureRadii[i] && dT <= temperatureRadii[i]) {
+                    last = i;
+                    hits++;
+                    return extrapolate(i, p, T, quantity);
+                }
+                if (d <= distance) {
+                    distance = d;
+                    dpNearest = dp;
+                    dTNearest = dT;
+                    nearest = i;
+                }
+            }
+            misses++;
+            state.clear();
+            RegionDispatch.statePT(region, p, T, state);
+
+            for (int i = 0; i < QUANTITIES.length; i++) {
+                double[] d = IF97.Calculate.partialDerivativesPT(state, QUANTITIES[i]);
+                taylor[3 * i] = value(QUANTITIES[i]);
+                taylor[3 * i + 1] = d[1];
+                taylor[3 * i + 2] = d[0];
+            }
+            double growth = nearest < 0 ? 0 : growth(nearest, p, T);
+
+            if (growth >= 1) {
+                /*
+                 * Each radius grows by the extent measured along its own
+                 * axis only, so a displacement in pressure doesn't vouch for
+                 * one in temperature.
+                 */
+                pressureRadii[nearest] = min(1, max(pressureRadii[nearest], dpNearest * growth));
+                temperatureRadii[nearest] = min(1, max(temperatureRadii[nearest], dTNearest * growth));
+                last = nearest;
+
+            } else {
+                int i = next;
+
+                // nearby entries have similar curvature, start from theirs
+                pressures[i] = p;
+                temperatures[i] = T;
+                pressureRadii[i] = dpNearest * growth;
+                temperatureRadii[i] = dTNearest * growth;
+                regions[i] = region;
+                subRegions[i] = subRegion;
+                System.arraycopy(taylor, 0, coefficients, i * COEFFICIENTS, COEFFICIENTS);
+                next = i + 1 == regions.length ? 0 : i + 1;
+                size = max(size, i + 1);
+                last = i;
+            }
+            return taylor[quantity];
+
+        } catch (OutOfRangeException e) {
+            misses++;
+            throw e.convertFromDefault(UNITS);
+        }
+    }
+
+    private double value(Quantity quantity) {
+
+        switch (quantity) {
+            case nu:
+                return state.v;
+
+            case h:
+                return state.h;
+
+            case s:
+                return state.s;
+
+            default:
+                return state.u;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * MutableThermodynamicState.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+/**
+ * Reusable thermodynamic state holder.
+ *
+ * Filled by {@link IF97#statePT(double, double, MutableThermodynamicState)}
+ * and its (p,h) &amp; (h,s) siblings without allocating, so one instance can
+ * be recycled across calls. Values are in the unit system of the IF97 object
+ * that filled it; properties undefined for the state are NaN.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public class MutableThermodynamicState {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    int region;
+    double p, T, h, s, u, v, rho, cp, cv, w, alpha, kappa, eta, lambda, x;
+    /**
+     * Scratch buffers for the dimensionless free energy derivatives of a
+     * region, the ideal-gas part in the first for regions 2 &amp; 5.
+     */
+    final double[] derivatives = new double[6], residualDerivatives = new double[6];
+// </editor-fold>
+
+    /**
+     * Instantiate an empty state holder.
+     */
+    public MutableThermodynamicState() {
+        clear();
+    }
+
+    /**
+     * Reset all properties to NaN and the region to 0.
+     */
+    final void clear() {
+        region = 0;
+        p = T = h = s = u = v = rho = cp = cv = w = alpha = kappa = eta = lambda = x = Double.NaN;
+    }
+
+    /**
+     * Convert all properties from default units, once per state.
+     *
+     * @param units units
+     */
+    void convertFromDefault(Units units) {
+
+        if (units.DEFAULT) {
+            return;
+        }
+        p = units.PRESSURE.fromDefault(p);
+        T = units.TEMPERATURE.fromDefault(T);
+        h = units.SPECIFIC_ENTHALPY.fromDefault(h);
+        s = units.SPECIFIC_ENTROPY.fromDefault(s);
+        u = units.SPECIFIC_ENERGY.fromDefault(u);
+        v = units.SPECIFIC_VOLUME.fromDefault(v);
+        rho = units.DENSITY.fromDefault(rho);
+        cp = units.SPECIFIC_HEAT_CAPACITY.fromDefault(cp);
+        cv = units.SPECIFIC_HEAT_CAPACITY.fromDefault(cv);
+        alpha = units.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT.fromDefault(alpha);
+        kappa = units.COMPRESSIBILITY.fromDefault(kappa);
+        eta = units.DYNAMIC_VISCOSITY.fromDefault(eta);
+        lambda = units.THERMAL_CONDUCTIVITY.fromDefault(lambda);
+    }
+
+    /**
+     * Isothermal compressibility.
+     *
+     * @return isothermal compressibility
+     */
+    public double getCompressibility() {
+        return kappa;
+    }
+
+    /**
+     * Density.
+     *
+     * @return density
+     */
+    public double getDensity() {
+        return rho;
+    }
+
+    /**
+     * Dynamic viscosity.
+     *
+     * @return dynamic viscosity
+     */
+    public double getDynamicViscosity() {
+        return eta;
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient.
+     *
+     * @return isobaric cubic expansion coefficient
+     */
+    public double getIsobaricCubicExpansionCoefficient() {
+        return alpha;
+    }
+
+    /**
+     * Specific isobaric heat capacity.
+     *
+     * @return specific isobaric heat capacity
+     */
+    public double getIsobaricHeatCapacity() {
+        return cp;
+    }
+
+    /**
+     * Specific isochoric heat capacity.
+     *
+     * @return specific isochoric heat capacity
+     */
+    public double getIsochoricHeatCapacity() {
+        return cv;
+    }
+
+    /**
+     * Pressure.
+     *
+     * @return pressure
+     */
+    public double getPressure() {
+        return p;
+    }
+
+    /**
+     * IAPWS-IF97 region number, 0 if the holder hasn't been filled.
+     *
+     * @return region number [1-5]
+     */
+    public int getRegion() {
+        return region;
+    }
+
+    /**
+     * Specific enthalpy.
+     *
+     * @return specific enthalpy
+     */
+    public double getSpecificEnthalpy() {
+        return h;
+    }
+
+    /**
+     * Specific entropy.
+     *
+     * @return specific entropy
+     */
+    public double getSpecificEntropy() {
+        return s;
+    }
+
+    /**
+     * Specific internal energy.
+     *
+     * @return specific internal energy
+     */
+    public double getSpecificInternalEnergy() {
+        return u;
+    }
+
+    /**
+     * Specific volume.
+     *
+     * @return specific volume
+     */
+    public double getSpecificVolume() {
+        return v;
+    }
+
+    /**
+     * Speed of sound, always in [m/s].
+     *
+     * @return speed of sound [m/s]
+     */
+    public double getSpeedOfSound() {
+        return w;
+    }
+
+    /**
+     * Temperature.
+     *
+     * @return temperature
+     */
+    public double getTemperature() {
+        return T;
+    }
+
+    /**
+     * Thermal conductivity.
+     *
+     * @return thermal conductivity
+     */
+    public double getThermalConductivity() {
+        return lambda;
+    }
+
+    /**
+     * Vapour fraction.
+     *
+     * @return vapour fraction [-]
+     */
+    public double getVapourFraction() {
+        return x;
+    }
+}
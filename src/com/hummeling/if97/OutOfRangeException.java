@@ -32,7 +32,7 @@ package com.hummeling.if97;
  */
 public class OutOfRangeException extends IllegalArgumentException {
 
-    private final IF97.Quantity QUANTITY;
+    final IF97.Quantity QUANTITY;
     private final double VALUE, LIMIT;
 
     OutOfRangeException(IF97.Quantity quantity, double value, double limit) {
@@ -43,11 +43,17 @@ public class OutOfRangeException extends IllegalArgumentException {
     }
 
     OutOfRangeException convertFromDefault(IF97.UnitSystem unitSystem) {
+        return convertFromDefault(unitSystem.UNITS);
+    }
+
+    OutOfRangeException convertFromDefault(Units units) {
 
-        double value = IF97.convertFromDefault(unitSystem, QUANTITY, VALUE),
-                limit = IF97.convertFromDefault(unitSystem, QUANTITY, LIMIT);
+        Units.Conversion conversion = units.of(QUANTITY);
 
-        return new OutOfRangeException(QUANTITY, value, limit);
+        if (conversion == Units.IDENTITY) {
+            return this;
+        }
+        return new OutOfRangeException(QUANTITY, conversion.fromDefault(VALUE), conversion.fromDefault(LIMIT));
     }
 
     /**
@@ -0,0 +1,137 @@
+/*
+ * RangeStatus.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+/**
+ * Reusable range status, the non-throwing counterpart of
+ * {@link OutOfRangeException} for solver inner loops probing outside the
+ * valid range. Methods taking a status set it on every call: in range, or
+ * the exceeded quantity with its value &amp; limit in the unit system of the
+ * IF97 instance.
+ *
+ * All limits are checked before calculating, the global ones &amp; those of
+ * the (p,T) equations for properties of (p,h) &amp; (h,s) derived from
+ * them, e.g. transport properties. Out-of-range inputs neither throw
+ * internally, allocate nor capture a stack trace.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class RangeStatus {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    private IF97.Quantity quantity;
+    private double value = Double.NaN, limit = Double.NaN;
+    // </editor-fold>
+
+    /**
+     * Instantiate a status, in range.
+     */
+    public RangeStatus() {
+    }
+
+    /**
+     * Sets the status to in range.
+     */
+    void clear() {
+        quantity = null;
+        value = limit = Double.NaN;
+    }
+
+    /**
+     * Convert value &amp; limit from default units.
+     *
+     * @param units units
+     */
+    void convertFromDefault(Units units) {
+        if (quantity != null) {
+            Units.Conversion conversion = units.of(quantity);
+            value = conversion.fromDefault(value);
+            limit = conversion.fromDefault(limit);
+        }
+    }
+
+    /**
+     * Get exceeded limit.
+     *
+     * @return limit value, NaN when in range
+     */
+    public double getLimit() {
+        return limit;
+    }
+
+    /**
+     * Get exceeded quantity.
+     *
+     * @return quantity, null when in range
+     */
+    public IF97.Quantity getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Get exceeding value.
+     *
+     * @return value, NaN when in range
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Whether the inputs of the last call were in range.
+     *
+     * @return true when in range
+     */
+    public boolean isInRange() {
+        return quantity == null;
+    }
+
+    /**
+     * Sets the status to out of range.
+     *
+     * @param quantity exceeded quantity
+     * @param value exceeding value
+     * @param limit exceeded limit
+     * @return false, for returning from range checks
+     */
+    boolean set(IF97.Quantity quantity, double value, double limit) {
+        this.quantity = quantity;
+        this.value = value;
+        this.limit = limit;
+        return false;
+    }
+
+    /**
+     * Out-of-range exception matching this status, for callers rethrowing
+     * outside the inner loop.
+     *
+     * @return out-of-range exception, null when in range
+     */
+    public OutOfRangeException toException() {
+        return quantity == null ? null : new OutOfRangeException(quantity, value, limit);
+    }
+
+    @Override
+    public String toString() {
+        return quantity == null ? "In range." : toException().getMessage();
+    }
+}
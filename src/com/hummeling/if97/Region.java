@@ -21,6 +21,7 @@
 package com.hummeling.if97;
 
 import static com.hummeling.if97.Region4.*;
+import static com.hummeling.if97.Regions.*;
 import static java.lang.Math.*;
 
 /**
@@ -34,6 +35,24 @@ abstract class Region {
 // <editor-fold defaultstate="collapsed" desc="fields">
     private static final String NAME = "Region";
     //final String NAME = null;
+    /**
+     * Region number for {@link RegionDispatch}, 0 for regions without a
+     * specialized kernel.
+     */
+    final int ID;
+    /**
+     * Constant region boundary values.
+     */
+    private static final double hB23Min = 2.563592004e3, hB23Max = 2.812942061e3,
+            sB23Min = 5.048096828, sB23Max = 5.260578707,
+            // entropy at 623.15 K & 100 MPa, below which region 3 doesn't
+            // extend & the region 1-3 boundary h(s) isn't valid
+            sB13Min = 3.397782955;
+    /**
+     * Relative tolerance on the (p,T) limits for points found by the (h,s)
+     * backward equations.
+     */
+    static final double HS_TOLERANCE = 1e-3;
     /**
      *
      */
@@ -44,8 +63,150 @@ abstract class Region {
         0.57254459862746e3,
         0.13918839778870e2
     };
+    /**
+     * Backward equation coefficients.
+     */
+    private static final Coefficients IJnH1 = new Coefficients(new double[][]{
+        {0, 14, .332171191705237},
+        {0, 36, .611217706323496e-3},
+        {1, 3, -.882092478906822e1},
+        {1, 16, -.455628192543250},
+        {2, 0, -.263483840850452e-4},
+        {2, 5, -.223949661148062e2},
+        {3, 4, -.428398660164013e1},
+        {3, 36, -.616679338856916},
+        {4, 4, -.146823031104040e2},
+        {4, 16, .284523138727299e3},
+        {4, 24, -.113398503195444e3},
+        {5, 18, .115671380760859e4},
+        {5, 24, .395551267359325e3},
+        {7, 1, -.154891257229285e1},
+        {8, 4, .194486637751291e2},
+        {12, 2, -.357915139457043e1},
+        {12, 4, -.335369414148819e1},
+        {14, 1, -.664426796332460},
+        {14, 22, .323321885383934e5},
+        {16, 10, .331766744667084e4},
+        {20, 12, -.223501257931087e5},
+        {20, 28, .573953875852936e7},
+        {22, 8, .173226193407919e3},
+        {24, 3, -.363968822121321e-1},
+        {28, 0, .834596332878346e-6},
+        {32, 6, .503611916682674e1},
+        {32, 8, .655444787064505e2}
+    }), IJnH2ab = new Coefficients(new double[][]{
+        {1, 8, -.524581170928788e3},
+        {1, 24, -.926947218142218e7},
+        {2, 4, -.237385107491666e3},
+        {2, 32, .210770155812776e11},
+        {4, 1, -.239494562010986e2},
+        {4, 2, .221802480294197e3},
+        {7, 7, -.510472533393438e7},
+        {8, 5, .124981396109147e7},
+        {8, 12, .200008436996201e10},
+        {10, 1, -.815158509791035e3},
+        {12, 0, -.157612685637523e3},
+        {12, 7, -.114200422332791e11},
+        {18, 10, .662364680776872e16},
+        {20, 12, -.227622818296144e19},
+        {24, 32, -.171048081348406e32},
+        {28, 8, .660788766938091e16},
+        {28, 12, .166320055886021e23},
+        {28, 20, -.218003784381501e30},
+        {28, 22, -.787276140295618e30},
+        {28, 24, .151062329700346e32},
+        {32, 2, .795732170300541e7},
+        {32, 7, .131957647355347e16},
+        {32, 12, -.325097068299140e24},
+        {32, 14, -.418600611419248e26},
+        {32, 24, .297478906557467e35},
+        {36, 10, -.953588761745473e20},
+        {36, 12, .166957699620939e25},
+        {36, 20, -.175407764869978e33},
+        {36, 22, .347581490626396e35},
+        {36, 28, -.710971318427851e39}
+    }), IJnH2c3b = new Coefficients(new double[][]{
+        {0, 0, .104351280732769e1},
+        {0, 3, -.227807912708513e1},
+        {0, 4, .180535256723202e1},
+        {1, 0, .420440834792042},
+        {1, 12, -.105721244834660e6},
+        {5, 36, .436911607493884e25},
+        {6, 12, -.328032702839753e12},
+        {7, 16, -.678686760804270e16},
+        {8, 2, .743957464645363e4},
+        {8, 20, -.356896445355761e20},
+        {12, 32, .167590585186801e32},
+        {16, 36, -.355028625419105e38},
+        {22, 2, .396611982166538e12},
+        {22, 32, -.414716268484468e41},
+        {24, 7, .359080103867382e19},
+        {36, 20, -.116994334851995e41}
+    }), IJnH3a = new Coefficients(new double[][]{
+        {0, 1, .822673364673336},
+        {0, 4, .181977213534479},
+        {0, 10, -.112000260313624e-1},
+        {0, 16, -.746778287048033e-3},
+        {2, 1, -.179046263257381},
+        {3, 36, .424220110836657e-1},
+        {4, 3, -.341355823438768},
+        {4, 16, -.209881740853565e1},
+        {5, 20, -.822477343323596e1},
+        {5, 36, -.499684082076008e1},
+        {6, 4, .191413958471069},
+        {7, 2, .581062241093136e-1},
+        {7, 28, -.165505498701029e4},
+        {7, 32, .158870443421201e4},
+        {10, 14, -.850623535172818e2},
+        {10, 32, -.317714386511207e5},
+        {10, 36, -.945890406632871e5},
+        {32, 0, -.139273847088690e-5},
+        {32, 6, .631052532240980}
+    }), IJnHB13 = new Coefficients(new double[][]{
+        {0, 0, .913965547600543},
+        {1, -2, -.430944856041991e-4},
+        {1, 2, .603235694765419e2},
+        {3, -12, .117518273082168e-17},
+        {5, -4, .220000904781292},
+        {6, -3, -.690815545851641e2}
+    }), IJnTB23 = new Coefficients(new double[][]{
+        {-12, 10, .629096260829810e-3},
+        {-10, 8, -.823453502583165e-3},
+        {-8, 3, .515446951519474e-7},
+        {-4, 4, -.117565945784945e1},
+        {-3, 3, .348519684726192e1},
+        {-2, -6, -.507837382408313e-11},
+        {-2, 2, -.284637670005479e1},
+        {-2, 3, -.236092263939673e1},
+        {-2, 4, .601492324973779e1},
+        {0, 0, .148039650824546e1},
+        {1, -3, .360075182221907e-3},
+        {1, -2, -.126700045009952e-1},
+        {1, 10, -.122184332521413e7},
+        {3, -2, .149276502463272},
+        {3, -1, .698733471798484},
+        {5, -5, -.252207040114321e-1},
+        {6, -6, .147151930985213e-1},
+        {6, -3, -.108618917681849e1},
+        {8, -8, -.936875039816322e-3},
+        {8, -2, .819877897570217e2},
+        {8, -1, -.182041861521835e3},
+        {12, -12, .261907376402688e-5},
+        {12, -1, -.291626417025961e5},
+        {14, -12, .140660774926165e-4},
+        {14, 1, .783237062349385e7}
+    });
+    /**
+     * Properties evaluated by the single-pass free energy kernels of the
+     * regions.
+     */
+    static final int ALPHA = 0, CP = 1, CV = 2, H = 3, KAPPA = 4, P = 5, S = 6, U = 7, V = 8, W = 9;
 // </editor-fold>
 
+    Region(int id) {
+        ID = id;
+    }
+
     String getName() {
         return NAME;
     }
@@ -60,25 +221,9 @@ abstract class Region {
      */
     static Region getRegionHS(double h, double s) throws OutOfRangeException {
 
-        Region region1 = new Region1(), region2 = new Region2(),
-                region3 = new Region3(), region4 = new Region4();
-        double T273 = 273.15,
-                p1 = region1.pressureHS(h, s),
-                T1 = region1.temperaturePH(p1, h) + 24e-3,
-                //pSat273 = saturationPressureT(T273),
-                //pSat623 = saturationPressureT(T623),
-                h273 = region1.specificEnthalpyPT(saturationPressureT(T273), T273),
-                s1 = region1.specificEntropyPT(100, T273);
-        //s273 = region1.specificEntropyPT(pSat273, T273),
-        //s623 = region1.specificEntropyPT(pSat623, T623),
-        //s2bc = 5.85;
-        double[] hB23limits = {2.563592004e3, 2.812942061e3},
-                sB23limits = {5.048096828, 5.260578707};
-
-        //System.out.println("p1: " + p1);
-        //System.out.println("T1: " + T1);
-        //System.out.println("h273: " + h273);
-        //System.out.println("s1: " + s1);
+        Region region1 = REGION1, region2 = REGION2,
+                region3 = REGION3, region4 = REGION4;
+
         /*
          * Checks
          */
@@ -99,7 +244,7 @@ abstract class Region {
             if (h <= specificEnthalpy1(s)) {
                 return region4;
 
-            } else if (h > specificEnthalpyB13(s)) {
+            } else if (s > sB13Min && h > specificEnthalpyB13(s)) {
                 return region3;
 
             } else {
@@ -121,14 +266,14 @@ abstract class Region {
 
             } else {
                 // region 2 or region 3
-                if (h <= hB23limits[0] || s <= sB23limits[0]) {
+                if (h <= hB23Min || s <= sB23Min) {
                     return region3;
 
-                } else if (h >= hB23limits[1] || s >= sB23limits[1]) {
+                } else if (h >= hB23Max || s >= sB23Max) {
                     return region2;
 
-                } else if (hB23limits[0] < h && h < hB23limits[1]
-                        && sB23limits[0] < s && s < sB23limits[1]) {
+                } else if (hB23Min < h && h < hB23Max
+                        && sB23Min < s && s < sB23Max) {
 
                     if (region2.pressureHS(h, s)
                             > pressureB23(temperatureB23HS(h, s))) {
@@ -157,26 +302,19 @@ abstract class Region {
         //if (!validRangePT(pressure, temperature)) {
         //    return null;
         //}
-        if (p < saturationPressureT(273.15)) {
-            throw new OutOfRangeException(IF97.Quantity.p, p, saturationPressureT(273.15));
+        if (p < pSat273) {
+            throw new OutOfRangeException(IF97.Quantity.p, p, pSat273);
         }
 
-        Region region1 = new Region1(), region2 = new Region2(),
-                region3 = new Region3(), region4 = new Region4(),
-                region5 = new Region5();
-        double T623 = 623.15, T1073 = 1073.15,
-                pSat623 = saturationPressureT(T623),
-                Tsat = saturationTemperatureP(p),
-                hSat1 = region1.specificEnthalpyPT(pSat623, T623),
-                hSat2 = region2.specificEnthalpyPT(pSat623, T623),
-                h1073 = region2.specificEnthalpyPT(p, T1073),
-                pSat3 = saturationPressureH(h);
+        Region region1 = REGION1, region2 = REGION2,
+                region3 = REGION3, region4 = REGION4,
+                region5 = REGION5;
 
 
         /*
          * Select Region
          */
-        if (h > region2.specificEnthalpyPT(p, T1073)) {
+        if (h > h1073Min && h > region2.specificEnthalpyPT(p, T1073)) {
             if (p > 50) {
                 throw new OutOfRangeException(IF97.Quantity.p, p, 50);
             }
@@ -185,6 +323,8 @@ abstract class Region {
 
         if (p < pSat623) {
             // region 1, 4, or 2
+            double Tsat = saturationTemperatureP(p);
+
             if (h < region1.specificEnthalpyPT(p, Tsat)) {
                 return region1;
 
@@ -196,9 +336,9 @@ abstract class Region {
             }
 
         }
-        if (hSat1 <= h && h <= hSat2) {
+        if (hSat623Liquid <= h && h <= hSat623Vapour) {
             // region 3 or 4
-            if (p > pSat3) {
+            if (p > saturationPressureH(h)) {
                 return region3;
             } else {
                 return region4;
@@ -216,10 +356,42 @@ abstract class Region {
         }
     }
 
+    /**
+     * Range checks of {@link #getRegionPT(double, double)}, also for points
+     * found otherwise, e.g. by the (h,s) backward equations, which don't bound
+     * their results. Those deviate slightly from the forward equations, so
+     * points on the limits may land just beyond them, which the relative
+     * tolerance allows for.
+     *
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @param tolerance relative tolerance on the limits
+     * @throws OutOfRangeException out-of-range exception
+     */
+    static void checkRangePT(double p, double T, double tolerance) throws OutOfRangeException {
+        double lower = 1 - tolerance, upper = 1 + tolerance;
+
+        if (p <= 0) {
+            throw new OutOfRangeException(IF97.Quantity.p, p, 0);
+
+        } else if (p > 100 * upper) {
+            throw new OutOfRangeException(IF97.Quantity.p, p, 100);
+
+        } else if (T < 273.15 * lower) {
+            throw new OutOfRangeException(IF97.Quantity.T, T, 273.15);
+
+        } else if (T > 1073.15 * upper && p > 50 * upper) {
+            throw new OutOfRangeException(IF97.Quantity.p, p, 50);
+
+        } else if (T > 2073.15 * upper) {
+            throw new OutOfRangeException(IF97.Quantity.T, T, 2073.15);
+        }
+    }
+
     static Region getRegionPT(IF97.UnitSystem unitSystem, double p, double T) throws OutOfRangeException {
 
-        double press = IF97.convertToDefault(unitSystem.PRESSURE, p);
-        double temp = IF97.convertToDefault(unitSystem.TEMPERATURE, T);
+        double press = unitSystem.UNITS.PRESSURE.toDefault(p);
+        double temp = unitSystem.UNITS.TEMPERATURE.toDefault(T);
 
         Region region;
         try {
@@ -237,52 +409,176 @@ abstract class Region {
         /*
          * Checks
          */
-        if (p <= 0) {
-            throw new OutOfRangeException(IF97.Quantity.p, p, 0);
-
-        } else if (p > 100) {
-            throw new OutOfRangeException(IF97.Quantity.p, p, 100);
-
-        } else if (T < 273.15) {
-            throw new OutOfRangeException(IF97.Quantity.T, T, 273.15);
-
-        } else if (T > 1073.15 && p > 50) {
-            throw new OutOfRangeException(IF97.Quantity.p, p, 50);
-
-        } else if (T > 2073.15) {
-            throw new OutOfRangeException(IF97.Quantity.T, T, 2073.15);
-        }
+        checkRangePT(p, T, 0);
 
 
         /*
          * Select Region
          */
         if (T > 1073.15) {
-            return new Region5();
+            return REGION5;
 
         } else if (T > 623.15) {
             if (p > pressureB23(T)) {
-                return new Region3();
+                return REGION3;
 
             } else if (p > 10) {
-                return new Region2();
+                return REGION2;
 
             } else {
-                //return new Region2Meta();
-                return new Region2();
+                //return REGION2META;
+                return REGION2;
             }
         } else {
             if (p > saturationPressureT(T)) {
-                return new Region1();
+                return REGION1;
 
             } else if (p > 10) {
-                return new Region2();
+                return REGION2;
 
             } else {
-                //return new Region2Meta();
-                return new Region2();
+                //return REGION2META;
+                return REGION2;
+            }
+        }
+    }
+
+    /**
+     * Integer power by repeated squaring, cheaper than {@link Math#pow} for
+     * the small integer exponents of the IAPWS-IF97 polynomials.
+     *
+     * @param x base
+     * @param n exponent
+     * @return x<sup>n</sup>
+     */
+    static double intPow(double x, int n) {
+
+        if (n < 0) {
+            return 1 / intPow(x, -n);
+        }
+        double out = 1;
+
+        while (n != 0) {
+            if ((n & 1) != 0) {
+                out *= x;
+            }
+            x *= x;
+            n >>= 1;
+        }
+        return out;
+    }
+
+    /**
+     * Non-throwing counterpart of the range checks in
+     * {@link #getRegionPH(double, double)}. Region 5 enthalpies are only
+     * evaluated above its pressure limit.
+     *
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @param status status, set out of range when applicable
+     * @return true when in range
+     */
+    static boolean isInRangePH(double p, double h, RangeStatus status) {
+
+        if (p < pSat273) {
+            return status.set(IF97.Quantity.p, p, pSat273);
+
+        } else if (p > 50 && h > h1073Min && h > REGION2.specificEnthalpyPT(p, T1073)) {
+            return status.set(IF97.Quantity.p, p, 50);
+        }
+        return true;
+    }
+
+    /**
+     * Non-throwing counterpart of the range checks in
+     * {@link #getRegionPT(double, double)}.
+     *
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @param status status, set out of range when applicable
+     * @return true when in range
+     */
+    static boolean isInRangePT(double p, double T, RangeStatus status) {
+        return isInRangePT(p, T, 0, status);
+    }
+
+    /**
+     * Non-throwing counterpart of
+     * {@link #checkRangePT(double, double, double)}.
+     *
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @param tolerance relative tolerance on the limits
+     * @param status status, set out of range when applicable
+     * @return true when in range
+     */
+    static boolean isInRangePT(double p, double T, double tolerance, RangeStatus status) {
+        double lower = 1 - tolerance, upper = 1 + tolerance;
+
+        if (p <= 0) {
+            return status.set(IF97.Quantity.p, p, 0);
+
+        } else if (p > 100 * upper) {
+            return status.set(IF97.Quantity.p, p, 100);
+
+        } else if (T < 273.15 * lower) {
+            return status.set(IF97.Quantity.T, T, 273.15);
+
+        } else if (T > 1073.15 * upper && p > 50 * upper) {
+            return status.set(IF97.Quantity.p, p, 50);
+
+        } else if (T > 2073.15 * upper) {
+            return status.set(IF97.Quantity.T, T, 2073.15);
+        }
+        return true;
+    }
+
+    /**
+     * Tests cheaply whether a point stays in the given region, as classified
+     * by {@link #getRegionHS(double, double)}. Only the boundaries of that
+     * region are evaluated, region 2 points near the boundary with region 3
+     * aren't confirmed.
+     *
+     * @param region region of an earlier point
+     * @param h specific enthalpy [kJ/kg]
+     * @param s specific entropy [kJ/kg-K]
+     * @return true when the point is in the region
+     */
+    static boolean isInRegionHS(Region region, double h, double s) {
+
+        if (region == REGION1) {
+            return s <= 3.778281340 && h > specificEnthalpy1(s) && (s <= sB13Min || h <= specificEnthalpyB13(s));
+
+        } else if (region == REGION2) {
+            if (s >= 5.85) {
+                return s > 9.155759395 || h > specificEnthalpy2ab(s);
+            }
+            return s > IF97.sc && h > hB23Min && s > sB23Min
+                    && (h >= hB23Max || s >= sB23Max)
+                    && h > specificEnthalpy2c3b(s);
+
+        } else if (region == REGION3) {
+            if (s <= 3.778281340) {
+                return s > sB13Min && h > specificEnthalpy1(s) && h > specificEnthalpyB13(s);
+
+            } else if (s <= IF97.sc) {
+                return h > specificEnthalpy3a(s);
+            }
+            return s < 5.85 && (h <= hB23Min || s <= sB23Min) && h > specificEnthalpy2c3b(s);
+
+        } else if (region == REGION4) {
+            if (s <= 3.778281340) {
+                return h <= specificEnthalpy1(s);
+
+            } else if (s <= IF97.sc) {
+                return h <= specificEnthalpy3a(s);
+
+            } else if (s < 5.85) {
+                return h <= specificEnthalpy2c3b(s);
             }
+            return s <= 9.155759395 && h <= specificEnthalpy2ab(s);
         }
+        return false;
     }
 
     /**
@@ -343,6 +639,63 @@ abstract class Region {
      * @return isothermal stress coefficient
      */
     //abstract double isothermalStressCoefficientRhoT(double rho, double T);
+    /**
+     * Sum of n&middot;x<sup>I</sup> for integer exponents I.
+     *
+     * Consecutive terms reuse the previous power of x, so tables ordered by
+     * ascending I are evaluated with a few multiplications per term.
+     *
+     * @param In coefficients I, n
+     * @param x base
+     * @return polynomial value
+     */
+    static double polynomial(Coefficients In, double x) {
+
+        int[] I = In.I;
+        double[] n = In.n;
+        double out = 0, xI = 1;
+        int i = 0;
+
+        for (int k = 0; k < n.length; k++) {
+            if (I[k] != i) {
+                xI = I[k] > i ? xI * intPow(x, I[k] - i) : intPow(x, I[k]);
+                i = I[k];
+            }
+            out += n[k] * xI;
+        }
+        return out;
+    }
+
+    /**
+     * Sum of n&middot;x<sup>I</sup>&middot;y<sup>J</sup> for integer exponents
+     * I &amp; J.
+     *
+     * Consecutive terms reuse the previous power of x, so tables ordered by
+     * ascending I build the powers of x with a few multiplications. The
+     * powers of y are calculated by repeated squaring.
+     *
+     * @param IJn coefficients I, J, n
+     * @param x first base
+     * @param y second base
+     * @return polynomial value
+     */
+    static double polynomial(Coefficients IJn, double x, double y) {
+
+        int[] I = IJn.I, J = IJn.J;
+        double[] n = IJn.n;
+        double out = 0, xI = 1;
+        int i = 0;
+
+        for (int k = 0; k < n.length; k++) {
+            if (I[k] != i) {
+                xI = I[k] > i ? xI * intPow(x, I[k] - i) : intPow(x, I[k]);
+                i = I[k];
+            }
+            out += n[k] * xI * intPow(y, J[k]);
+        }
+        return out;
+    }
+
     /**
      * Auxiliary equation for the boundary between regions 2 and 3.
      *
@@ -373,159 +726,41 @@ abstract class Region {
     static double specificEnthalpy1(double s) {
 
         double eta = 0, sigma = s / 3.8;
-        double[] x = {sigma - 1.09, sigma + 0.366e-4, 1700};
-        double[][] IJn = {
-            {0, 14, .332171191705237},
-            {0, 36, .611217706323496e-3},
-            {1, 3, -.882092478906822e1},
-            {1, 16, -.455628192543250},
-            {2, 0, -.263483840850452e-4},
-            {2, 5, -.223949661148062e2},
-            {3, 4, -.428398660164013e1},
-            {3, 36, -.616679338856916},
-            {4, 4, -.146823031104040e2},
-            {4, 16, .284523138727299e3},
-            {4, 24, -.113398503195444e3},
-            {5, 18, .115671380760859e4},
-            {5, 24, .395551267359325e3},
-            {7, 1, -.154891257229285e1},
-            {8, 4, .194486637751291e2},
-            {12, 2, -.357915139457043e1},
-            {12, 4, -.335369414148819e1},
-            {14, 1, -.664426796332460},
-            {14, 22, .323321885383934e5},
-            {16, 10, .331766744667084e4},
-            {20, 12, -.223501257931087e5},
-            {20, 28, .573953875852936e7},
-            {22, 8, .173226193407919e3},
-            {24, 3, -.363968822121321e-1},
-            {28, 0, .834596332878346e-6},
-            {32, 6, .503611916682674e1},
-            {32, 8, .655444787064505e2}
-        };
-        for (double[] ijn : IJn) {
-            eta += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
-        return eta * x[2];
+        double x0 = sigma - 1.09, x1 = sigma + 0.366e-4, x2 = 1700;
+        eta += polynomial(IJnH1, x0, x1);
+        return eta * x2;
     }
 
     static double specificEnthalpy2ab(double s) {
 
         double eta = 0;
-        double[] x = {5.21 / s - 0.513, s / 9.2 - 0.524, 2800};
-        double[][] IJn = {
-            {1, 8, -.524581170928788e3},
-            {1, 24, -.926947218142218e7},
-            {2, 4, -.237385107491666e3},
-            {2, 32, .210770155812776e11},
-            {4, 1, -.239494562010986e2},
-            {4, 2, .221802480294197e3},
-            {7, 7, -.510472533393438e7},
-            {8, 5, .124981396109147e7},
-            {8, 12, .200008436996201e10},
-            {10, 1, -.815158509791035e3},
-            {12, 0, -.157612685637523e3},
-            {12, 7, -.114200422332791e11},
-            {18, 10, .662364680776872e16},
-            {20, 12, -.227622818296144e19},
-            {24, 32, -.171048081348406e32},
-            {28, 8, .660788766938091e16},
-            {28, 12, .166320055886021e23},
-            {28, 20, -.218003784381501e30},
-            {28, 22, -.787276140295618e30},
-            {28, 24, .151062329700346e32},
-            {32, 2, .795732170300541e7},
-            {32, 7, .131957647355347e16},
-            {32, 12, -.325097068299140e24},
-            {32, 14, -.418600611419248e26},
-            {32, 24, .297478906557467e35},
-            {36, 10, -.953588761745473e20},
-            {36, 12, .166957699620939e25},
-            {36, 20, -.175407764869978e33},
-            {36, 22, .347581490626396e35},
-            {36, 28, -.710971318427851e39}
-        };
-        for (double[] ijn : IJn) {
-            eta += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
-        return exp(eta) * x[2];
+        double x0 = 5.21 / s - 0.513, x1 = s / 9.2 - 0.524, x2 = 2800;
+        eta += polynomial(IJnH2ab, x0, x1);
+        return exp(eta) * x2;
     }
 
     static double specificEnthalpy2c3b(double s) {
 
         double eta = 0, sigma = s / 5.9;
-        double[] x = {sigma - 1.02, sigma - 0.726, 2800};
-        double[][] IJn = {
-            {0, 0, .104351280732769e1},
-            {0, 3, -.227807912708513e1},
-            {0, 4, .180535256723202e1},
-            {1, 0, .420440834792042},
-            {1, 12, -.105721244834660e6},
-            {5, 36, .436911607493884e25},
-            {6, 12, -.328032702839753e12},
-            {7, 16, -.678686760804270e16},
-            {8, 2, .743957464645363e4},
-            {8, 20, -.356896445355761e20},
-            {12, 32, .167590585186801e32},
-            {16, 36, -.355028625419105e38},
-            {22, 2, .396611982166538e12},
-            {22, 32, -.414716268484468e41},
-            {24, 7, .359080103867382e19},
-            {36, 20, -.116994334851995e41}
-        };
-        for (double[] ijn : IJn) {
-            eta += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
-        return pow(eta, 4) * x[2];
+        double x0 = sigma - 1.02, x1 = sigma - 0.726, x2 = 2800;
+        eta += polynomial(IJnH2c3b, x0, x1);
+        return intPow(eta, 4) * x2;
     }
 
     static double specificEnthalpy3a(double s) {
 
         double eta = 0, sigma = s / 3.8;
-        double[] x = {sigma - 1.09, sigma + 0.366e-4, 1700};
-        double[][] IJn = {
-            {0, 1, .822673364673336},
-            {0, 4, .181977213534479},
-            {0, 10, -.112000260313624e-1},
-            {0, 16, -.746778287048033e-3},
-            {2, 1, -.179046263257381},
-            {3, 36, .424220110836657e-1},
-            {4, 3, -.341355823438768},
-            {4, 16, -.209881740853565e1},
-            {5, 20, -.822477343323596e1},
-            {5, 36, -.499684082076008e1},
-            {6, 4, .191413958471069},
-            {7, 2, .581062241093136e-1},
-            {7, 28, -.165505498701029e4},
-            {7, 32, .158870443421201e4},
-            {10, 14, -.850623535172818e2},
-            {10, 32, -.317714386511207e5},
-            {10, 36, -.945890406632871e5},
-            {32, 0, -.139273847088690e-5},
-            {32, 6, .631052532240980}
-        };
-        for (double[] ijn : IJn) {
-            eta += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
-        return eta * x[2];
+        double x0 = sigma - 1.09, x1 = sigma + 0.366e-4, x2 = 1700;
+        eta += polynomial(IJnH3a, x0, x1);
+        return eta * x2;
     }
 
     static double specificEnthalpyB13(double s) {
 
         double eta = 0, sigma = s / 3.8;
-        double[] x = {sigma - 0.884, sigma - 0.864, 1700};
-        double[][] IJn = {
-            {0, 0, .913965547600543},
-            {1, -2, -.430944856041991e-4},
-            {1, 2, .603235694765419e2},
-            {3, -12, .117518273082168e-17},
-            {5, -4, .220000904781292},
-            {6, -3, -.690815545851641e2}
-        };
-        for (double[] ijn : IJn) {
-            eta += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
-        return eta * x[2];
+        double x0 = sigma - 0.884, x1 = sigma - 0.864, x2 = 1700;
+        eta += polynomial(IJnHB13, x0, x1);
+        return eta * x2;
     }
 
     /**
@@ -736,6 +971,30 @@ abstract class Region {
      * @return speed of sound [m/s]
      */
     //abstract double speedOfSoundRhoT(double rho, double T);
+    /**
+     * Fill state with all properties at pressure &amp; temperature, in default
+     * units. Regions override this to evaluate their kernel only once, this
+     * fallback calls the separate property methods.
+     *
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @param state state holder
+     */
+    void statePT(double p, double T, MutableThermodynamicState state) {
+        state.p = p;
+        state.T = T;
+        state.v = specificVolumePT(p, T);
+        state.rho = 1 / state.v;
+        state.h = specificEnthalpyPT(p, T);
+        state.s = specificEntropyPT(p, T);
+        state.u = specificInternalEnergyPT(p, T);
+        state.cp = specificIsobaricHeatCapacityPT(p, T);
+        state.cv = specificIsochoricHeatCapacityPT(p, T);
+        state.w = speedOfSoundPT(p, T);
+        state.alpha = isobaricCubicExpansionCoefficientPT(p, T);
+        state.kappa = isothermalCompressibilityPT(p, T);
+    }
+
     /**
      * Auxiliary equation for the boundary between regions 2 and 3.
      *
@@ -756,40 +1015,11 @@ abstract class Region {
     static double temperatureB23HS(double h, double s) {
 
         double theta = 0, eta = h / 3e3, sigma = s / 5.3;
-        double[] x = new double[]{eta - 0.727, sigma - 0.864, 900};
-        double[][] IJn = new double[][]{
-            {-12, 10, .629096260829810e-3},
-            {-10, 8, -.823453502583165e-3},
-            {-8, 3, .515446951519474e-7},
-            {-4, 4, -.117565945784945e1},
-            {-3, 3, .348519684726192e1},
-            {-2, -6, -.507837382408313e-11},
-            {-2, 2, -.284637670005479e1},
-            {-2, 3, -.236092263939673e1},
-            {-2, 4, .601492324973779e1},
-            {0, 0, .148039650824546e1},
-            {1, -3, .360075182221907e-3},
-            {1, -2, -.126700045009952e-1},
-            {1, 10, -.122184332521413e7},
-            {3, -2, .149276502463272},
-            {3, -1, .698733471798484},
-            {5, -5, -.252207040114321e-1},
-            {6, -6, .147151930985213e-1},
-            {6, -3, -.108618917681849e1},
-            {8, -8, -.936875039816322e-3},
-            {8, -2, .819877897570217e2},
-            {8, -1, -.182041861521835e3},
-            {12, -12, .261907376402688e-5},
-            {12, -1, -.291626417025961e5},
-            {14, -12, .140660774926165e-4},
-            {14, 1, .783237062349385e7}
-        };
-
-        for (double[] ijn : IJn) {
-            theta += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
+        double x0 = eta - 0.727, x1 = sigma - 0.864, x2 = 900;
+
+        theta += polynomial(IJnTB23, x0, x1);
 
-        return theta * x[2];
+        return theta * x2;
     }
 
     /**
@@ -29,12 +29,12 @@ import static java.lang.Math.*;
  * @author Ralph Hummeling (<a
  * href="http://www.hummeling.com">www.hummeling.com</a>)
  */
-class Region1 extends Region {
+final class Region1 extends Region {
 
 // <editor-fold defaultstate="collapsed" desc="fields">
     private static final String NAME = "Region 1";
     static final double Tref = 1386, pRef = 16.53;
-    static final double[][] IJn = new double[][]{
+    static final Coefficients IJn = new Coefficients(new double[][]{
         {0, -2, +0.14632971213167},
         {0, -1, -0.84548187169114},
         {0, 00, -0.37563603672040e1},
@@ -69,7 +69,7 @@ class Region1 extends Region {
         {30, -39, -0.11947622640071e-22},
         {31, -40, +0.18228094581404e-23},
         {32, -41, -0.93537087292458e-25}
-    }, IJnT = new double[][]{
+    }), IJnT = new Coefficients(new double[][]{
         {0, 00, -.23872489924521e3},
         {0, 01, 0.40421188637945e3},
         {0, 02, 0.11349746881718e3},
@@ -90,176 +90,173 @@ class Region1 extends Region {
         {4, 32, -.93477771213947e-12},
         {5, 32, 0.58265442020601e-14},
         {6, 32, -.15020185953503e-16}
-    };
+    });
+    /**
+     * Backward equation coefficients.
+     */
+    private static final Coefficients IJnP = new Coefficients(new double[][]{
+        {0, 0, -.691997014660582},
+        {0, 1, -.183612548787560e2},
+        {0, 2, -.928332409297335e1},
+        {0, 4, .659639569909906e2},
+        {0, 5, -.162060388912024e2},
+        {0, 6, .450620017338667e3},
+        {0, 8, .854680678224170e3},
+        {0, 14, .607523214001162e4},
+        {1, 0, .326487682621856e2},
+        {1, 1, -.269408844582931e2},
+        {1, 4, -.319947848334300e3},
+        {1, 6, -.928354307043320e3},
+        {2, 0, .303634537455249e2},
+        {2, 1, -.650540422444146e2},
+        {2, 10, -.430991316516130e4},
+        {3, 4, -.747512324096068e3},
+        {4, 1, .730000345529245e3},
+        {4, 4, .114284032569021e4},
+        {5, 0, -.436407041874559e3}
+    });
 // </editor-fold>
 
 //    protected Region1() {
 //    }
     Region1() {
+        super(1);
     }
 
     /**
-     * Dimensionless Gibbs free energy.
+     * Dimensionless Gibbs free energy and its partial derivatives, evaluated
+     * in a single pass over the coefficients into the given buffer.
      *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gamma(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijn : IJn) {
-            out += ijn[2] * pow(7.1 - pi, ijn[0]) * pow(tau - 1.222, ijn[1]);
-        }
-        return out;
-    }
-
-    /**
-     * First partial derivative with respect to pi.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaPi(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijn : IJn) {
-            out -= ijn[2] * ijn[0] * pow(7.1 - pi, ijn[0] - 1) * pow(tau - 1.222, ijn[1]);
-        }
-        return out;
-    }
-
-    /**
-     * Second partial derivative with respect to pi.
+     * The powers of (7.1 - &pi;) and (&tau; - 1.222) are calculated once per
+     * term and shared by all derivatives, each sum equals that of
+     * {@link #gibbs(int, double, double)}.
      *
      * @param pi dimensionless pressure [MPa]
      * @param tau dimensionless temperature [K]
-     * @return
+     * @param g buffer of at least 6 elements
+     * @return the buffer holding &gamma;, &gamma;<sub>&pi;</sub>,
+     * &gamma;<sub>&pi;&pi;</sub>, &gamma;<sub>&tau;</sub>,
+     * &gamma;<sub>&tau;&tau;</sub>, &gamma;<sub>&pi;&tau;</sub>
      */
-    private static double gammaPiPi(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijn : IJn) {
-            out += ijn[2] * ijn[0] * (ijn[0] - 1) * pow(7.1 - pi, ijn[0] - 2) * pow(tau - 1.222, ijn[1]);
+    private static double[] gammas(double pi, double tau, double[] g) {
+
+        double x = 7.1 - pi, y = tau - 1.222,
+                gamma = 0, gammaPi = 0, gammaPiPi = 0,
+                gammaTau = 0, gammaTauTau = 0, gammaPiTau = 0;
+        int[] I = IJn.I, J = IJn.J;
+        double[] n = IJn.n;
+
+        for (int k = 0; k < n.length; k++) {
+            double xI2 = intPow(x, I[k] - 2), xI1 = xI2 * x, xI = xI1 * x,
+                    yJ2 = intPow(y, J[k] - 2), yJ1 = yJ2 * y, yJ = yJ1 * y;
+
+            gamma += n[k] * xI * yJ;
+            gammaPi -= n[k] * I[k] * xI1 * yJ;
+            gammaPiPi += n[k] * I[k] * (I[k] - 1) * xI2 * yJ;
+            gammaTau += n[k] * xI * J[k] * yJ1;
+            gammaTauTau += n[k] * xI * J[k] * (J[k] - 1) * yJ2;
+            gammaPiTau -= n[k] * I[k] * xI1 * J[k] * yJ1;
         }
-        return out;
+        g[0] = gamma;
+        g[1] = gammaPi;
+        g[2] = gammaPiPi;
+        g[3] = gammaTau;
+        g[4] = gammaTauTau;
+        g[5] = gammaPiTau;
+        return g;
     }
 
-    /**
-     * Second partial derivative with respect to pi & tau.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaPiTau(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijn : IJn) {
-            out -= ijn[2] * ijn[0] * pow(7.1 - pi, ijn[0] - 1) * ijn[1] * pow(tau - 1.222, ijn[1] - 1);
-        }
-        return out;
+    @Override
+    public String getName() {
+        return NAME;
     }
 
     /**
-     * First partial derivative with respect to tau.
+     * Property from the dimensionless Gibbs free energy derivatives it needs,
+     * summed in the same single pass over the coefficients as
+     * {@link #gammas(double, double, double[])} but into locals, so scalar
+     * properties don't allocate.
      *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
+     * @param property property, e.g. {@link #CV}
+     * @param pressure pressure [MPa]
+     * @param temperature temperature [K]
+     * @return property in default units
      */
-    private static double gammaTau(double pi, double tau) {
-
-        double out = 0;
+    private static double gibbs(int property, double pressure, double temperature) {
 
-        for (double[] ijn : IJn) {
-            out += ijn[2] * pow(7.1 - pi, ijn[0]) * ijn[1] * pow(tau - 1.222, ijn[1] - 1);
+        double pi = pressure / pRef, tau = Tref / temperature,
+                x = 7.1 - pi, y = tau - 1.222,
+                gamma = 0, gammaPi = 0, gammaPiPi = 0,
+                gammaTau = 0, gammaTauTau = 0, gammaPiTau = 0;
+        int[] I = IJn.I, J = IJn.J;
+        double[] n = IJn.n;
+
+        for (int k = 0; k < n.length; k++) {
+            double xI2 = intPow(x, I[k] - 2), xI1 = xI2 * x, xI = xI1 * x,
+                    yJ2 = intPow(y, J[k] - 2), yJ1 = yJ2 * y, yJ = yJ1 * y;
+
+            gamma += n[k] * xI * yJ;
+            gammaPi -= n[k] * I[k] * xI1 * yJ;
+            gammaPiPi += n[k] * I[k] * (I[k] - 1) * xI2 * yJ;
+            gammaTau += n[k] * xI * J[k] * yJ1;
+            gammaTauTau += n[k] * xI * J[k] * (J[k] - 1) * yJ2;
+            gammaPiTau -= n[k] * I[k] * xI1 * J[k] * yJ1;
         }
-        return out;
-    }
-
-    /**
-     * Second partial derivative with respect to tau.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaTauTau(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijn : IJn) {
-            out += ijn[2] * pow(7.1 - pi, ijn[0]) * ijn[1] * (ijn[1] - 1) * pow(tau - 1.222, ijn[1] - 2);
+        double z = gammaPi - tau * gammaPiTau;
+
+        switch (property) {
+            case ALPHA:
+                return (1 - tau * gammaPiTau / gammaPi) / temperature;
+            case CP:
+                return -tau * tau * gammaTauTau * R;
+            case CV:
+                return (-tau * tau * gammaTauTau + z * z / gammaPiPi) * R;
+            case H:
+                return tau * gammaTau * R * temperature;
+            case KAPPA:
+                return -pi * gammaPiPi / gammaPi / pressure;
+            case S:
+                return (tau * gammaTau - gamma) * R;
+            case U:
+                return (tau * gammaTau - pi * gammaPi) * R * temperature;
+            case V:
+                return pi * gammaPi / 1e3 * R * temperature / pressure;
+            case W:
+                return sqrt((gammaPi * gammaPi / (z * z / (tau * tau * gammaTauTau) - gammaPiPi))
+                        * R * temperature);
+            default:
+                throw new IllegalArgumentException("Property not available: " + property);
         }
-        return out;
-    }
-
-    @Override
-    public String getName() {
-        return NAME;
     }
 
     @Override
     double isobaricCubicExpansionCoefficientPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return (1 - tau * gammaPiTau(pi, tau) / gammaPi(pi, tau)) / temperature;
+        return gibbs(ALPHA, pressure, temperature);
     }
 
     @Override
     double isothermalCompressibilityPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return -pi * gammaPiPi(pi, tau) / gammaPi(pi, tau) / pressure;
+        return gibbs(KAPPA, pressure, temperature);
     }
 
     @Override
     double pressureHS(double enthalpy, double entropy) {
 
         double pi = 0;
-        double[] x = {enthalpy / 3400 + 0.05, entropy / 7.6 + 0.05};
-        double[][] thisIJn = {
-            {0, 0, -.691997014660582},
-            {0, 1, -.183612548787560e2},
-            {0, 2, -.928332409297335e1},
-            {0, 4, .659639569909906e2},
-            {0, 5, -.162060388912024e2},
-            {0, 6, .450620017338667e3},
-            {0, 8, .854680678224170e3},
-            {0, 14, .607523214001162e4},
-            {1, 0, .326487682621856e2},
-            {1, 1, -.269408844582931e2},
-            {1, 4, -.319947848334300e3},
-            {1, 6, -.928354307043320e3},
-            {2, 0, .303634537455249e2},
-            {2, 1, -.650540422444146e2},
-            {2, 10, -.430991316516130e4},
-            {3, 4, -.747512324096068e3},
-            {4, 1, .730000345529245e3},
-            {4, 4, .114284032569021e4},
-            {5, 0, -.436407041874559e3}
-        };
-
-        for (double[] ijn : thisIJn) {
-            pi += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
+        double x0 = enthalpy / 3400 + 0.05, x1 = entropy / 7.6 + 0.05;
+
+        pi += polynomial(IJnP, x0, x1);
         return pi * 100;
     }
 
     @Override
     double specificEnthalpyPT(double pressure, double temperature) {
-        double tau = Tref / temperature;
-        return tau * gammaTau(pressure / pRef, tau) * R * temperature;
+        return gibbs(H, pressure, temperature);
     }
 
     @Override
     double specificEntropyPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return (tau * gammaTau(pi, tau) - gamma(pi, tau)) * R;
+        return gibbs(S, pressure, temperature);
     }
 
     @Override
@@ -269,34 +266,49 @@ class Region1 extends Region {
 
     @Override
     double specificInternalEnergyPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return (tau * gammaTau(pi, tau) - pi * gammaPi(pi, tau)) * R * temperature;
+        return gibbs(U, pressure, temperature);
     }
 
     @Override
     double specificIsobaricHeatCapacityPT(double pressure, double temperature) {
-        double tau = Tref / temperature;
-        return -tau * tau * gammaTauTau(pressure / pRef, tau) * R;
+        return gibbs(CP, pressure, temperature);
     }
 
     @Override
     double specificIsochoricHeatCapacityPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature,
-                x = gammaPi(pi, tau) - tau * gammaPiTau(pi, tau);
-        return (-tau * tau * gammaTauTau(pi, tau) + x * x / gammaPiPi(pi, tau)) * R;
+        return gibbs(CV, pressure, temperature);
     }
 
     @Override
     double specificVolumePT(double pressure, double temperature) {
-        double pi = pressure / pRef;
-        return pi * gammaPi(pi, Tref / temperature) / 1e3 * R * temperature / pressure;
+        return gibbs(V, pressure, temperature);
     }
 
     @Override
     double speedOfSoundPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature,
-                gPi = gammaPi(pi, tau), x = gPi - tau * gammaPiTau(pi, tau);
-        return sqrt((gPi * gPi / (x * x / (tau * tau * gammaTauTau(pi, tau)) - gammaPiPi(pi, tau))) * R * temperature);
+        return gibbs(W, pressure, temperature);
+    }
+
+    @Override
+    void statePT(double pressure, double temperature, MutableThermodynamicState state) {
+        double pi = pressure / pRef, tau = Tref / temperature;
+        double[] g = gammas(pi, tau, state.derivatives);
+        double gPi = g[1], x = gPi - tau * g[5];
+
+        state.region = 1;
+        state.p = pressure;
+        state.T = temperature;
+        state.v = pi * gPi / 1e3 * R * temperature / pressure;
+        state.rho = 1 / state.v;
+        state.h = tau * g[3] * R * temperature;
+        state.s = (tau * g[3] - g[0]) * R;
+        state.u = (tau * g[3] - pi * gPi) * R * temperature;
+        state.cp = -tau * tau * g[4] * R;
+        state.cv = (-tau * tau * g[4] + x * x / g[2]) * R;
+        state.w = sqrt((gPi * gPi / (x * x / (tau * tau * g[4]) - g[2])) * R * temperature);
+        state.alpha = (1 - tau * g[5] / gPi) / temperature;
+        state.kappa = -pi * g[2] / gPi / pressure;
+        state.x = 0;
     }
 
     @Override
@@ -323,9 +335,7 @@ class Region1 extends Region {
 
         double out = 0;
 
-        for (double[] ijnT : IJnT) {
-            out += ijnT[2] * pow(pi, ijnT[0]) * pow(eta + 1, ijnT[1]);
-        }
+        out += polynomial(IJnT, pi, eta + 1);
         return out;
     }
 
@@ -29,266 +29,451 @@ import static java.lang.Math.*;
  * @author Ralph Hummeling (<a
  * href="http://www.hummeling.com">www.hummeling.com</a>)
  */
-class Region2 extends Region {
+final class Region2 extends Region {
 
 // <editor-fold defaultstate="collapsed" desc="fields">
     private static final String NAME = "Region 2";
     static final double Tref = 540, pRef = 1;
-    static final double[][] Jno = new double[][]{
-        {0, -00.96927686500217e1},
-        {1, 000.10086655968018e2},
-        {-5, -0.56087911283020e-2},
-        {-4, 00.71452738081455e-1},
-        {-3, -0.40710498223928},
-        {-2, 00.14240819171444e1},
-        {-1, -0.43839511319450e1},
-        {2, -00.28408632460772},
-        {3, 000.21268463753307e-1}},
-            IJnr = new double[][]{
-                {1, 00, -1.7731742473213e-3},
-                {1, 01, -1.7834862292358e-2},
-                {1, 02, -4.5996013696365e-2},
-                {1, 03, -5.7581259083432e-2},
-                {1, 06, -5.0325278727930e-2},
-                {2, 01, -3.3032641670203e-5},
-                {2, 02, -1.8948987516315e-4},
-                {2, 04, -3.9392777243355e-3},
-                {2, 07, -4.3797295650573e-2},
-                {2, 36, -2.6674547914087e-5},
-                {3, 00, 2.0481737692309e-8},
-                {3, 01, 4.3870667284435e-7},
-                {3, 03, -3.2277677238570e-5},
-                {3, 06, -1.5033924542148e-3},
-                {3, 35, -4.0668253562649e-2},
-                {4, 01, -7.8847309559367e-10},
-                {4, 02, 1.2790717852285e-8},
-                {4, 03, 4.8225372718507e-7},
-                {5, 07, 2.2922076337661e-6},
-                {6, 03, -1.6714766451061e-11},
-                {6, 16, -2.1171472321355e-3},
-                {6, 35, -2.3895741934104e1},
-                {7, 00, -5.9059564324270e-18},
-                {7, 11, -1.2621808899101e-6},
-                {7, 25, -3.8946842435739e-2},
-                {8, 8, 1.1256211360459e-11},
-                {8, 36, -8.2311340897998},
-                {9, 13, 1.9809712802088e-8},
-                {10, 04, 1.0406965210174e-19},
-                {10, 10, -1.0234747095929e-13},
-                {10, 14, -1.0018179379511e-9},
-                {16, 29, -8.0882908646985e-11},
-                {16, 50, 1.0693031879409e-1},
-                {18, 57, -3.3662250574171e-1},
-                {20, 20, 8.9185845355421e-25},
-                {20, 35, 3.0629316876232e-13},
-                {20, 48, -4.2002467698208e-6},
-                {21, 21, -5.9056029685639e-26},
-                {22, 53, 3.7826947613457e-6},
-                {23, 39, -1.2768608934681e-15},
-                {24, 26, 7.3087610595061e-29},
-                {24, 40, 5.5414715350778e-17},
-                {24, 58, -9.4369707241210e-7}
-            };
-// </editor-fold>
-
-    private static double enthalpy2bc(double pressure) {
-
-        double[] n = new double[]{
-            0.90584278514712e3,
-            -.67955786399241,
-            0.12809002730136e-3,
-            0.26526571908428e4,
-            0.45257578905948e1
-        };
-        return n[3] + sqrt((pressure - n[4]) / n[2]);
-    }
-
+    static final Coefficients Jno = new Coefficients(new double[][]{
+        {0, 0, -00.96927686500217e1},
+        {0, 1, 000.10086655968018e2},
+        {0, -5, -0.56087911283020e-2},
+        {0, -4, 00.71452738081455e-1},
+        {0, -3, -0.40710498223928},
+        {0, -2, 00.14240819171444e1},
+        {0, -1, -0.43839511319450e1},
+        {0, 2, -00.28408632460772},
+        {0, 3, 000.21268463753307e-1}
+    }), IJnr = new Coefficients(new double[][]{
+        {1, 00, -1.7731742473213e-3},
+        {1, 01, -1.7834862292358e-2},
+        {1, 02, -4.5996013696365e-2},
+        {1, 03, -5.7581259083432e-2},
+        {1, 06, -5.0325278727930e-2},
+        {2, 01, -3.3032641670203e-5},
+        {2, 02, -1.8948987516315e-4},
+        {2, 04, -3.9392777243355e-3},
+        {2, 07, -4.3797295650573e-2},
+        {2, 36, -2.6674547914087e-5},
+        {3, 00, 2.0481737692309e-8},
+        {3, 01, 4.3870667284435e-7},
+        {3, 03, -3.2277677238570e-5},
+        {3, 06, -1.5033924542148e-3},
+        {3, 35, -4.0668253562649e-2},
+        {4, 01, -7.8847309559367e-10},
+        {4, 02, 1.2790717852285e-8},
+        {4, 03, 4.8225372718507e-7},
+        {5, 07, 2.2922076337661e-6},
+        {6, 03, -1.6714766451061e-11},
+        {6, 16, -2.1171472321355e-3},
+        {6, 35, -2.3895741934104e1},
+        {7, 00, -5.9059564324270e-18},
+        {7, 11, -1.2621808899101e-6},
+        {7, 25, -3.8946842435739e-2},
+        {8, 8, 1.1256211360459e-11},
+        {8, 36, -8.2311340897998},
+        {9, 13, 1.9809712802088e-8},
+        {10, 04, 1.0406965210174e-19},
+        {10, 10, -1.0234747095929e-13},
+        {10, 14, -1.0018179379511e-9},
+        {16, 29, -8.0882908646985e-11},
+        {16, 50, 1.0693031879409e-1},
+        {18, 57, -3.3662250574171e-1},
+        {20, 20, 8.9185845355421e-25},
+        {20, 35, 3.0629316876232e-13},
+        {20, 48, -4.2002467698208e-6},
+        {21, 21, -5.9056029685639e-26},
+        {22, 53, 3.7826947613457e-6},
+        {23, 39, -1.2768608934681e-15},
+        {24, 26, 7.3087610595061e-29},
+        {24, 40, 5.5414715350778e-17},
+        {24, 58, -9.4369707241210e-7}
+    });
+    private static final double[] nB2bc = {
+        0.90584278514712e3,
+        -.67955786399241,
+        0.12809002730136e-3,
+        0.26526571908428e4,
+        0.45257578905948e1
+    };
+    private static final double[] nH2ab = {
+        -.349898083432139e4,
+        0.257560716905876e4,
+        -.421073558227969e3,
+        0.276349063799944e2
+    };
     /**
-     * Dimensionless Gibbs free energy.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
+     * Backward equation coefficients.
      */
-    private static double gammaO(double pi, double tau) {
-
-        double out = log(pi);
+    private static final Coefficients IJnP2a = new Coefficients(new double[][]{
+        {0, 1, -.182575361923032e-1},
+        {0, 3, -.125229548799536},
+        {0, 6, 0.592290437320145},
+        {0, 16, 0.604769706185122e1},
+        {0, 20, 0.238624965444474e3},
+        {0, 22, -.298639090222922e3},
+        {1, 0, 0.512250813040750e-1},
+        {1, 1, -.437266515606486},
+        {1, 2, 0.413336902999504},
+        {1, 3, -.516468254574773e1},
+        {1, 5, -.557014838445711e1},
+        {1, 6, 0.128555037824478e2},
+        {1, 10, 0.114144108953290e2},
+        {1, 16, -.119504225652714e3},
+        {1, 20, -.284777985961560e4},
+        {1, 22, 0.431757846408006e4},
+        {2, 3, 0.112894040802650e1},
+        {2, 16, 0.197409186206319e4},
+        {2, 20, 0.151612444706087e4},
+        {3, 0, 0.141324451421235e-1},
+        {3, 2, 0.585501282219601},
+        {3, 3, -.297258075863012e1},
+        {3, 6, 0.594567314847319e1},
+        {3, 16, -.623656565798905e4},
+        {4, 16, 0.965986235133332e4},
+        {5, 3, 0.681500934948134e1},
+        {5, 16, -.633207286824489e4},
+        {6, 3, -.558919224465760e1},
+        {7, 1, 0.400645798472063e-1}
+    }), IJnP2b = new Coefficients(new double[][]{
+        {0, 0, .801496989929495e-1},
+        {0, 1, -.543862807146111e0},
+        {0, 2, .337455597421283e0},
+        {0, 4, .890555451157450e1},
+        {0, 8, .313840736431485e3},
+        {1, 0, .797367065977789e0},
+        {1, 1, -.121616973556240e1},
+        {1, 2, .872803386937477e1},
+        {1, 3, -.169769781757602e2},
+        {1, 5, -.186552827328416e3},
+        {1, 12, .951159274344237e5},
+        {2, 1, -.189168510120494e2},
+        {2, 6, -.433407037194840e4},
+        {2, 18, .543212633012715e9},
+        {3, 0, .144793408386013e0},
+        {3, 1, .128024559637516e3},
+        {3, 7, -.672309534071268e5},
+        {3, 12, .336972380095287e8},
+        {4, 1, -.586634196762720e3},
+        {4, 16, -.221403224769889e11},
+        {5, 1, .171606668708389e4},
+        {5, 12, -.570817595806302e9},
+        {6, 1, -.312109693178482e4},
+        {6, 8, -.207841384633010e7},
+        {6, 18, .305605946157786e13},
+        {7, 1, .322157004314333e4},
+        {7, 16, .326810259797295e12},
+        {8, 1, -.144104158934487e4},
+        {8, 3, .410694867802691e3},
+        {8, 14, .109077066873024e12},
+        {8, 18, -.247964654258893e14},
+        {12, 10, .188801906865134e10},
+        {14, 16, -.123651009018773e15}
+    }), IJnP2c = new Coefficients(new double[][]{
+        {0, 0, .112225607199012e0},
+        {0, 1, -.339005953606712e1},
+        {0, 2, -.320503911730094e2},
+        {0, 3, -.197597305104900e3},
+        {0, 4, -.407693861553446e3},
+        {0, 8, .132943775222331e5},
+        {1, 0, .170846839774007e1},
+        {1, 2, .373694198142245e2},
+        {1, 5, .358144365815434e4},
+        {1, 8, .423014446424664e6},
+        {1, 14, -.751071025760063e9},
+        {2, 2, .523446127607898e2},
+        {2, 3, -.228351290812417e3},
+        {2, 7, -.960652417056937e6},
+        {2, 10, -.807059292526074e8},
+        {2, 18, .162698017225669e13},
+        {3, 0, .772465073604171e0},
+        {3, 5, .463929973837746e5},
+        {3, 8, -.137317885134128e8},
+        {3, 16, .170470392630512e13},
+        {3, 18, -.251104628187308e14},
+        {4, 18, .317748830835520e14},
+        {5, 1, .538685623675312e2},
+        {5, 4, -.553089094625169e5},
+        {5, 6, -.102861522421405e7},
+        {5, 14, .204249418756234e13},
+        {6, 8, .273918446626977e9},
+        {6, 18, -.263963146312685e16},
+        {10, 7, -.107890854108088e10},
+        {12, 7, -.296492620980124e11},
+        {16, 10, -.111754907323424e16}
+    }), IJnTA = new Coefficients(new double[][]{
+        {0, 0, 1.0898952318288e3},
+        {0, 1, 8.4951654495535e2},
+        {0, 2, -1.0781748091826e2},
+        {0, 3, 3.3153654801263e1},
+        {0, 7, -7.4232016790248},
+        {0, 20, 1.1765048724356e1},
+        {1, 0, 1.8445749355790},
+        {1, 1, -4.1792700549624},
+        {1, 2, 6.2478196935812},
+        {1, 3, -1.7344563108114e1},
+        {1, 7, -2.0058176862096e2},
+        {1, 9, 2.7196065473796e2},
+        {1, 11, -4.5511318285818e2},
+        {1, 18, 3.0919688604755e3},
+        {1, 44, 2.5226640357872e5},
+        {2, 0, -6.1707422868339e-3},
+        {2, 2, -3.1078046629583e-1},
+        {2, 7, 1.1670873077107e1},
+        {2, 36, 1.2812798404046e8},
+        {2, 38, -9.8554909623276e8},
+        {2, 40, 2.8224546973002e9},
+        {2, 42, -3.5948971410703e9},
+        {2, 44, 1.7227349913197e9},
+        {3, 24, -1.3551334240775e4},
+        {3, 44, 1.2848734664650e7},
+        {4, 12, 1.3865724283226},
+        {4, 32, 2.3598832556514e5},
+        {4, 44, -1.3105236545054e7},
+        {5, 32, 7.3999835474766e3},
+        {5, 36, -5.5196697030060e5},
+        {5, 42, 3.7154085996233e6},
+        {6, 34, 1.9127729239660e4},
+        {6, 44, -4.1535164835634e5},
+        {7, 28, -6.2459855192507e1}
+    }), IJnTB = new Coefficients(new double[][]{
+        {0, 0, 1.4895041079516e3},
+        {0, 1, 7.4307798314034e2},
+        {0, 2, -9.7708318797837e1},
+        {0, 12, 2.4742464705674},
+        {0, 18, -6.3281320016026e-1},
+        {0, 24, 1.1385952129658},
+        {0, 28, -4.7811863648625e-1},
+        {0, 40, 8.5208123431544e-3},
+        {1, 0, 9.3747147377932e-1},
+        {1, 2, 3.3593118604916},
+        {1, 6, 3.3809355601454},
+        {1, 12, 1.6844539671904e-1},
+        {1, 18, 7.3875745236695e-1},
+        {1, 24, -4.7128737436186e-1},
+        {1, 28, 1.5020273139707e-1},
+        {1, 40, -2.1764114219750e-3},
+        {2, 2, -2.1810755324761e-2},
+        {2, 8, -1.0829784403677e-1},
+        {2, 18, -4.6333324635812e-2},
+        {2, 40, 7.1280351959551e-5},
+        {3, 1, 1.1032831789999e-4},
+        {3, 2, 1.8955248387902e-4},
+        {3, 12, 3.0891541160537e-3},
+        {3, 24, 1.3555504554949e-3},
+        {4, 2, 2.8640237477456e-7},
+        {4, 12, -1.0779857357512e-5},
+        {4, 18, -7.6462712454814e-5},
+        {4, 24, 1.4052392818316e-5},
+        {4, 28, -3.1083814331434e-5},
+        {4, 40, -1.0302738212103e-6},
+        {5, 18, 2.8217281635040e-7},
+        {5, 24, 1.2704902271945e-6},
+        {5, 40, 7.3803353468292e-8},
+        {6, 28, -1.1030139238909e-8},
+        {7, 2, -8.1456365207833e-14},
+        {7, 28, -2.5180545682962e-11},
+        {9, 1, -1.7565233969407e-18},
+        {9, 40, 8.6934156344163e-15}
+    }), IJnTC = new Coefficients(new double[][]{
+        {-7, 0, -3.2368398555242e12},
+        {-7, 4, 7.3263350902181e12},
+        {-6, 0, 3.5825089945447e11},
+        {-6, 2, -5.8340131851590e11},
+        {-5, 0, -1.0783068217470e10},
+        {-5, 2, 2.0825544563171e10},
+        {-2, 0, 6.1074783564516e5},
+        {-2, 1, 8.5977722535580e5},
+        {-1, 0, -2.5745723604170e4},
+        {-1, 2, 3.1081088422714e4},
+        {0, 0, 1.2082315865936e3},
+        {0, 1, 4.8219755109255e2},
+        {1, 4, 3.7966001272486},
+        {1, 8, -1.0842984880077e1},
+        {2, 4, -4.5364172676660e-2},
+        {6, 0, 1.4559115658698e-13},
+        {6, 1, 1.1261597407230e-12},
+        {6, 4, -1.7804982240686e-11},
+        {6, 10, 1.2324579690832e-7},
+        {6, 12, -1.1606921130984e-6},
+        {6, 16, 2.7846367088554e-5},
+        {6, 20, -5.9270038474176e-4},
+        {6, 22, 1.2918582991878e-3}
+    });
+// </editor-fold>
 
-        for (double[] jno : Jno) {
-            out += jno[1] * pow(tau, jno[0]);
-        }
-        return out;
+    Region2() {
+        super(2);
     }
 
-    /**
-     * First partial derivative with respect to pi.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @return
-     */
-    private static double gammaOPi(double pi) {
-        return 1 / pi;
-    }
-
-    /**
-     * Second partial derivative with respect to pi.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @return
-     */
-    private static double gammaOPiPi(double pi) {
-        return -1 / (pi * pi);
-    }
+    private static double enthalpy2bc(double pressure) {
 
-    /**
-     * Second partial derivative with respect to pi & tau.
-     *
-     * @return
-     */
-    private static double gammaOPiTau() {
-        return 0;
+        return nB2bc[3] + sqrt((pressure - nB2bc[4]) / nB2bc[2]);
     }
 
     /**
-     * First partial derivative with respect to tau.
+     * Ideal-gas part of the dimensionless Gibbs free energy and its partial
+     * derivatives, evaluated in a single pass over the coefficients into the
+     * given buffer.
      *
+     * @param pi dimensionless pressure [MPa]
      * @param tau dimensionless temperature [K]
-     * @return
+     * @param g buffer of at least 6 elements
+     * @return the buffer holding &gamma;<sup>o</sup>,
+     * &gamma;<sup>o</sup><sub>&pi;</sub>,
+     * &gamma;<sup>o</sup><sub>&pi;&pi;</sub>,
+     * &gamma;<sup>o</sup><sub>&tau;</sub>,
+     * &gamma;<sup>o</sup><sub>&tau;&tau;</sub>,
+     * &gamma;<sup>o</sup><sub>&pi;&tau;</sub>
      */
-    private static double gammaOTau(double tau) {
-
-        double out = 0;
-
-        for (double[] jno : Jno) {
-            out += jno[1] * jno[0] * pow(tau, jno[0] - 1);
-        }
-        return out;
-    }
+    private static double[] gammasO(double pi, double tau, double[] g) {
 
-    /**
-     * Second partial derivative with respect to tau.
-     *
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaOTauTau(double tau) {
+        double gammaO = log(pi), gammaOTau = 0, gammaOTauTau = 0;
+        int[] J = Jno.J;
+        double[] n = Jno.n;
 
-        double out = 0;
+        for (int k = 0; k < n.length; k++) {
+            double tauJ2 = intPow(tau, J[k] - 2), tauJ1 = tauJ2 * tau, tauJ = tauJ1 * tau;
 
-        for (double[] jno : Jno) {
-            out += jno[1] * jno[0] * (jno[0] - 1) * pow(tau, jno[0] - 2);
+            gammaO += n[k] * tauJ;
+            gammaOTau += n[k] * J[k] * tauJ1;
+            gammaOTauTau += n[k] * J[k] * (J[k] - 1) * tauJ2;
         }
-        return out;
+        g[0] = gammaO;
+        g[1] = 1 / pi;
+        g[2] = -1 / (pi * pi);
+        g[3] = gammaOTau;
+        g[4] = gammaOTauTau;
+        g[5] = 0;
+        return g;
     }
 
     /**
-     * Dimensionless Gibbs free energy.
+     * Residual part of the dimensionless Gibbs free energy and its partial
+     * derivatives, evaluated in a single pass over the coefficients into the
+     * given buffer.
      *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaR(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijnr : IJnr) {
-            out += ijnr[2] * pow(pi, ijnr[0]) * pow(tau - 0.5, ijnr[1]);
-        }
-        return out;
-    }
-
-    /**
-     * First partial derivative with respect to pi.
+     * The powers of &pi; and (&tau; - 0.5) are calculated once per term and
+     * shared by all derivatives, each sum equals that of
+     * {@link #gibbs(int, double, double)}.
      *
      * @param pi dimensionless pressure [MPa]
      * @param tau dimensionless temperature [K]
-     * @return
+     * @param g buffer of at least 6 elements
+     * @return the buffer holding &gamma;<sup>r</sup>,
+     * &gamma;<sup>r</sup><sub>&pi;</sub>,
+     * &gamma;<sup>r</sup><sub>&pi;&pi;</sub>,
+     * &gamma;<sup>r</sup><sub>&tau;</sub>,
+     * &gamma;<sup>r</sup><sub>&tau;&tau;</sub>,
+     * &gamma;<sup>r</sup><sub>&pi;&tau;</sub>
      */
-    private static double gammaRPi(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijnr : IJnr) {
-            out += ijnr[2] * ijnr[0] * pow(pi, ijnr[0] - 1) * pow(tau - 0.5, ijnr[1]);
+    private static double[] gammasR(double pi, double tau, double[] g) {
+
+        double y = tau - 0.5,
+                gammaR = 0, gammaRPi = 0, gammaRPiPi = 0,
+                gammaRTau = 0, gammaRTauTau = 0, gammaRPiTau = 0;
+        int[] I = IJnr.I, J = IJnr.J;
+        double[] n = IJnr.n;
+
+        for (int k = 0; k < n.length; k++) {
+            double piI2 = intPow(pi, I[k] - 2), piI1 = piI2 * pi, piI = piI1 * pi,
+                    yJ2 = intPow(y, J[k] - 2), yJ1 = yJ2 * y, yJ = yJ1 * y;
+
+            gammaR += n[k] * piI * yJ;
+            gammaRPi += n[k] * I[k] * piI1 * yJ;
+            gammaRPiPi += n[k] * I[k] * (I[k] - 1) * piI2 * yJ;
+            gammaRTau += n[k] * piI * J[k] * yJ1;
+            gammaRTauTau += n[k] * piI * J[k] * (J[k] - 1) * yJ2;
+            gammaRPiTau += n[k] * I[k] * piI1 * J[k] * yJ1;
         }
-        return out;
+        g[0] = gammaR;
+        g[1] = gammaRPi;
+        g[2] = gammaRPiPi;
+        g[3] = gammaRTau;
+        g[4] = gammaRTauTau;
+        g[5] = gammaRPiTau;
+        return g;
     }
 
-    /**
-     * Second partial derivative with respect to pi.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaRPiPi(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijnr : IJnr) {
-            out += ijnr[2] * ijnr[0] * (ijnr[0] - 1) * pow(pi, ijnr[0] - 2) * pow(tau - 0.5, ijnr[1]);
-        }
-        return out;
+    @Override
+    String getName() {
+        return NAME;
     }
 
     /**
-     * Second partial derivative with respect to pi & tau.
+     * Property from the dimensionless Gibbs free energy derivatives it needs,
+     * summed in the same single passes over the ideal-gas &amp; residual
+     * coefficients as {@link #gammasO(double, double, double[])} &amp;
+     * {@link #gammasR(double, double, double[])} but into locals, so scalar
+     * properties don't allocate.
      *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
+     * @param property property, e.g. {@link #CV}
+     * @param pressure pressure [MPa]
+     * @param temperature temperature [K]
+     * @return property in default units
      */
-    private static double gammaRPiTau(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijnr : IJnr) {
-            out += ijnr[2] * ijnr[0] * pow(pi, ijnr[0] - 1) * ijnr[1] * pow(tau - 0.5, ijnr[1] - 1);
+    private static double gibbs(int property, double pressure, double temperature) {
+
+        double pi = pressure / pRef, tau = Tref / temperature, y = tau - 0.5,
+                gammaO = 0, gammaOTau = 0, gammaOTauTau = 0,
+                gammaR = 0, gammaRPi = 0, gammaRPiPi = 0,
+                gammaRTau = 0, gammaRTauTau = 0, gammaRPiTau = 0;
+        int[] J = Jno.J;
+        double[] n = Jno.n;
+
+        // volume, expansion & compressibility don't depend on the ideal-gas part
+        for (int k = 0; property != ALPHA && property != KAPPA && property != V && k < n.length; k++) {
+            double tauJ2 = intPow(tau, J[k] - 2), tauJ1 = tauJ2 * tau, tauJ = tauJ1 * tau;
+
+            gammaO += n[k] * tauJ;
+            gammaOTau += n[k] * J[k] * tauJ1;
+            gammaOTauTau += n[k] * J[k] * (J[k] - 1) * tauJ2;
         }
-        return out;
-    }
-
-    /**
-     * First partial derivative with respect to tau.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaRTau(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijnr : IJnr) {
-            out += ijnr[2] * pow(pi, ijnr[0]) * ijnr[1] * pow(tau - 0.5, ijnr[1] - 1);
+        int[] I = IJnr.I;
+        J = IJnr.J;
+        n = IJnr.n;
+
+        for (int k = 0; k < n.length; k++) {
+            double piI2 = intPow(pi, I[k] - 2), piI1 = piI2 * pi, piI = piI1 * pi,
+                    yJ2 = intPow(y, J[k] - 2), yJ1 = yJ2 * y, yJ = yJ1 * y;
+
+            gammaR += n[k] * piI * yJ;
+            gammaRPi += n[k] * I[k] * piI1 * yJ;
+            gammaRPiPi += n[k] * I[k] * (I[k] - 1) * piI2 * yJ;
+            gammaRTau += n[k] * piI * J[k] * yJ1;
+            gammaRTauTau += n[k] * piI * J[k] * (J[k] - 1) * yJ2;
+            gammaRPiTau += n[k] * I[k] * piI1 * J[k] * yJ1;
         }
-        return out;
-    }
-
-    /**
-     * Second partial derivative with respect to tau.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaRTauTau(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijnr : IJnr) {
-            out += ijnr[2] * pow(pi, ijnr[0]) * ijnr[1] * (ijnr[1] - 1) * pow(tau - 0.5, ijnr[1] - 2);
+        double gammaTau = gammaOTau + gammaRTau, gammaTauTau = gammaOTauTau + gammaRTauTau,
+                x = 1 + pi * gammaRPi - tau * pi * gammaRPiTau;
+
+        switch (property) {
+            case ALPHA:
+                return (1 - tau * pi * gammaRPiTau / (1 + pi * gammaRPi)) / temperature;
+            case CP:
+                return -tau * tau * gammaTauTau * R;
+            case CV:
+                return (-tau * tau * gammaTauTau - x * x / (1 - pi * pi * gammaRPiPi)) * R;
+            case H:
+                return tau * gammaTau * R * temperature;
+            case KAPPA:
+                return (1 - pi * pi * gammaRPiPi) / (1 + pi * gammaRPi) / pressure;
+            case S:
+                return (tau * gammaTau - (log(pi) + gammaO + gammaR)) * R;
+            case U:
+                return (tau * gammaTau - pi * (1 / pi + gammaRPi)) * R * temperature;
+            case V:
+                return pi * (1 / pi + gammaRPi) / 1e3 * R * temperature / pressure;
+            case W:
+                return sqrt((1 + 2 * pi * gammaRPi + pi * pi * gammaRPi * gammaRPi)
+                        / (1 - pi * pi * gammaRPiPi + x * x / (tau * tau * gammaTauTau))
+                        * R * temperature);
+            default:
+                throw new IllegalArgumentException("Property not available: " + property);
         }
-        return out;
-    }
-
-    @Override
-    String getName() {
-        return NAME;
     }
 
-    private SubRegion getSubRegion(double pressure, double enthalpy) {
+    SubRegion getSubRegion(double pressure, double enthalpy) {
 
         if (pressure > 4) {
             if (enthalpy < enthalpy2bc(pressure)) {
@@ -302,184 +487,76 @@ class Region2 extends Region {
 
     @Override
     double isobaricCubicExpansionCoefficientPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return (1 - tau * pi * gammaRPiTau(pi, tau) / (1 + pi * gammaRPi(pi, tau))) / temperature;
+        return gibbs(ALPHA, pressure, temperature);
     }
 
     @Override
     double isothermalCompressibilityPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return (1 - pi * pi * gammaRPiPi(pi, tau)) / (1 + pi * gammaRPi(pi, tau)) / pressure;
+        return gibbs(KAPPA, pressure, temperature);
     }
 
     @Override
     double pressureHS(double enthalpy, double entropy) {
 
-        double[] x = null, n = {
-            -.349898083432139e4,
-            0.257560716905876e4,
-            -.421073558227969e3,
-            0.276349063799944e2
-        };
-        double pi = 0, sigma = entropy / 1,
+        double[] n = nH2ab;
+        double x0, x1, x2, pi = 0, sigma = entropy / 1,
                 eta = n[0] + (n[1] + (n[2] + n[3] * sigma) * sigma) * sigma,
                 h2ab = eta * 1;
 
         //System.out.println("h2ab: " + h2ab);
-        double[][] thisIJn = null;
+        Coefficients thisIJn = null;
 
         if (enthalpy > h2ab) {
             if (entropy < 5.85) {
                 // region 2c
-                x = new double[]{enthalpy / 3500 - 0.7, entropy / 5.9 - 1.1, 100};
-                thisIJn = new double[][]{
-                    {0, 0, .112225607199012e0},
-                    {0, 1, -.339005953606712e1},
-                    {0, 2, -.320503911730094e2},
-                    {0, 3, -.197597305104900e3},
-                    {0, 4, -.407693861553446e3},
-                    {0, 8, .132943775222331e5},
-                    {1, 0, .170846839774007e1},
-                    {1, 2, .373694198142245e2},
-                    {1, 5, .358144365815434e4},
-                    {1, 8, .423014446424664e6},
-                    {1, 14, -.751071025760063e9},
-                    {2, 2, .523446127607898e2},
-                    {2, 3, -.228351290812417e3},
-                    {2, 7, -.960652417056937e6},
-                    {2, 10, -.807059292526074e8},
-                    {2, 18, .162698017225669e13},
-                    {3, 0, .772465073604171e0},
-                    {3, 5, .463929973837746e5},
-                    {3, 8, -.137317885134128e8},
-                    {3, 16, .170470392630512e13},
-                    {3, 18, -.251104628187308e14},
-                    {4, 18, .317748830835520e14},
-                    {5, 1, .538685623675312e2},
-                    {5, 4, -.553089094625169e5},
-                    {5, 6, -.102861522421405e7},
-                    {5, 14, .204249418756234e13},
-                    {6, 8, .273918446626977e9},
-                    {6, 18, -.263963146312685e16},
-                    {10, 7, -.107890854108088e10},
-                    {12, 7, -.296492620980124e11},
-                    {16, 10, -.111754907323424e16}
-                };
+                x0 = enthalpy / 3500 - 0.7;
+                x1 = entropy / 5.9 - 1.1;
+                x2 = 100;
+                thisIJn = IJnP2c;
 
             } else {
                 // region 2b
-                x = new double[]{enthalpy / 4100 - 0.6, entropy / 7.9 - 1.01, 100};
-                thisIJn = new double[][]{
-                    {0, 0, .801496989929495e-1},
-                    {0, 1, -.543862807146111e0},
-                    {0, 2, .337455597421283e0},
-                    {0, 4, .890555451157450e1},
-                    {0, 8, .313840736431485e3},
-                    {1, 0, .797367065977789e0},
-                    {1, 1, -.121616973556240e1},
-                    {1, 2, .872803386937477e1},
-                    {1, 3, -.169769781757602e2},
-                    {1, 5, -.186552827328416e3},
-                    {1, 12, .951159274344237e5},
-                    {2, 1, -.189168510120494e2},
-                    {2, 6, -.433407037194840e4},
-                    {2, 18, .543212633012715e9},
-                    {3, 0, .144793408386013e0},
-                    {3, 1, .128024559637516e3},
-                    {3, 7, -.672309534071268e5},
-                    {3, 12, .336972380095287e8},
-                    {4, 1, -.586634196762720e3},
-                    {4, 16, -.221403224769889e11},
-                    {5, 1, .171606668708389e4},
-                    {5, 12, -.570817595806302e9},
-                    {6, 1, -.312109693178482e4},
-                    {6, 8, -.207841384633010e7},
-                    {6, 18, .305605946157786e13},
-                    {7, 1, .322157004314333e4},
-                    {7, 16, .326810259797295e12},
-                    {8, 1, -.144104158934487e4},
-                    {8, 3, .410694867802691e3},
-                    {8, 14, .109077066873024e12},
-                    {8, 18, -.247964654258893e14},
-                    {12, 10, .188801906865134e10},
-                    {14, 16, -.123651009018773e15}
-                };
+                x0 = enthalpy / 4100 - 0.6;
+                x1 = entropy / 7.9 - 1.01;
+                x2 = 100;
+                thisIJn = IJnP2b;
             }
 
         } else {
             // region 2a
-            x = new double[]{enthalpy / 4200 - 0.5, entropy / 12 - 1.2, 4};
-            thisIJn = new double[][]{
-                {0, 1, -.182575361923032e-1},
-                {0, 3, -.125229548799536},
-                {0, 6, 0.592290437320145},
-                {0, 16, 0.604769706185122e1},
-                {0, 20, 0.238624965444474e3},
-                {0, 22, -.298639090222922e3},
-                {1, 0, 0.512250813040750e-1},
-                {1, 1, -.437266515606486},
-                {1, 2, 0.413336902999504},
-                {1, 3, -.516468254574773e1},
-                {1, 5, -.557014838445711e1},
-                {1, 6, 0.128555037824478e2},
-                {1, 10, 0.114144108953290e2},
-                {1, 16, -.119504225652714e3},
-                {1, 20, -.284777985961560e4},
-                {1, 22, 0.431757846408006e4},
-                {2, 3, 0.112894040802650e1},
-                {2, 16, 0.197409186206319e4},
-                {2, 20, 0.151612444706087e4},
-                {3, 0, 0.141324451421235e-1},
-                {3, 2, 0.585501282219601},
-                {3, 3, -.297258075863012e1},
-                {3, 6, 0.594567314847319e1},
-                {3, 16, -.623656565798905e4},
-                {4, 16, 0.965986235133332e4},
-                {5, 3, 0.681500934948134e1},
-                {5, 16, -.633207286824489e4},
-                {6, 3, -.558919224465760e1},
-                {7, 1, 0.400645798472063e-1}
-            };
+            x0 = enthalpy / 4200 - 0.5;
+            x1 = entropy / 12 - 1.2;
+            x2 = 4;
+            thisIJn = IJnP2a;
         }
 
-        for (double[] ijn : thisIJn) {
-            pi += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
-        return pow(pi, 4) * x[2];
+        pi += polynomial(thisIJn, x0, x1);
+        return intPow(pi, 4) * x2;
     }
 
     @Override
     double specificEnthalpyPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return tau * (gammaOTau(tau) + gammaRTau(pi, tau)) * R * temperature;
+        return gibbs(H, pressure, temperature);
     }
 
     @Override
     double specificEntropyPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return (tau * (gammaOTau(tau) + gammaRTau(pi, tau))
-                - (gammaO(pi, tau) + gammaR(pi, tau))) * R;
+        return gibbs(S, pressure, temperature);
     }
 
     @Override
     double specificInternalEnergyPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return (tau * (gammaOTau(tau) + gammaRTau(pi, tau))
-                - pi * (gammaOPi(pi) + gammaRPi(pi, tau))) * R * temperature;
+        return gibbs(U, pressure, temperature);
     }
 
     @Override
     double specificIsobaricHeatCapacityPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return -tau * tau * (gammaOTauTau(tau) + gammaRTauTau(pi, tau)) * R;
+        return gibbs(CP, pressure, temperature);
     }
 
     @Override
     double specificIsochoricHeatCapacityPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature,
-                x = 1 + pi * gammaRPi(pi, tau) - tau * pi * gammaRPiTau(pi, tau);
-        return (-tau * tau * (gammaOTauTau(tau) + gammaRTauTau(pi, tau))
-                - x * x / (1 - pi * pi * gammaRPiPi(pi, tau))) * R;
+        return gibbs(CV, pressure, temperature);
     }
 
     double specificVolumePH(double pressure, double enthalpy) {
@@ -488,19 +565,38 @@ class Region2 extends Region {
 
     @Override
     double specificVolumePT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return pi * (gammaOPi(pi) + gammaRPi(pi, tau)) / 1e3 * R * temperature / pressure;
+        return gibbs(V, pressure, temperature);
     }
 
     @Override
     double speedOfSoundPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature,
-                gRPi = gammaRPi(pi, tau),
-                x = 1 + pi * gRPi - tau * pi * gammaRPiTau(pi, tau);
-        return sqrt((1 + 2 * pi * gRPi + pi * pi * gRPi * gRPi)
-                / (1 - pi * pi * gammaRPiPi(pi, tau)
-                + x * x / (tau * tau * (gammaOTauTau(tau) + gammaRTauTau(pi, tau))))
+        return gibbs(W, pressure, temperature);
+    }
+
+    @Override
+    void statePT(double pressure, double temperature, MutableThermodynamicState state) {
+        double pi = pressure / pRef, tau = Tref / temperature;
+        double[] gO = gammasO(pi, tau, state.derivatives),
+                gR = gammasR(pi, tau, state.residualDerivatives);
+        double gPi = gO[1] + gR[1], gTau = gO[3] + gR[3], gTauTau = gO[4] + gR[4],
+                gRPi = gR[1], x = 1 + pi * gRPi - tau * pi * gR[5];
+
+        state.region = 2;
+        state.p = pressure;
+        state.T = temperature;
+        state.v = pi * gPi / 1e3 * R * temperature / pressure;
+        state.rho = 1 / state.v;
+        state.h = tau * gTau * R * temperature;
+        state.s = (tau * gTau - (gO[0] + gR[0])) * R;
+        state.u = (tau * gTau - pi * gPi) * R * temperature;
+        state.cp = -tau * tau * gTauTau * R;
+        state.cv = (-tau * tau * gTauTau - x * x / (1 - pi * pi * gR[2])) * R;
+        state.w = sqrt((1 + 2 * pi * gRPi + pi * pi * gRPi * gRPi)
+                / (1 - pi * pi * gR[2] + x * x / (tau * tau * gTauTau))
                 * R * temperature);
+        state.alpha = (1 - tau * pi * gR[5] / (1 + pi * gRPi)) / temperature;
+        state.kappa = (1 - pi * pi * gR[2]) / (1 + pi * gRPi) / pressure;
+        state.x = 1;
     }
 
     @Override
@@ -534,45 +630,7 @@ class Region2 extends Region {
     private static double thetaA(double pi, double eta) {
 
         double out = 0;
-        double[][] IJn = new double[][]{
-            {0, 0, 1.0898952318288e3},
-            {0, 1, 8.4951654495535e2},
-            {0, 2, -1.0781748091826e2},
-            {0, 3, 3.3153654801263e1},
-            {0, 7, -7.4232016790248},
-            {0, 20, 1.1765048724356e1},
-            {1, 0, 1.8445749355790},
-            {1, 1, -4.1792700549624},
-            {1, 2, 6.2478196935812},
-            {1, 3, -1.7344563108114e1},
-            {1, 7, -2.0058176862096e2},
-            {1, 9, 2.7196065473796e2},
-            {1, 11, -4.5511318285818e2},
-            {1, 18, 3.0919688604755e3},
-            {1, 44, 2.5226640357872e5},
-            {2, 0, -6.1707422868339e-3},
-            {2, 2, -3.1078046629583e-1},
-            {2, 7, 1.1670873077107e1},
-            {2, 36, 1.2812798404046e8},
-            {2, 38, -9.8554909623276e8},
-            {2, 40, 2.8224546973002e9},
-            {2, 42, -3.5948971410703e9},
-            {2, 44, 1.7227349913197e9},
-            {3, 24, -1.3551334240775e4},
-            {3, 44, 1.2848734664650e7},
-            {4, 12, 1.3865724283226},
-            {4, 32, 2.3598832556514e5},
-            {4, 44, -1.3105236545054e7},
-            {5, 32, 7.3999835474766e3},
-            {5, 36, -5.5196697030060e5},
-            {5, 42, 3.7154085996233e6},
-            {6, 34, 1.9127729239660e4},
-            {6, 44, -4.1535164835634e5},
-            {7, 28, -6.2459855192507e1}
-        };
-        for (double[] ijn : IJn) {
-            out += ijn[2] * pow(pi, ijn[0]) * pow(eta - 2.1, ijn[1]);
-        }
+        out += polynomial(IJnTA, pi, eta - 2.1);
         return out;
     }
 
@@ -586,49 +644,7 @@ class Region2 extends Region {
     private static double thetaB(double pi, double eta) {
 
         double out = 0;
-        double[][] IJn = new double[][]{
-            {0, 0, 1.4895041079516e3},
-            {0, 1, 7.4307798314034e2},
-            {0, 2, -9.7708318797837e1},
-            {0, 12, 2.4742464705674},
-            {0, 18, -6.3281320016026e-1},
-            {0, 24, 1.1385952129658},
-            {0, 28, -4.7811863648625e-1},
-            {0, 40, 8.5208123431544e-3},
-            {1, 0, 9.3747147377932e-1},
-            {1, 2, 3.3593118604916},
-            {1, 6, 3.3809355601454},
-            {1, 12, 1.6844539671904e-1},
-            {1, 18, 7.3875745236695e-1},
-            {1, 24, -4.7128737436186e-1},
-            {1, 28, 1.5020273139707e-1},
-            {1, 40, -2.1764114219750e-3},
-            {2, 2, -2.1810755324761e-2},
-            {2, 8, -1.0829784403677e-1},
-            {2, 18, -4.6333324635812e-2},
-            {2, 40, 7.1280351959551e-5},
-            {3, 1, 1.1032831789999e-4},
-            {3, 2, 1.8955248387902e-4},
-            {3, 12, 3.0891541160537e-3},
-            {3, 24, 1.3555504554949e-3},
-            {4, 2, 2.8640237477456e-7},
-            {4, 12, -1.0779857357512e-5},
-            {4, 18, -7.6462712454814e-5},
-            {4, 24, 1.4052392818316e-5},
-            {4, 28, -3.1083814331434e-5},
-            {4, 40, -1.0302738212103e-6},
-            {5, 18, 2.8217281635040e-7},
-            {5, 24, 1.2704902271945e-6},
-            {5, 40, 7.3803353468292e-8},
-            {6, 28, -1.1030139238909e-8},
-            {7, 2, -8.1456365207833e-14},
-            {7, 28, -2.5180545682962e-11},
-            {9, 1, -1.7565233969407e-18},
-            {9, 40, 8.6934156344163e-15}
-        };
-        for (double[] ijn : IJn) {
-            out += ijn[2] * pow(pi - 2, ijn[0]) * pow(eta - 2.6, ijn[1]);
-        }
+        out += polynomial(IJnTB, pi - 2, eta - 2.6);
         return out;
     }
 
@@ -642,34 +658,7 @@ class Region2 extends Region {
     private static double thetaC(double pi, double eta) {
 
         double out = 0;
-        double[][] IJn = new double[][]{
-            {-7, 0, -3.2368398555242e12},
-            {-7, 4, 7.3263350902181e12},
-            {-6, 0, 3.5825089945447e11},
-            {-6, 2, -5.8340131851590e11},
-            {-5, 0, -1.0783068217470e10},
-            {-5, 2, 2.0825544563171e10},
-            {-2, 0, 6.1074783564516e5},
-            {-2, 1, 8.5977722535580e5},
-            {-1, 0, -2.5745723604170e4},
-            {-1, 2, 3.1081088422714e4},
-            {0, 0, 1.2082315865936e3},
-            {0, 1, 4.8219755109255e2},
-            {1, 4, 3.7966001272486},
-            {1, 8, -1.0842984880077e1},
-            {2, 4, -4.5364172676660e-2},
-            {6, 0, 1.4559115658698e-13},
-            {6, 1, 1.1261597407230e-12},
-            {6, 4, -1.7804982240686e-11},
-            {6, 10, 1.2324579690832e-7},
-            {6, 12, -1.1606921130984e-6},
-            {6, 16, 2.7846367088554e-5},
-            {6, 20, -5.9270038474176e-4},
-            {6, 22, 1.2918582991878e-3}
-        };
-        for (double[] ijn : IJn) {
-            out += ijn[2] * pow(pi + 25, ijn[0]) * pow(eta - 1.8, ijn[1]);
-        }
+        out += polynomial(IJnTC, pi + 25, eta - 1.8);
         return out;
     }
 
@@ -29,7 +29,7 @@ import static java.lang.Math.*;
  * @author Ralph Hummeling (<a
  * href="http://www.hummeling.com">www.hummeling.com</a>)
  */
-class Region2Meta extends Region {
+final class Region2Meta extends Region {
 // <editor-fold defaultstate="collapsed" desc="fields">
 
     private static final String NAME = "Region 2 metastable-vapour";
@@ -62,6 +62,7 @@ class Region2Meta extends Region {
 // </editor-fold>
 
     protected Region2Meta() {
+        super(0);
     }
 
     /**
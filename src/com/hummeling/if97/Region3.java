@@ -36,13 +36,21 @@ import static java.lang.Math.sqrt;
  * @author Ralph Hummeling (<a
  * href="http://www.hummeling.com">www.hummeling.com</a>)
  */
-class Region3 extends Region {
+final class Region3 extends Region {
 // <editor-fold defaultstate="collapsed" desc="fields">
 
     private static final String NAME = "Region 3";
     static final double rhoRef = 322, Tref = 647.096, n1 = 0.10658070028513e1,
             s3ab = 4.41202148223476;
-    static final double[][] IJn = {
+    /**
+     * Constant subregion boundary pressures [MPa], the saturation pressures
+     * at 623.15 K &amp; 643.15 K as literals: calling Region4 from this
+     * initializer would initialize it through its superclass Region.
+     */
+    private static final double p3cd = 19.00881189,
+            pSat623 = 16.52916425260448,
+            pSat643 = 21.04336731897525;
+    static final Coefficients IJn = new Coefficients(new double[][]{
         {0, 0, -0.15732845290239e2},
         {0, 1, 00.20944396974307e2},
         {0, 2, -0.76867707878716e1},
@@ -82,10 +90,416 @@ class Region3 extends Region {
         {10, 0, 0.80964802996215e-4},
         {10, 1, -.16557679795037e-3},
         {11, 26, -.44923899061815e-4}
+    });
+    private static final double[] nH3ab = {
+        0.201464004206875e4,
+        0.374696550136983e1,
+        -.219921901054187e-1,
+        0.875131686009950e-4
     };
+    /**
+     * Backward equation coefficients.
+     */
+    private static final Coefficients IJnOmegaA = new Coefficients(new double[][]{
+        {-12, 6, 5.29944062966028e-3},
+        {-12, 8, -1.70099690234461e-1},
+        {-12, 12, 1.11323814312927e1},
+        {-12, 18, -2.17898123145125e3},
+        {-10, 4, -5.06061827980875e-4},
+        {-10, 7, 5.56495239685324e-1},
+        {-10, 10, -9.43672726094016},
+        {-8, 5, -2.97856807561527e-1},
+        {-8, 12, 9.39353943717186e1},
+        {-6, 3, 1.92944939465981e-2},
+        {-6, 4, 4.21740664704763e-1},
+        {-6, 22, -3.68914126282330e6},
+        {-4, 2, -7.37566847600639e-3},
+        {-4, 3, -3.54753242424366e-1},
+        {-3, 7, -1.99768169338727},
+        {-2, 3, 1.15456297059049},
+        {-2, 16, 5.68366875815960e3},
+        {-1, 0, 8.08169540124668e-3},
+        {-1, 1, 1.72416341519307e-1},
+        {-1, 2, 1.04270175292927},
+        {-1, 3, -2.97691372792847e-1},
+        {0, 0, 5.60394465163593e-1},
+        {0, 1, 2.75234661176914e-1},
+        {1, 0, -1.48347894866012e-1},
+        {1, 1, -6.51142513478515e-2},
+        {1, 2, -2.92468715386302},
+        {2, 0, 6.64876096952665e-2},
+        {2, 2, 3.52335014263844},
+        {3, 0, -1.46340792313332e-2},
+        {4, 2, -2.24503486668184},
+        {5, 2, 1.10533464706142},
+        {8, 2, -4.08757344495612e-2}
+    }), IJnOmegaB = new Coefficients(new double[][]{
+        {-12, 0, -2.25196934336318e-9},
+        {-12, 1, 1.40674363313486e-8},
+        {-8, 0, 2.33784085280560e-6},
+        {-8, 1, -3.31833715229001e-5},
+        {-8, 3, 1.07956778514318e-3},
+        {-8, 6, -2.71382067378863e-1},
+        {-8, 7, 1.07202262490333},
+        {-8, 8, -8.53821329075382e-1},
+        {-6, 0, -2.15214194340526e-5},
+        {-6, 1, 7.69656088222730e-4},
+        {-6, 2, -4.31136580433864e-3},
+        {-6, 5, 4.53342167309331e-1},
+        {-6, 6, -5.07749535873652e-1},
+        {-6, 10, -1.00475154528389e2},
+        {-4, 3, -2.19201924648793e-1},
+        {-4, 6, -3.21087965668917},
+        {-4, 10, 6.07567815637771e2},
+        {-3, 0, 5.57686450685932e-4},
+        {-3, 2, 1.87499040029550e-1},
+        {-2, 1, 9.05368030448107e-3},
+        {-2, 2, 2.85417173048685e-1},
+        {-1, 0, 3.29924030996098e-2},
+        {-1, 1, 2.39897419685483e-1},
+        {-1, 4, 4.82754995951394},
+        {-1, 5, -1.18035753702231e1},
+        {0, 0, 1.69490044091791e-1},
+        {1, 0, -1.79967222507787e-2},
+        {1, 1, 3.71810116332674e-2},
+        {2, 2, -5.36288335065096e-2},
+        {2, 6, 1.60697101092520}
+    }), IJnPiA = new Coefficients(new double[][]{
+        {0, 0, .770889828326934e1},
+        {0, 1, -.260835009128688e2},
+        {0, 5, .267416218930389e3},
+        {1, 0, .172221089496844e2},
+        {1, 3, -.293542332145970e3},
+        {1, 4, .614135601882478e3},
+        {1, 8, -.610562757725674e5},
+        {1, 14, -.651272251118219e8},
+        {2, 6, .735919313521937e5},
+        {2, 16, -.116646505914191e11},
+        {3, 0, .355267086434461e2},
+        {3, 2, -.596144543825955e3},
+        {3, 3, -.475842430145708e3},
+        {4, 0, .696781965359503e2},
+        {4, 1, .335674250377312e3},
+        {4, 4, .250526809130882e5},
+        {4, 5, .146997380630766e6},
+        {5, 28, .538069315091534e20},
+        {6, 28, .143619827291346e22},
+        {7, 24, .364985866165994e20},
+        {8, 1, -.254741561156775e4},
+        {10, 32, .240120197096563e28},
+        {10, 36, -.393847464679496e30},
+        {14, 22, .147073407024852e25},
+        {18, 28, -.426391250432059e32},
+        {20, 36, .194509340621077e39},
+        {22, 16, .666212132114896e24},
+        {22, 28, .706777016552858e34},
+        {24, 36, .175563621975576e42},
+        {28, 16, .108408607429124e29},
+        {28, 36, .730872705175151e44},
+        {32, 10, .159145847398870e25},
+        {32, 28, .377121605943324e41}
+    }), IJnPiB = new Coefficients(new double[][]{
+        {-12, 2, .125244360717979e-12},
+        {-12, 10, -.126599322553713e-1},
+        {-12, 12, .506878030140626e1},
+        {-12, 14, .317847171154202e2},
+        {-12, 20, -.391041161399932e6},
+        {-10, 2, -.975733406392044e-10},
+        {-10, 10, -.186312419488279e2},
+        {-10, 14, .510973543414101e3},
+        {-10, 18, .373847005822362e6},
+        {-8, 2, .299804024666572e-7},
+        {-8, 8, .200544393820342e2},
+        {-6, 2, -.498030487662829e-5},
+        {-6, 6, -.102301806360030e2},
+        {-6, 7, .552819126990325e2},
+        {-6, 8, -.206211367510878e3},
+        {-5, 10, -.794012232324823e4},
+        {-4, 4, .782248472028153e1},
+        {-4, 5, -.586544326902468e2},
+        {-4, 8, .355073647696481e4},
+        {-3, 1, -.115303107290162e-3},
+        {-3, 3, -.175092403171802e1},
+        {-3, 5, .257981687748160e3},
+        {-3, 6, -.727048374179467e3},
+        {-2, 0, .121644822609198e-3},
+        {-2, 1, .393137871762692e-1},
+        {-1, 0, .704181005909296e-2},
+        {0, 3, -.829108200698110e2},
+        {2, 0, -.265178818131250},
+        {2, 1, .137531682453991e2},
+        {5, 0, -.522394090753046e2},
+        {6, 1, .240556298941048e4},
+        {8, 1, -.227361631268929e5},
+        {10, 1, .890746343932567e5},
+        {14, 3, -.239234565822486e8},
+        {14, 7, .568795808129714e10}
+    }), IJnThetaA = new Coefficients(new double[][]{
+        {-12, 0, -1.33645667811215e-7},
+        {-12, 1, 4.55912656802978e-6},
+        {-12, 2, -1.46294640700979e-5},
+        {-12, 6, 6.39341312970080e-3},
+        {-12, 14, 3.72783927268847e2},
+        {-12, 16, -7.18654377460447e3},
+        {-12, 20, 5.73494752103400e5},
+        {-12, 22, -2.67569329111439e6},
+        {-10, 1, -3.34066283302614e-5},
+        {-10, 5, -2.45479214069597e-2},
+        {-10, 12, 4.78087847764996e1},
+        {-8, 0, 7.64664131818904e-6},
+        {-8, 2, 1.28350627676972e-3},
+        {-8, 4, 1.71219081377331e-2},
+        {-8, 10, -8.51007304583213},
+        {-5, 2, -1.36513461629781e-2},
+        {-3, 0, -3.84460997596657e-6},
+        {-2, 1, 3.37423807911655e-3},
+        {-2, 3, -5.51624873066791e-1},
+        {-2, 4, 7.29202277107470e-1},
+        {-1, 0, -9.92522757376041e-3},
+        {-1, 2, -1.19308831407288e-1},
+        {0, 0, 7.93929190615421e-1},
+        {0, 1, 4.54270731799386e-1},
+        {1, 1, 2.09998591259910e-1},
+        {3, 0, -6.42109823904738e-3},
+        {3, 1, -2.35155868604540e-2},
+        {4, 0, 2.52233108341612e-3},
+        {4, 3, -7.64885133368119e-3},
+        {10, 4, 1.36176427574291e-2},
+        {12, 5, -1.33027883575669e-2}
+    }), IJnThetaB = new Coefficients(new double[][]{
+        {-12, 0, 3.23254573644920e-5},
+        {-12, 1, -1.27575556587181e-4},
+        {-10, 0, -4.75851877356068e-4},
+        {-10, 1, 1.56183014181602e-3},
+        {-10, 5, 1.05724860113781e-1},
+        {-10, 10, -8.58514221132534e1},
+        {-10, 12, 7.24140095480911e2},
+        {-8, 0, 2.96475810273257e-3},
+        {-8, 1, -5.92721983365988e-3},
+        {-8, 2, -1.26305422818666e-2},
+        {-8, 4, -1.15716196364853e-1},
+        {-8, 10, 8.49000969739595e1},
+        {-6, 0, -1.08602260086615e-2},
+        {-6, 1, 1.54304475328851e-2},
+        {-6, 2, 7.50455441524466e-2},
+        {-4, 0, 2.52520973612982e-2},
+        {-4, 1, -6.02507901232996e-2},
+        {-3, 5, -3.07622221350501},
+        {-2, 0, -5.74011959864879e-2},
+        {-2, 4, 5.03471360939849},
+        {-1, 2, -9.25081888584834e-1},
+        {-1, 4, 3.91733882917546},
+        {-1, 6, -7.73146007130190e1},
+        {-1, 10, 9.49308762098587e3},
+        {-1, 14, -1.41043719679409e6},
+        {-1, 16, 8.49166230819026e6},
+        {0, 0, 8.61095729446704e-1},
+        {0, 2, 3.23346442811720e-1},
+        {1, 1, 8.73281936020439e-1},
+        {3, 1, -4.36653048526683e-1},
+        {5, 1, 2.86596714529479e-1},
+        {6, 1, -1.31778331276228e-1},
+        {8, 1, 6.76682064330275e-3}
+    }), IJnOmegaSA = new Coefficients(new double[][]{
+        {-12, 10, .795544074093975e2},
+        {-12, 12, -.238261242984590e4},
+        {-12, 14, .176813100617787e5},
+        {-10, 4, -.110524727080379e-2},
+        {-10, 8, -.153213833655326e2},
+        {-10, 10, .297544599376982e3},
+        {-10, 20, -.350315206871242e8},
+        {-8, 5, .277513761062119},
+        {-8, 6, -.523964271036888},
+        {-8, 14, -.148011182995403e6},
+        {-8, 16, .160014899374266e7},
+        {-6, 28, .170802322663427e13},
+        {-5, 1, .246866996006494e-3},
+        {-4, 5, .165326084797980e1},
+        {-3, 2, -.118008384666987},
+        {-3, 4, .253798642355900e1},
+        {-2, 3, .965127704669424},
+        {-2, 8, -.282172420532826e2},
+        {-1, 1, .203224612353823},
+        {-1, 2, .110648186063513e1},
+        {0, 0, .526127948451280},
+        {0, 1, .277000018736321},
+        {0, 3, .108153340501132e1},
+        {1, 0, -.744127885357893e-1},
+        {2, 0, .164094443541384e-1},
+        {4, 2, -.680468275301065e-1},
+        {5, 2, .257988576101640e-1},
+        {6, 0, -.145749861944416e-3}
+    }), IJnOmegaSB = new Coefficients(new double[][]{
+        {-12, 0, .591599780322238e-4},
+        {-12, 1, -.185465997137856e-2},
+        {-12, 2, .104190510480013e-1},
+        {-12, 3, .598647302038590e-2},
+        {-12, 5, -.771391189901699},
+        {-12, 6, .172549765557036e1},
+        {-10, 0, -.467076079846526e-3},
+        {-10, 1, .134533823384439e-1},
+        {-10, 2, -.808094336805495e-1},
+        {-10, 4, .508139374365767},
+        {-8, 0, .128584643361683e-2},
+        {-5, 1, -.163899353915435e1},
+        {-5, 2, .586938199318063e1},
+        {-5, 3, -.292466667918613e1},
+        {-4, 0, -.614076301499537e-2},
+        {-4, 1, .576199014049172e1},
+        {-4, 2, -.121613320606788e2},
+        {-4, 3, .167637540957944e1},
+        {-3, 1, -.744135838773463e1},
+        {-2, 0, .378168091437659e-1},
+        {-2, 1, .401432203027688e1},
+        {-2, 2, .160279837479185e2},
+        {-2, 3, .317848779347728e1},
+        {-2, 4, -.358362310304853e1},
+        {-2, 12, -.115995260446827e7},
+        {0, 0, .199256573577909},
+        {0, 1, -.122270624794624},
+        {0, 2, -.191449143716586e2},
+        {1, 0, -.150448002905284e-1},
+        {1, 2, .146407900162154e2},
+        {2, 2, -.327477787188230e1}
+    }), IJnThetaSA = new Coefficients(new double[][]{
+        {-12, 28, .150042008263875e10},
+        {-12, 32, -.159397258480424e12},
+        {-10, 4, .502181140217975e-3},
+        {-10, 10, -.672057767855466e2},
+        {-10, 12, .145058545404456e4},
+        {-10, 14, -.823889534888890e4},
+        {-8, 5, -.154852214233853},
+        {-8, 7, .112305046746695e2},
+        {-8, 8, -.297000213482822e2},
+        {-8, 28, .438565132635495e11},
+        {-6, 2, .137837838635464e-2},
+        {-6, 6, -.297478527157462e1},
+        {-6, 32, .971777947349413e13},
+        {-5, 0, -.571527767052398e-4},
+        {-5, 14, .288307949778420e5},
+        {-5, 32, -.744428289262703e14},
+        {-4, 6, .128017324848921e2},
+        {-4, 10, -.368275545889071e3},
+        {-4, 36, .664768904779177e16},
+        {-2, 1, .449359251958880e-1},
+        {-2, 4, -.422897836099655e1},
+        {-1, 1, -.240614376434179},
+        {-1, 6, -.474341365254924e1},
+        {0, 0, .724093999126110},
+        {0, 1, .923874349695897},
+        {0, 4, .399043655281015e1},
+        {1, 0, .384066651868009e-1},
+        {2, 0, -.359344365571848e-2},
+        {2, 3, -.735196448821653},
+        {3, 2, .188367048396131},
+        {8, 0, .141064266818704e-3},
+        {8, 1, -.257418501496337e-2},
+        {10, 2, .123220024851555e-2}
+    }), IJnThetaSB = new Coefficients(new double[][]{
+        {-12, 1, .527111701601660},
+        {-12, 3, -.401317830052742e2},
+        {-12, 4, .153020073134484e3},
+        {-12, 7, -.224799398218827e4},
+        {-8, 0, -.193993484669048},
+        {-8, 1, -.140467557893768e1},
+        {-8, 3, .426799878114024e2},
+        {-6, 0, .752810643416743},
+        {-6, 2, .226657238616417e2},
+        {-6, 4, -.622873556909932e3},
+        {-5, 0, -.660823667935396},
+        {-5, 1, .841267087271658},
+        {-5, 2, -.253717501764397e2},
+        {-5, 4, .485708963532948e3},
+        {-5, 6, .880531517490555e3},
+        {-4, 12, .265015592794626e7},
+        {-3, 1, -.359287150025783},
+        {-3, 6, -.656991567673753e3},
+        {-2, 2, .241768149185367e1},
+        {0, 0, .856873461222588},
+        {2, 1, .655143675313458},
+        {3, 1, -.213535213206406},
+        {4, 0, .562974957606348e-2},
+        {5, 24, -.316955725450471e15},
+        {6, 0, -.699997000152457e-3},
+        {8, 3, .119845803210767e-1},
+        {12, 1, .193848122022095e-4},
+        {14, 2, -.215095749182309e-4}
+    });
+    /**
+     * Boundary equation coefficients.
+     */
+    private static final Coefficients InT3ab = new Coefficients(new double[][]{
+        {0, 0.154793642129415e4},
+        {1, -.187661219490113e3},
+        {2, 0.213144632222112e2},
+        {-1, -.191887498864292e4},
+        {-2, 0.918419702359447e3}
+    }), InT3cd = new Coefficients(new double[][]{
+        {0, 0.585276966696349e3},
+        {1, 0.278233532206915e1},
+        {2, -.127283549295878e-1},
+        {3, 0.159090746562729e-3}
+    }), InT3gh = new Coefficients(new double[][]{
+        {0, -.249284240900418e5},
+        {1, 0.428143584791546e4},
+        {2, -.269029173140130e3},
+        {3, 0.751608051114157e1},
+        {4, -.787105249910383e-1}
+    }), InT3ij = new Coefficients(new double[][]{
+        {0, 0.584814781649163e3},
+        {1, -.616179320924617},
+        {2, 0.260763050899562},
+        {3, -.587071076864459e-2},
+        {4, 0.515308185433082e-4}
+    }), InT3jk = new Coefficients(new double[][]{
+        {0, 0.617229772068439e3},
+        {1, -.770600270141675e1},
+        {2, 0.697072596851896},
+        {3, -.157391839848015e-1},
+        {4, 0.137897492684194e-3}
+    }), InT3mn = new Coefficients(new double[][]{
+        {0, 0.535339483742384e3},
+        {1, 0.761978122720128e1},
+        {2, -.158365725441648},
+        {3, 0.192871054508108e-2}
+    }), InT3op = new Coefficients(new double[][]{
+        {0, 0.969461372400213e3},
+        {1, -.332500170441278e3},
+        {2, 0.642859598466067e2},
+        {-1, 0.773845935768222e3},
+        {-2, -.152313732937084e4}
+    }), InT3qu = new Coefficients(new double[][]{
+        {0, 0.565603648239126e3},
+        {1, 0.529062258221222e1},
+        {2, -.102020639611016},
+        {3, 0.122240301070145e-2}
+    }), InT3rx = new Coefficients(new double[][]{
+        {0, 0.584561202520006e3},
+        {1, -.102961025163669e1},
+        {2, 0.243293362700452},
+        {3, -.294905044740799e-2}
+    }), InT3uv = new Coefficients(new double[][]{
+        {0, 0.528199646263062e3},
+        {1, 0.890579602135307e1},
+        {2, -.222814134903755},
+        {3, 0.286791682263697e-2}
+    }), InT3wx = new Coefficients(new double[][]{
+        {0, 0.728052609145380e1},
+        {1, 0.973505869861952e2},
+        {2, 0.147370491183191e2},
+        {-1, 0.329196213998375e3},
+        {-2, 0.873371668682417e3}
+    });
+    /**
+     * Properties of {@link #helmholtz(int, double, double)} beyond those of
+     * {@link Region}: relative pressure coefficient &amp; isothermal stress
+     * coefficient.
+     */
+    private static final int ALPHA_P = 10, BETA_P = 11;
 // </editor-fold>
 
     protected Region3() {
+        super(3);
     }
 
     @Override
@@ -103,7 +517,7 @@ class Region3 extends Region {
         }
     }
 
-    private SubRegion getSubRegionPH(double pressure, double enthalpy) {
+    SubRegion getSubRegionPH(double pressure, double enthalpy) {
 
         if (enthalpy < enthalpy3ab(pressure)) {
             return SubRegion.a;
@@ -112,18 +526,224 @@ class Region3 extends Region {
         }
     }
 
+    /**
+     * Subregion of the backward specific volume equations.
+     *
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return subregion
+     */
+    SubRegion getSubRegionPT(double p, double T) {
+
+        /*
+         * Subregions, boundary equations are evaluated on demand
+         */
+        SubRegion subRegion = null;
+
+        if (22.5 >= p && p > pSat643
+                && polynomial(InT3rx, p) > T && T > polynomial(InT3qu, p)) {
+            /*
+             * Auxiliary Equations for the Near-Critical Region (p.126)
+             */
+            if (p <= pc) {
+                if (T <= Region4.saturationTemperatureP(p)) {
+                    if (21.93161551 < p) {
+                        if (T <= polynomial(InT3uv, p)) {
+                            subRegion = SubRegion.u;
+
+                        } else {
+                            subRegion = SubRegion.y;
+                        }
+                    } else {
+                        subRegion = SubRegion.u;
+                    }
+                } else {
+                    if (21.90096265 < p) {
+                        if (T <= polynomial(InT3wx, log(p))) {
+                            subRegion = SubRegion.z;
+
+                        } else {
+                            subRegion = SubRegion.x;
+                        }
+                    } else {
+                        subRegion = SubRegion.x;
+                    }
+                }
+
+            } else {
+                if (p <= 22.11) {
+                    if (T > polynomial(InT3wx, log(p))) {
+                        subRegion = SubRegion.x;
+
+                    } else if (T > temperature3ef(p)) {
+                        subRegion = SubRegion.z;
+
+                    } else if (T > polynomial(InT3uv, p)) {
+                        subRegion = SubRegion.y;
+
+                    } else {
+                        subRegion = SubRegion.u;
+                    }
+                } else {
+                    if (T > polynomial(InT3wx, log(p))) {
+                        subRegion = SubRegion.x;
+
+                    } else if (T > temperature3ef(p)) {
+                        subRegion = SubRegion.w;
+
+                    } else if (T > polynomial(InT3uv, p)) {
+                        subRegion = SubRegion.v;
+
+                    } else {
+                        subRegion = SubRegion.u;
+                    }
+                }
+            }
+
+        } else if (40 < p) {
+            if (T <= polynomial(InT3ab, log(p))) {
+                subRegion = SubRegion.a;
+
+            } else {
+                subRegion = SubRegion.b;
+            }
+
+        } else if (25 < p) {
+            if (T <= polynomial(InT3cd, p)) {
+                subRegion = SubRegion.c;
+
+            } else if (T <= polynomial(InT3ab, log(p))) {
+                subRegion = SubRegion.d;
+
+            } else if (T <= temperature3ef(p)) {
+                subRegion = SubRegion.e;
+
+            } else {
+                subRegion = SubRegion.f;
+            }
+
+        } else if (23.5 < p) {
+            if (T <= polynomial(InT3cd, p)) {
+                subRegion = SubRegion.c;
+
+            } else if (T <= polynomial(InT3gh, p)) {
+                subRegion = SubRegion.g;
+
+            } else if (T <= temperature3ef(p)) {
+                subRegion = SubRegion.h;
+
+            } else if (T <= polynomial(InT3ij, p)) {
+                subRegion = SubRegion.i;
+
+            } else if (T <= polynomial(InT3jk, p)) {
+                subRegion = SubRegion.j;
+
+            } else {
+                subRegion = SubRegion.k;
+            }
+
+        } else if (23 < p) {
+            if (T <= polynomial(InT3cd, p)) {
+                subRegion = SubRegion.c;
+
+            } else if (T <= polynomial(InT3gh, p)) {
+                subRegion = SubRegion.l;
+
+            } else if (T <= temperature3ef(p)) {
+                subRegion = SubRegion.h;
+
+            } else if (T <= polynomial(InT3ij, p)) {
+                subRegion = SubRegion.i;
+
+            } else if (T <= polynomial(InT3jk, p)) {
+                subRegion = SubRegion.j;
+
+            } else {
+                subRegion = SubRegion.k;
+            }
+
+        } else if (22.5 < p) {
+            if (T <= polynomial(InT3cd, p)) {
+                subRegion = SubRegion.c;
+
+            } else if (T <= polynomial(InT3gh, p)) {
+                subRegion = SubRegion.l;
+
+            } else if (T <= polynomial(InT3mn, p)) {
+                subRegion = SubRegion.m;
+
+            } else if (T <= temperature3ef(p)) {
+                subRegion = SubRegion.n;
+
+            } else if (T <= polynomial(InT3op, log(p))) {
+                subRegion = SubRegion.o;
+
+            } else if (T <= polynomial(InT3ij, p)) {
+                subRegion = SubRegion.p;
+
+            } else if (T <= polynomial(InT3jk, p)) {
+                subRegion = SubRegion.j;
+
+            } else {
+                subRegion = SubRegion.k;
+            }
+
+        } else if (pSat643 < p) {
+            if (T <= polynomial(InT3cd, p)) {
+                subRegion = SubRegion.c;
+
+            } else if (T <= polynomial(InT3qu, p)) {
+                subRegion = SubRegion.q;
+
+            } else if (polynomial(InT3rx, p) < T && T <= polynomial(InT3jk, p)) {
+                subRegion = SubRegion.r;
+
+            } else {
+                subRegion = SubRegion.k;
+            }
+
+        } else if (20.5 < p) {
+            if (T <= polynomial(InT3cd, p)) {
+                subRegion = SubRegion.c;
+
+            } else if (T <= Region4.saturationTemperatureP(p)) {
+                subRegion = SubRegion.s;
+
+            } else if (T <= polynomial(InT3jk, p)) {
+                subRegion = SubRegion.r;
+
+            } else {
+                subRegion = SubRegion.k;
+            }
+
+        } else if (p3cd < p) {
+            if (T <= polynomial(InT3cd, p)) {
+                subRegion = SubRegion.c;
+
+            } else if (T <= Region4.saturationTemperatureP(p)) {
+                subRegion = SubRegion.s;
+
+            } else {
+                subRegion = SubRegion.t;
+            }
+
+        } else if (pSat623 < p) {
+            if (T <= Region4.saturationTemperatureP(p)) {
+                subRegion = SubRegion.c;
+
+            } else {
+                subRegion = SubRegion.t;
+            }
+        }
+        return subRegion;
+    }
+
     static double enthalpy3ab(double pressure) {
 
         double out = 0, pi = pressure;
-        double[] n = new double[]{
-            0.201464004206875e4,
-            0.374696550136983e1,
-            -.219921901054187e-1,
-            0.875131686009950e-4
-        };
-
-        for (int i = 0; i < n.length; i++) {
-            out += n[i] * pow(pi, i);
+
+        for (int i = 0; i < nH3ab.length; i++) {
+            out += nH3ab[i] * intPow(pi, i);
         }
         return out;
     }
@@ -138,44 +758,8 @@ class Region3 extends Region {
     private static double omegaA(double pi, double eta) {
 
         double out = 0;
-        double[][] IJnA = {
-            {-12, 6, 5.29944062966028e-3},
-            {-12, 8, -1.70099690234461e-1},
-            {-12, 12, 1.11323814312927e1},
-            {-12, 18, -2.17898123145125e3},
-            {-10, 4, -5.06061827980875e-4},
-            {-10, 7, 5.56495239685324e-1},
-            {-10, 10, -9.43672726094016},
-            {-8, 5, -2.97856807561527e-1},
-            {-8, 12, 9.39353943717186e1},
-            {-6, 3, 1.92944939465981e-2},
-            {-6, 4, 4.21740664704763e-1},
-            {-6, 22, -3.68914126282330e6},
-            {-4, 2, -7.37566847600639e-3},
-            {-4, 3, -3.54753242424366e-1},
-            {-3, 7, -1.99768169338727},
-            {-2, 3, 1.15456297059049},
-            {-2, 16, 5.68366875815960e3},
-            {-1, 0, 8.08169540124668e-3},
-            {-1, 1, 1.72416341519307e-1},
-            {-1, 2, 1.04270175292927},
-            {-1, 3, -2.97691372792847e-1},
-            {0, 0, 5.60394465163593e-1},
-            {0, 1, 2.75234661176914e-1},
-            {1, 0, -1.48347894866012e-1},
-            {1, 1, -6.51142513478515e-2},
-            {1, 2, -2.92468715386302},
-            {2, 0, 6.64876096952665e-2},
-            {2, 2, 3.52335014263844},
-            {3, 0, -1.46340792313332e-2},
-            {4, 2, -2.24503486668184},
-            {5, 2, 1.10533464706142},
-            {8, 2, -4.08757344495612e-2}
-        };
-
-        for (double[] ijn : IJnA) {
-            out += ijn[2] * pow(pi + 0.128, ijn[0]) * pow(eta - 0.727, ijn[1]);
-        }
+
+        out += polynomial(IJnOmegaA, pi + 0.128, eta - 0.727);
         return out;
     }
 
@@ -189,145 +773,131 @@ class Region3 extends Region {
     private static double omegaB(double pi, double eta) {
 
         double out = 0;
-        double[][] IJnB = {
-            {-12, 0, -2.25196934336318e-9},
-            {-12, 1, 1.40674363313486e-8},
-            {-8, 0, 2.33784085280560e-6},
-            {-8, 1, -3.31833715229001e-5},
-            {-8, 3, 1.07956778514318e-3},
-            {-8, 6, -2.71382067378863e-1},
-            {-8, 7, 1.07202262490333},
-            {-8, 8, -8.53821329075382e-1},
-            {-6, 0, -2.15214194340526e-5},
-            {-6, 1, 7.69656088222730e-4},
-            {-6, 2, -4.31136580433864e-3},
-            {-6, 5, 4.53342167309331e-1},
-            {-6, 6, -5.07749535873652e-1},
-            {-6, 10, -1.00475154528389e2},
-            {-4, 3, -2.19201924648793e-1},
-            {-4, 6, -3.21087965668917},
-            {-4, 10, 6.07567815637771e2},
-            {-3, 0, 5.57686450685932e-4},
-            {-3, 2, 1.87499040029550e-1},
-            {-2, 1, 9.05368030448107e-3},
-            {-2, 2, 2.85417173048685e-1},
-            {-1, 0, 3.29924030996098e-2},
-            {-1, 1, 2.39897419685483e-1},
-            {-1, 4, 4.82754995951394},
-            {-1, 5, -1.18035753702231e1},
-            {0, 0, 1.69490044091791e-1},
-            {1, 0, -1.79967222507787e-2},
-            {1, 1, 3.71810116332674e-2},
-            {2, 2, -5.36288335065096e-2},
-            {2, 6, 1.60697101092520}
-        };
-
-        for (double[] ijn : IJnB) {
-            out += ijn[2] * pow(pi + 0.0661, ijn[0]) * pow(eta - 0.720, ijn[1]);
-        }
-        return out;
-    }
-
-    /**
-     * Specific Helmholtz free energy.
-     *
-     * @param delta dimensionless density [kg/m3]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double phi(double delta, double tau) {
-
-        double out = n1 * log(delta);
-
-        for (double[] ijn : IJn) {
-            out += ijn[2] * pow(delta, ijn[0]) * pow(tau, ijn[1]);
-        }
-        return out;
-    }
-
-    /**
-     * First partial derivative with respect to delta.
-     *
-     * @param delta dimensionless density [kg/m3]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double phiDelta(double delta, double tau) {
-
-        double out = n1 / delta;
 
-        for (double[] ijn : IJn) {
-            out += ijn[2] * ijn[0] * pow(delta, ijn[0] - 1) * pow(tau, ijn[1]);
-        }
+        out += polynomial(IJnOmegaB, pi + 0.0661, eta - 0.720);
         return out;
     }
 
     /**
-     * Second partial derivative with respect to delta.
+     * Dimensionless Helmholtz free energy and its partial derivatives,
+     * evaluated in a single pass over the coefficients into the given buffer.
      *
-     * @param delta dimensionless density [kg/m3]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double phiDeltaDelta(double delta, double tau) {
-
-        double out = -n1 / (delta * delta);
-
-        for (double[] ijn : IJn) {
-            out += ijn[2] * ijn[0] * (ijn[0] - 1) * pow(delta, ijn[0] - 2) * pow(tau, ijn[1]);
-        }
-        return out;
-    }
-
-    /**
-     * Second partial derivative with respect to delta & tau.
+     * The coefficients are ordered by ascending I, so the powers of &delta;
+     * are carried along from term to term. Each term is calculated once and
+     * shared by all derivatives, which are scaled by powers of 1/&delta; and
+     * 1/&tau; after the loop. Each derivative equals that of
+     * {@link #helmholtz(int, double, double)}.
      *
      * @param delta dimensionless density [kg/m3]
      * @param tau dimensionless temperature [K]
-     * @return
+     * @param phis buffer of at least 6 elements
+     * @return the buffer holding &phi;, &phi;<sub>&delta;</sub>, &phi;<sub>&delta;&delta;</sub>,
+     * &phi;<sub>&tau;</sub>, &phi;<sub>&tau;&tau;</sub>,
+     * &phi;<sub>&delta;&tau;</sub>
      */
-    private static double phiDeltaTau(double delta, double tau) {
-
-        double out = 0;
-
-        for (double[] ijn : IJn) {
-            out += ijn[2] * ijn[0] * pow(delta, ijn[0] - 1) * ijn[1] * pow(tau, ijn[1] - 1);
+    private static double[] phis(double delta, double tau, double[] phis) {
+
+        int[] I = IJn.I, J = IJn.J;
+        double[] n = IJn.n;
+        double phi = 0, phiDelta = 0, phiDeltaDelta = 0,
+                phiTau = 0, phiTauTau = 0, phiDeltaTau = 0,
+                deltaI = 1;
+        int i = 0;
+
+        for (int k = 0; k < n.length; k++) {
+            while (i < I[k]) {
+                deltaI *= delta;
+                i++;
+            }
+            double term = n[k] * deltaI * intPow(tau, J[k]);
+
+            phi += term;
+            phiDelta += i * term;
+            phiDeltaDelta += i * (i - 1) * term;
+            phiTau += J[k] * term;
+            phiTauTau += J[k] * (J[k] - 1) * term;
+            phiDeltaTau += i * J[k] * term;
         }
-        return out;
+        phis[0] = phi + n1 * log(delta);
+        phis[1] = (phiDelta + n1) / delta;
+        phis[2] = (phiDeltaDelta - n1) / (delta * delta);
+        phis[3] = phiTau / tau;
+        phis[4] = phiTauTau / (tau * tau);
+        phis[5] = phiDeltaTau / (delta * tau);
+        return phis;
     }
 
     /**
-     * First partial derivative with respect to tau.
+     * Property from the dimensionless Helmholtz free energy derivatives it
+     * needs, summed in the same single pass over the coefficients as
+     * {@link #phis(double, double, double[])} but into locals, so scalar
+     * properties don't allocate. The logarithm of &phi; is only taken for
+     * the entropy.
      *
-     * @param delta dimensionless density [kg/m3]
-     * @param tau dimensionless temperature [K]
-     * @return
+     * @param property property, e.g. {@link #CP}
+     * @param density density [kg/m3]
+     * @param temperature temperature [K]
+     * @return property in default units
      */
-    private static double phiTau(double delta, double tau) {
-
-        double out = 0;
+    private static double helmholtz(int property, double density, double temperature) {
 
-        for (double[] ijn : IJn) {
-            out += ijn[2] * pow(delta, ijn[0]) * ijn[1] * pow(tau, ijn[1] - 1);
+        int[] I = IJn.I, J = IJn.J;
+        double[] n = IJn.n;
+        double delta = density / rhoc, tau = Tc / temperature,
+                phi = 0, phiDelta = 0, phiDeltaDelta = 0,
+                phiTau = 0, phiTauTau = 0, phiDeltaTau = 0,
+                deltaI = 1;
+        int i = 0;
+
+        for (int k = 0; k < n.length; k++) {
+            while (i < I[k]) {
+                deltaI *= delta;
+                i++;
+            }
+            double term = n[k] * deltaI * intPow(tau, J[k]);
+
+            phi += term;
+            phiDelta += i * term;
+            phiDeltaDelta += i * (i - 1) * term;
+            phiTau += J[k] * term;
+            phiTauTau += J[k] * (J[k] - 1) * term;
+            phiDeltaTau += i * J[k] * term;
         }
-        return out;
-    }
-
-    /**
-     * Second partial derivative with respect to tau.
-     *
-     * @param delta dimensionless density [kg/m3]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double phiTauTau(double delta, double tau) {
-
-        double out = 0;
-
-        for (double[] ijn : IJn) {
-            out += ijn[2] * pow(delta, ijn[0]) * ijn[1] * (ijn[1] - 1) * pow(tau, ijn[1] - 2);
+        phiDelta = (phiDelta + n1) / delta;
+        phiDeltaDelta = (phiDeltaDelta - n1) / (delta * delta);
+        phiTau /= tau;
+        phiTauTau /= tau * tau;
+        phiDeltaTau /= delta * tau;
+
+        double x = delta * phiDelta - delta * tau * phiDeltaTau,
+                y = 2 * delta * phiDelta + delta * delta * phiDeltaDelta;
+
+        switch (property) {
+            case ALPHA:
+                return (phiDelta - tau * phiDeltaTau) / (2 * phiDelta + delta * phiDeltaDelta) / temperature;
+            case ALPHA_P:
+                return (1 - tau * phiDeltaTau / phiDelta) / temperature;
+            case BETA_P:
+                return density * (2 + delta * phiDeltaDelta / phiDelta);
+            case CP:
+                return (-tau * tau * phiTauTau + x * x / y) * R;
+            case CV:
+                return -tau * tau * phiTauTau * R;
+            case H:
+                return (tau * phiTau + delta * phiDelta) * R * temperature;
+            case KAPPA:
+                return 1e3 / y / (density * R * temperature);
+            case P:
+                return delta * phiDelta * density * R * temperature / 1e3;
+            case S:
+                return (tau * phiTau - (phi + n1 * log(delta))) * R;
+            case U:
+                return tau * phiTau * R * temperature;
+            case W:
+                return sqrt((y - x * x / (tau * tau * phiTauTau)) * R * temperature);
+            default:
+                throw new IllegalArgumentException("Property not available: " + property);
         }
-        return out;
     }
 
     /**
@@ -340,46 +910,9 @@ class Region3 extends Region {
     private static double piA(double eta, double sigma) {
 
         double out = 0;
-        double[] x = {eta - 1.01, sigma - 0.75};
-        double[][] IJnA = {
-            {0, 0, .770889828326934e1},
-            {0, 1, -.260835009128688e2},
-            {0, 5, .267416218930389e3},
-            {1, 0, .172221089496844e2},
-            {1, 3, -.293542332145970e3},
-            {1, 4, .614135601882478e3},
-            {1, 8, -.610562757725674e5},
-            {1, 14, -.651272251118219e8},
-            {2, 6, .735919313521937e5},
-            {2, 16, -.116646505914191e11},
-            {3, 0, .355267086434461e2},
-            {3, 2, -.596144543825955e3},
-            {3, 3, -.475842430145708e3},
-            {4, 0, .696781965359503e2},
-            {4, 1, .335674250377312e3},
-            {4, 4, .250526809130882e5},
-            {4, 5, .146997380630766e6},
-            {5, 28, .538069315091534e20},
-            {6, 28, .143619827291346e22},
-            {7, 24, .364985866165994e20},
-            {8, 1, -.254741561156775e4},
-            {10, 32, .240120197096563e28},
-            {10, 36, -.393847464679496e30},
-            {14, 22, .147073407024852e25},
-            {18, 28, -.426391250432059e32},
-            {20, 36, .194509340621077e39},
-            {22, 16, .666212132114896e24},
-            {22, 28, .706777016552858e34},
-            {24, 36, .175563621975576e42},
-            {28, 16, .108408607429124e29},
-            {28, 36, .730872705175151e44},
-            {32, 10, .159145847398870e25},
-            {32, 28, .377121605943324e41}
-        };
-
-        for (double[] ijn : IJnA) {
-            out += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
+        double x0 = eta - 1.01, x1 = sigma - 0.75;
+
+        out += polynomial(IJnPiA, x0, x1);
         return out;
     }
 
@@ -393,48 +926,9 @@ class Region3 extends Region {
     private static double piB(double eta, double sigma) {
 
         double out = 0;
-        double[] x = {eta - 0.681, sigma - 0.792};
-        double[][] IJnB = {
-            {-12, 2, .125244360717979e-12},
-            {-12, 10, -.126599322553713e-1},
-            {-12, 12, .506878030140626e1},
-            {-12, 14, .317847171154202e2},
-            {-12, 20, -.391041161399932e6},
-            {-10, 2, -.975733406392044e-10},
-            {-10, 10, -.186312419488279e2},
-            {-10, 14, .510973543414101e3},
-            {-10, 18, .373847005822362e6},
-            {-8, 2, .299804024666572e-7},
-            {-8, 8, .200544393820342e2},
-            {-6, 2, -.498030487662829e-5},
-            {-6, 6, -.102301806360030e2},
-            {-6, 7, .552819126990325e2},
-            {-6, 8, -.206211367510878e3},
-            {-5, 10, -.794012232324823e4},
-            {-4, 4, .782248472028153e1},
-            {-4, 5, -.586544326902468e2},
-            {-4, 8, .355073647696481e4},
-            {-3, 1, -.115303107290162e-3},
-            {-3, 3, -.175092403171802e1},
-            {-3, 5, .257981687748160e3},
-            {-3, 6, -.727048374179467e3},
-            {-2, 0, .121644822609198e-3},
-            {-2, 1, .393137871762692e-1},
-            {-1, 0, .704181005909296e-2},
-            {0, 3, -.829108200698110e2},
-            {2, 0, -.265178818131250},
-            {2, 1, .137531682453991e2},
-            {5, 0, -.522394090753046e2},
-            {6, 1, .240556298941048e4},
-            {8, 1, -.227361631268929e5},
-            {10, 1, .890746343932567e5},
-            {14, 3, -.239234565822486e8},
-            {14, 7, .568795808129714e10}
-        };
-
-        for (double[] ijn : IJnB) {
-            out += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
+        double x0 = eta - 0.681, x1 = sigma - 0.792;
+
+        out += polynomial(IJnPiB, x0, x1);
         return 1 / out;
     }
 
@@ -448,43 +942,8 @@ class Region3 extends Region {
     private static double thetaA(double pi, double eta) {
 
         double out = 0;
-        double[][] IJnA = {
-            {-12, 0, -1.33645667811215e-7},
-            {-12, 1, 4.55912656802978e-6},
-            {-12, 2, -1.46294640700979e-5},
-            {-12, 6, 6.39341312970080e-3},
-            {-12, 14, 3.72783927268847e2},
-            {-12, 16, -7.18654377460447e3},
-            {-12, 20, 5.73494752103400e5},
-            {-12, 22, -2.67569329111439e6},
-            {-10, 1, -3.34066283302614e-5},
-            {-10, 5, -2.45479214069597e-2},
-            {-10, 12, 4.78087847764996e1},
-            {-8, 0, 7.64664131818904e-6},
-            {-8, 2, 1.28350627676972e-3},
-            {-8, 4, 1.71219081377331e-2},
-            {-8, 10, -8.51007304583213},
-            {-5, 2, -1.36513461629781e-2},
-            {-3, 0, -3.84460997596657e-6},
-            {-2, 1, 3.37423807911655e-3},
-            {-2, 3, -5.51624873066791e-1},
-            {-2, 4, 7.29202277107470e-1},
-            {-1, 0, -9.92522757376041e-3},
-            {-1, 2, -1.19308831407288e-1},
-            {0, 0, 7.93929190615421e-1},
-            {0, 1, 4.54270731799386e-1},
-            {1, 1, 2.09998591259910e-1},
-            {3, 0, -6.42109823904738e-3},
-            {3, 1, -2.35155868604540e-2},
-            {4, 0, 2.52233108341612e-3},
-            {4, 3, -7.64885133368119e-3},
-            {10, 4, 1.36176427574291e-2},
-            {12, 5, -1.33027883575669e-2}
-        };
-
-        for (double[] ijn : IJnA) {
-            out += ijn[2] * pow(pi + 0.240, ijn[0]) * pow(eta - 0.615, ijn[1]);
-        }
+
+        out += polynomial(IJnThetaA, pi + 0.240, eta - 0.615);
         return out;
     }
 
@@ -498,65 +957,21 @@ class Region3 extends Region {
     private static double thetaB(double pi, double eta) {
 
         double out = 0;
-        double[][] IJnB = {
-            {-12, 0, 3.23254573644920e-5},
-            {-12, 1, -1.27575556587181e-4},
-            {-10, 0, -4.75851877356068e-4},
-            {-10, 1, 1.56183014181602e-3},
-            {-10, 5, 1.05724860113781e-1},
-            {-10, 10, -8.58514221132534e1},
-            {-10, 12, 7.24140095480911e2},
-            {-8, 0, 2.96475810273257e-3},
-            {-8, 1, -5.92721983365988e-3},
-            {-8, 2, -1.26305422818666e-2},
-            {-8, 4, -1.15716196364853e-1},
-            {-8, 10, 8.49000969739595e1},
-            {-6, 0, -1.08602260086615e-2},
-            {-6, 1, 1.54304475328851e-2},
-            {-6, 2, 7.50455441524466e-2},
-            {-4, 0, 2.52520973612982e-2},
-            {-4, 1, -6.02507901232996e-2},
-            {-3, 5, -3.07622221350501},
-            {-2, 0, -5.74011959864879e-2},
-            {-2, 4, 5.03471360939849},
-            {-1, 2, -9.25081888584834e-1},
-            {-1, 4, 3.91733882917546},
-            {-1, 6, -7.73146007130190e1},
-            {-1, 10, 9.49308762098587e3},
-            {-1, 14, -1.41043719679409e6},
-            {-1, 16, 8.49166230819026e6},
-            {0, 0, 8.61095729446704e-1},
-            {0, 2, 3.23346442811720e-1},
-            {1, 1, 8.73281936020439e-1},
-            {3, 1, -4.36653048526683e-1},
-            {5, 1, 2.86596714529479e-1},
-            {6, 1, -1.31778331276228e-1},
-            {8, 1, 6.76682064330275e-3}
-        };
-
-        for (double[] ijn : IJnB) {
-            out += ijn[2] * pow(pi + 0.298, ijn[0]) * pow(eta - 0.720, ijn[1]);
-        }
+
+        out += polynomial(IJnThetaB, pi + 0.298, eta - 0.720);
         return out;
     }
 
     double isobaricCubicExpansionCoefficientRhoT(double density, double temperature) {
-        double delta = density / rhoc, tau = Tc / temperature,
-                phiDelta = phiDelta(delta, tau);
-        return (phiDelta - tau * phiDeltaTau(delta, tau))
-                / (2 * phiDelta + delta * phiDeltaDelta(delta, tau)) / temperature;
+        return helmholtz(ALPHA, density, temperature);
     }
 
     double isothermalCompressibilityRhoT(double density, double temperature) {
-        double delta = density / rhoc, tau = Tc / temperature;
-        return 1e3
-                / (2 * delta * phiDelta(delta, tau) + delta * delta * phiDeltaDelta(delta, tau))
-                / (density * R * temperature);
+        return helmholtz(KAPPA, density, temperature);
     }
 
     double isothermalStressCoefficientRhoT(double rho, double T) {
-        double delta = rho / rhoc, tau = Tc / T;
-        return rho * (2 + delta * phiDeltaDelta(delta, tau) / phiDelta(delta, tau));
+        return helmholtz(BETA_P, rho, T);
     }
 
     @Override
@@ -572,8 +987,7 @@ class Region3 extends Region {
     }
 
     double pressureRhoT(double rho, double T) {
-        double delta = rho / rhoc, tau = Tc / T;
-        return delta * phiDelta(delta, tau) * rho * R * T / 1e3;
+        return helmholtz(P, rho, T);
     }
 
     /**
@@ -584,8 +998,47 @@ class Region3 extends Region {
      * @return
      */
     double relativePressureCoefficientRhoT(double rho, double T) {
-        double delta = rho / rhoc, tau = Tc / T;
-        return (1 - tau * phiDeltaTau(delta, tau) / phiDelta(delta, tau)) / T;
+        return helmholtz(ALPHA_P, rho, T);
+    }
+
+    /**
+     * Saturated liquid or vapour density for 623.15 K &lt; T &lt; Tc, solving
+     * p(&rho;, T) = p<sub>sat</sub>(T) by Newton iteration started from the
+     * IAPWS auxiliary equations for the saturated densities.
+     *
+     * @param temperature temperature [K]
+     * @param vapour vapour instead of liquid
+     * @return density [kg/m3]
+     */
+    double saturatedDensityT(double temperature, boolean vapour) {
+        double theta = 1 - temperature / Tc, theta3 = Math.cbrt(theta), tau = Tc / temperature,
+                ps = Region4.saturationPressureT(temperature),
+                rho = vapour
+                        ? rhoc * exp(-2.03150240 * pow(theta, 2. / 6) - 2.68302940 * pow(theta, 4. / 6)
+                                - 5.38626492 * pow(theta, 8. / 6) - 17.2991605 * pow(theta, 18. / 6)
+                                - 44.7586581 * pow(theta, 37. / 6) - 63.9201063 * pow(theta, 71. / 6))
+                        : rhoc * (1 + 1.99274064 * theta3 + 1.09965342 * theta3 * theta3
+                                - 0.510839303 * pow(theta, 5. / 3) - 1.75493479 * pow(theta, 16. / 3)
+                                - 45.5170352 * pow(theta, 43. / 3) - 6.74694450e5 * pow(theta, 110. / 3));
+        double[] phi = new double[6];
+
+        for (int i = 0; i < 50; i++) {
+            double delta = rho / rhoc;
+            phis(delta, tau, phi);
+            double phiD = phi[1],
+                    dpdrho = (2 * delta * phiD + delta * delta * phi[2]) * R * temperature / 1e3;
+
+            if (!(dpdrho > 0)) {
+                break; // spinodal, keep the last estimate
+            }
+            double step = (delta * phiD * rho * R * temperature / 1e3 - ps) / dpdrho;
+            rho -= step;
+
+            if (Math.abs(step) <= 1e-13 * rho) {
+                break;
+            }
+        }
+        return rho;
     }
 
     @Override
@@ -596,8 +1049,7 @@ class Region3 extends Region {
 
 //    @Override
     double specificEnthalpyRhoT(double density, double temperature) {
-        double delta = density / rhoc, tau = Tc / temperature;
-        return (tau * phiTau(delta, tau) + delta * phiDelta(delta, tau)) * R * temperature;
+        return helmholtz(H, density, temperature);
     }
 
     @Override
@@ -608,8 +1060,7 @@ class Region3 extends Region {
 
     @Override
     double specificEntropyRhoT(double density, double temperature) {
-        double delta = density / rhoc, tau = Tc / temperature;
-        return (tau * phiTau(delta, tau) - phi(delta, tau)) * R;
+        return helmholtz(S, density, temperature);
     }
 
     @Override
@@ -619,8 +1070,7 @@ class Region3 extends Region {
     }
 
     double specificInternalEnergyRhoT(double density, double temperature) {
-        double delta = density / rhoc, tau = Tc / temperature;
-        return tau * phiTau(delta, tau) * R * temperature;
+        return helmholtz(U, density, temperature);
     }
 
     @Override
@@ -630,17 +1080,11 @@ class Region3 extends Region {
     }
 
     double specificIsobaricHeatCapacityRhoT(double density, double temperature) {
-        double delta = density / rhoc, tau = Tc / temperature,
-                phiDelta = phiDelta(delta, tau),
-                x = delta * phiDelta - delta * tau * phiDeltaTau(delta, tau);
-        return (-tau * tau * phiTauTau(delta, tau)
-                + x * x / (2 * delta * phiDelta
-                + delta * delta * phiDeltaDelta(delta, tau))) * R;
+        return helmholtz(CP, density, temperature);
     }
 
     double specificIsochoricHeatCapacityRhoT(double density, double temperature) {
-        double delta = density / rhoc, tau = Tc / temperature;
-        return -tau * tau * phiTauTau(delta, tau) * R;
+        return helmholtz(CV, density, temperature);
     }
 
     double specificVolumeHS(double enthalpy, double entropy) {
@@ -664,456 +1108,33 @@ class Region3 extends Region {
     double specificVolumePS(double pressure, double entropy) {
 
         double omega = 0;
-        double[] x = null;
-        double[][] IJnOmega = null;
+        double x0 = 0, x1 = 0, x2 = 0;
+        Coefficients IJnOmega = null;
 
         switch (getSubRegionS(entropy)) {
             case a:
-                x = new double[]{
-                    pressure / 100 + 0.187,
-                    entropy / 4.4 - 0.755,
-                    0.0028
-                };
-                IJnOmega = new double[][]{
-                    {-12, 10, .795544074093975e2},
-                    {-12, 12, -.238261242984590e4},
-                    {-12, 14, .176813100617787e5},
-                    {-10, 4, -.110524727080379e-2},
-                    {-10, 8, -.153213833655326e2},
-                    {-10, 10, .297544599376982e3},
-                    {-10, 20, -.350315206871242e8},
-                    {-8, 5, .277513761062119},
-                    {-8, 6, -.523964271036888},
-                    {-8, 14, -.148011182995403e6},
-                    {-8, 16, .160014899374266e7},
-                    {-6, 28, .170802322663427e13},
-                    {-5, 1, .246866996006494e-3},
-                    {-4, 5, .165326084797980e1},
-                    {-3, 2, -.118008384666987},
-                    {-3, 4, .253798642355900e1},
-                    {-2, 3, .965127704669424},
-                    {-2, 8, -.282172420532826e2},
-                    {-1, 1, .203224612353823},
-                    {-1, 2, .110648186063513e1},
-                    {0, 0, .526127948451280},
-                    {0, 1, .277000018736321},
-                    {0, 3, .108153340501132e1},
-                    {1, 0, -.744127885357893e-1},
-                    {2, 0, .164094443541384e-1},
-                    {4, 2, -.680468275301065e-1},
-                    {5, 2, .257988576101640e-1},
-                    {6, 0, -.145749861944416e-3}
-                };
+                x0 = pressure / 100 + 0.187;
+                x1 = entropy / 4.4 - 0.755;
+                x2 = 0.0028;
+                IJnOmega = IJnOmegaSA;
                 break;
 
             case b:
-                x = new double[]{
-                    pressure / 100 + 0.298,
-                    entropy / 5.3 - 0.816,
-                    0.0088
-                };
-                IJnOmega = new double[][]{
-                    {-12, 0, .591599780322238e-4},
-                    {-12, 1, -.185465997137856e-2},
-                    {-12, 2, .104190510480013e-1},
-                    {-12, 3, .598647302038590e-2},
-                    {-12, 5, -.771391189901699},
-                    {-12, 6, .172549765557036e1},
-                    {-10, 0, -.467076079846526e-3},
-                    {-10, 1, .134533823384439e-1},
-                    {-10, 2, -.808094336805495e-1},
-                    {-10, 4, .508139374365767},
-                    {-8, 0, .128584643361683e-2},
-                    {-5, 1, -.163899353915435e1},
-                    {-5, 2, .586938199318063e1},
-                    {-5, 3, -.292466667918613e1},
-                    {-4, 0, -.614076301499537e-2},
-                    {-4, 1, .576199014049172e1},
-                    {-4, 2, -.121613320606788e2},
-                    {-4, 3, .167637540957944e1},
-                    {-3, 1, -.744135838773463e1},
-                    {-2, 0, .378168091437659e-1},
-                    {-2, 1, .401432203027688e1},
-                    {-2, 2, .160279837479185e2},
-                    {-2, 3, .317848779347728e1},
-                    {-2, 4, -.358362310304853e1},
-                    {-2, 12, -.115995260446827e7},
-                    {0, 0, .199256573577909},
-                    {0, 1, -.122270624794624},
-                    {0, 2, -.191449143716586e2},
-                    {1, 0, -.150448002905284e-1},
-                    {1, 2, .146407900162154e2},
-                    {2, 2, -.327477787188230e1}
-                };
+                x0 = pressure / 100 + 0.298;
+                x1 = entropy / 5.3 - 0.816;
+                x2 = 0.0088;
+                IJnOmega = IJnOmegaSB;
                 break;
         }
-        for (double[] ijn : IJnOmega) {
-            omega += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
-        return omega * x[2];
+        omega += polynomial(IJnOmega, x0, x1);
+        return omega * x2;
     }
 
     @Override
     double specificVolumePT(double p, double T) {
 
-        double dTheta_dPi = 3.727888004, omega = 0, pi = p, pSat623, pSat643,
-                p3cd = 19.00881189, theta, logPi = log(pi), Tsat;
-        try {
-            pSat623 = Region4.saturationPressureT(623.15);
-            pSat643 = Region4.saturationPressureT(643.15);
-            Tsat = Region4.saturationTemperatureP(p);
-
-        } catch (OutOfRangeException ex) {
-            throw new IllegalArgumentException(ex);
-        }
-
-        double[][] In;
-
-
-        /*
-         * Boundary Equations
-         */
-        theta = 0;
-        In = new double[][]{
-            {0, 0.154793642129415e4},
-            {1, -.187661219490113e3},
-            {2, 0.213144632222112e2},
-            {-1, -.191887498864292e4},
-            {-2, 0.918419702359447e3}
-        };
-        for (double[] in : In) {
-            theta += in[1] * pow(logPi, in[0]);
-        }
-        double T3ab = theta;
-
-        theta = 0;
-        In = new double[][]{
-            {0, 0.585276966696349e3},
-            {1, 0.278233532206915e1},
-            {2, -.127283549295878e-1},
-            {3, 0.159090746562729e-3}
-        };
-        for (double[] in : In) {
-            theta += in[1] * pow(pi, in[0]);
-        }
-        double T3cd = theta;
-
-        double T3ef = dTheta_dPi * (pi - 22.064) + 647.096;
-
-        theta = 0;
-        In = new double[][]{
-            {0, -.249284240900418e5},
-            {1, 0.428143584791546e4},
-            {2, -.269029173140130e3},
-            {3, 0.751608051114157e1},
-            {4, -.787105249910383e-1}
-        };
-        for (double[] in : In) {
-            theta += in[1] * pow(pi, in[0]);
-        }
-        double T3gh = theta;
-
-        theta = 0;
-        In = new double[][]{
-            {0, 0.584814781649163e3},
-            {1, -.616179320924617},
-            {2, 0.260763050899562},
-            {3, -.587071076864459e-2},
-            {4, 0.515308185433082e-4}
-        };
-        for (double[] in : In) {
-            theta += in[1] * pow(pi, in[0]);
-        }
-        double T3ij = theta;
-
-        theta = 0;
-        In = new double[][]{
-            {0, 0.617229772068439e3},
-            {1, -.770600270141675e1},
-            {2, 0.697072596851896},
-            {3, -.157391839848015e-1},
-            {4, 0.137897492684194e-3}
-        };
-        for (double[] in : In) {
-            theta += in[1] * pow(pi, in[0]);
-        }
-        double T3jk = theta;
-
-        theta = 0;
-        In = new double[][]{
-            {0, 0.535339483742384e3},
-            {1, 0.761978122720128e1},
-            {2, -.158365725441648},
-            {3, 0.192871054508108e-2}
-        };
-        for (double[] in : In) {
-            theta += in[1] * pow(pi, in[0]);
-        }
-        double T3mn = theta;
-
-        theta = 0;
-        In = new double[][]{
-            {0, 0.969461372400213e3},
-            {1, -.332500170441278e3},
-            {2, 0.642859598466067e2},
-            {-1, 0.773845935768222e3},
-            {-2, -.152313732937084e4}
-        };
-        for (double[] in : In) {
-            theta += in[1] * pow(logPi, in[0]);
-        }
-        double T3op = theta;
-
-        theta = 0;
-        In = new double[][]{
-            {0, 0.565603648239126e3},
-            {1, 0.529062258221222e1},
-            {2, -.102020639611016},
-            {3, 0.122240301070145e-2}
-        };
-        for (double[] in : In) {
-            theta += in[1] * pow(pi, in[0]);
-        }
-        double T3qu = theta;
-
-        theta = 0;
-        In = new double[][]{
-            {0, 0.584561202520006e3},
-            {1, -.102961025163669e1},
-            {2, 0.243293362700452},
-            {3, -.294905044740799e-2}
-        };
-        for (double[] in : In) {
-            theta += in[1] * pow(pi, in[0]);
-        }
-        double T3rx = theta;
-
-        theta = 0;
-        In = new double[][]{
-            {0, 0.528199646263062e3},
-            {1, 0.890579602135307e1},
-            {2, -.222814134903755},
-            {3, 0.286791682263697e-2}
-        };
-        for (double[] in : In) {
-            theta += in[1] * pow(pi, in[0]);
-        }
-        double T3uv = theta;
-
-        theta = 0;
-        In = new double[][]{
-            {0, 0.728052609145380e1},
-            {1, 0.973505869861952e2},
-            {2, 0.147370491183191e2},
-            {-1, 0.329196213998375e3},
-            {-2, 0.873371668682417e3}
-        };
-        for (double[] in : In) {
-            theta += in[1] * pow(logPi, in[0]);
-        }
-        double T3wx = theta;
-
-
-        /*
-         * Subregions
-         */
-        SubRegion subRegion = null;
-
-        if (22.5 >= p && p > pSat643
-                && T3rx > T && T > T3qu) {
-            /*
-             * Auxiliary Equations for the Near-Critical Region (p.126)
-             */
-            if (p <= pc) {
-                if (T <= Tsat) {
-                    if (21.93161551 < p) {
-                        if (T <= T3uv) {
-                            subRegion = SubRegion.u;
-
-                        } else {
-                            subRegion = SubRegion.y;
-                        }
-                    } else {
-                        subRegion = SubRegion.u;
-                    }
-                } else {
-                    if (21.90096265 < p) {
-                        if (T <= T3wx) {
-                            subRegion = SubRegion.z;
-
-                        } else {
-                            subRegion = SubRegion.x;
-                        }
-                    } else {
-                        subRegion = SubRegion.x;
-                    }
-                }
-
-            } else {
-                if (p <= 22.11) {
-                    if (T > T3wx) {
-                        subRegion = SubRegion.x;
-
-                    } else if (T > T3ef) {
-                        subRegion = SubRegion.z;
-
-                    } else if (T > T3uv) {
-                        subRegion = SubRegion.y;
-
-                    } else {
-                        subRegion = SubRegion.u;
-                    }
-                } else {
-                    if (T > T3wx) {
-                        subRegion = SubRegion.x;
-
-                    } else if (T > T3ef) {
-                        subRegion = SubRegion.w;
-
-                    } else if (T > T3uv) {
-                        subRegion = SubRegion.v;
-
-                    } else {
-                        subRegion = SubRegion.u;
-                    }
-                }
-            }
-
-        } else if (40 < p) {
-            if (T <= T3ab) {
-                subRegion = SubRegion.a;
-
-            } else {
-                subRegion = SubRegion.b;
-            }
-
-        } else if (25 < p) {
-            if (T <= T3cd) {
-                subRegion = SubRegion.c;
-
-            } else if (T <= T3ab) {
-                subRegion = SubRegion.d;
-
-            } else if (T <= T3ef) {
-                subRegion = SubRegion.e;
-
-            } else {
-                subRegion = SubRegion.f;
-            }
-
-        } else if (23.5 < p) {
-            if (T <= T3cd) {
-                subRegion = SubRegion.c;
-
-            } else if (T <= T3gh) {
-                subRegion = SubRegion.g;
-
-            } else if (T <= T3ef) {
-                subRegion = SubRegion.h;
-
-            } else if (T <= T3ij) {
-                subRegion = SubRegion.i;
-
-            } else if (T <= T3jk) {
-                subRegion = SubRegion.j;
-
-            } else {
-                subRegion = SubRegion.k;
-            }
-
-        } else if (23 < p) {
-            if (T <= T3cd) {
-                subRegion = SubRegion.c;
-
-            } else if (T <= T3gh) {
-                subRegion = SubRegion.l;
-
-            } else if (T <= T3ef) {
-                subRegion = SubRegion.h;
-
-            } else if (T <= T3ij) {
-                subRegion = SubRegion.i;
-
-            } else if (T <= T3jk) {
-                subRegion = SubRegion.j;
-
-            } else {
-                subRegion = SubRegion.k;
-            }
-
-        } else if (22.5 < p) {
-            if (T <= T3cd) {
-                subRegion = SubRegion.c;
-
-            } else if (T <= T3gh) {
-                subRegion = SubRegion.l;
-
-            } else if (T <= T3mn) {
-                subRegion = SubRegion.m;
-
-            } else if (T <= T3ef) {
-                subRegion = SubRegion.n;
-
-            } else if (T <= T3op) {
-                subRegion = SubRegion.o;
-
-            } else if (T <= T3ij) {
-                subRegion = SubRegion.p;
-
-            } else if (T <= T3jk) {
-                subRegion = SubRegion.j;
-
-            } else {
-                subRegion = SubRegion.k;
-            }
-
-        } else if (pSat643 < p) {
-            if (T <= T3cd) {
-                subRegion = SubRegion.c;
-
-            } else if (T <= T3qu) {
-                subRegion = SubRegion.q;
-
-            } else if (T3rx < T && T <= T3jk) {
-                subRegion = SubRegion.r;
-
-            } else {
-                subRegion = SubRegion.k;
-            }
-
-        } else if (20.5 < p) {
-            if (T <= T3cd) {
-                subRegion = SubRegion.c;
-
-            } else if (T <= Tsat) {
-                subRegion = SubRegion.s;
-
-            } else if (T <= T3jk) {
-                subRegion = SubRegion.r;
-
-            } else {
-                subRegion = SubRegion.k;
-            }
-
-        } else if (p3cd < p) {
-            if (T <= T3cd) {
-                subRegion = SubRegion.c;
-
-            } else if (T <= Tsat) {
-                subRegion = SubRegion.s;
-
-            } else {
-                subRegion = SubRegion.t;
-            }
-
-        } else if (pSat623 < p) {
-            if (T <= Tsat) {
-                subRegion = SubRegion.c;
-
-            } else {
-                subRegion = SubRegion.t;
-            }
-        }
+        double omega = 0, pi, theta;
+        SubRegion subRegion = getSubRegionPT(p, T);
 
         pi = p / subRegion.pRed;
         theta = T / subRegion.Tred;
@@ -1122,26 +1143,21 @@ class Region3 extends Region {
         /*
          * Backward Equation
          */
-        double[] x;
+        double x0, x1;
 
         switch (subRegion) {
             case n:
-                x = new double[]{pi - subRegion.A, theta - subRegion.B};
+                x0 = pi - subRegion.A;
+                x1 = theta - subRegion.B;
 
-                for (double[] ijn : subRegion.IJn) {
-                    omega += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-                }
+                omega = polynomial(subRegion.IJn, x0, x1);
                 return exp(omega) * subRegion.nuRed;
 
             default:
-                x = new double[]{
-                    pow(pi - subRegion.A, subRegion.C),
-                    pow(theta - subRegion.B, subRegion.D)
-                };
-                for (double[] ijn : subRegion.IJn) {
-                    omega += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-                }
-                return pow(omega, subRegion.E) * subRegion.nuRed;
+                x0 = pow(pi - subRegion.A, subRegion.C);
+                x1 = pow(theta - subRegion.B, subRegion.D);
+                omega = polynomial(subRegion.IJn, x0, x1);
+                return intPow(omega, (int) subRegion.E) * subRegion.nuRed;
         }
     }
 
@@ -1152,12 +1168,105 @@ class Region3 extends Region {
     }
 
     double speedOfSoundRhoT(double density, double temperature) {
-        double delta = density / rhoc, tau = Tc / temperature,
-                phiDelta = phiDelta(delta, tau),
-                x = delta * phiDelta - delta * tau * phiDeltaTau(delta, tau);
-        return sqrt((2 * delta * phiDelta
-                + delta * delta * phiDeltaDelta(delta, tau)
-                - x * x / (tau * tau * phiTauTau(delta, tau))) * R * temperature);
+        return helmholtz(W, density, temperature);
+    }
+
+    /**
+     * Fills the state at the given pressure &amp; specific enthalpy. The
+     * backward equations v(p,h) &amp; T(p,h) only start a Newton iteration on
+     * p(&rho;, T) = p &amp; h(&rho;, T) = h, since their deviations, which
+     * grow near the critical point, would otherwise carry over to the state,
+     * including its enthalpy. Without convergence, the start is kept.
+     *
+     * @param pressure pressure [MPa]
+     * @param enthalpy specific enthalpy [kJ/kg]
+     * @param state state holder to fill
+     */
+    void statePH(double pressure, double enthalpy, MutableThermodynamicState state) {
+        SubRegion subRegion = getSubRegionPH(pressure, enthalpy);
+        double rho0 = 1 / specificVolumePH(pressure, enthalpy),
+                T0 = temperaturePH(subRegion, pressure, enthalpy),
+                rho = rho0, T = T0;
+        double[] phi = state.derivatives;
+
+        for (int i = 0; i < 20; i++) {
+            double delta = rho / rhoc, tau = Tc / T;
+            phis(delta, tau, phi);
+            double x = delta * phi[1] - delta * tau * phi[5],
+                    y = 2 * delta * phi[1] + delta * delta * phi[2],
+                    dp = delta * phi[1] * rho * R * T / 1e3 - pressure,
+                    dh = (tau * phi[3] + delta * phi[1]) * R * T - enthalpy,
+                    pRho = y * R * T / 1e3,
+                    pT = rho * R * x / 1e3,
+                    hRho = (tau * phi[5] + phi[1] + delta * phi[2]) * R * T / rhoc,
+                    hT = (x - tau * tau * phi[4]) * R,
+                    det = pRho * hT - pT * hRho,
+                    stepRho = (dp * hT - pT * dh) / det,
+                    stepT = (pRho * dh - dp * hRho) / det;
+
+            rho -= stepRho;
+            T -= stepT;
+
+            if (Math.abs(stepRho) <= 1e-13 * rho && Math.abs(stepT) <= 1e-13 * T) {
+                break;
+
+            } else if (!(Math.abs(rho - rho0) < 0.2 * rho0 && Math.abs(T - T0) < 0.05 * T0) || i == 19) {
+                rho = rho0; // diverging, e.g. on the spinodal
+                T = T0;
+                break;
+            }
+        }
+        stateRhoT(rho, T, state);
+        state.p = pressure;
+        state.h = enthalpy;
+    }
+
+    @Override
+    void statePT(double pressure, double temperature, MutableThermodynamicState state) {
+        double v = specificVolumePT(pressure, temperature);
+
+        stateRhoT(1 / v, temperature, state);
+        state.p = pressure;
+        state.v = v;
+    }
+
+    /**
+     * Fills the state from a single evaluation of the Helmholtz free energy.
+     *
+     * @param density density [kg/m3]
+     * @param temperature temperature [K]
+     * @param state state holder to fill
+     */
+    void stateRhoT(double density, double temperature, MutableThermodynamicState state) {
+        double delta = density / rhoc, tau = Tc / temperature;
+        double[] phi = phis(delta, tau, state.derivatives);
+        double x = delta * phi[1] - delta * tau * phi[5],
+                y = 2 * delta * phi[1] + delta * delta * phi[2];
+
+        state.region = 3;
+        state.p = delta * phi[1] * density * R * temperature / 1e3;
+        state.T = temperature;
+        state.v = 1 / density;
+        state.rho = density;
+        state.h = (tau * phi[3] + delta * phi[1]) * R * temperature;
+        state.s = (tau * phi[3] - phi[0]) * R;
+        state.u = tau * phi[3] * R * temperature;
+        state.cp = (-tau * tau * phi[4] + x * x / y) * R;
+        state.cv = -tau * tau * phi[4] * R;
+        state.w = sqrt((y - x * x / (tau * tau * phi[4])) * R * temperature);
+        state.alpha = (phi[1] - tau * phi[5]) / (2 * phi[1] + delta * phi[2]) / temperature;
+        state.kappa = 1e3 / y / (density * R * temperature);
+        state.x = NaN;
+    }
+
+    /**
+     * Boundary temperature between subregions 3e &amp; 3f.
+     *
+     * @param p pressure [MPa]
+     * @return temperature [K]
+     */
+    private static double temperature3ef(double p) {
+        return 3.727888004 * (p - 22.064) + 647.096;
     }
 
     @Override
@@ -1167,8 +1276,21 @@ class Region3 extends Region {
 
     @Override
     double temperaturePH(double pressure, double enthalpy) {
+        return temperaturePH(getSubRegionPH(pressure, enthalpy), pressure, enthalpy);
+    }
 
-        switch (getSubRegionPH(pressure, enthalpy)) {
+    /**
+     * Temperature from the backward equation of the given subregion, for
+     * callers that selected it already.
+     *
+     * @param subRegion subregion a or b
+     * @param pressure pressure [MPa]
+     * @param enthalpy specific enthalpy [kJ/kg]
+     * @return temperature [K]
+     */
+    double temperaturePH(SubRegion subRegion, double pressure, double enthalpy) {
+
+        switch (subRegion) {
             case a:
                 return thetaA(pressure / 100, enthalpy / 2300) * 760;
             case b:
@@ -1180,95 +1302,26 @@ class Region3 extends Region {
     double temperaturePS(double pressure, double entropy) {
 
         double theta = 0;
-        double[] x = null;
-        double[][] IJnTheta = null;
+        double x0 = 0, x1 = 0, x2 = 0;
+        Coefficients IJnTheta = null;
 
         switch (getSubRegionS(entropy)) {
             case a:
-                x = new double[]{
-                    pressure / 100 + 0.240,
-                    entropy / 4.4 - 0.703,
-                    760
-                };
-                IJnTheta = new double[][]{
-                    {-12, 28, .150042008263875e10},
-                    {-12, 32, -.159397258480424e12},
-                    {-10, 4, .502181140217975e-3},
-                    {-10, 10, -.672057767855466e2},
-                    {-10, 12, .145058545404456e4},
-                    {-10, 14, -.823889534888890e4},
-                    {-8, 5, -.154852214233853},
-                    {-8, 7, .112305046746695e2},
-                    {-8, 8, -.297000213482822e2},
-                    {-8, 28, .438565132635495e11},
-                    {-6, 2, .137837838635464e-2},
-                    {-6, 6, -.297478527157462e1},
-                    {-6, 32, .971777947349413e13},
-                    {-5, 0, -.571527767052398e-4},
-                    {-5, 14, .288307949778420e5},
-                    {-5, 32, -.744428289262703e14},
-                    {-4, 6, .128017324848921e2},
-                    {-4, 10, -.368275545889071e3},
-                    {-4, 36, .664768904779177e16},
-                    {-2, 1, .449359251958880e-1},
-                    {-2, 4, -.422897836099655e1},
-                    {-1, 1, -.240614376434179},
-                    {-1, 6, -.474341365254924e1},
-                    {0, 0, .724093999126110},
-                    {0, 1, .923874349695897},
-                    {0, 4, .399043655281015e1},
-                    {1, 0, .384066651868009e-1},
-                    {2, 0, -.359344365571848e-2},
-                    {2, 3, -.735196448821653},
-                    {3, 2, .188367048396131},
-                    {8, 0, .141064266818704e-3},
-                    {8, 1, -.257418501496337e-2},
-                    {10, 2, .123220024851555e-2}
-                };
+                x0 = pressure / 100 + 0.240;
+                x1 = entropy / 4.4 - 0.703;
+                x2 = 760;
+                IJnTheta = IJnThetaSA;
                 break;
 
             case b:
-                x = new double[]{
-                    pressure / 100 + 0.760,
-                    entropy / 5.3 - 0.818,
-                    860
-                };
-                IJnTheta = new double[][]{
-                    {-12, 1, .527111701601660},
-                    {-12, 3, -.401317830052742e2},
-                    {-12, 4, .153020073134484e3},
-                    {-12, 7, -.224799398218827e4},
-                    {-8, 0, -.193993484669048},
-                    {-8, 1, -.140467557893768e1},
-                    {-8, 3, .426799878114024e2},
-                    {-6, 0, .752810643416743},
-                    {-6, 2, .226657238616417e2},
-                    {-6, 4, -.622873556909932e3},
-                    {-5, 0, -.660823667935396},
-                    {-5, 1, .841267087271658},
-                    {-5, 2, -.253717501764397e2},
-                    {-5, 4, .485708963532948e3},
-                    {-5, 6, .880531517490555e3},
-                    {-4, 12, .265015592794626e7},
-                    {-3, 1, -.359287150025783},
-                    {-3, 6, -.656991567673753e3},
-                    {-2, 2, .241768149185367e1},
-                    {0, 0, .856873461222588},
-                    {2, 1, .655143675313458},
-                    {3, 1, -.213535213206406},
-                    {4, 0, .562974957606348e-2},
-                    {5, 24, -.316955725450471e15},
-                    {6, 0, -.699997000152457e-3},
-                    {8, 3, .119845803210767e-1},
-                    {12, 1, .193848122022095e-4},
-                    {14, 2, -.215095749182309e-4}
-                };
+                x0 = pressure / 100 + 0.760;
+                x1 = entropy / 5.3 - 0.818;
+                x2 = 860;
+                IJnTheta = IJnThetaSB;
                 break;
         }
-        for (double[] ijn : IJnTheta) {
-            theta += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
-        return theta * x[2];
+        theta += polynomial(IJnTheta, x0, x1);
+        return theta * x2;
     }
 
     @Override
@@ -2206,7 +2259,7 @@ class Region3 extends Region {
             {8, -4, .394536049497068e7}
         });
         double nuRed, pRed, Tred, A, B, C, D, E;
-        double[][] IJn;
+        Coefficients IJn;
 
         SubRegion(double nu, double p, double T,
                 double a, double b, double c, double d, double e,
@@ -2220,7 +2273,7 @@ class Region3 extends Region {
             C = c;
             D = d;
             E = e;
-            this.IJn = IJn;
+            this.IJn = new Coefficients(IJn);
         }
     }
 }
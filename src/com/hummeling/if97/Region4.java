@@ -21,6 +21,7 @@
 package com.hummeling.if97;
 
 //import static com.hummeling.if97.OutOfRangeException.Quantity.TEMPERATURE;
+import static com.hummeling.if97.Regions.*;
 import static java.lang.Math.*;
 
 /**
@@ -29,10 +30,11 @@ import static java.lang.Math.*;
  * @author Ralph Hummeling (<a
  * href="http://www.hummeling.com">www.hummeling.com</a>)
  */
-class Region4 extends Region {
+final class Region4 extends Region {
 
     private static final String NAME = "Region 4";
-    static final double Tref = 1, pRef = 1;
+    static final double Tref = 1, pRef = 1,
+            Tmin = 273.15, Tmax = 647.096;
     static final double[] n = new double[]{
         00.11670521452767e4,
         -0.72421316703206e6,
@@ -45,6 +47,77 @@ class Region4 extends Region {
         -0.23855557567849,
         00.65017534844798e3
     };
+    /**
+     * Backward equation coefficients.
+     */
+    private static final Coefficients IJnH = new Coefficients(new double[][]{
+        {0, 0, 0.600073641753024},
+        {1, 1, -.936203654849857e1},
+        {1, 3, 0.246590798594147e2},
+        {1, 4, -.107014222858224e3},
+        {1, 36, -.915821315805768e14},
+        {5, 03, -.862332011700662e4},
+        {7, 00, -.235837344740032e2},
+        {8, 24, 0.252304969384128e18},
+        {14, 16, -.389718771997719e19},
+        {20, 16, -.333775713645296e23},
+        {22, 03, 0.356499469636328e11},
+        {24, 18, -.148547544720641e27},
+        {28, 8, 0.330611514838798e19},
+        {36, 24, 0.813641294467829e38}
+    }), IJnS = new Coefficients(new double[][]{
+        {0, 0, .639767553612785},
+        {1, 1, -.129727445396014e2},
+        {1, 32, -.224595125848403e16},
+        {4, 7, .177466741801846e7},
+        {12, 4, .717079349571538e10},
+        {12, 14, -.378829107169011e18},
+        {16, 36, -.955586736431328e35},
+        {24, 10, .187269814676188e24},
+        {28, 0, .119254746466473e12},
+        {32, 18, .110649277244882e37}
+    }), IJnHS = new Coefficients(new double[][]{
+        {0, 0, .179882673606601},
+        {0, 3, -.267507455199603},
+        {0, 12, .116276722612600e1},
+        {1, 0, .147545428713616},
+        {1, 1, -.512871635973248},
+        {1, 2, .421333567697984},
+        {1, 5, .563749522189870},
+        {2, 0, .429274443819153},
+        {2, 5, -.335704552142140e1},
+        {2, 8, .108890916499278e2},
+        {3, 0, -.248483390456012},
+        {3, 2, .304153221906390},
+        {3, 3, -.494819763939905},
+        {3, 4, .107551674933261e1},
+        {4, 0, .733888415457688e-1},
+        {4, 1, .140170545411085e-1},
+        {5, 1, -.106110975998808},
+        {5, 2, .168324361811875e-1},
+        {5, 4, .125028363714877e1},
+        {5, 16, .101316840309509e4},
+        {6, 6, -.151791558000712e1},
+        {6, 8, .524277865990866e2},
+        {6, 22, .230495545563912e5},
+        {8, 1, .249459806365456e-1},
+        {10, 20, .210796467412137e7},
+        {10, 36, .366836848613065e9},
+        {12, 24, -.144814105365163e9},
+        {14, 1, -.179276373003590e-2},
+        {14, 28, .489955602100459e10},
+        {16, 12, .471262212070518e3},
+        {16, 32, -.829294390198652e11},
+        {18, 14, -.171545662263191e4},
+        {18, 22, .355777682973575e7},
+        {18, 36, .586062760258436e12},
+        {20, 24, -.129887635078195e8},
+        {28, 36, .317247449371057e11}
+    });
+
+    Region4() {
+        super(4);
+    }
 
     @Override
     String getName() {
@@ -72,26 +145,8 @@ class Region4 extends Region {
     static double saturationPressureH(double enthalpy) {
 
         double eta = enthalpy / 2600, out = 0;
-        double[][] IJn = new double[][]{
-            {0, 0, 0.600073641753024},
-            {1, 1, -.936203654849857e1},
-            {1, 3, 0.246590798594147e2},
-            {1, 4, -.107014222858224e3},
-            {1, 36, -.915821315805768e14},
-            {5, 03, -.862332011700662e4},
-            {7, 00, -.235837344740032e2},
-            {8, 24, 0.252304969384128e18},
-            {14, 16, -.389718771997719e19},
-            {20, 16, -.333775713645296e23},
-            {22, 03, 0.356499469636328e11},
-            {24, 18, -.148547544720641e27},
-            {28, 8, 0.330611514838798e19},
-            {36, 24, 0.813641294467829e38}
-        };
-
-        for (double[] ijn : IJn) {
-            out += ijn[2] * pow(eta - 1.02, ijn[0]) * pow(eta - 0.608, ijn[1]);
-        }
+
+        out += polynomial(IJnH, eta - 1.02, eta - 0.608);
         return out * 22;
     }
 
@@ -104,24 +159,10 @@ class Region4 extends Region {
     static double saturationPressureS(double entropy) {
 
         double sigma = entropy / 5.2, pi = 0;
-        double[] x = {sigma - 1.03, sigma - 0.699, 22};
-        double[][] IJn = new double[][]{
-            {0, 0, .639767553612785},
-            {1, 1, -.129727445396014e2},
-            {1, 32, -.224595125848403e16},
-            {4, 7, .177466741801846e7},
-            {12, 4, .717079349571538e10},
-            {12, 14, -.378829107169011e18},
-            {16, 36, -.955586736431328e35},
-            {24, 10, .187269814676188e24},
-            {28, 0, .119254746466473e12},
-            {32, 18, .110649277244882e37}
-        };
-
-        for (double[] ijn : IJn) {
-            pi += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
-        return pi * x[2];
+        double x0 = sigma - 1.03, x1 = sigma - 0.699, x2 = 22;
+
+        pi += polynomial(IJnS, x0, x1);
+        return pi * x2;
     }
 
     /**
@@ -133,13 +174,11 @@ class Region4 extends Region {
      */
     static double saturationPressureT(double saturationTemperature) {
 
-        double[] Tlimits = {273.15, 647.096};
-
-        if (saturationTemperature < Tlimits[0]) {
-            throw new OutOfRangeException(IF97.Quantity.T, saturationTemperature, Tlimits[0]);
+        if (saturationTemperature < Tmin) {
+            throw new OutOfRangeException(IF97.Quantity.T, saturationTemperature, Tmin);
 
-        } else if (saturationTemperature > Tlimits[1]) {
-            throw new OutOfRangeException(IF97.Quantity.T, saturationTemperature, Tlimits[1]);
+        } else if (saturationTemperature > Tmax) {
+            throw new OutOfRangeException(IF97.Quantity.T, saturationTemperature, Tmax);
         }
         double Ts_Tref = saturationTemperature / Tref,
                 theta = Ts_Tref + n[8] / (Ts_Tref - n[9]),
@@ -148,7 +187,7 @@ class Region4 extends Region {
                 B = n[2] * theta2 + n[3] * theta + n[4],
                 C = n[5] * theta2 + n[6] * theta + n[7];
 
-        return pow(2 * C / (-B + sqrt(B * B - 4 * A * C)), 4) * pRef;
+        return intPow(2 * C / (-B + sqrt(B * B - 4 * A * C)), 4) * pRef;
     }
 
     /**
@@ -163,49 +202,9 @@ class Region4 extends Region {
     double temperatureHS(double enthalpy, double entropy) {
 
         double theta = 0, eta = enthalpy / 2800, sigma = entropy / 9.2;
-        double[] x = {eta - 0.119, sigma - 1.07};
-        double[][] IJn = {
-            {0, 0, .179882673606601},
-            {0, 3, -.267507455199603},
-            {0, 12, .116276722612600e1},
-            {1, 0, .147545428713616},
-            {1, 1, -.512871635973248},
-            {1, 2, .421333567697984},
-            {1, 5, .563749522189870},
-            {2, 0, .429274443819153},
-            {2, 5, -.335704552142140e1},
-            {2, 8, .108890916499278e2},
-            {3, 0, -.248483390456012},
-            {3, 2, .304153221906390},
-            {3, 3, -.494819763939905},
-            {3, 4, .107551674933261e1},
-            {4, 0, .733888415457688e-1},
-            {4, 1, .140170545411085e-1},
-            {5, 1, -.106110975998808},
-            {5, 2, .168324361811875e-1},
-            {5, 4, .125028363714877e1},
-            {5, 16, .101316840309509e4},
-            {6, 6, -.151791558000712e1},
-            {6, 8, .524277865990866e2},
-            {6, 22, .230495545563912e5},
-            {8, 1, .249459806365456e-1},
-            {10, 20, .210796467412137e7},
-            {10, 36, .366836848613065e9},
-            {12, 24, -.144814105365163e9},
-            {14, 1, -.179276373003590e-2},
-            {14, 28, .489955602100459e10},
-            {16, 12, .471262212070518e3},
-            {16, 32, -.829294390198652e11},
-            {18, 14, -.171545662263191e4},
-            {18, 22, .355777682973575e7},
-            {18, 36, .586062760258436e12},
-            {20, 24, -.129887635078195e8},
-            {28, 36, .317247449371057e11}
-        };
-
-        for (double[] ijn : IJn) {
-            theta += ijn[2] * pow(x[0], ijn[0]) * pow(x[1], ijn[1]);
-        }
+        double x0 = eta - 0.119, x1 = sigma - 1.07;
+
+        theta += polynomial(IJnHS, x0, x1);
 
         return theta * 550;
     }
@@ -234,6 +233,39 @@ class Region4 extends Region {
         return (n9plusD - sqrt(n9plusD * n9plusD - 4 * (n[8] + n[9] * D))) / 2 * Tref;
     }
 
+    /**
+     * Fill state with wet steam properties, saturated liquid &amp; vapour are
+     * mixed according to the vapour fraction following from the specific
+     * enthalpy. Single-phase derivatives (cp, cv, w, alpha, kappa) are left
+     * untouched.
+     *
+     * @param pressure saturation pressure [MPa]
+     * @param enthalpy specific enthalpy [kJ/kg]
+     * @param state state holder
+     */
+    void statePH(double pressure, double enthalpy, MutableThermodynamicState state) {
+
+        double Tsat = saturationTemperatureP(pressure),
+                h1 = REGION1.specificEnthalpyPT(pressure, Tsat),
+                h2 = REGION2.specificEnthalpyPT(pressure, Tsat),
+                x = (enthalpy - h1) / (h2 - h1),
+                v1 = REGION1.specificVolumePT(pressure, Tsat),
+                v2 = REGION2.specificVolumePT(pressure, Tsat),
+                s1 = REGION1.specificEntropyPT(pressure, Tsat),
+                s2 = REGION2.specificEntropyPT(pressure, Tsat),
+                v = v1 + x * (v2 - v1);
+
+        state.region = 4;
+        state.p = pressure;
+        state.T = Tsat;
+        state.v = v;
+        state.rho = 1 / v;
+        state.h = enthalpy;
+        state.s = s1 + x * (s2 - s1);
+        state.u = enthalpy - pressure * v * 1e3;
+        state.x = x;
+    }
+
     /**
      * @todo Add more of these overriding methods
      *
@@ -264,8 +296,8 @@ class Region4 extends Region {
         } catch (OutOfRangeException ex) {
             throw new IllegalArgumentException(ex);
         }
-        double h1 = (new Region1()).specificEnthalpyPT(pSat, Tsat),
-                h2 = (new Region2()).specificEnthalpyPT(pSat, Tsat);
+        double h1 = REGION1.specificEnthalpyPT(pSat, Tsat),
+                h2 = REGION2.specificEnthalpyPT(pSat, Tsat);
 
         return min(1, (enthalpy - h1) / (h2 - h1));
     }
@@ -29,26 +29,26 @@ import static java.lang.Math.*;
  * @author Ralph Hummeling (<a
  * href="http://www.hummeling.com">www.hummeling.com</a>)
  */
-class Region5 extends Region {
+final class Region5 extends Region {
 
 // <editor-fold defaultstate="collapsed" desc="fields">
     private static final String NAME = "Region 5";
     static final double Tref = 1000, pRef = 1;
-    static final double[][] Jno = new double[][]{
-        {00, -.131799836742010e2},
-        {01, 0.685408416344340e1},
-        {-3, -.248051489334660e-1},
-        {-2, 0.369015349803330},
-        {-1, -.311613182139250e1},
-        {02, -.329616265389170}
-    }, IJnr = new double[][]{
+    static final Coefficients Jno = new Coefficients(new double[][]{
+        {0, 00, -.131799836742010e2},
+        {0, 01, 0.685408416344340e1},
+        {0, -3, -.248051489334660e-1},
+        {0, -2, 0.369015349803330},
+        {0, -1, -.311613182139250e1},
+        {0, 02, -.329616265389170}
+    }), IJnr = new Coefficients(new double[][]{
         {1, 1, 0.15736404855259e-2},
         {1, 2, 0.90153761673944e-3},
         {1, 3, -.50270077677648e-2},
         {2, 3, 0.22440037409485e-5},
         {2, 9, -.41163275453471e-5},
         {3, 7, 0.37919454822955e-7}
-    }, IJnA = new double[][]{
+    }), IJnA = new Coefficients(new double[][]{
         {0, 0, 1.0898952318288e3},
         {0, 1, 8.4951654495535e2},
         {0, 2, -1.0781748091826e2},
@@ -82,270 +82,248 @@ class Region5 extends Region {
         {5, 42, 3.7154085996233e6},
         {6, 34, 1.9127729239660e4},
         {6, 44, -4.1535164835634e5},
-        {7, 28, -6.2459855192507e1}},
-            IJnB = new double[][]{
-                {0, 0, 1.4895041079516e3},
-                {0, 1, 7.4307798314034e2},
-                {0, 2, -9.7708318797837e1},
-                {0, 12, 2.4742464705674e0},
-                {0, 18, -6.3281320016026e-1},
-                {0, 24, 1.1385952129658e0},
-                {0, 28, -4.7811863648625e-1},
-                {0, 40, 8.5208123431544e-3},
-                {1, 0, 9.3747147377932e-1},
-                {1, 2, 3.3593118604916e0},
-                {1, 6, 3.3809355601454e0},
-                {1, 12, 1.6844539671904e-1},
-                {1, 18, 7.3875745236695e-1},
-                {1, 24, -4.7128737436186e-1},
-                {1, 28, 1.5020273139707e-1},
-                {1, 40, -2.1764114219750e-3},
-                {2, 2, -2.1810755324761e-2},
-                {2, 8, -1.0829784403677e-1},
-                {2, 18, -4.6333324635812e-2},
-                {2, 40, 7.1280351959551e-5},
-                {3, 1, 1.1032831789999e-4},
-                {3, 2, 1.8955248387902e-4},
-                {3, 12, 3.0891541160537e-3},
-                {3, 24, 1.3555504554949e-3},
-                {4, 2, 2.8640237477456e-7},
-                {4, 12, -1.0779857357512e-5},
-                {4, 18, -7.6462712454814e-5},
-                {4, 24, 1.4052392818316e-5},
-                {4, 28, -3.1083814331434e-5},
-                {4, 40, -1.0302738212103e-6},
-                {5, 18, 2.8217281635040e-7},
-                {5, 24, 1.2704902271945e-6},
-                {5, 40, 7.3803353468292e-8},
-                {6, 28, -1.1030139238909e-8},
-                {7, 2, -8.1456365207833e-14},
-                {7, 28, -2.5180545682962e-11},
-                {9, 1, -1.7565233969407e-18},
-                {9, 40, 8.6934156344163e-15}},
-            IJnC = new double[][]{
-                {-7, 0, -3.2368398555242e12},
-                {-7, 4, 7.3263350902181e12},
-                {-6, 0, 3.5825089945447e11},
-                {-6, 2, -5.8340131851590e11},
-                {-5, 0, -1.0783068217470e10},
-                {-5, 2, 2.0825544563171e10},
-                {-2, 0, 6.1074783564516e5},
-                {-2, 1, 8.5977722535580e5},
-                {-1, 0, -2.5745723604170e4},
-                {-1, 2, 3.1081088422714e4},
-                {0, 0, 1.2082315865936e3},
-                {0, 1, 4.8219755109255e2},
-                {1, 4, 3.7966001272486e0},
-                {1, 8, -1.0842984880077e1},
-                {2, 4, -4.5364172676660e-2},
-                {6, 0, 1.4559115658698e-13},
-                {6, 1, 1.1261597407230e-12},
-                {6, 4, -1.7804982240686e-11},
-                {6, 10, 1.2324579690832e-7},
-                {6, 12, -1.1606921130984e-6},
-                {6, 16, 2.7846367088554e-5},
-                {6, 20, -5.9270038474176e-4},
-                {6, 22, 1.2918582991878e-3}};
+        {7, 28, -6.2459855192507e1}
+    }), IJnB = new Coefficients(new double[][]{
+        {0, 0, 1.4895041079516e3},
+        {0, 1, 7.4307798314034e2},
+        {0, 2, -9.7708318797837e1},
+        {0, 12, 2.4742464705674e0},
+        {0, 18, -6.3281320016026e-1},
+        {0, 24, 1.1385952129658e0},
+        {0, 28, -4.7811863648625e-1},
+        {0, 40, 8.5208123431544e-3},
+        {1, 0, 9.3747147377932e-1},
+        {1, 2, 3.3593118604916e0},
+        {1, 6, 3.3809355601454e0},
+        {1, 12, 1.6844539671904e-1},
+        {1, 18, 7.3875745236695e-1},
+        {1, 24, -4.7128737436186e-1},
+        {1, 28, 1.5020273139707e-1},
+        {1, 40, -2.1764114219750e-3},
+        {2, 2, -2.1810755324761e-2},
+        {2, 8, -1.0829784403677e-1},
+        {2, 18, -4.6333324635812e-2},
+        {2, 40, 7.1280351959551e-5},
+        {3, 1, 1.1032831789999e-4},
+        {3, 2, 1.8955248387902e-4},
+        {3, 12, 3.0891541160537e-3},
+        {3, 24, 1.3555504554949e-3},
+        {4, 2, 2.8640237477456e-7},
+        {4, 12, -1.0779857357512e-5},
+        {4, 18, -7.6462712454814e-5},
+        {4, 24, 1.4052392818316e-5},
+        {4, 28, -3.1083814331434e-5},
+        {4, 40, -1.0302738212103e-6},
+        {5, 18, 2.8217281635040e-7},
+        {5, 24, 1.2704902271945e-6},
+        {5, 40, 7.3803353468292e-8},
+        {6, 28, -1.1030139238909e-8},
+        {7, 2, -8.1456365207833e-14},
+        {7, 28, -2.5180545682962e-11},
+        {9, 1, -1.7565233969407e-18},
+        {9, 40, 8.6934156344163e-15}
+    }), IJnC = new Coefficients(new double[][]{
+        {-7, 0, -3.2368398555242e12},
+        {-7, 4, 7.3263350902181e12},
+        {-6, 0, 3.5825089945447e11},
+        {-6, 2, -5.8340131851590e11},
+        {-5, 0, -1.0783068217470e10},
+        {-5, 2, 2.0825544563171e10},
+        {-2, 0, 6.1074783564516e5},
+        {-2, 1, 8.5977722535580e5},
+        {-1, 0, -2.5745723604170e4},
+        {-1, 2, 3.1081088422714e4},
+        {0, 0, 1.2082315865936e3},
+        {0, 1, 4.8219755109255e2},
+        {1, 4, 3.7966001272486e0},
+        {1, 8, -1.0842984880077e1},
+        {2, 4, -4.5364172676660e-2},
+        {6, 0, 1.4559115658698e-13},
+        {6, 1, 1.1261597407230e-12},
+        {6, 4, -1.7804982240686e-11},
+        {6, 10, 1.2324579690832e-7},
+        {6, 12, -1.1606921130984e-6},
+        {6, 16, 2.7846367088554e-5},
+        {6, 20, -5.9270038474176e-4},
+        {6, 22, 1.2918582991878e-3}
+    });
+    private static final double[] nB2bc = {
+        0.90584278514712e3,
+        -.67955786399241,
+        0.12809002730136e-3,
+        0.26526571908428e4,
+        0.45257578905948e1
+    };
 // </editor-fold>
 
     protected Region5() {
+        super(5);
     }
 
     private static double enthalpy2bc(double pressure) {
 
-        double[] n = new double[]{
-            0.90584278514712e3,
-            -.67955786399241,
-            0.12809002730136e-3,
-            0.26526571908428e4,
-            0.45257578905948e1
-        };
-        return n[3] + sqrt((pressure - n[4]) / n[2]);
+        return nB2bc[3] + sqrt((pressure - nB2bc[4]) / nB2bc[2]);
     }
 
     /**
-     * Dimensionless Gibbs free energy.
+     * Ideal-gas part of the dimensionless Gibbs free energy and its partial
+     * derivatives, evaluated in a single pass over the coefficients into the
+     * given buffer.
      *
      * @param pi dimensionless pressure [MPa]
      * @param tau dimensionless temperature [K]
-     * @return
+     * @param g buffer of at least 6 elements
+     * @return the buffer holding &gamma;<sup>o</sup>,
+     * &gamma;<sup>o</sup><sub>&pi;</sub>,
+     * &gamma;<sup>o</sup><sub>&pi;&pi;</sub>,
+     * &gamma;<sup>o</sup><sub>&tau;</sub>,
+     * &gamma;<sup>o</sup><sub>&tau;&tau;</sub>,
+     * &gamma;<sup>o</sup><sub>&pi;&tau;</sub>
      */
-    private static double gammaO(double pi, double tau) {
-
-        double out = log(pi);
+    private static double[] gammasO(double pi, double tau, double[] g) {
 
-        for (double[] jno : Jno) {
-            out += jno[1] * pow(tau, jno[0]);
-        }
-        return out;
-    }
-
-    /**
-     * First partial derivative with respect to pi.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @return
-     */
-    private static double gammaOPi(double pi) {
-        return 1 / pi;
-    }
+        double gammaO = log(pi), gammaOTau = 0, gammaOTauTau = 0;
+        int[] J = Jno.J;
+        double[] n = Jno.n;
 
-    /**
-     * Second partial derivative with respect to pi.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @return
-     */
-    private static double gammaOPiPi(double pi) {
-        return -1 / (pi * pi);
-    }
+        for (int k = 0; k < n.length; k++) {
+            double tauJ2 = intPow(tau, J[k] - 2), tauJ1 = tauJ2 * tau, tauJ = tauJ1 * tau;
 
-    /**
-     * Second partial derivative with respect to pi & tau.
-     *
-     * @return
-     */
-    private static double gammaOPiTau() {
-        return 0;
-    }
-
-    /**
-     * First partial derivative with respect to tau.
-     *
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaOTau(double tau) {
-
-        double out = 0;
-
-        for (double[] jno : Jno) {
-            out += jno[1] * jno[0] * pow(tau, jno[0] - 1);
+            gammaO += n[k] * tauJ;
+            gammaOTau += n[k] * J[k] * tauJ1;
+            gammaOTauTau += n[k] * J[k] * (J[k] - 1) * tauJ2;
         }
-        return out;
+        g[0] = gammaO;
+        g[1] = 1 / pi;
+        g[2] = -1 / (pi * pi);
+        g[3] = gammaOTau;
+        g[4] = gammaOTauTau;
+        g[5] = 0;
+        return g;
     }
 
     /**
-     * Second partial derivative with respect to tau.
+     * Residual part of the dimensionless Gibbs free energy and its partial
+     * derivatives, evaluated in a single pass over the coefficients into the
+     * given buffer.
      *
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaOTauTau(double tau) {
-
-        double out = 0;
-
-        for (double[] jno : Jno) {
-            out += jno[1] * jno[0] * (jno[0] - 1) * pow(tau, jno[0] - 2);
-        }
-        return out;
-    }
-
-    /**
-     * Dimensionless Gibbs free energy.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaR(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijnr : IJnr) {
-            out += ijnr[2] * pow(pi, ijnr[0]) * pow(tau, ijnr[1]);
-        }
-        return out;
-    }
-
-    /**
-     * First partial derivative with respect to pi.
+     * The powers of &pi; and &tau; are calculated once per term and shared
+     * by all derivatives, each sum equals that of
+     * {@link #gibbs(int, double, double)}.
      *
      * @param pi dimensionless pressure [MPa]
      * @param tau dimensionless temperature [K]
-     * @return
+     * @param g buffer of at least 6 elements
+     * @return the buffer holding &gamma;<sup>r</sup>,
+     * &gamma;<sup>r</sup><sub>&pi;</sub>,
+     * &gamma;<sup>r</sup><sub>&pi;&pi;</sub>,
+     * &gamma;<sup>r</sup><sub>&tau;</sub>,
+     * &gamma;<sup>r</sup><sub>&tau;&tau;</sub>,
+     * &gamma;<sup>r</sup><sub>&pi;&tau;</sub>
      */
-    private static double gammaRPi(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijnr : IJnr) {
-            out += ijnr[2] * ijnr[0] * pow(pi, ijnr[0] - 1) * pow(tau, ijnr[1]);
+    private static double[] gammasR(double pi, double tau, double[] g) {
+
+        double gammaR = 0, gammaRPi = 0, gammaRPiPi = 0,
+                gammaRTau = 0, gammaRTauTau = 0, gammaRPiTau = 0;
+        int[] I = IJnr.I, J = IJnr.J;
+        double[] n = IJnr.n;
+
+        for (int k = 0; k < n.length; k++) {
+            double piI2 = intPow(pi, I[k] - 2), piI1 = piI2 * pi, piI = piI1 * pi,
+                    tauJ2 = intPow(tau, J[k] - 2), tauJ1 = tauJ2 * tau, tauJ = tauJ1 * tau;
+
+            gammaR += n[k] * piI * tauJ;
+            gammaRPi += n[k] * I[k] * piI1 * tauJ;
+            gammaRPiPi += n[k] * I[k] * (I[k] - 1) * piI2 * tauJ;
+            gammaRTau += n[k] * piI * J[k] * tauJ1;
+            gammaRTauTau += n[k] * piI * J[k] * (J[k] - 1) * tauJ2;
+            gammaRPiTau += n[k] * I[k] * piI1 * J[k] * tauJ1;
         }
-        return out;
+        g[0] = gammaR;
+        g[1] = gammaRPi;
+        g[2] = gammaRPiPi;
+        g[3] = gammaRTau;
+        g[4] = gammaRTauTau;
+        g[5] = gammaRPiTau;
+        return g;
     }
 
-    /**
-     * Second partial derivative with respect to pi.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaRPiPi(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijnr : IJnr) {
-            out += ijnr[2] * ijnr[0] * (ijnr[0] - 1) * pow(pi, ijnr[0] - 2) * pow(tau, ijnr[1]);
-        }
-        return out;
+    @Override
+    String getName() {
+        return NAME;
     }
 
     /**
-     * Second partial derivative with respect to pi & tau.
+     * Property from the dimensionless Gibbs free energy derivatives it needs,
+     * summed in the same single passes over the ideal-gas &amp; residual
+     * coefficients as {@link #gammasO(double, double, double[])} &amp;
+     * {@link #gammasR(double, double, double[])} but into locals, so scalar
+     * properties don't allocate.
      *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
+     * @param property property, e.g. {@link #CV}
+     * @param pressure pressure [MPa]
+     * @param temperature temperature [K]
+     * @return property in default units
      */
-    private static double gammaRPiTau(double pi, double tau) {
-
-        double out = 0;
+    private static double gibbs(int property, double pressure, double temperature) {
 
-        for (double[] ijnr : IJnr) {
-            out += ijnr[2] * ijnr[0] * pow(pi, ijnr[0] - 1) * ijnr[1] * pow(tau, ijnr[1] - 1);
+        double pi = pressure / pRef, tau = Tref / temperature,
+                gammaO = 0, gammaOTau = 0, gammaOTauTau = 0,
+                gammaR = 0, gammaRPi = 0, gammaRPiPi = 0,
+                gammaRTau = 0, gammaRTauTau = 0, gammaRPiTau = 0;
+        int[] J = Jno.J;
+        double[] n = Jno.n;
+
+        // volume, expansion & compressibility don't depend on the ideal-gas part
+        for (int k = 0; property != ALPHA && property != KAPPA && property != V && k < n.length; k++) {
+            double tauJ2 = intPow(tau, J[k] - 2), tauJ1 = tauJ2 * tau, tauJ = tauJ1 * tau;
+
+            gammaO += n[k] * tauJ;
+            gammaOTau += n[k] * J[k] * tauJ1;
+            gammaOTauTau += n[k] * J[k] * (J[k] - 1) * tauJ2;
         }
-        return out;
-    }
-
-    /**
-     * First partial derivative with respect to tau.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaRTau(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijnr : IJnr) {
-            out += ijnr[2] * pow(pi, ijnr[0]) * ijnr[1] * pow(tau, ijnr[1] - 1);
+        int[] I = IJnr.I;
+        J = IJnr.J;
+        n = IJnr.n;
+
+        for (int k = 0; k < n.length; k++) {
+            double piI2 = intPow(pi, I[k] - 2), piI1 = piI2 * pi, piI = piI1 * pi,
+                    tauJ2 = intPow(tau, J[k] - 2), tauJ1 = tauJ2 * tau, tauJ = tauJ1 * tau;
+
+            gammaR += n[k] * piI * tauJ;
+            gammaRPi += n[k] * I[k] * piI1 * tauJ;
+            gammaRPiPi += n[k] * I[k] * (I[k] - 1) * piI2 * tauJ;
+            gammaRTau += n[k] * piI * J[k] * tauJ1;
+            gammaRTauTau += n[k] * piI * J[k] * (J[k] - 1) * tauJ2;
+            gammaRPiTau += n[k] * I[k] * piI1 * J[k] * tauJ1;
         }
-        return out;
-    }
-
-    /**
-     * Second partial derivative with respect to tau.
-     *
-     * @param pi dimensionless pressure [MPa]
-     * @param tau dimensionless temperature [K]
-     * @return
-     */
-    private static double gammaRTauTau(double pi, double tau) {
-
-        double out = 0;
-
-        for (double[] ijnr : IJnr) {
-            out += ijnr[2] * pow(pi, ijnr[0]) * ijnr[1] * (ijnr[1] - 1) * pow(tau, ijnr[1] - 2);
+        double gammaTau = gammaOTau + gammaRTau, gammaTauTau = gammaOTauTau + gammaRTauTau,
+                x = 1 + pi * gammaRPi - tau * pi * gammaRPiTau;
+
+        switch (property) {
+            case ALPHA:
+                return (1 - tau * pi * gammaRPiTau / (1 + pi * gammaRPi)) / temperature;
+            case CP:
+                return -tau * tau * gammaTauTau * R;
+            case CV:
+                return (-tau * tau * gammaTauTau - x * x / (1 - pi * pi * gammaRPiPi)) * R;
+            case H:
+                return tau * gammaTau * R * temperature;
+            case KAPPA:
+                return (1 - pi * pi * gammaRPiPi) / (1 + pi * gammaRPi) / pressure;
+            case S:
+                return (tau * gammaTau - (log(pi) + gammaO + gammaR)) * R;
+            case U:
+                return (tau * gammaTau - pi * (1 / pi + gammaRPi)) * R * temperature;
+            case V:
+                return pi * (1 / pi + gammaRPi) / 1e3 * R * temperature / pressure;
+            case W:
+                return sqrt((1 + 2 * pi * gammaRPi + pi * pi * gammaRPi * gammaRPi)
+                        / (1 - pi * pi * gammaRPiPi + x * x / (tau * tau * gammaTauTau))
+                        * R * temperature);
+            default:
+                throw new IllegalArgumentException("Property not available: " + property);
         }
-        return out;
-    }
-
-    @Override
-    String getName() {
-        return NAME;
     }
 
     private SubRegion getSubRegion(double pressure, double enthalpy) {
@@ -362,65 +340,98 @@ class Region5 extends Region {
 
     @Override
     double isobaricCubicExpansionCoefficientPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return (1 - tau * pi * gammaRPiTau(pi, tau) / (1 + pi * gammaRPi(pi, tau))) / temperature;
+        return gibbs(ALPHA, pressure, temperature);
     }
 
     @Override
     double isothermalCompressibilityPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return (1 - pi * pi * gammaRPiPi(pi, tau)) / (1 + pi * gammaRPi(pi, tau)) / pressure;
+        return gibbs(KAPPA, pressure, temperature);
     }
 
     @Override
     double specificEnthalpyPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return tau * (gammaOTau(tau) + gammaRTau(pi, tau)) * R * temperature;
+        return gibbs(H, pressure, temperature);
     }
 
     @Override
     double specificEntropyPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return (tau * (gammaOTau(tau) + gammaRTau(pi, tau))
-                - (gammaO(pi, tau) + gammaR(pi, tau))) * R;
+        return gibbs(S, pressure, temperature);
     }
 
     @Override
     double specificInternalEnergyPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return (tau * (gammaOTau(tau) + gammaRTau(pi, tau))
-                - pi * (gammaOPi(pi) + gammaRPi(pi, tau))) * R * temperature;
+        return gibbs(U, pressure, temperature);
     }
 
     @Override
     double specificIsobaricHeatCapacityPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return -tau * tau * (gammaOTauTau(tau) + gammaRTauTau(pi, tau)) * R;
+        return gibbs(CP, pressure, temperature);
     }
 
     @Override
     double specificIsochoricHeatCapacityPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature,
-                x = 1 + pi * gammaRPi(pi, tau) - tau * pi * gammaRPiTau(pi, tau);
-        return (-tau * tau * (gammaOTauTau(tau) + gammaRTauTau(pi, tau))
-                - x * x / (1 - pi * pi * gammaRPiPi(pi, tau))) * R;
+        return gibbs(CV, pressure, temperature);
     }
 
     @Override
     double specificVolumePT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature;
-        return pi * (gammaOPi(pi) + gammaRPi(pi, tau)) / 1e3 * R * temperature / pressure;
+        return gibbs(V, pressure, temperature);
     }
 
     @Override
     double speedOfSoundPT(double pressure, double temperature) {
-        double pi = pressure / pRef, tau = Tref / temperature,
-                gRPi = gammaRPi(pi, tau),
-                x = 1 + pi * gRPi - tau * pi * gammaRPiTau(pi, tau);
-        return sqrt((1 + 2 * pi * gRPi + pi * pi * gRPi * gRPi)
-                / (1 - pi * pi * gammaRPiPi(pi, tau)
-                + x * x / (tau * tau * (gammaOTauTau(tau) + gammaRTauTau(pi, tau))))
+        return gibbs(W, pressure, temperature);
+    }
+
+    /**
+     * Fills the state at the given pressure &amp; specific enthalpy. Region 5
+     * has no backward equation of its own, the extrapolated region 2
+     * equations only start a Newton iteration on h(p, T) = h.
+     *
+     * @param pressure pressure [MPa]
+     * @param enthalpy specific enthalpy [kJ/kg]
+     * @param state state holder to fill
+     */
+    void statePH(double pressure, double enthalpy, MutableThermodynamicState state) {
+        double T = temperaturePH(pressure, enthalpy);
+
+        for (int i = 0; i < 20; i++) {
+            statePT(pressure, T, state);
+            double step = (state.h - enthalpy) / state.cp;
+            T -= step;
+
+            if (!(Math.abs(step) > 1e-13 * T)) {
+                break;
+            }
+        }
+        statePT(pressure, T, state);
+        state.h = enthalpy;
+    }
+
+    @Override
+    void statePT(double pressure, double temperature, MutableThermodynamicState state) {
+        double pi = pressure / pRef, tau = Tref / temperature;
+        double[] gO = gammasO(pi, tau, state.derivatives),
+                gR = gammasR(pi, tau, state.residualDerivatives);
+        double gPi = gO[1] + gR[1], gTau = gO[3] + gR[3], gTauTau = gO[4] + gR[4],
+                gRPi = gR[1], x = 1 + pi * gRPi - tau * pi * gR[5];
+
+        state.region = 5;
+        state.p = pressure;
+        state.T = temperature;
+        state.v = pi * gPi / 1e3 * R * temperature / pressure;
+        state.rho = 1 / state.v;
+        state.h = tau * gTau * R * temperature;
+        state.s = (tau * gTau - (gO[0] + gR[0])) * R;
+        state.u = (tau * gTau - pi * gPi) * R * temperature;
+        state.cp = -tau * tau * gTauTau * R;
+        state.cv = (-tau * tau * gTauTau - x * x / (1 - pi * pi * gR[2])) * R;
+        state.w = sqrt((1 + 2 * pi * gRPi + pi * pi * gRPi * gRPi)
+                / (1 - pi * pi * gR[2] + x * x / (tau * tau * gTauTau))
                 * R * temperature);
+        state.alpha = (1 - tau * pi * gR[5] / (1 + pi * gRPi)) / temperature;
+        state.kappa = (1 - pi * pi * gR[2]) / (1 + pi * gRPi) / pressure;
+        state.x = 1;
     }
 
     @Override
@@ -450,9 +461,7 @@ class Region5 extends Region {
 
         double out = 0;
 
-        for (double[] ijnA : IJnA) {
-            out += ijnA[2] * pow(pi, ijnA[0]) * pow(eta - 2.1, ijnA[1]);
-        }
+        out += polynomial(IJnA, pi, eta - 2.1);
         return out;
     }
 
@@ -467,9 +476,7 @@ class Region5 extends Region {
 
         double out = 0;
 
-        for (double[] ijnB : IJnB) {
-            out += ijnB[2] * pow(pi - 2, ijnB[0]) * pow(eta - 2.6, ijnB[1]);
-        }
+        out += polynomial(IJnB, pi - 2, eta - 2.6);
         return out;
     }
 
@@ -484,9 +491,7 @@ class Region5 extends Region {
 
         double out = 0;
 
-        for (double[] ijnC : IJnC) {
-            out += ijnC[2] * pow(pi + 25, ijnC[0]) * pow(eta - 1.8, ijnC[1]);
-        }
+        out += polynomial(IJnC, pi + 25, eta - 1.8);
         return out;
     }
 
@@ -0,0 +1,410 @@
+/*
+ * RegionDispatch.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import static com.hummeling.if97.Regions.*;
+
+/**
+ * Region dispatch on the region number. Called through the abstract
+ * {@link Region} type, a property call site sees all five regions and its
+ * inline cache goes megamorphic, so no region kernel is inlined. Switching on
+ * {@link Region#ID} instead gives each case a call on a final region class,
+ * which the JIT compiler binds statically and inlines.
+ *
+ * Regions without a specialized kernel (ID 0) fall back to a virtual call.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+final class RegionDispatch {
+
+    private RegionDispatch() {
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient.
+     *
+     * @param region region
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return isobaric cubic expansion coefficient [1/K]
+     */
+    static double isobaricCubicExpansionCoefficientPT(Region region, double p, double T) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.isobaricCubicExpansionCoefficientPT(p, T);
+            case 2:
+                return REGION2.isobaricCubicExpansionCoefficientPT(p, T);
+            case 3:
+                return REGION3.isobaricCubicExpansionCoefficientPT(p, T);
+            case 4:
+                return REGION4.isobaricCubicExpansionCoefficientPT(p, T);
+            case 5:
+                return REGION5.isobaricCubicExpansionCoefficientPT(p, T);
+            default:
+                return region.isobaricCubicExpansionCoefficientPT(p, T);
+        }
+    }
+
+    /**
+     * Isothermal compressibility.
+     *
+     * @param region region
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return isothermal compressibility [1/MPa]
+     */
+    static double isothermalCompressibilityPT(Region region, double p, double T) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.isothermalCompressibilityPT(p, T);
+            case 2:
+                return REGION2.isothermalCompressibilityPT(p, T);
+            case 3:
+                return REGION3.isothermalCompressibilityPT(p, T);
+            case 4:
+                return REGION4.isothermalCompressibilityPT(p, T);
+            case 5:
+                return REGION5.isothermalCompressibilityPT(p, T);
+            default:
+                return region.isothermalCompressibilityPT(p, T);
+        }
+    }
+
+    /**
+     * Pressure.
+     *
+     * @param region region
+     * @param h specific enthalpy [kJ/kg]
+     * @param s specific entropy [kJ/kg-K]
+     * @return pressure [MPa]
+     */
+    static double pressureHS(Region region, double h, double s) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.pressureHS(h, s);
+            case 2:
+                return REGION2.pressureHS(h, s);
+            case 3:
+                return REGION3.pressureHS(h, s);
+            case 4:
+                return REGION4.pressureHS(h, s);
+            case 5:
+                return REGION5.pressureHS(h, s);
+            default:
+                return region.pressureHS(h, s);
+        }
+    }
+
+    /**
+     * Specific enthalpy.
+     *
+     * @param region region
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return specific enthalpy [kJ/kg]
+     */
+    static double specificEnthalpyPT(Region region, double p, double T) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.specificEnthalpyPT(p, T);
+            case 2:
+                return REGION2.specificEnthalpyPT(p, T);
+            case 3:
+                return REGION3.specificEnthalpyPT(p, T);
+            case 4:
+                return REGION4.specificEnthalpyPT(p, T);
+            case 5:
+                return REGION5.specificEnthalpyPT(p, T);
+            default:
+                return region.specificEnthalpyPT(p, T);
+        }
+    }
+
+    /**
+     * Specific entropy.
+     *
+     * @param region region
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return specific entropy [kJ/kg-K]
+     */
+    static double specificEntropyPT(Region region, double p, double T) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.specificEntropyPT(p, T);
+            case 2:
+                return REGION2.specificEntropyPT(p, T);
+            case 3:
+                return REGION3.specificEntropyPT(p, T);
+            case 4:
+                return REGION4.specificEntropyPT(p, T);
+            case 5:
+                return REGION5.specificEntropyPT(p, T);
+            default:
+                return region.specificEntropyPT(p, T);
+        }
+    }
+
+    /**
+     * Specific internal energy.
+     *
+     * @param region region
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return specific internal energy [kJ/kg]
+     */
+    static double specificInternalEnergyPT(Region region, double p, double T) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.specificInternalEnergyPT(p, T);
+            case 2:
+                return REGION2.specificInternalEnergyPT(p, T);
+            case 3:
+                return REGION3.specificInternalEnergyPT(p, T);
+            case 4:
+                return REGION4.specificInternalEnergyPT(p, T);
+            case 5:
+                return REGION5.specificInternalEnergyPT(p, T);
+            default:
+                return region.specificInternalEnergyPT(p, T);
+        }
+    }
+
+    /**
+     * Specific isobaric heat capacity.
+     *
+     * @param region region
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return specific isobaric heat capacity [kJ/kg-K]
+     */
+    static double specificIsobaricHeatCapacityPT(Region region, double p, double T) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.specificIsobaricHeatCapacityPT(p, T);
+            case 2:
+                return REGION2.specificIsobaricHeatCapacityPT(p, T);
+            case 3:
+                return REGION3.specificIsobaricHeatCapacityPT(p, T);
+            case 4:
+                return REGION4.specificIsobaricHeatCapacityPT(p, T);
+            case 5:
+                return REGION5.specificIsobaricHeatCapacityPT(p, T);
+            default:
+                return region.specificIsobaricHeatCapacityPT(p, T);
+        }
+    }
+
+    /**
+     * Specific isochoric heat capacity.
+     *
+     * @param region region
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return specific isochoric heat capacity [kJ/kg-K]
+     */
+    static double specificIsochoricHeatCapacityPT(Region region, double p, double T) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.specificIsochoricHeatCapacityPT(p, T);
+            case 2:
+                return REGION2.specificIsochoricHeatCapacityPT(p, T);
+            case 3:
+                return REGION3.specificIsochoricHeatCapacityPT(p, T);
+            case 4:
+                return REGION4.specificIsochoricHeatCapacityPT(p, T);
+            case 5:
+                return REGION5.specificIsochoricHeatCapacityPT(p, T);
+            default:
+                return region.specificIsochoricHeatCapacityPT(p, T);
+        }
+    }
+
+    /**
+     * Specific volume.
+     *
+     * @param region region
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return specific volume [m&sup3;/kg]
+     */
+    static double specificVolumePT(Region region, double p, double T) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.specificVolumePT(p, T);
+            case 2:
+                return REGION2.specificVolumePT(p, T);
+            case 3:
+                return REGION3.specificVolumePT(p, T);
+            case 4:
+                return REGION4.specificVolumePT(p, T);
+            case 5:
+                return REGION5.specificVolumePT(p, T);
+            default:
+                return region.specificVolumePT(p, T);
+        }
+    }
+
+    /**
+     * Speed of sound.
+     *
+     * @param region region
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @return speed of sound [m/s]
+     */
+    static double speedOfSoundPT(Region region, double p, double T) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.speedOfSoundPT(p, T);
+            case 2:
+                return REGION2.speedOfSoundPT(p, T);
+            case 3:
+                return REGION3.speedOfSoundPT(p, T);
+            case 4:
+                return REGION4.speedOfSoundPT(p, T);
+            case 5:
+                return REGION5.speedOfSoundPT(p, T);
+            default:
+                return region.speedOfSoundPT(p, T);
+        }
+    }
+
+    /**
+     * Fill a state as a function of pressure &amp; temperature.
+     *
+     * @param region region
+     * @param p pressure [MPa]
+     * @param T temperature [K]
+     * @param state state holder to fill
+     */
+    static void statePT(Region region, double p, double T, MutableThermodynamicState state) {
+
+        switch (region.ID) {
+            case 1:
+                REGION1.statePT(p, T, state);
+                return;
+            case 2:
+                REGION2.statePT(p, T, state);
+                return;
+            case 3:
+                REGION3.statePT(p, T, state);
+                return;
+            case 4:
+                REGION4.statePT(p, T, state);
+                return;
+            case 5:
+                REGION5.statePT(p, T, state);
+                return;
+            default:
+                region.statePT(p, T, state);
+        }
+    }
+
+    /**
+     * Temperature.
+     *
+     * @param region region
+     * @param h specific enthalpy [kJ/kg]
+     * @param s specific entropy [kJ/kg-K]
+     * @return temperature [K]
+     */
+    static double temperatureHS(Region region, double h, double s) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.temperatureHS(h, s);
+            case 2:
+                return REGION2.temperatureHS(h, s);
+            case 3:
+                return REGION3.temperatureHS(h, s);
+            case 4:
+                return REGION4.temperatureHS(h, s);
+            case 5:
+                return REGION5.temperatureHS(h, s);
+            default:
+                return region.temperatureHS(h, s);
+        }
+    }
+
+    /**
+     * Temperature.
+     *
+     * @param region region
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @return temperature [K]
+     */
+    static double temperaturePH(Region region, double p, double h) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.temperaturePH(p, h);
+            case 2:
+                return REGION2.temperaturePH(p, h);
+            case 3:
+                return REGION3.temperaturePH(p, h);
+            case 4:
+                return REGION4.temperaturePH(p, h);
+            case 5:
+                return REGION5.temperaturePH(p, h);
+            default:
+                return region.temperaturePH(p, h);
+        }
+    }
+
+    /**
+     * Vapour fraction.
+     *
+     * @param region region
+     * @param h specific enthalpy [kJ/kg]
+     * @param s specific entropy [kJ/kg-K]
+     * @return vapour fraction [-]
+     */
+    static double vapourFractionHS(Region region, double h, double s) {
+
+        switch (region.ID) {
+            case 1:
+                return REGION1.vapourFractionHS(h, s);
+            case 2:
+                return REGION2.vapourFractionHS(h, s);
+            case 3:
+                return REGION3.vapourFractionHS(h, s);
+            case 4:
+                return REGION4.vapourFractionHS(h, s);
+            case 5:
+                return REGION5.vapourFractionHS(h, s);
+            default:
+                return region.vapourFractionHS(h, s);
+        }
+    }
+}
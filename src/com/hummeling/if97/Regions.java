@@ -0,0 +1,58 @@
+/*
+ * Regions.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+/**
+ * Shared region instances &amp; the region boundary values derived from them.
+ * Regions are stateless, so region selection hands out these instances
+ * instead of allocating new ones.
+ *
+ * Kept apart from Region, whose initializer runs as part of initializing any
+ * region subclass: creating the instances there would run region code on
+ * subclasses still being initialized. Region classes mustn't reference this
+ * class from their own static initializers.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+final class Regions {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    static final Region1 REGION1 = new Region1();
+    static final Region2 REGION2 = new Region2();
+    static final Region3 REGION3 = new Region3();
+    static final Region4 REGION4 = new Region4();
+    static final Region5 REGION5 = new Region5();
+    /**
+     * Constant region boundary values. The region 2 specific enthalpy at
+     * 1073.15 K decreases with pressure, so its lowest value is at 100 MPa.
+     */
+    static final double T623 = 623.15, T1073 = 1073.15,
+            pSat273 = Region4.saturationPressureT(273.15),
+            pSat623 = Region4.saturationPressureT(T623),
+            hSat623Liquid = REGION1.specificEnthalpyPT(pSat623, T623),
+            hSat623Vapour = REGION2.specificEnthalpyPT(pSat623, T623),
+            h1073Min = REGION2.specificEnthalpyPT(100, T1073);
+    // </editor-fold>
+
+    private Regions() {
+    }
+}
@@ -0,0 +1,509 @@
+/*
+ * SplineTableVU.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import static com.hummeling.if97.IF97.R;
+import static com.hummeling.if97.IF97.Tc;
+import static com.hummeling.if97.IF97.rhoc;
+import static com.hummeling.if97.Region.*;
+import static com.hummeling.if97.Regions.*;
+import static java.lang.Math.*;
+
+/**
+ * Thermodynamic state as a function of specific volume &amp; specific
+ * internal energy, the natural state variables of density-based flow
+ * solvers.
+ *
+ * A table over ln(v) &amp; u holds the temperature, ln(p) &amp; the regions
+ * at its nodes, calculated once along isochores with the IF97 equations. Its
+ * bilinear interpolation starts a Newton iteration within the regions of the
+ * surrounding nodes: on pressure &amp; temperature with one evaluation of the
+ * Gibbs free energy per step in regions 1 &amp; 2, on temperature with one
+ * evaluation of the Helmholtz free energy per step in region 3. Cells along
+ * region boundaries &amp; the wet steam region iterate on the temperature
+ * along the isochore, classifying each iterate by the saturated &amp;
+ * boundary volumes. This typically converges to IF97 precision in a few
+ * steps. Points whose iteration fails are solved by bisection along the
+ * isochore.
+ *
+ * Regions 1 to 4 are covered, region 5 is not. Everything is in the default
+ * unit system.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+final class SplineTableVU {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    /**
+     * Grid size, of which the columns up to the critical volume, &amp; number
+     * of temperatures sampled per isochore.
+     */
+    private static final int NX = 256, NY = 256, NL = 96, SAMPLES = 400, ITERATIONS = 30;
+    /**
+     * Temperature range &amp; maximum pressure.
+     */
+    private static final double T273 = 273.15, T623 = 623.15, T863 = 863.15, T1073 = 1073.15,
+            pMax = 100;
+    /**
+     * Relative tolerance of the specific internal energy.
+     */
+    private static final double TOLERANCE = 1e-11;
+    /**
+     * Upper bound of the region 2 specific volume along the boundary with
+     * region 3 [m&sup3;/kg], larger volumes above 623.15 K are in region 2.
+     */
+    private static final double vB23Max = 8.81e-3;
+    /**
+     * Table boundaries: the densest liquid &amp; the most dilute vapour.
+     */
+    private static final double pSat273 = Region4.saturationPressureT(T273),
+            vMin = REGION1.specificVolumePT(pMax, T273),
+            vMax = REGION2.specificVolumePT(pSat273, T1073),
+            uMin = REGION1.specificInternalEnergyPT(pSat273, T273),
+            uMax = REGION2.specificInternalEnergyPT(pSat273, T1073);
+    /**
+     * Node spacing, the liquid range is a narrow band in ln(v) so the columns
+     * up to the critical volume are closer together.
+     */
+    private static final double x0 = log(vMin), x1 = log(1 / rhoc),
+            dxLiquid = (x1 - x0) / NL, dxVapour = (log(vMax) - x1) / (NX - 1 - NL),
+            dy = (uMax - uMin) / (NY - 1);
+    private final double[] temperature, lnPressure;
+    /**
+     * Bit set of the regions of the isochore interval of each node, bit 0
+     * marks nodes beyond the range of their isochore.
+     */
+    private final byte[] regions;
+// </editor-fold>
+
+    /**
+     * Lazily built table, shared by all instances of {@link IF97}.
+     */
+    private static final class Holder {
+
+        static final SplineTableVU TABLE = new SplineTableVU();
+    }
+
+    private SplineTableVU() {
+        MutableThermodynamicState state = new MutableThermodynamicState(),
+                liquid = new MutableThermodynamicState(),
+                vapour = new MutableThermodynamicState();
+        double[] u = new double[SAMPLES + 1], lnp = new double[SAMPLES + 1];
+        int[] region = new int[SAMPLES + 1];
+
+        temperature = new double[NX * NY];
+        lnPressure = new double[NX * NY];
+        regions = new byte[NX * NY];
+
+        for (int i = 0; i < NX; i++) {
+            double v = exp(i <= NL ? x0 + i * dxLiquid : x1 + (i - NL) * dxVapour), p = Double.NaN;
+
+            for (int k = 0; k <= SAMPLES; k++) {
+                if (stateVT(v, sample(k), p, state, liquid, vapour)) {
+                    u[k] = state.u;
+                    lnp[k] = log(p = state.p);
+                    region[k] = state.region;
+
+                } else {
+                    u[k] = lnp[k] = Double.NaN;
+                    region[k] = 0;
+                }
+            }
+            int first = 0, last = SAMPLES;
+
+            while (first < last && u[first] != u[first]) {
+                first++;
+            }
+            while (last > first && u[last] != u[last]) {
+                last--;
+            }
+            // u increases with T along an isochore, invert by linear interpolation,
+            // nodes beyond the isochore's range take its end values
+            for (int j = 0, k = first; j < NY; j++) {
+                double y = uMin + j * dy;
+                int n = i * NY + j;
+
+                if (!(y > u[first])) {
+                    temperature[n] = sample(first);
+                    lnPressure[n] = lnp[first];
+                    regions[n] = (byte) (1 | 1 << region[first]);
+
+                } else if (!(y < u[last])) {
+                    temperature[n] = sample(last);
+                    lnPressure[n] = lnp[last];
+                    regions[n] = (byte) (1 | 1 << region[last]);
+
+                } else {
+                    while (u[k + 1] < y) {
+                        k++;
+                    }
+                    double t = (y - u[k]) / (u[k + 1] - u[k]);
+                    temperature[n] = sample(k) + t * (sample(k + 1) - sample(k));
+                    lnPressure[n] = lnp[k] + t * (lnp[k + 1] - lnp[k]);
+                    regions[n] = (byte) (1 << region[k] | 1 << region[k + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bisection on the temperature along an isochore, states above the
+     * maximum pressure are treated as too hot.
+     */
+    private static void bisection(double v, double u, MutableThermodynamicState state,
+            MutableThermodynamicState liquid, MutableThermodynamicState vapour) throws OutOfRangeException {
+
+        if (!stateVT(v, T273, Double.NaN, state, liquid, vapour) || state.p > pMax) {
+            throw new OutOfRangeException(IF97.Quantity.nu, v, vMin);
+        }
+        if (!(state.u <= u)) {
+            throw new OutOfRangeException(IF97.Quantity.u, u, state.u);
+        }
+        double a = T273, b = T1073, ua = state.u;
+
+        if (stateVT(v, b, Double.NaN, state, liquid, vapour) && state.p <= pMax && state.u < u) {
+            throw new OutOfRangeException(IF97.Quantity.u, u, state.u);
+        }
+        while (b - a > 1e-13 * b) {
+            double T = (a + b) / 2;
+
+            if (stateVT(v, T, Double.NaN, state, liquid, vapour) && state.p <= pMax && state.u <= u) {
+                a = T;
+                ua = state.u;
+
+            } else {
+                b = T;
+            }
+        }
+        stateVT(v, a, Double.NaN, state, liquid, vapour);
+
+        if (abs(ua - u) > 1e-7 * max(abs(u), 1)) {
+            // the isochore reaches the maximum pressure first
+            throw new OutOfRangeException(IF97.Quantity.u, u, ua);
+        }
+    }
+
+    static SplineTableVU getInstance() {
+        return Holder.TABLE;
+    }
+
+    /**
+     * Bilinear interpolation of node values.
+     *
+     * @param values node values
+     * @param a fractional column index
+     * @param b fractional row index
+     * @return interpolated value, NaN next to a node without value
+     */
+    private static double guess(double[] values, double a, double b) {
+        int i = min((int) a, NX - 2), j = min((int) b, NY - 2), n = i * NY + j;
+        a -= i;
+        b -= j;
+        return (1 - a) * ((1 - b) * values[n] + b * values[n + 1])
+                + a * ((1 - b) * values[n + NY] + b * values[n + NY + 1]);
+    }
+
+    /**
+     * Newton iteration on pressure &amp; temperature within region 1 or 2,
+     * taking one evaluation of the Gibbs free energy per iteration.
+     *
+     * @return true when converged inside the region
+     */
+    private static boolean gibbs(Region region, double v, double u, double T, double p, MutableThermodynamicState state) {
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            RegionDispatch.statePT(region, p, T, state);
+            double fv = state.v - v, fu = state.u - u;
+
+            if (abs(fv) <= 1e-13 * v && abs(fu) <= TOLERANCE * max(abs(u), 1)) {
+                if (!(T >= T273 && T <= T1073)) {
+                    return false;
+                }
+                double pB = T <= T623 ? Region4.saturationPressureT(T) : T <= T863 ? pressureB23(T) : Double.POSITIVE_INFINITY;
+                return region == REGION1 ? T <= T623 && p >= pB : p <= pB;
+            }
+            // Jacobian of v(p, T) & u(p, T)
+            double a = -state.v * state.kappa,
+                    b = state.v * state.alpha,
+                    c = 1e3 * state.v * (p * state.kappa - T * state.alpha),
+                    d = state.cp - 1e3 * p * state.v * state.alpha,
+                    det = a * d - b * c,
+                    dp = (b * fu - d * fv) / det,
+                    dT = (c * fv - a * fu) / det;
+
+            if (!(abs(dT) < T1073 && p + dp > 0)) {
+                return false;
+            }
+            p += dp;
+            T += dT;
+        }
+        return false;
+    }
+
+    /**
+     * Newton iteration on the temperature within region 3, taking one
+     * evaluation of the Helmholtz free energy per iteration.
+     *
+     * @return true when converged inside the region
+     */
+    private static boolean helmholtz(double v, double u, double T, MutableThermodynamicState state,
+            MutableThermodynamicState liquid, MutableThermodynamicState vapour) {
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            REGION3.stateRhoT(1 / v, T, state);
+            double f = state.u - u;
+
+            if (abs(f) <= TOLERANCE * max(abs(u), 1)) {
+                return stateVT(v, T, Double.NaN, state, liquid, vapour) && state.region == 3;
+            }
+            T -= f / state.cv;
+
+            if (!(T >= T273 && T <= T1073)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Newton iteration on the temperature along an isochore.
+     *
+     * @param slope estimate of du/dT along the isochore in the wet steam
+     * region [kJ/kg/K], or NaN
+     * @return true when converged
+     */
+    private static boolean newton(double v, double u, double T, double p, double slope,
+            MutableThermodynamicState state, MutableThermodynamicState liquid, MutableThermodynamicState vapour) {
+
+        double T0 = Double.NaN, u0 = Double.NaN;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (!stateVT(v, T, p, state, liquid, vapour)) {
+                return false;
+            }
+            double f = state.u - u;
+
+            if (abs(f) <= TOLERANCE * max(abs(u), 1)) {
+                return true;
+            }
+            if (state.region != 4) {
+                slope = state.cv;
+
+            } else if (T0 == T0) {
+                // no isochoric heat capacity in the wet steam region, use secants
+                slope = (state.u - u0) / (T - T0);
+
+            } else if (!(slope > 0)) {
+                T0 = T;
+                u0 = state.u;
+                T += T < T1073 - 1 ? 1e-3 : -1e-3;
+                continue;
+            }
+            T0 = T;
+            u0 = state.u;
+            double step = f / slope;
+
+            if (!(abs(step) < T1073)) {
+                return false;
+            }
+            T -= step;
+
+            if (T < T273 || T > T1073) {
+                if (T0 == T273 || T0 == T1073) {
+                    return false;
+                }
+                T = max(T273, min(T1073, T));
+            }
+            if (abs(T - T0) <= 1e-13 * T) {
+                return true;
+            }
+            // pressure start value along the isochore, (dp/dT)v = alpha/kappa
+            p = state.p + state.alpha / state.kappa * (T - T0);
+        }
+        return false;
+    }
+
+    /**
+     * Pressure from specific volume by Newton iteration, filling the state.
+     * The iteration is on ln(p) for vapour, which is exact for ideal gases,
+     * &amp; on p for liquid.
+     *
+     * @return true when converged
+     */
+    private static boolean pressureVT(Region region, double v, double T, double p, MutableThermodynamicState state) {
+        boolean vapour = region == REGION2;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            RegionDispatch.statePT(region, p, T, state);
+
+            if (abs(state.v - v) <= 1e-14 * v) {
+                return true;
+            }
+            double next = vapour
+                    ? p * exp(log(state.v / v) / (p * state.kappa))
+                    : p + (state.v - v) / (state.v * state.kappa);
+
+            if (!(next > 0 && next < 1e4)) {
+                return false;
+            }
+            if (abs(next - p) <= 1e-13 * p) {
+                return true;
+            }
+            p = next;
+        }
+        return false;
+    }
+
+    /**
+     * Regions of a table cell.
+     *
+     * @param a fractional column index
+     * @param b fractional row index
+     * @return bit set of the regions of the nodes of the cell
+     */
+    private int regions(double a, double b) {
+        int i = min((int) a, NX - 2), j = min((int) b, NY - 2), n = i * NY + j;
+        return regions[n] | regions[n + 1] | regions[n + NY] | regions[n + NY + 1];
+    }
+
+    /**
+     * Temperature of the sampled isochore points.
+     */
+    private static double sample(int k) {
+        return T273 + k * (T1073 - T273) / SAMPLES;
+    }
+
+    /**
+     * Saturated liquid or vapour state.
+     */
+    private static void saturatedStateT(double T, boolean vapour, MutableThermodynamicState state) {
+
+        if (T <= T623) {
+            (vapour ? REGION2 : REGION1).statePT(Region4.saturationPressureT(T), T, state);
+
+        } else {
+            REGION3.stateRhoT(REGION3.saturatedDensityT(T, vapour), T, state);
+        }
+    }
+
+    /**
+     * State along an isochore, the region follows from comparing the specific
+     * volume with the saturated &amp; region boundary volumes. Saturated
+     * states are only calculated when the specific volume can be in their
+     * range.
+     *
+     * @param v specific volume [m&sup3;/kg]
+     * @param T temperature [K]
+     * @param p pressure start value for regions 1 &amp; 2 [MPa], or NaN
+     * @return true when the state was solved, its pressure may exceed 100 MPa
+     */
+    private static boolean stateVT(double v, double T, double p, MutableThermodynamicState state,
+            MutableThermodynamicState liquid, MutableThermodynamicState vapour) {
+
+        state.clear();
+
+        if (!(T >= T273 && T <= T1073 && v > 0)) {
+            return false;
+        }
+        double pB = T <= T863 ? pressureB23(T) : Double.POSITIVE_INFINITY;
+
+        if (T > T623 && v >= vB23Max) {
+            return pressureVT(REGION2, v, T, p <= pB ? p : min(pB, R * T / v / 1e3), state);
+        }
+        if (T < Tc) {
+            boolean liquidKnown = v < 1 / rhoc;
+
+            if (liquidKnown) {
+                saturatedStateT(T, false, liquid);
+
+                if (v <= liquid.v) {
+                    if (T > T623) {
+                        REGION3.stateRhoT(1 / v, T, state);
+                        return true;
+                    }
+                    return pressureVT(REGION1, v, T, p >= liquid.p ? p : liquid.p, state);
+                }
+            }
+            saturatedStateT(T, true, vapour);
+
+            if (v < vapour.v) {
+                if (!liquidKnown) {
+                    saturatedStateT(T, false, liquid);
+                }
+                double x = (v - liquid.v) / (vapour.v - liquid.v);
+
+                state.region = 4;
+                state.p = vapour.p;
+                state.T = T;
+                state.v = v;
+                state.rho = 1 / v;
+                state.h = liquid.h + x * (vapour.h - liquid.h);
+                state.s = liquid.s + x * (vapour.s - liquid.s);
+                state.u = liquid.u + x * (vapour.u - liquid.u);
+                state.x = x;
+                return true;
+            }
+            if (T <= T623) {
+                pB = vapour.p;
+            }
+        }
+        if (T > T623 && v < REGION2.specificVolumePT(pB, T)) {
+            REGION3.stateRhoT(1 / v, T, state);
+            return true;
+        }
+        return pressureVT(REGION2, v, T, p <= pB ? p : min(pB, R * T / v / 1e3), state);
+    }
+
+    /**
+     * Thermodynamic state as a function of specific volume &amp; specific
+     * internal energy.
+     *
+     * @param v specific volume [m&sup3;/kg]
+     * @param u specific internal energy [kJ/kg]
+     * @param state state holder to fill
+     * @throws OutOfRangeException out-of-range exception
+     */
+    void stateVU(double v, double u, MutableThermodynamicState state) throws OutOfRangeException {
+        MutableThermodynamicState liquid = new MutableThermodynamicState(),
+                vapour = new MutableThermodynamicState();
+        double x = log(v), a = x <= x1 ? (x - x0) / dxLiquid : NL + (x - x1) / dxVapour, b = (u - uMin) / dy;
+
+        if (!(a >= 0 && a <= NX - 1 && b >= 0 && b <= NY - 1)) {
+            bisection(v, u, state, liquid, vapour);
+
+        } else {
+            double T = guess(temperature, a, b), p = exp(guess(lnPressure, a, b));
+            int r = regions(a, b);
+
+            if (!((r & 1 << 1) != 0 && gibbs(REGION1, v, u, T, p, state)
+                    || (r & 1 << 2) != 0 && gibbs(REGION2, v, u, T, p, state)
+                    || (r & 1 << 3) != 0 && helmholtz(v, u, T, state, liquid, vapour)
+                    || newton(v, u, T, p, dy / (guess(temperature, a, b + 1) - guess(temperature, a, b)),
+                            state, liquid, vapour))) {
+                bisection(v, u, state, liquid, vapour);
+            }
+        }
+        if (state.p > pMax) {
+            throw new OutOfRangeException(IF97.Quantity.p, state.p, pMax);
+        }
+    }
+}
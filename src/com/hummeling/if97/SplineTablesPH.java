@@ -0,0 +1,1082 @@
+/*
+ * SplineTablesPH.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import static com.hummeling.if97.IF97.pc;
+import static com.hummeling.if97.Region.*;
+import static com.hummeling.if97.Regions.*;
+import java.io.IOException;
+import static java.lang.Math.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Spline-based table look-up (SBTL) of properties as a function of pressure
+ * &amp; specific enthalpy, following the approach of the IAPWS Guideline on
+ * the Fast Calculation of Steam and Water Properties with the Spline-Based
+ * Table Look-Up Method.
+ *
+ * The single-phase part of regions 1, 2 &amp; 3 is covered by three tables:
+ * liquid &amp; vapour below the critical pressure and supercritical above it.
+ * Each table is a uniform grid in the transformed coordinates ln(p) and the
+ * specific enthalpy scaled between the table boundaries at that pressure,
+ * nodes are calculated with the IF97 equations. Properties are interpolated
+ * by bicubic Hermite patches over the surrounding 4 x 4 nodes, the specific
+ * volume as its logarithm. Node slopes are central differences, one-sided at
+ * the table edges, so interpolated values &amp; their first derivatives are
+ * continuous across cells. Where interpolation switches to refined cells
+ * or the IF97 equations, at refined &amp; fallback cells &amp; table
+ * boundaries, values jump by up to the tolerance &amp; derivatives by more.
+ *
+ * After construction every grid cell is checked against the IF97 equations
+ * on a 5 x 5 grid: at the quarter points of its enthalpy edges along both
+ * pressure edges &amp; at a quarter, half &amp; three quarters of the cell,
+ * so its corners, edge midpoints &amp; center included. Cells deviating
+ * more than half the tolerance anywhere on it, or whose nodes span several
+ * regions or backward equation subregions, are refined: their own 3 x 3
+ * cells with nodes calculated with the IF97 equations, checked the same way
+ * on a 13 x 13 grid. Cells whose refinement fails as well, the wet steam
+ * region, region 5 &amp; points out of the table range are calculated with
+ * the IF97 equations instead, so an evaluation costs a fixed number of
+ * operations or a regular IF97 call. The check remains a sample, yet at
+ * half the tolerance on a grid four times finer than the nodes, so between
+ * its points a cubic patch deviates beyond the tolerance only where the
+ * IF97 equations themselves change faster than that.
+ *
+ * Tables are in the default unit system, use them through
+ * {@link IF97#IF97(IF97.UnitSystem, SplineTablesPH)}. Tables written to a
+ * file are mapped into memory by {@link #map(Path)} without copying, so
+ * processes mapping the same file share one copy in the page cache.
+ *
+ * File format, little-endian: 8 byte magic number "IF97SBTL", int format
+ * version, int pressure &amp; enthalpy nodes, int reserved, double tolerance,
+ * long CRC32 checksum of the file with this field zeroed, 16 byte ASCII unit
+ * system name, double first ln(p) node &amp; ln(p) step of the liquid, vapour
+ * &amp; supercritical table. The tables follow, each with its lower &amp;
+ * upper enthalpy boundaries, its node values per property, its int cell
+ * states, padded to 8 bytes, its int number of patches, int reserved, and
+ * the patch node values.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class SplineTablesPH {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    /**
+     * Default relative tolerance &amp; grid size.
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-5;
+    public static final int DEFAULT_PRESSURE_NODES = 200, DEFAULT_ENTHALPY_NODES = 100;
+    /**
+     * Tabulated properties.
+     */
+    static final int TEMPERATURE = 0, LN_SPECIFIC_VOLUME = 1, SPECIFIC_ENTROPY = 2,
+            SPECIFIC_INTERNAL_ENERGY = 3, PROPERTIES = 4;
+    /**
+     * Table kinds.
+     */
+    private static final int LIQUID = 0, VAPOUR = 1, SUPERCRITICAL = 2;
+    /**
+     * Fraction of the tolerance allowed at the check points, leaving room
+     * for larger deviations in between.
+     */
+    private static final double MARGIN = 0.5;
+    /**
+     * Cells per dimension of the patch refining a cell failing the check,
+     * the patch nodes per dimension &amp; the patch node values.
+     */
+    private static final int REFINEMENT = 3, PATCH_NODES = REFINEMENT + 1,
+            PATCH = PROPERTIES * PATCH_NODES * PATCH_NODES;
+    /**
+     * Table file magic number, format version &amp; header layout.
+     */
+    private static final byte[] MAGIC = "IF97SBTL".getBytes(StandardCharsets.US_ASCII);
+    static final int FORMAT_VERSION = 3;
+    private static final int CHECKSUM = 32, UNIT_SYSTEM = 40, GRID = 56, HEADER = 104;
+    /**
+     * Table range &amp; saturation boundary values.
+     */
+    private static final double T273 = 273.15, T623 = 623.15, T1073 = 1073.15,
+            hSat623Liquid = REGION1.specificEnthalpyPT(Region4.saturationPressureT(T623), T623),
+            hSat623Vapour = REGION2.specificEnthalpyPT(Region4.saturationPressureT(T623), T623),
+            pMin = Region4.saturationPressureT(T273),
+            pMax = 100,
+            pSat623 = Region4.saturationPressureT(T623),
+            hPeak = peakSaturationEnthalpy();
+    private final double tolerance;
+    private final Table liquid, vapour, supercritical;
+// </editor-fold>
+
+    /**
+     * Tables with the default tolerance &amp; grid size.
+     */
+    public SplineTablesPH() {
+        this(DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Tables with the default grid size.
+     *
+     * @param tolerance maximum relative deviation from IF97
+     */
+    public SplineTablesPH(double tolerance) {
+        this(tolerance, DEFAULT_PRESSURE_NODES, DEFAULT_ENTHALPY_NODES);
+    }
+
+    /**
+     * Tables with the specified tolerance &amp; grid size. The tolerance is
+     * relative, for specific entropy &amp; internal energy with respect to
+     * their magnitude but at least 1 kJ/(kg K) &amp; 1 kJ/kg respectively.
+     *
+     * @param tolerance maximum relative deviation from IF97
+     * @param pressureNodes number of pressure nodes per table, at least 4
+     * @param enthalpyNodes number of specific enthalpy nodes per table, at
+     * least 4
+     */
+    public SplineTablesPH(double tolerance, int pressureNodes, int enthalpyNodes) {
+
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Tolerance should be positive.");
+
+        } else if (pressureNodes < 4 || enthalpyNodes < 4) {
+            throw new IllegalArgumentException("Tables need at least 4 nodes per dimension.");
+        }
+        this.tolerance = tolerance;
+        liquid = new Table(LIQUID, log(pMin), log(pc), pressureNodes, enthalpyNodes, tolerance);
+        vapour = new Table(VAPOUR, log(pMin), log(pc), pressureNodes, enthalpyNodes, tolerance);
+        supercritical = new Table(SUPERCRITICAL, log(pc), log(pMax), pressureNodes, enthalpyNodes, tolerance);
+    }
+
+    private SplineTablesPH(double tolerance, Table liquid, Table vapour, Table supercritical) {
+
+        this.tolerance = tolerance;
+        this.liquid = liquid;
+        this.vapour = vapour;
+        this.supercritical = supercritical;
+    }
+
+    /**
+     * CRC32 checksum of a table file, skipping the checksum field.
+     *
+     * @param buffer table file contents
+     * @return checksum
+     */
+    private static long checksum(ByteBuffer buffer) {
+
+        CRC32 crc = new CRC32();
+        ByteBuffer in = buffer.duplicate();
+        byte[] chunk = new byte[1 << 16];
+
+        in.clear();
+
+        while (in.hasRemaining()) {
+            int start = in.position(),
+                    length = min(chunk.length, in.remaining());
+
+            if (start == CHECKSUM) {
+                in.position(CHECKSUM + 8);
+                continue;
+
+            } else if (start < CHECKSUM) {
+                length = min(length, CHECKSUM - start);
+            }
+            in.get(chunk, 0, length);
+            crc.update(chunk, 0, length);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Fraction of the grid cells interpolated, the remainder is calculated
+     * with the IF97 equations.
+     *
+     * @return coverage [-]
+     */
+    public double getCoverage() {
+
+        int cells = 0, covered = 0;
+
+        for (Table table : new Table[]{liquid, vapour, supercritical}) {
+            cells += table.cells.capacity();
+
+            for (int i = 0; i < table.cells.capacity(); i++) {
+                if (table.cells.get(i) >= 0) {
+                    covered++;
+                }
+            }
+        }
+        return (double) covered / cells;
+    }
+
+    /**
+     * Maximum relative deviation from IF97.
+     *
+     * @return tolerance
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Interpolated property.
+     *
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @param property tabulated property
+     * @return property value, NaN outside the interpolated cells
+     */
+    double interpolate(double p, double h, int property) {
+
+        if (!(p >= pMin && p <= pMax)) {
+            return Double.NaN;
+        }
+        double x = log(p);
+
+        if (p >= pc) {
+            return supercritical.interpolate(x, h, property);
+        }
+        double value = liquid.interpolate(x, h, property);
+
+        return value == value ? value : vapour.interpolate(x, h, property);
+    }
+
+    /**
+     * Replaces the tabulated properties of a state calculated with the IF97
+     * equations by their interpolated values, where the tables cover the
+     * point.
+     *
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @param state state in default units
+     */
+    void interpolate(double p, double h, MutableThermodynamicState state) {
+
+        double T = interpolate(p, h, TEMPERATURE);
+
+        if (T == T) {
+            state.T = T;
+            state.v = exp(interpolate(p, h, LN_SPECIFIC_VOLUME));
+            state.rho = 1 / state.v;
+            state.s = interpolate(p, h, SPECIFIC_ENTROPY);
+            state.u = interpolate(p, h, SPECIFIC_INTERNAL_ENERGY);
+        }
+    }
+
+    /**
+     * Branch of the (p,h) equations: region &amp; backward equation
+     * subregion, 0 out of range. Values interpolated across branches may
+     * deviate by the inconsistencies between the equations.
+     *
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @return branch
+     */
+    private static int branch(double p, double h) {
+
+        try {
+            Region region = getRegionPH(p, h);
+
+            if (region == REGION2) {
+                return 20 + REGION2.getSubRegion(p, h).ordinal();
+
+            } else if (region == REGION3) {
+                return 30 + REGION3.getSubRegionPH(p, h).ordinal();
+            }
+            return region == REGION1 ? 10 : region == REGION4 ? 40 : 50;
+
+        } catch (OutOfRangeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Function value without throwing, interpolated for the tabulated
+     * properties &amp; calculated by the function elsewhere.
+     *
+     * @param function function in default units
+     * @param p pressure [MPa], or the first argument of other functions
+     * @param h specific enthalpy [kJ/kg], or the second argument
+     * @param status status, set out of range when applicable
+     * @return function value, NaN when out of range
+     */
+    double calculate(IF97.Function function, double p, double h, RangeStatus status) {
+
+        double value;
+
+        switch (function) {
+            case SPECIFIC_ENTROPY_PH:
+                value = interpolate(p, h, SPECIFIC_ENTROPY);
+                break;
+
+            case SPECIFIC_INTERNAL_ENERGY_PH:
+                value = interpolate(p, h, SPECIFIC_INTERNAL_ENERGY);
+                break;
+
+            case SPECIFIC_VOLUME_PH:
+                value = exp(interpolate(p, h, LN_SPECIFIC_VOLUME));
+                break;
+
+            case TEMPERATURE_PH:
+                value = interpolate(p, h, TEMPERATURE);
+                break;
+
+            default:
+                value = Double.NaN;
+        }
+        return value == value ? value : function.calculate(p, h, status);
+    }
+
+    /**
+     * Map tables written by {@link #write(Path)} into memory. Interpolation
+     * reads the mapped file directly.
+     *
+     * @param path table file
+     * @return tables
+     * @throws IOException when the file cannot be read, is no table file of
+     * this format version &amp; default unit system or fails its checksum
+     */
+    public static SplineTablesPH map(Path path) throws IOException {
+
+        ByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        byte[] magic = new byte[MAGIC.length], unitSystem = new byte[GRID - UNIT_SYSTEM];
+
+        if (buffer.capacity() >= HEADER) {
+            buffer.get(magic);
+        }
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a spline table file: " + path);
+
+        } else if (buffer.getInt(8) != FORMAT_VERSION) {
+            throw new IOException("Unsupported spline table format version: " + buffer.getInt(8));
+        }
+        buffer.position(UNIT_SYSTEM);
+        buffer.get(unitSystem);
+
+        if (!new String(unitSystem, StandardCharsets.US_ASCII).trim().equals(IF97.UnitSystem.DEFAULT.name())) {
+            throw new IOException("Spline tables should be in the default unit system.");
+        }
+        int nx = buffer.getInt(12), ny = buffer.getInt(16);
+        long offset = HEADER;
+
+        if (buffer.getLong(CHECKSUM) != checksum(buffer)) {
+            throw new IOException("Spline table file checksum mismatch: " + path);
+        }
+        Table[] tables = new Table[3];
+
+        for (int t = 0; t < tables.length && nx >= 4 && ny >= 4; t++) {
+            long size = Table.size(nx, ny, 0);
+
+            if (offset + size > buffer.capacity()) {
+                break;
+            }
+            size += 8L * PATCH * buffer.getInt((int) (offset + size - 8));
+
+            if (size < Table.size(nx, ny, 0) || offset + size > buffer.capacity()) {
+                break;
+            }
+            tables[t] = new Table(buffer, (int) offset, nx, ny,
+                    buffer.getDouble(GRID + 16 * t), buffer.getDouble(GRID + 16 * t + 8));
+            offset += size;
+        }
+        if (tables[SUPERCRITICAL] == null || offset != buffer.capacity()) {
+            throw new IOException("Spline table file size does not match its grid: " + path);
+        }
+        return new SplineTablesPH(buffer.getDouble(24), tables[LIQUID], tables[VAPOUR], tables[SUPERCRITICAL]);
+    }
+
+    /**
+     * Hermite slope coefficient of node m in the slope at node j of n.
+     */
+    private static double slope(int j, int m, int n) {
+
+        if (j == 0) {
+            return m == 0 ? -1.5 : m == 1 ? 2 : m == 2 ? -0.5 : 0;
+
+        } else if (j == n - 1) {
+            return m == n - 1 ? 1.5 : m == n - 2 ? -2 : m == n - 3 ? 0.5 : 0;
+        }
+        return m == j - 1 ? -0.5 : m == j + 1 ? 0.5 : 0;
+    }
+
+    /**
+     * Weight of node m in the cubic Hermite interpolation at fraction s of
+     * cell i, between nodes i &amp; i + 1 of n.
+     */
+    private static double weight(int m, int i, int n, double s) {
+
+        double r = 1 - s,
+                h00 = (1 + 2 * s) * r * r,
+                h01 = s * s * (3 - 2 * s),
+                h10 = s * r * r,
+                h11 = -s * s * r;
+
+        return (m == i ? h00 : m == i + 1 ? h01 : 0)
+                + h10 * slope(i, m, n) + h11 * slope(i + 1, m, n);
+    }
+
+    /**
+     * Specific enthalpy at the critical point of the region 3 &amp; 4
+     * boundary, where its saturation pressure peaks.
+     *
+     * @return specific enthalpy [kJ/kg]
+     */
+    private static double peakSaturationEnthalpy() {
+
+        double a = hSat623Liquid, b = hSat623Vapour, r = (sqrt(5) - 1) / 2;
+
+        while (b - a > 1e-9 * b) {
+            double c = b - r * (b - a), d = a + r * (b - a);
+
+            if (Region4.saturationPressureH(c) > Region4.saturationPressureH(d)) {
+                b = d;
+            } else {
+                a = c;
+            }
+        }
+        return (a + b) / 2;
+    }
+
+    /**
+     * Property values of the IF97 equations, matching the (p,h) functions of
+     * {@link IF97}.
+     *
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @param values property values, NaN where out of range
+     */
+    private static void reference(double p, double h, double[] values) {
+
+        try {
+            double T = IF97.Calculate.temperaturePH(p, h);
+            Region region = getRegionPT(p, T);
+
+            values[TEMPERATURE] = T;
+            values[LN_SPECIFIC_VOLUME] = log(RegionDispatch.specificVolumePT(region, p, T));
+            values[SPECIFIC_ENTROPY] = RegionDispatch.specificEntropyPT(region, p, T);
+            values[SPECIFIC_INTERNAL_ENERGY] = RegionDispatch.specificInternalEnergyPT(region, p, T);
+
+        } catch (OutOfRangeException e) {
+            for (int k = 0; k < PROPERTIES; k++) {
+                values[k] = Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * Specific enthalpy of saturated liquid or vapour, where the region
+     * selection of {@link Region#getRegionPH(double, double)} switches to
+     * and from region 4.
+     *
+     * @param p pressure [MPa]
+     * @param vapour saturated vapour instead of liquid
+     * @return specific enthalpy [kJ/kg]
+     */
+    private static double saturationEnthalpy(double p, boolean vapour) {
+
+        if (p < pSat623) {
+            double Tsat = Region4.saturationTemperatureP(p);
+
+            return vapour
+                    ? REGION2.specificEnthalpyPT(p, Tsat)
+                    : REGION1.specificEnthalpyPT(p, Tsat);
+        }
+        double a = vapour ? hSat623Vapour : hSat623Liquid, b = hPeak;
+
+        if (p >= Region4.saturationPressureH(b)) {
+            return b;
+
+        } else if (p <= Region4.saturationPressureH(a)) {
+            return a;
+        }
+        for (int i = 0; i < 100; i++) {
+            double c = (a + b) / 2;
+
+            if (c == a || c == b) {
+                break;
+
+            } else if (p > Region4.saturationPressureH(c)) {
+                a = c;
+            } else {
+                b = c;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Specific entropy.
+     *
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @return specific entropy [kJ/(kg K)]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    double specificEntropyPH(double p, double h) throws OutOfRangeException {
+
+        double s = interpolate(p, h, SPECIFIC_ENTROPY);
+
+        return s == s ? s : IF97.Calculate.specificEntropyPH(p, h);
+    }
+
+    /**
+     * Specific internal energy.
+     *
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @return specific internal energy [kJ/kg]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    double specificInternalEnergyPH(double p, double h) throws OutOfRangeException {
+
+        double u = interpolate(p, h, SPECIFIC_INTERNAL_ENERGY);
+
+        return u == u ? u : IF97.Calculate.specificInternalEnergyPH(p, h);
+    }
+
+    /**
+     * Specific volume.
+     *
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @return specific volume [m&sup3;/kg]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    double specificVolumePH(double p, double h) throws OutOfRangeException {
+
+        double lnv = interpolate(p, h, LN_SPECIFIC_VOLUME);
+
+        return lnv == lnv ? exp(lnv) : IF97.Calculate.specificVolumePH(p, h);
+    }
+
+    /**
+     * Temperature.
+     *
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @return temperature [K]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    double temperaturePH(double p, double h) throws OutOfRangeException {
+
+        double T = interpolate(p, h, TEMPERATURE);
+
+        return T == T ? T : IF97.Calculate.temperaturePH(p, h);
+    }
+
+    /**
+     * Write the tables to a file for {@link #map(Path)}. The file is written
+     * next to its destination first &amp; then moved in place, so processes
+     * mapping the destination never see a partial file.
+     *
+     * @param path table file
+     * @throws IOException when the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+
+        Table[] tables = {liquid, vapour, supercritical};
+        int nx = liquid.nx, ny = liquid.ny;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER + liquid.size() + vapour.size() + supercritical.size())
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.put(MAGIC).putInt(FORMAT_VERSION).putInt(nx).putInt(ny).putInt(0).putDouble(tolerance);
+        buffer.position(UNIT_SYSTEM);
+        buffer.put(IF97.UnitSystem.DEFAULT.name().getBytes(StandardCharsets.US_ASCII));
+        buffer.position(GRID);
+
+        for (Table table : tables) {
+            buffer.putDouble(table.x0).putDouble(table.dx);
+        }
+        for (Table table : tables) {
+            table.put(buffer);
+        }
+        buffer.putLong(CHECKSUM, checksum(buffer));
+        buffer.clear();
+
+        Path target = path.toAbsolutePath(),
+                temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Single-phase table over a uniform grid in ln(p) &amp; scaled specific
+     * enthalpy. Node (i, j) lies at the i-th pressure &amp; at fraction
+     * j / (ny - 1) between the lower &amp; upper enthalpy boundary at that
+     * pressure.
+     */
+    private static final class Table {
+
+        private final int nx, ny;
+        private final double x0, dx;
+        private final DoubleBuffer lower, upper;
+        /**
+         * Node values, index (property * nx + i) * ny + j.
+         */
+        private final DoubleBuffer values;
+        /**
+         * Cell states, index i * (ny - 1) + j: zero where interpolated over
+         * the grid nodes, negative where calculated with the IF97 equations,
+         * otherwise the number of the patch interpolated, counting from 1.
+         */
+        private final IntBuffer cells;
+        /**
+         * Patch node values, index ((patch * PROPERTIES + property)
+         * * PATCH_NODES + a) * PATCH_NODES + c for the node at fractions
+         * a / REFINEMENT &amp; c / REFINEMENT of the cell.
+         */
+        private final DoubleBuffer patches;
+
+        Table(int kind, double x0, double x1, int nx, int ny, double tolerance) {
+
+            this.nx = nx;
+            this.ny = ny;
+            this.x0 = x0;
+            dx = (x1 - x0) / (nx - 1);
+
+            double[] lower = new double[nx], upper = new double[nx],
+                    values = new double[PROPERTIES * nx * ny];
+
+            this.lower = DoubleBuffer.wrap(lower);
+            this.upper = DoubleBuffer.wrap(upper);
+            this.values = DoubleBuffer.wrap(values);
+            cells = IntBuffer.allocate((nx - 1) * (ny - 1));
+
+            double[] node = new double[PROPERTIES];
+            int[] branches = new int[nx * ny];
+
+            for (int i = 0; i < nx; i++) {
+                double p = exp(x0 + i * dx);
+
+                if (i == 0) {
+                    p = kind == SUPERCRITICAL ? pc : pMin;
+
+                } else if (i == nx - 1) {
+                    p = kind == SUPERCRITICAL ? pMax : pc;
+                }
+                lower[i] = kind == VAPOUR
+                        ? saturationEnthalpy(p, true)
+                        : REGION1.specificEnthalpyPT(p, T273);
+                upper[i] = kind == LIQUID
+                        ? saturationEnthalpy(p, false)
+                        : REGION2.specificEnthalpyPT(p, T1073);
+
+                for (int j = 0; j < ny; j++) {
+                    double h = lower[i] + (upper[i] - lower[i]) * j / (ny - 1);
+
+                    reference(p, h, node);
+                    branches[i * ny + j] = branch(p, h);
+
+                    for (int k = 0; k < PROPERTIES; k++) {
+                        values[(k * nx + i) * ny + j] = node[k];
+                    }
+                }
+            }
+            verify(branches, tolerance);
+            patches = refine(tolerance);
+        }
+
+        /**
+         * Table on a table file region.
+         */
+        Table(ByteBuffer buffer, int offset, int nx, int ny, double x0, double dx) {
+
+            int size = size(nx, ny, 0);
+
+            this.nx = nx;
+            this.ny = ny;
+            this.x0 = x0;
+            this.dx = dx;
+            lower = slice(buffer, offset, 8 * nx).asDoubleBuffer();
+            upper = slice(buffer, offset + 8 * nx, 8 * nx).asDoubleBuffer();
+            values = slice(buffer, offset + 16 * nx, 8 * PROPERTIES * nx * ny).asDoubleBuffer();
+            cells = slice(buffer, offset + 8 * (2 + PROPERTIES * ny) * nx, 4 * (nx - 1) * (ny - 1)).asIntBuffer();
+            patches = slice(buffer, offset + size, 8 * PATCH * buffer.getInt(offset + size - 8)).asDoubleBuffer();
+        }
+
+        /**
+         * Size in a table file.
+         *
+         * @param nx pressure nodes
+         * @param ny specific enthalpy nodes
+         * @param patches number of patches
+         * @return size [bytes]
+         */
+        static int size(int nx, int ny, int patches) {
+            return 8 * (2 + PROPERTIES * ny) * nx + (4 * (nx - 1) * (ny - 1) + 7) / 8 * 8 + 8 + 8 * PATCH * patches;
+        }
+
+        /**
+         * Size of this table in a table file.
+         *
+         * @return size [bytes]
+         */
+        int size() {
+            return size(nx, ny, patches.capacity() / PATCH);
+        }
+
+        private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+
+            ByteBuffer slice = buffer.duplicate();
+
+            slice.limit(offset + length).position(offset);
+            return slice.slice().order(buffer.order());
+        }
+
+        /**
+         * Specific enthalpy at fraction s of row i &amp; scaled enthalpy y,
+         * between the interpolated table boundaries.
+         */
+        private double enthalpy(int i, double s, double y) {
+
+            int b = min(max(i - 1, 0), nx - 4);
+            double wx0 = weight(b, i, nx, s),
+                    wx1 = weight(b + 1, i, nx, s),
+                    wx2 = weight(b + 2, i, nx, s),
+                    wx3 = weight(b + 3, i, nx, s),
+                    hLow = wx0 * lower.get(b) + wx1 * lower.get(b + 1) + wx2 * lower.get(b + 2) + wx3 * lower.get(b + 3),
+                    hHigh = wx0 * upper.get(b) + wx1 * upper.get(b + 1) + wx2 * upper.get(b + 2) + wx3 * upper.get(b + 3);
+
+            return hLow + (hHigh - hLow) * y / (ny - 1);
+        }
+
+        /**
+         * Mark a cell to be calculated with the IF97 equations.
+         */
+        private void exclude(int i, int j) {
+            cells.put(i * (ny - 1) + j, -1);
+        }
+
+        /**
+         * Append to a table file.
+         */
+        void put(ByteBuffer buffer) {
+
+            for (int i = 0; i < nx; i++) {
+                buffer.putDouble(lower.get(i));
+            }
+            for (int i = 0; i < nx; i++) {
+                buffer.putDouble(upper.get(i));
+            }
+            for (int i = 0; i < values.capacity(); i++) {
+                buffer.putDouble(values.get(i));
+            }
+            for (int i = 0; i < cells.capacity(); i++) {
+                buffer.putInt(cells.get(i));
+            }
+            buffer.position((buffer.position() + 7) / 8 * 8);
+            buffer.putInt(patches.capacity() / PATCH).putInt(0);
+
+            for (int i = 0; i < patches.capacity(); i++) {
+                buffer.putDouble(patches.get(i));
+            }
+        }
+
+        /**
+         * Interpolated property.
+         *
+         * @param x logarithm of pressure
+         * @param h specific enthalpy [kJ/kg]
+         * @param property tabulated property
+         * @return property value, NaN outside the table or in a fallback cell
+         */
+        double interpolate(double x, double h, int property) {
+
+            double t = (x - x0) / dx;
+            int i = min(max((int) t, 0), nx - 2),
+                    b = min(max(i - 1, 0), nx - 4);
+            double s = t - i,
+                    wx0 = weight(b, i, nx, s),
+                    wx1 = weight(b + 1, i, nx, s),
+                    wx2 = weight(b + 2, i, nx, s),
+                    wx3 = weight(b + 3, i, nx, s),
+                    hLow = wx0 * lower.get(b) + wx1 * lower.get(b + 1) + wx2 * lower.get(b + 2) + wx3 * lower.get(b + 3),
+                    hHigh = wx0 * upper.get(b) + wx1 * upper.get(b + 1) + wx2 * upper.get(b + 2) + wx3 * upper.get(b + 3),
+                    y = (h - hLow) / (hHigh - hLow) * (ny - 1);
+
+            if (!(y >= 0 && y <= ny - 1)) {
+                return Double.NaN;
+            }
+            int j = min((int) y, ny - 2),
+                    cell = cells.get(i * (ny - 1) + j);
+
+            if (cell == 0) {
+                return value(property, b, wx0, wx1, wx2, wx3, j, y);
+
+            } else if (cell < 0) {
+                return Double.NaN;
+            }
+            return patch(patches, (cell - 1) * PATCH, property, s, y - j);
+        }
+
+        /**
+         * Bicubic Hermite interpolation over the 4 x 4 nodes around cell
+         * column j.
+         */
+        private double value(int property, int b, double wx0, double wx1, double wx2, double wx3, int j, double y) {
+
+            int c = min(max(j - 1, 0), ny - 4), r = (property * nx + b) * ny + c;
+            double s = y - j,
+                    wy0 = weight(c, j, ny, s),
+                    wy1 = weight(c + 1, j, ny, s),
+                    wy2 = weight(c + 2, j, ny, s),
+                    wy3 = weight(c + 3, j, ny, s);
+
+            return wx0 * row(r, wy0, wy1, wy2, wy3)
+                    + wx1 * row(r + ny, wy0, wy1, wy2, wy3)
+                    + wx2 * row(r + 2 * ny, wy0, wy1, wy2, wy3)
+                    + wx3 * row(r + 3 * ny, wy0, wy1, wy2, wy3);
+        }
+
+        /**
+         * Bicubic Hermite interpolation over the nodes of a patch, at
+         * fractions s &amp; t of its cell.
+         */
+        private static double patch(DoubleBuffer patches, int offset, int property, double s, double t) {
+
+            double u = s * REFINEMENT, v = t * REFINEMENT;
+            int a = min((int) u, REFINEMENT - 1), c = min((int) v, REFINEMENT - 1),
+                    r = offset + property * PATCH_NODES * PATCH_NODES;
+            double wv0 = weight(0, c, PATCH_NODES, v - c),
+                    wv1 = weight(1, c, PATCH_NODES, v - c),
+                    wv2 = weight(2, c, PATCH_NODES, v - c),
+                    wv3 = weight(3, c, PATCH_NODES, v - c),
+                    value = 0;
+
+            for (int m = 0; m < PATCH_NODES; m++) {
+                int n = r + m * PATCH_NODES;
+
+                value += weight(m, a, PATCH_NODES, u - a) * (wv0 * patches.get(n) + wv1 * patches.get(n + 1)
+                        + wv2 * patches.get(n + 2) + wv3 * patches.get(n + 3));
+            }
+            return value;
+        }
+
+        /**
+         * Patch for cell (i, j), when its nodes lie on a single branch of the
+         * IF97 equations &amp; it passes the check of
+         * {@link #verify(int[], double)} at the quarter points of its own
+         * cells.
+         *
+         * @param patch patch node values
+         * @return whether the patch is valid
+         */
+        private boolean refine(int i, int j, DoubleBuffer patch, double[] expected, double[] actual, double tolerance) {
+
+            int first = 0;
+
+            for (int a = 0; a < PATCH_NODES; a++) {
+                double s = (double) a / REFINEMENT, p = exp(x0 + (i + s) * dx);
+
+                for (int c = 0; c < PATCH_NODES; c++) {
+                    double h = enthalpy(i, s, j + (double) c / REFINEMENT);
+                    int branch = branch(p, h);
+
+                    if (branch == 0 || a + c > 0 && branch != first) {
+                        return false;
+                    }
+                    first = branch;
+                    reference(p, h, expected);
+
+                    for (int k = 0; k < PROPERTIES; k++) {
+                        patch.put((k * PATCH_NODES + a) * PATCH_NODES + c, expected[k]);
+                    }
+                }
+            }
+            int n = 4 * REFINEMENT;
+
+            for (int m = 0; m <= n; m++) {
+                double s = (double) m / n, p = exp(x0 + (i + s) * dx);
+
+                for (int q = 0; q <= n; q++) {
+                    double t = (double) q / n, h = enthalpy(i, s, j + t);
+
+                    reference(p, h, expected);
+
+                    for (int k = 0; k < PROPERTIES; k++) {
+                        actual[k] = patch(patch, 0, k, s, t);
+                    }
+                    if (branch(p, h) != first || deviates(expected, actual, tolerance)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Refine the cells failing the check into patches of REFINEMENT x
+         * REFINEMENT cells, cells whose patch fails as well are calculated
+         * with the IF97 equations.
+         *
+         * @return patch node values
+         */
+        private DoubleBuffer refine(double tolerance) {
+
+            DoubleBuffer patch = DoubleBuffer.allocate(PATCH);
+            double[] expected = new double[PROPERTIES], actual = new double[PROPERTIES],
+                    refined = new double[16 * PATCH];
+            int count = 0;
+
+            for (int i = 0; i < nx - 1; i++) {
+                for (int j = 0; j < ny - 1; j++) {
+                    if (cells.get(i * (ny - 1) + j) == 0 || !refine(i, j, patch, expected, actual, tolerance)) {
+                        continue;
+                    }
+                    if (refined.length < (count + 1) * PATCH) {
+                        refined = Arrays.copyOf(refined, 2 * refined.length);
+                    }
+                    System.arraycopy(patch.array(), 0, refined, count++ * PATCH, PATCH);
+                    cells.put(i * (ny - 1) + j, count);
+                }
+            }
+            return DoubleBuffer.wrap(Arrays.copyOf(refined, count * PATCH));
+        }
+
+        /**
+         * Weighted sum of 4 consecutive node values.
+         */
+        private double row(int r, double w0, double w1, double w2, double w3) {
+            return w0 * values.get(r) + w1 * values.get(r + 1) + w2 * values.get(r + 2) + w3 * values.get(r + 3);
+        }
+
+        /**
+         * Exclude cells whose stencil spans several branches of the IF97
+         * equations, or deviating more than the tolerance from IF97 at the
+         * quarter points of their enthalpy edges along five pressures: both
+         * pressure edges, a quarter, half &amp; three quarters of the cell.
+         * Corners, edge midpoints &amp; the center of every cell are checked.
+         */
+        private void verify(int[] branches, double tolerance) {
+
+            double[] expected = new double[PROPERTIES], actual = new double[PROPERTIES];
+
+            for (int i = 0; i < nx - 1; i++) {
+                int b = min(max(i - 1, 0), nx - 4);
+
+                for (int j = 0; j < ny - 1; j++) {
+                    int c = min(max(j - 1, 0), ny - 4), first = branches[b * ny + c];
+
+                    for (int n = 0; n < 16; n++) {
+                        if (branches[(b + n / 4) * ny + c + n % 4] != first) {
+                            exclude(i, j);
+                        }
+                    }
+                }
+                // q = 0: the node row, shared with the cells of the row below
+                for (int q = 0; q < 4; q++) {
+                    verify(branches, tolerance, i, b, q / 4.0, expected, actual);
+                }
+            }
+            verify(branches, tolerance, nx - 2, nx - 4, 1, expected, actual);
+        }
+
+        /**
+         * Exclude cells of row i deviating more than the tolerance from IF97
+         * at the quarter points of the pressure at fraction s of the row,
+         * along with the cells of the row below at its node row.
+         */
+        private void verify(int[] branches, double tolerance, int i, int b, double s, double[] expected, double[] actual) {
+
+            double p = exp(x0 + (i + s) * dx),
+                    wx0 = weight(b, i, nx, s),
+                    wx1 = weight(b + 1, i, nx, s),
+                    wx2 = weight(b + 2, i, nx, s),
+                    wx3 = weight(b + 3, i, nx, s);
+
+            // m multiple of 4: enthalpy edges shared by two cells
+            for (int m = 0; m < 4 * ny - 3; m++) {
+                double y = m / 4.0, h = enthalpy(i, s, y);
+                int j = min(m / 4, ny - 2);
+
+                reference(p, h, expected);
+
+                for (int k = 0; k < PROPERTIES; k++) {
+                    actual[k] = value(k, b, wx0, wx1, wx2, wx3, j, y);
+                }
+                if (branch(p, h) == branches[i * ny + j] && !deviates(expected, actual, tolerance)) {
+                    continue;
+                }
+                for (int r = s == 0 && i > 0 ? i - 1 : i; r <= i; r++) {
+                    if (m % 4 != 0 || m / 4 < ny - 1) {
+                        exclude(r, m / 4);
+                    }
+                    if (m % 4 == 0 && m > 0) {
+                        exclude(r, m / 4 - 1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Whether any interpolated property deviates more than the tolerance
+         * from the expected values.
+         */
+        private static boolean deviates(double[] expected, double[] actual, double tolerance) {
+
+            for (int k = 0; k < PROPERTIES; k++) {
+                double e = expected[k], a = actual[k], scale;
+
+                if (k == LN_SPECIFIC_VOLUME) {
+                    e = exp(e);
+                    a = exp(a);
+                    scale = e;
+
+                } else if (k == TEMPERATURE) {
+                    scale = e;
+
+                } else {
+                    scale = max(abs(e), 1);
+                }
+                if (!(abs(a - e) <= MARGIN * tolerance * scale)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * StateTracker.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import static com.hummeling.if97.Region.*;
+import static com.hummeling.if97.Regions.*;
+import static java.lang.Math.*;
+
+/**
+ * Tracks a stream of queries for one fluid parcel, e.g. successive time
+ * steps of a simulation. Consecutive points nearly always stay in the same
+ * region, so the tracker remembers the region of the last point &amp; only
+ * checks that the next point stays inside its bounds, instead of classifying
+ * it from scratch. Points near a region boundary, or leaving the region, are
+ * classified in full, so results equal those of {@link IF97}.
+ *
+ * For pressure &amp; enthalpy the points are classified exactly like
+ * {@link IF97} does, but the boundary enthalpies are remembered for the
+ * pressure they were evaluated at: the saturated liquid &amp; vapour
+ * enthalpies below 623.15 K, otherwise the enthalpies at 623.15 K &amp; on
+ * the B23 boundary, the region 2 enthalpy at 1073.15 K and the enthalpy
+ * separating subregions 3a &amp; 3b. No boundary moves more than
+ * {@link #SLOPE} times the change of the logarithm of pressure, so a point
+ * at a nearby pressure farther than that margin from a remembered boundary
+ * is on the same side of it as the remembered value says. Only points within
+ * the margin re-evaluate the boundaries, at their own pressure, e.g. a
+ * pressure drifting by 0.1% per step leaves the margin at about 1 kJ/kg.
+ * An exact repeat of the last point returns its remembered temperature. For
+ * enthalpy &amp; entropy only the boundaries of the remembered region are
+ * evaluated.
+ *
+ * Subregions other than those of region 3 for pressure &amp; enthalpy are
+ * selected by the regions' backward equations themselves, at the cost of a
+ * single boundary polynomial.
+ *
+ * Trackers aren't thread-safe, use one per thread. They don't allocate.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class StateTracker {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    private final Units UNITS;
+    private Region regionHS;
+    /**
+     * Upper bound of the change of any pressure &amp; enthalpy boundary per
+     * unit change of the logarithm of pressure [kJ/kg], with a margin over
+     * the steepest, the B23 boundary at about 760 kJ/kg.
+     */
+    static final double SLOPE = 1000;
+    /**
+     * Pressure of the remembered boundary values, the saturation temperature
+     * &amp; the enthalpies bounding region 1 &amp; 2 at that pressure, the
+     * region 2 enthalpy at 1073.15 K and the enthalpy between subregions 3a
+     * &amp; 3b. NaN until evaluated.
+     */
+    private double pressure = Double.NaN, saturationTemperature,
+            liquidEnthalpy, vapourEnthalpy, enthalpy1073, enthalpy3ab;
+    /**
+     * Pressure, enthalpy &amp; temperature of the last point.
+     */
+    private double lastPressure = Double.NaN, lastEnthalpy, lastTemperature;
+    private long hits, misses;
+    // </editor-fold>
+
+    /**
+     * Tracker for the given unit system.
+     *
+     * @param unitSystem unit system of inputs &amp; properties
+     */
+    public StateTracker(IF97.UnitSystem unitSystem) {
+        UNITS = unitSystem.UNITS;
+    }
+
+    /**
+     * Number of queries answered without classification since construction
+     * or the last {@link #reset()}.
+     *
+     * @return hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Number of queries classified in full since construction or the last
+     * {@link #reset()}.
+     *
+     * @return misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Pressure as a function of specific enthalpy & specific entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return pressure
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double pressureHS(double enthalpy, double entropy) throws OutOfRangeException {
+
+        try {
+            double h = UNITS.SPECIFIC_ENTHALPY.toDefault(enthalpy),
+                    s = UNITS.SPECIFIC_ENTROPY.toDefault(entropy);
+            Region region = regionHS;
+
+            if (region != null && isInRegionHS(region, h, s)) {
+                hits++;
+
+            } else {
+                misses++;
+                region = regionHS = getRegionHS(h, s);
+            }
+            return UNITS.PRESSURE.fromDefault(RegionDispatch.pressureHS(region, h, s));
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(UNITS);
+        }
+    }
+
+    /**
+     * Forgets the remembered regions &amp; resets the hit &amp; miss counters,
+     * e.g. when the tracker moves on to another fluid parcel.
+     */
+    public void reset() {
+        regionHS = null;
+        pressure = lastPressure = Double.NaN;
+        hits = misses = 0;
+    }
+
+    /**
+     * Temperature as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return temperature
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double temperaturePH(double pressure, double enthalpy) throws OutOfRangeException {
+
+        try {
+            double p = UNITS.PRESSURE.toDefault(pressure),
+                    h = UNITS.SPECIFIC_ENTHALPY.toDefault(enthalpy);
+
+            return UNITS.TEMPERATURE.fromDefault(temperatureDefaultPH(p, h));
+
+        } catch (OutOfRangeException e) {
+            throw e.convertFromDefault(UNITS);
+        }
+    }
+
+    /**
+     * Temperature in default units, classifying the point like
+     * {@link Region#getRegionPH(double, double)} with the remembered boundary
+     * values, re-evaluated at its pressure only when it's within the margin
+     * of one of them.
+     *
+     * @param p pressure [MPa]
+     * @param h specific enthalpy [kJ/kg]
+     * @return temperature [K]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    private double temperatureDefaultPH(double p, double h) throws OutOfRangeException {
+
+        if (p < pSat273) {
+            throw new OutOfRangeException(IF97.Quantity.p, p, pSat273);
+        }
+        if (p == lastPressure && h == lastEnthalpy) {
+            hits++;
+            return lastTemperature;
+        }
+        boolean hit = true;
+        double margin = p == pressure ? 0 : SLOPE * abs(log(p / pressure));
+
+        if (!(margin < Double.POSITIVE_INFINITY) || p < pSat623 != pressure < pSat623) {
+            // nothing remembered, or the boundaries of the other side of 623.15 K
+            margin = recenter(p, 1);
+        }
+        if (h > h1073Min) {
+            if (!(abs(h - enthalpy1073) > margin)) {
+                margin = recenter(p, margin);
+
+                if (enthalpy1073 != enthalpy1073) {
+                    enthalpy1073 = REGION2.specificEnthalpyPT(p, T1073);
+                    hit = false;
+                }
+            }
+            if (h > enthalpy1073) {
+                if (p > 50) {
+                    throw new OutOfRangeException(IF97.Quantity.p, p, 50);
+                }
+                count(hit);
+                return remember(p, h, REGION5.temperaturePH(p, h));
+            }
+        }
+        Region region;
+
+        if (p < pSat623) {
+            if (!(abs(h - liquidEnthalpy) > margin)) {
+                margin = recenter(p, margin);
+
+                if (liquidEnthalpy != liquidEnthalpy) {
+                    saturationTemperature = Region4.saturationTemperatureP(p);
+                    liquidEnthalpy = REGION1.specificEnthalpyPT(p, saturationTemperature);
+                    hit = false;
+                }
+            }
+            if (h < liquidEnthalpy) {
+                region = REGION1;
+
+            } else {
+                if (!(abs(h - vapourEnthalpy) > margin)) {
+                    margin = recenter(p, margin);
+
+                    if (vapourEnthalpy != vapourEnthalpy) {
+                        if (saturationTemperature != saturationTemperature) {
+                            saturationTemperature = Region4.saturationTemperatureP(p);
+                        }
+                        vapourEnthalpy = REGION2.specificEnthalpyPT(p, saturationTemperature);
+                        hit = false;
+                    }
+                }
+                if (h > vapourEnthalpy) {
+                    region = REGION2;
+
+                } else {
+                    count(hit);
+                    return remember(p, h, p == pressure ? saturationTemperature : Region4.saturationTemperatureP(p));
+                }
+            }
+        } else if (hSat623Liquid <= h && h <= hSat623Vapour) {
+            region = p > Region4.saturationPressureH(h) ? REGION3 : REGION4;
+
+        } else {
+            if (!(abs(h - liquidEnthalpy) > margin)) {
+                margin = recenter(p, margin);
+
+                if (liquidEnthalpy != liquidEnthalpy) {
+                    liquidEnthalpy = REGION1.specificEnthalpyPT(p, T623);
+                    hit = false;
+                }
+            }
+            if (h <= liquidEnthalpy) {
+                region = REGION1;
+
+            } else {
+                if (!(abs(h - vapourEnthalpy) > margin)) {
+                    margin = recenter(p, margin);
+
+                    if (vapourEnthalpy != vapourEnthalpy) {
+                        vapourEnthalpy = REGION2.specificEnthalpyPT(p, temperatureB23P(p));
+                        hit = false;
+                    }
+                }
+                region = h > vapourEnthalpy ? REGION2 : REGION3;
+            }
+        }
+        double temperature;
+
+        if (region == REGION3) {
+            if (!(abs(h - enthalpy3ab) > margin)) {
+                recenter(p, margin);
+
+                if (enthalpy3ab != enthalpy3ab) {
+                    enthalpy3ab = Region3.enthalpy3ab(p);
+                    hit = false;
+                }
+            }
+            temperature = REGION3.temperaturePH(h < enthalpy3ab ? Region3.SubRegion.a : Region3.SubRegion.b, p, h);
+
+        } else {
+            temperature = RegionDispatch.temperaturePH(region, p, h);
+        }
+        count(hit);
+        return remember(p, h, temperature);
+    }
+
+    private void count(boolean hit) {
+
+        if (hit) {
+            hits++;
+
+        } else {
+            misses++;
+        }
+    }
+
+    /**
+     * Forgets the remembered boundary values when they belong to another
+     * pressure, i.e. the margin isn't zero.
+     *
+     * @param p pressure [MPa]
+     * @param margin margin of the remembered boundary values [kJ/kg]
+     * @return margin of the boundary values at the given pressure, zero
+     */
+    private double recenter(double p, double margin) {
+
+        if (margin != 0) {
+            pressure = p;
+            saturationTemperature = liquidEnthalpy = vapourEnthalpy = enthalpy1073 = enthalpy3ab = Double.NaN;
+        }
+        return 0;
+    }
+
+    private double remember(double p, double h, double temperature) {
+        lastPressure = p;
+        lastEnthalpy = h;
+        return lastTemperature = temperature;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * ThermodynamicState.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+/**
+ * Immutable thermodynamic state, all thermodynamic properties from one region
+ * evaluation, the transport properties from its density &amp; temperature.
+ *
+ * Values are in the unit system of the IF97 object that created it;
+ * properties undefined for the state are NaN.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class ThermodynamicState {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    private final int REGION;
+    private final double PRESSURE, TEMPERATURE, ENTHALPY, ENTROPY, INTERNAL_ENERGY,
+            VOLUME, DENSITY, ISOBARIC_HEAT_CAPACITY, ISOCHORIC_HEAT_CAPACITY,
+            SPEED_OF_SOUND, EXPANSION_COEFFICIENT, COMPRESSIBILITY, DYNAMIC_VISCOSITY,
+            THERMAL_CONDUCTIVITY, VAPOUR_FRACTION;
+// </editor-fold>
+
+    ThermodynamicState(MutableThermodynamicState state) {
+
+        REGION = state.region;
+        PRESSURE = state.p;
+        TEMPERATURE = state.T;
+        ENTHALPY = state.h;
+        ENTROPY = state.s;
+        INTERNAL_ENERGY = state.u;
+        VOLUME = state.v;
+        DENSITY = state.rho;
+        ISOBARIC_HEAT_CAPACITY = state.cp;
+        ISOCHORIC_HEAT_CAPACITY = state.cv;
+        SPEED_OF_SOUND = state.w;
+        EXPANSION_COEFFICIENT = state.alpha;
+        COMPRESSIBILITY = state.kappa;
+        DYNAMIC_VISCOSITY = state.eta;
+        THERMAL_CONDUCTIVITY = state.lambda;
+        VAPOUR_FRACTION = state.x;
+    }
+
+    /**
+     * Isothermal compressibility.
+     *
+     * @return isothermal compressibility
+     */
+    public double getCompressibility() {
+        return COMPRESSIBILITY;
+    }
+
+    /**
+     * Density.
+     *
+     * @return density
+     */
+    public double getDensity() {
+        return DENSITY;
+    }
+
+    /**
+     * Dynamic viscosity.
+     *
+     * @return dynamic viscosity
+     */
+    public double getDynamicViscosity() {
+        return DYNAMIC_VISCOSITY;
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient.
+     *
+     * @return isobaric cubic expansion coefficient
+     */
+    public double getIsobaricCubicExpansionCoefficient() {
+        return EXPANSION_COEFFICIENT;
+    }
+
+    /**
+     * Specific isobaric heat capacity.
+     *
+     * @return specific isobaric heat capacity
+     */
+    public double getIsobaricHeatCapacity() {
+        return ISOBARIC_HEAT_CAPACITY;
+    }
+
+    /**
+     * Specific isochoric heat capacity.
+     *
+     * @return specific isochoric heat capacity
+     */
+    public double getIsochoricHeatCapacity() {
+        return ISOCHORIC_HEAT_CAPACITY;
+    }
+
+    /**
+     * Pressure.
+     *
+     * @return pressure
+     */
+    public double getPressure() {
+        return PRESSURE;
+    }
+
+    /**
+     * IAPWS-IF97 region number.
+     *
+     * @return region number [1-5]
+     */
+    public int getRegion() {
+        return REGION;
+    }
+
+    /**
+     * Specific enthalpy.
+     *
+     * @return specific enthalpy
+     */
+    public double getSpecificEnthalpy() {
+        return ENTHALPY;
+    }
+
+    /**
+     * Specific entropy.
+     *
+     * @return specific entropy
+     */
+    public double getSpecificEntropy() {
+        return ENTROPY;
+    }
+
+    /**
+     * Specific internal energy.
+     *
+     * @return specific internal energy
+     */
+    public double getSpecificInternalEnergy() {
+        return INTERNAL_ENERGY;
+    }
+
+    /**
+     * Specific volume.
+     *
+     * @return specific volume
+     */
+    public double getSpecificVolume() {
+        return VOLUME;
+    }
+
+    /**
+     * Speed of sound, always in [m/s].
+     *
+     * @return speed of sound [m/s]
+     */
+    public double getSpeedOfSound() {
+        return SPEED_OF_SOUND;
+    }
+
+    /**
+     * Temperature.
+     *
+     * @return temperature
+     */
+    public double getTemperature() {
+        return TEMPERATURE;
+    }
+
+    /**
+     * Thermal conductivity.
+     *
+     * @return thermal conductivity
+     */
+    public double getThermalConductivity() {
+        return THERMAL_CONDUCTIVITY;
+    }
+
+    /**
+     * Vapour fraction.
+     *
+     * @return vapour fraction [-]
+     */
+    public double getVapourFraction() {
+        return VAPOUR_FRACTION;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Trace.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Function;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Calls read from a trace file written by {@link TraceRecorder}, in file
+ * order. Call i evaluates {@code FUNCTIONS[i]} of {@code X[i]} &amp;
+ * {@code Y[i]} in units {@code UNITS[UNIT[i]]}.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+final class Trace {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    final Function[] FUNCTIONS;
+    final double[] X, Y;
+    final int[] UNIT;
+    /**
+     * Distinct units of the trace.
+     */
+    final Units[] UNITS;
+    // </editor-fold>
+
+    private Trace(Function[] functions, double[] x, double[] y, int[] unit, Units[] units) {
+        FUNCTIONS = functions;
+        X = x;
+        Y = y;
+        UNIT = unit;
+        UNITS = units;
+    }
+
+    /**
+     * Read the calls of a trace file.
+     *
+     * @param path trace file
+     * @return calls
+     * @throws IOException when the file cannot be read, is no trace file of
+     * this format version or is truncated or corrupt
+     */
+    static Trace read(Path path) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[TraceRecorder.MAGIC.length];
+
+        try {
+            buffer.get(magic);
+
+            if (!Arrays.equals(magic, TraceRecorder.MAGIC)) {
+                throw new IOException("Not a trace file: " + path);
+
+            } else if (buffer.getInt() != TraceRecorder.FORMAT_VERSION) {
+                throw new IOException("Unsupported trace format version: " + buffer.getInt(magic.length));
+            }
+            int count = buffer.getInt();
+
+            if (count < 0 || count > Byte.MAX_VALUE) {
+                throw new IOException("Corrupt trace file: " + path);
+            }
+            Function[] functions = new Function[count];
+
+            for (int f = 0; f < functions.length; f++) {
+                int length = buffer.get();
+
+                if (length < 0) {
+                    throw new IOException("Corrupt trace file: " + path);
+                }
+                byte[] name = new byte[length];
+                buffer.get(name);
+
+                try {
+                    functions[f] = Function.valueOf(new String(name, StandardCharsets.US_ASCII));
+
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Unknown function in trace file: " + new String(name, StandardCharsets.US_ASCII), e);
+                }
+            }
+            int capacity = buffer.remaining() / TraceRecorder.CALL_SIZE, n = 0, current = -1;
+            Function[] calls = new Function[capacity];
+            double[] x = new double[capacity], y = new double[capacity];
+            int[] unit = new int[capacity];
+            List<double[]> pairs = new ArrayList<>();
+
+            while (buffer.hasRemaining()) {
+                int tag = buffer.get();
+
+                if (tag == TraceRecorder.UNITS) {
+                    current = index(pairs, buffer, path);
+
+                } else if (tag < 0 || tag >= functions.length || current < 0) {
+                    throw new IOException("Corrupt trace file: " + path);
+
+                } else {
+                    calls[n] = functions[tag];
+                    x[n] = buffer.getDouble();
+                    y[n] = buffer.getDouble();
+                    unit[n++] = current;
+                }
+            }
+            Units[] units = new Units[pairs.size()];
+
+            for (int i = 0; i < units.length; i++) {
+                units[i] = Units.of(pairs.get(i));
+            }
+            return new Trace(Arrays.copyOf(calls, n), Arrays.copyOf(x, n), Arrays.copyOf(y, n),
+                    Arrays.copyOf(unit, n), units);
+
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated trace file: " + path, e);
+        }
+    }
+
+    /**
+     * Read a units record, units recorded before are reused.
+     *
+     * @param pairs scales &amp; biases of the units read so far
+     * @param buffer trace file contents
+     * @param path trace file
+     * @return index of the units
+     * @throws IOException when a scale or bias is invalid
+     */
+    private static int index(List<double[]> pairs, ByteBuffer buffer, Path path) throws IOException {
+        double[] pair = new double[Units.PAIRS];
+
+        for (int i = 0; i < pair.length; i++) {
+            pair[i] = buffer.getDouble();
+
+            if (Double.isNaN(pair[i]) || Double.isInfinite(pair[i]) || i % 2 == 0 && pair[i] == 0) {
+                throw new IOException("Corrupt units in trace file: " + path);
+            }
+        }
+        for (int i = 0; i < pairs.size(); i++) {
+            if (Arrays.equals(pairs.get(i), pair)) {
+                return i;
+            }
+        }
+        pairs.add(pair);
+        return pairs.size() - 1;
+    }
+}
@@ -0,0 +1,688 @@
+/*
+ * TraceRecorder.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Function;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the calls of an IF97 instance to a compact binary trace file, for
+ * replaying production workloads in benchmarks. Each call is recorded with
+ * its function &amp; raw inputs before it is evaluated, so out-of-range calls
+ * are recorded too, the units are recorded whenever they change. Calls are
+ * evaluated in the units recorded with them, read once per call. Neither
+ * times nor threads are recorded, a trace holds nothing but the queried
+ * states.
+ *
+ * Every thread appends to a buffer of its own, written to the file as a
+ * block when full, so recording threads only meet when writing a block. A
+ * block keeps the call order of its thread, blocks of different threads are
+ * interleaved in the order they fill up. Write errors stop recording &amp;
+ * are thrown by {@link #close()}, property calls never fail on the trace.
+ *
+ * File layout, little-endian: magic number, format version, number of
+ * function names &amp; the names, followed by records. A record is a function
+ * index with both inputs, or {@value #UNITS} with the scales &amp; biases of
+ * the units of the calls following it.
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class TraceRecorder implements Closeable {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    /**
+     * Trace file magic number &amp; format version.
+     */
+    static final byte[] MAGIC = "IF97TRAC".getBytes(StandardCharsets.US_ASCII);
+    static final int FORMAT_VERSION = 1;
+    /**
+     * Record tag of the units.
+     */
+    static final byte UNITS = -1;
+    /**
+     * Record sizes in bytes.
+     */
+    static final int CALL_SIZE = 1 + 2 * 8, UNITS_SIZE = 1 + Units.PAIRS * 8;
+    /**
+     * Buffer size per thread in bytes.
+     */
+    private static final int BLOCK = 1 << 16;
+    private final List<Buffer> buffers = new ArrayList<>();
+    private final FileChannel channel;
+    private final IF97 if97;
+    private final ThreadLocal<Buffer> local = new ThreadLocal<Buffer>() {
+        @Override
+        protected Buffer initialValue() {
+            Buffer buffer = new Buffer();
+
+            synchronized (buffers) {
+                buffers.add(buffer);
+            }
+            return buffer;
+        }
+    };
+    private volatile boolean closed;
+    private volatile IOException failure;
+    // </editor-fold>
+
+    /**
+     * Recorder of the calls to the given IF97 instance, the trace file is
+     * created or replaced.
+     *
+     * @param if97 IF97 instance evaluating the calls
+     * @param path trace file
+     * @throws IOException when the trace file cannot be written
+     */
+    public TraceRecorder(IF97 if97, Path path) throws IOException {
+
+        Function[] functions = Function.values();
+        ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 8 + functions.length * 64).order(ByteOrder.LITTLE_ENDIAN);
+
+        header.put(MAGIC).putInt(FORMAT_VERSION).putInt(functions.length);
+
+        for (Function function : functions) {
+            byte[] name = function.name().getBytes(StandardCharsets.US_ASCII);
+            header.put((byte) name.length).put(name);
+        }
+        header.flip();
+        this.if97 = if97;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+        try {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Prandtl number.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return Prandtl number
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double PrandtlHS(double enthalpy, double entropy) throws OutOfRangeException {
+        return record(Function.PRANDTL_HS, enthalpy, entropy).PrandtlHS(enthalpy, entropy);
+    }
+
+    /**
+     * Prandtl number.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return Prandtl number
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double PrandtlPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.PRANDTL_PH, pressure, enthalpy).PrandtlPH(pressure, enthalpy);
+    }
+
+    /**
+     * Prandtl number.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return Prandtl number
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double PrandtlPT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.PRANDTL_PT, pressure, temperature).PrandtlPT(pressure, temperature);
+    }
+
+    /**
+     * Write the buffered calls &amp; close the trace file. Calls made after
+     * closing are evaluated but not recorded.
+     *
+     * @throws IOException when the trace could not be written, the first
+     * write error during recording included
+     */
+    @Override
+    public void close() throws IOException {
+
+        synchronized (buffers) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            for (Buffer buffer : buffers) {
+                buffer.flush();
+            }
+            try {
+                channel.close();
+
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Isothermal compressibility as a function of specific enthalpy & specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return isothermal compressibility
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double compressibilityHS(double enthalpy, double entropy) throws OutOfRangeException {
+        return record(Function.COMPRESSIBILITY_HS, enthalpy, entropy).compressibilityHS(enthalpy, entropy);
+    }
+
+    /**
+     * Isothermal compressibility as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return isothermal compressibility
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double compressibilityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.COMPRESSIBILITY_PH, pressure, enthalpy).compressibilityPH(pressure, enthalpy);
+    }
+
+    /**
+     * Isothermal compressibility as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return isothermal compressibility
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double compressibilityPT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.COMPRESSIBILITY_PT, pressure, temperature).compressibilityPT(pressure, temperature);
+    }
+
+    /**
+     * Dielectric constant.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return dielectric constant [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dielectricConstantPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.DIELECTRIC_CONSTANT_PH, pressure, enthalpy).dielectricConstantPH(pressure, enthalpy);
+    }
+
+    /**
+     * Dielectric constant.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return dielectric constant [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dielectricConstantPT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.DIELECTRIC_CONSTANT_PT, pressure, temperature).dielectricConstantPT(pressure, temperature);
+    }
+
+    /**
+     * Dielectric constant.
+     *
+     * @param density density
+     * @param temperature temperature
+     * @return dielectric constant [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dielectricConstantRhoT(double density, double temperature) throws OutOfRangeException {
+        return record(Function.DIELECTRIC_CONSTANT_RHOT, density, temperature).dielectricConstantRhoT(density, temperature);
+    }
+
+    /**
+     * Dynamic viscosity as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return dynamic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dynamicViscosityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.DYNAMIC_VISCOSITY_PH, pressure, enthalpy).dynamicViscosityPH(pressure, enthalpy);
+    }
+
+    /**
+     * Dynamic viscosity.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return dynamic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dynamicViscosityPT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.DYNAMIC_VISCOSITY_PT, pressure, temperature).dynamicViscosityPT(pressure, temperature);
+    }
+
+    /**
+     * Dynamic viscosity.
+     *
+     * @param density density
+     * @param temperature temperature
+     * @return dynamic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double dynamicViscosityRhoT(double density, double temperature) throws OutOfRangeException {
+        return record(Function.DYNAMIC_VISCOSITY_RHOT, density, temperature).dynamicViscosityRhoT(density, temperature);
+    }
+
+    /**
+     * Stop recording after a write error, the first error is kept.
+     *
+     * @param e write error
+     */
+    private void fail(IOException e) {
+
+        synchronized (channel) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return isobaric cubic expansion coefficient
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricCubicExpansionCoefficientPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PH, pressure, enthalpy).isobaricCubicExpansionCoefficientPH(pressure, enthalpy);
+    }
+
+    /**
+     * Isobaric cubic expansion coefficient.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return isobaric cubic expansion coefficient
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricCubicExpansionCoefficientPT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT_PT, pressure, temperature).isobaricCubicExpansionCoefficientPT(pressure, temperature);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure & specific
+     * enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific isobaric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricHeatCapacityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.ISOBARIC_HEAT_CAPACITY_PH, pressure, enthalpy).isobaricHeatCapacityPH(pressure, enthalpy);
+    }
+
+    /**
+     * Specific isobaric heat capacity as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific isobaric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isobaricHeatCapacityPT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.ISOBARIC_HEAT_CAPACITY_PT, pressure, temperature).isobaricHeatCapacityPT(pressure, temperature);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure & specific
+     * enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific isochoric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isochoricHeatCapacityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.ISOCHORIC_HEAT_CAPACITY_PH, pressure, enthalpy).isochoricHeatCapacityPH(pressure, enthalpy);
+    }
+
+    /**
+     * Specific isochoric heat capacity as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific isochoric heat capacity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double isochoricHeatCapacityPT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.ISOCHORIC_HEAT_CAPACITY_PT, pressure, temperature).isochoricHeatCapacityPT(pressure, temperature);
+    }
+
+    /**
+     * Kinematic viscosity.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double kinematicViscosityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.KINEMATIC_VISCOSITY_PH, pressure, enthalpy).kinematicViscosityPH(pressure, enthalpy);
+    }
+
+    /**
+     * Kinematic viscosity.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double kinematicViscosityPT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.KINEMATIC_VISCOSITY_PT, pressure, temperature).kinematicViscosityPT(pressure, temperature);
+    }
+
+    /**
+     * Kinematic viscosity.
+     *
+     * @param density density
+     * @param temperature temperature
+     * @return kinematic viscosity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double kinematicViscosityRhoT(double density, double temperature) throws OutOfRangeException {
+        return record(Function.KINEMATIC_VISCOSITY_RHOT, density, temperature).kinematicViscosityRhoT(density, temperature);
+    }
+
+    /**
+     * Pressure as a function of specific enthalpy & specific entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return pressure
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double pressureHS(double enthalpy, double entropy) throws OutOfRangeException {
+        return record(Function.PRESSURE_HS, enthalpy, entropy).pressureHS(enthalpy, entropy);
+    }
+
+    /**
+     * Append a call to the buffer of the current thread. The units are read
+     * once, the call is evaluated in the recorded units even if those of the
+     * IF97 instance change concurrently.
+     *
+     * @param function function in default units
+     * @param x first raw input
+     * @param y second raw input
+     * @return IF97 instance to evaluate the call with
+     */
+    private IF97 record(Function function, double x, double y) {
+        Units units = if97.getUnits();
+        Buffer buffer = local.get();
+
+        if (!closed && failure == null) {
+            buffer.record(function, units, x, y);
+        }
+        return buffer.evaluator(units);
+    }
+
+    /**
+     * Specific enthalpy as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific enthalpy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEnthalpyPT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.SPECIFIC_ENTHALPY_PT, pressure, temperature).specificEnthalpyPT(pressure, temperature);
+    }
+
+    /**
+     * Specific entropy as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.SPECIFIC_ENTROPY_PH, pressure, enthalpy).specificEntropyPH(pressure, enthalpy);
+    }
+
+    /**
+     * Specific entropy as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific entropy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificEntropyPT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.SPECIFIC_ENTROPY_PT, pressure, temperature).specificEntropyPT(pressure, temperature);
+    }
+
+    /**
+     * Specific internal energy as a function of specific enthalpy & specific
+     * entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyHS(double enthalpy, double entropy) throws OutOfRangeException {
+        return record(Function.SPECIFIC_INTERNAL_ENERGY_HS, enthalpy, entropy).specificInternalEnergyHS(enthalpy, entropy);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.SPECIFIC_INTERNAL_ENERGY_PH, pressure, enthalpy).specificInternalEnergyPH(pressure, enthalpy);
+    }
+
+    /**
+     * Specific internal energy as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific internal energy
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificInternalEnergyPT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.SPECIFIC_INTERNAL_ENERGY_PT, pressure, temperature).specificInternalEnergyPT(pressure, temperature);
+    }
+
+    /**
+     * Specific volume as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.SPECIFIC_VOLUME_PH, pressure, enthalpy).specificVolumePH(pressure, enthalpy);
+    }
+
+    /**
+     * Specific volume as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return specific volume
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double specificVolumePT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.SPECIFIC_VOLUME_PT, pressure, temperature).specificVolumePT(pressure, temperature);
+    }
+
+    /**
+     * Temperature. [IF97 Supplementary Release S04]
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return temperature
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double temperatureHS(double enthalpy, double entropy) throws OutOfRangeException {
+        return record(Function.TEMPERATURE_HS, enthalpy, entropy).temperatureHS(enthalpy, entropy);
+    }
+
+    /**
+     * Temperature.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return temperature
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double temperaturePH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.TEMPERATURE_PH, pressure, enthalpy).temperaturePH(pressure, enthalpy);
+    }
+
+    /**
+     * Thermal conductivity as a function of pressure & specific enthalpy.
+     *
+     * @param pressure pressure
+     * @param enthalpy specific enthalpy
+     * @return thermal conductivity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double thermalConductivityPH(double pressure, double enthalpy) throws OutOfRangeException {
+        return record(Function.THERMAL_CONDUCTIVITY_PH, pressure, enthalpy).thermalConductivityPH(pressure, enthalpy);
+    }
+
+    /**
+     * Thermal conductivity as a function of pressure & temperature.
+     *
+     * @param pressure pressure
+     * @param temperature temperature
+     * @return thermal conductivity
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double thermalConductivityPT(double pressure, double temperature) throws OutOfRangeException {
+        return record(Function.THERMAL_CONDUCTIVITY_PT, pressure, temperature).thermalConductivityPT(pressure, temperature);
+    }
+
+    /**
+     * Vapour fraction as a function of specific enthalpy & specific entropy.
+     *
+     * @param enthalpy specific enthalpy
+     * @param entropy specific entropy
+     * @return vapour fraction [-]
+     * @throws OutOfRangeException out-of-range exception
+     */
+    public double vapourFractionHS(double enthalpy, double entropy) throws OutOfRangeException {
+        return record(Function.VAPOUR_FRACTION_HS, enthalpy, entropy).vapourFractionHS(enthalpy, entropy);
+    }
+
+    /**
+     * Calls of a single thread.
+     */
+    private final class Buffer {
+
+        private final ByteBuffer bytes = ByteBuffer.allocate(BLOCK).order(ByteOrder.LITTLE_ENDIAN);
+        /**
+         * Units of the last call in the buffer, null after writing it.
+         */
+        private Units units;
+        /**
+         * Instance evaluating the calls in the units of the last call, used by
+         * the owning thread only.
+         */
+        private IF97 evaluator;
+
+        /**
+         * Instance evaluating calls in the given units, reused while they
+         * don't change.
+         *
+         * @param units units of the call
+         * @return IF97 instance
+         */
+        IF97 evaluator(Units units) {
+
+            if (evaluator == null || evaluator.getUnits() != units) {
+                evaluator = if97.withUnits(units);
+            }
+            return evaluator;
+        }
+
+        /**
+         * Write the buffered records as a block.
+         */
+        synchronized void flush() {
+            bytes.flip();
+
+            try {
+                synchronized (channel) {
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+            bytes.clear();
+            units = null;
+        }
+
+        synchronized void record(Function function, Units units, double x, double y) {
+
+            if (closed) {
+                return;
+            }
+            if (bytes.remaining() < UNITS_SIZE + CALL_SIZE) {
+                flush();
+            }
+            if (units != this.units) {
+                bytes.put(UNITS);
+
+                for (double value : units.pairs()) {
+                    bytes.putDouble(value);
+                }
+                this.units = units;
+            }
+            bytes.put((byte) function.ordinal()).putDouble(x).putDouble(y);
+        }
+    }
+}
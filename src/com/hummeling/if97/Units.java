@@ -0,0 +1,484 @@
+/*
+ * Units.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+/**
+ * Precompiled unit conversions to &amp; from the default unit system, one
+ * final conversion per quantity. Quantities already in default units get an
+ * identity conversion the JIT compiler inlines away, so the
+ * {@link IF97.UnitSystem#DEFAULT} path costs nothing.
+ *
+ * Custom unit systems are composed with a builder, each quantity given by
+ * scale &amp; bias such that <code>default = value * scale + bias</code>:
+ * <pre>
+ * Units units = Units.builder(IF97.UnitSystem.SI)
+ *         .temperature(5d / 9, 459.67 * 5 / 9) // degrees Fahrenheit
+ *         .build();
+ * IF97 if97 = new IF97(units);
+ * </pre>
+ *
+ * @author Ralph Hummeling (<a
+ * href="http://www.hummeling.com">www.hummeling.com</a>)
+ */
+public final class Units {
+// <editor-fold defaultstate="collapsed" desc="fields">
+
+    /**
+     * Identity conversion, for dimensionless quantities.
+     */
+    static final Conversion IDENTITY = new Identity();
+    /**
+     * Number of scales &amp; biases of a unit system.
+     */
+    static final int PAIRS = 30;
+    final Conversion COMPRESSIBILITY,
+            DENSITY,
+            DYNAMIC_VISCOSITY,
+            ISOBARIC_CUBIC_EXPANSION_COEFFICIENT,
+            KINEMATIC_VISCOSITY,
+            PRESSURE,
+            SPECIFIC_ENERGY,
+            SPECIFIC_ENTHALPY,
+            SPECIFIC_ENTROPY,
+            SPECIFIC_HEAT_CAPACITY,
+            SPECIFIC_VOLUME,
+            SURFACE_TENSION,
+            TEMPERATURE,
+            THERMAL_CONDUCTIVITY,
+            WAVE_LENGTH;
+    /**
+     * True if all quantities are in default units.
+     */
+    final boolean DEFAULT;
+    // </editor-fold>
+
+    /**
+     * Compile the conversions from scale &amp; bias pairs.
+     */
+    Units(double[] compressibility, double[] density,
+            double[] dynamicViscosity,
+            double[] isobaricCubicExpansionCoefficient,
+            double[] kinematicViscosity, double[] pressure,
+            double[] specificEnergy, double[] specificEnthalpy,
+            double[] specificEntropy, double[] specificHeatCapacity,
+            double[] specificVolume, double[] surfaceTension,
+            double[] temperature, double[] thermalConductivity,
+            double[] waveLength) {
+
+        COMPRESSIBILITY = compile(compressibility);
+        DENSITY = compile(density);
+        DYNAMIC_VISCOSITY = compile(dynamicViscosity);
+        ISOBARIC_CUBIC_EXPANSION_COEFFICIENT = compile(isobaricCubicExpansionCoefficient);
+        KINEMATIC_VISCOSITY = compile(kinematicViscosity);
+        PRESSURE = compile(pressure);
+        SPECIFIC_ENERGY = compile(specificEnergy);
+        SPECIFIC_ENTHALPY = compile(specificEnthalpy);
+        SPECIFIC_ENTROPY = compile(specificEntropy);
+        SPECIFIC_HEAT_CAPACITY = compile(specificHeatCapacity);
+        SPECIFIC_VOLUME = compile(specificVolume);
+        SURFACE_TENSION = compile(surfaceTension);
+        TEMPERATURE = compile(temperature);
+        THERMAL_CONDUCTIVITY = compile(thermalConductivity);
+        WAVE_LENGTH = compile(waveLength);
+
+        boolean identity = true;
+
+        for (Conversion conversion : conversions()) {
+            identity &= conversion == IDENTITY;
+        }
+        DEFAULT = identity;
+    }
+
+    /**
+     * Builder starting from the default unit system.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder(IF97.UnitSystem.DEFAULT);
+    }
+
+    /**
+     * Builder starting from the specified unit system.
+     *
+     * @param unitSystem unit system to start from
+     * @return builder
+     */
+    public static Builder builder(IF97.UnitSystem unitSystem) {
+        return new Builder(unitSystem);
+    }
+
+    private static Conversion compile(double[] pair) {
+        return pair[0] == 1 && pair[1] == 0 ? IDENTITY : new Conversion(pair[0], pair[1]);
+    }
+
+    /**
+     * Conversions of all quantities, in constructor order.
+     */
+    private Conversion[] conversions() {
+        return new Conversion[]{COMPRESSIBILITY, DENSITY,
+            DYNAMIC_VISCOSITY, ISOBARIC_CUBIC_EXPANSION_COEFFICIENT,
+            KINEMATIC_VISCOSITY, PRESSURE, SPECIFIC_ENERGY, SPECIFIC_ENTHALPY,
+            SPECIFIC_ENTROPY, SPECIFIC_HEAT_CAPACITY, SPECIFIC_VOLUME,
+            SURFACE_TENSION, TEMPERATURE, THERMAL_CONDUCTIVITY, WAVE_LENGTH};
+    }
+
+    /**
+     * Conversion of the specified quantity.
+     *
+     * @param quantity quantity
+     * @return conversion
+     */
+    Conversion of(IF97.Quantity quantity) {
+
+        switch (quantity) {
+            case rho:
+                return DENSITY;
+            case p:
+                return PRESSURE;
+            case u:
+                return SPECIFIC_ENERGY;
+            case h:
+                return SPECIFIC_ENTHALPY;
+            case s:
+                return SPECIFIC_ENTROPY;
+            case nu:
+                return SPECIFIC_VOLUME;
+            case T:
+                return TEMPERATURE;
+            case lambda:
+                return WAVE_LENGTH;
+            default:
+                throw new IllegalArgumentException("No conversion available for: " + quantity);
+        }
+    }
+
+    /**
+     * Units of the specified unit system.
+     *
+     * @param unitSystem unit system
+     * @return units
+     */
+    public static Units of(IF97.UnitSystem unitSystem) {
+        return unitSystem.UNITS;
+    }
+
+    /**
+     * Units from scale &amp; bias pairs of all quantities, in constructor
+     * order, see {@link #pairs()}.
+     *
+     * @param pairs {@link #PAIRS} scales &amp; biases, alternating
+     * @return units
+     */
+    static Units of(double[] pairs) {
+
+        if (pairs.length != PAIRS) {
+            throw new IllegalArgumentException("Pairs should have " + PAIRS + " elements: " + pairs.length);
+        }
+        double[][] p = new double[PAIRS / 2][];
+
+        for (int i = 0; i < p.length; i++) {
+            p[i] = new double[]{pairs[2 * i], pairs[2 * i + 1]};
+        }
+        return new Units(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7], p[8],
+                p[9], p[10], p[11], p[12], p[13], p[14]);
+    }
+
+    /**
+     * Scale &amp; bias pairs of all quantities, in constructor order.
+     *
+     * @return {@link #PAIRS} scales &amp; biases, alternating
+     */
+    double[] pairs() {
+        Conversion[] conversions = conversions();
+        double[] pairs = new double[PAIRS];
+
+        for (int i = 0; i < conversions.length; i++) {
+            pairs[2 * i] = conversions[i].SCALE;
+            pairs[2 * i + 1] = conversions[i].BIAS;
+        }
+        return pairs;
+    }
+
+    /**
+     * Builder for custom units, each quantity specified by the scale &amp;
+     * bias converting it to default units:
+     * <code>default = value * scale + bias</code>.
+     */
+    public static final class Builder {
+
+        private final double[] compressibility, density, dynamicViscosity,
+                isobaricCubicExpansionCoefficient, kinematicViscosity, pressure,
+                specificEnergy, specificEnthalpy, specificEntropy,
+                specificHeatCapacity, specificVolume, surfaceTension,
+                temperature, thermalConductivity, waveLength;
+
+        private Builder(IF97.UnitSystem unitSystem) {
+            compressibility = unitSystem.COMPRESSIBILITY.clone();
+            density = unitSystem.DENSITY.clone();
+            dynamicViscosity = unitSystem.DYNAMIC_VISCOSITY.clone();
+            isobaricCubicExpansionCoefficient = unitSystem.ISOBARIC_CUBIC_EXPANSION_COEFFICIENT.clone();
+            kinematicViscosity = unitSystem.KINEMATIC_VISCOSITY.clone();
+            pressure = unitSystem.PRESSURE.clone();
+            specificEnergy = unitSystem.SPECIFIC_ENERGY.clone();
+            specificEnthalpy = unitSystem.SPECIFIC_ENTHALPY.clone();
+            specificEntropy = unitSystem.SPECIFIC_ENTROPY.clone();
+            specificHeatCapacity = unitSystem.SPECIFIC_HEAT_CAPACITY.clone();
+            specificVolume = unitSystem.SPECIFIC_VOLUME.clone();
+            surfaceTension = unitSystem.SURFACE_TENSION.clone();
+            temperature = unitSystem.TEMPERATURE.clone();
+            thermalConductivity = unitSystem.THERMAL_CONDUCTIVITY.clone();
+            waveLength = unitSystem.WAVE_LENGTH.clone();
+        }
+
+        /**
+         * Compile the conversions.
+         *
+         * @return units
+         */
+        public Units build() {
+            return new Units(compressibility, density, dynamicViscosity,
+                    isobaricCubicExpansionCoefficient, kinematicViscosity,
+                    pressure, specificEnergy, specificEnthalpy, specificEntropy,
+                    specificHeatCapacity, specificVolume, surfaceTension,
+                    temperature, thermalConductivity, waveLength);
+        }
+
+        /**
+         * Isothermal compressibility unit, default [1/MPa].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder compressibility(double scale, double bias) {
+            return set(compressibility, scale, bias);
+        }
+
+        /**
+         * Density unit, default [kg/m&sup3;].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder density(double scale, double bias) {
+            return set(density, scale, bias);
+        }
+
+        /**
+         * Dynamic viscosity unit, default [Pa-s].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder dynamicViscosity(double scale, double bias) {
+            return set(dynamicViscosity, scale, bias);
+        }
+
+        /**
+         * Isobaric cubic expansion coefficient unit, default [1/K].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder isobaricCubicExpansionCoefficient(double scale, double bias) {
+            return set(isobaricCubicExpansionCoefficient, scale, bias);
+        }
+
+        /**
+         * Kinematic viscosity unit, default [m&sup2;/s].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder kinematicViscosity(double scale, double bias) {
+            return set(kinematicViscosity, scale, bias);
+        }
+
+        /**
+         * Pressure unit, default [MPa].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder pressure(double scale, double bias) {
+            return set(pressure, scale, bias);
+        }
+
+        private Builder set(double[] pair, double scale, double bias) {
+
+            if (scale == 0 || Double.isNaN(scale) || Double.isInfinite(scale)) {
+                throw new IllegalArgumentException("Scale should be finite and non-zero: " + scale);
+            }
+            if (Double.isNaN(bias) || Double.isInfinite(bias)) {
+                throw new IllegalArgumentException("Bias should be finite: " + bias);
+            }
+            pair[0] = scale;
+            pair[1] = bias;
+            return this;
+        }
+
+        /**
+         * Specific internal energy unit, default [kJ/kg].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder specificEnergy(double scale, double bias) {
+            return set(specificEnergy, scale, bias);
+        }
+
+        /**
+         * Specific enthalpy unit, default [kJ/kg].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder specificEnthalpy(double scale, double bias) {
+            return set(specificEnthalpy, scale, bias);
+        }
+
+        /**
+         * Specific entropy unit, default [kJ/kg-K].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder specificEntropy(double scale, double bias) {
+            return set(specificEntropy, scale, bias);
+        }
+
+        /**
+         * Specific heat capacity unit, default [kJ/kg-K].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder specificHeatCapacity(double scale, double bias) {
+            return set(specificHeatCapacity, scale, bias);
+        }
+
+        /**
+         * Specific volume unit, default [m&sup3;/kg].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder specificVolume(double scale, double bias) {
+            return set(specificVolume, scale, bias);
+        }
+
+        /**
+         * Surface tension unit, default [N/m].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder surfaceTension(double scale, double bias) {
+            return set(surfaceTension, scale, bias);
+        }
+
+        /**
+         * Temperature unit, default [K].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder temperature(double scale, double bias) {
+            return set(temperature, scale, bias);
+        }
+
+        /**
+         * Thermal conductivity unit, default [W/m-K].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder thermalConductivity(double scale, double bias) {
+            return set(thermalConductivity, scale, bias);
+        }
+
+        /**
+         * Wave length unit, default [&mu;m].
+         *
+         * @param scale scale to default units
+         * @param bias bias to default units
+         * @return this builder
+         */
+        public Builder waveLength(double scale, double bias) {
+            return set(waveLength, scale, bias);
+        }
+    }
+
+    /**
+     * Linear conversion of a single quantity.
+     */
+    static class Conversion {
+
+        final double SCALE, BIAS;
+
+        Conversion(double scale, double bias) {
+            SCALE = scale;
+            BIAS = bias;
+        }
+
+        double fromDefault(double value) {
+            return (value - BIAS) / SCALE;
+        }
+
+        double toDefault(double value) {
+            return value * SCALE + BIAS;
+        }
+    }
+
+    /**
+     * Identity conversion, quantity already in default units.
+     */
+    private static final class Identity extends Conversion {
+
+        Identity() {
+            super(1, 0);
+        }
+
+        @Override
+        double fromDefault(double value) {
+            return value;
+        }
+
+        @Override
+        double toDefault(double value) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * AllocationTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.lang.management.ManagementFactory;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ * Allocation budgets of steady-state property calls, in bytes per call.
+ * Each property is warmed up per region before measuring, functions not
+ * implemented in a region are skipped.
+ *
+ * @author Ralph Hummeling &lt;<a
+ * href="mailto:engineering@hummeling.com?subject=IF97%20Java%20library">engineering@hummeling.com</a>&gt;
+ */
+public class AllocationTest {
+
+    private static final int CALLS = 20000, ROUNDS = 10;
+    /**
+     * Points per region, the region number first.
+     */
+    private static final double[][] HS = {
+        {1, 1000, 2.5},
+        {2, 3000, 7},
+        {3, 2000, 4.2},
+        {4, 1500, 4}
+    }, PH = {
+        {1, 3, 500},
+        {2, 3, 3000},
+        {3, 20, 1700},
+        {4, 1, 1500},
+        {5, 30, 5000}
+    }, PT = {
+        {1, 3, 300},
+        {2, 0.0035, 300},
+        {3, 25, 650},
+        {5, 0.5, 1500}
+    };
+    private final IF97 if97 = new IF97();
+
+    /**
+     * Property call with its allocation budget.
+     */
+    private abstract static class Call {
+
+        final String NAME;
+        final long BUDGET;
+
+        Call(String name, long budget) {
+            NAME = name;
+            BUDGET = budget;
+        }
+
+        abstract double call(double x, double y);
+    }
+
+    /**
+     * Bytes allocated by the current thread running the task repeatedly.
+     *
+     * @param task task
+     * @param runs number of runs
+     * @return allocated bytes
+     */
+    static long allocatedBytes(Runnable task, int runs) {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId(),
+                before = bean.getThreadAllocatedBytes(id);
+
+        for (int i = 0; i < runs; i++) {
+            task.run();
+        }
+        return bean.getThreadAllocatedBytes(id) - before;
+    }
+
+    /**
+     * Assert the task doesn't allocate once warmed up by as many runs. The
+     * measurement itself is allowed for, not one object per run.
+     *
+     * @param task task
+     * @param runs number of runs
+     */
+    static void assertAllocationFree(Runnable task, int runs) {
+        allocatedBytes(task, runs);
+        long bytes = allocatedBytes(task, runs);
+
+        assertTrue("allocated " + bytes + " bytes", bytes < runs);
+    }
+
+    /**
+     * Assert the property stays within its budget in each region. Early
+     * rounds may run before compilation removes temporary objects, the
+     * measurement itself is allowed for, not one object per call.
+     *
+     * @param call property call
+     * @param X points per region
+     */
+    private static void assertBudget(final Call call, double[][] X) {
+        long limit = (call.BUDGET + 1) * CALLS;
+
+        for (final double[] x : X) {
+            try {
+                call.call(x[1], x[2]);
+
+            } catch (UnsupportedOperationException e) {
+                continue;
+            }
+            Runnable task = new Runnable() {
+                @Override
+                public void run() {
+                    call.call(x[1], x[2]);
+                }
+            };
+            long bytes = Long.MAX_VALUE;
+
+            for (int round = 0; round < ROUNDS && bytes >= limit; round++) {
+                bytes = allocatedBytes(task, CALLS);
+            }
+            assertTrue(String.format("%s in region %d: %d bytes per call, budget %d",
+                    call.NAME, (int) x[0], bytes / CALLS, call.BUDGET), bytes < limit);
+        }
+    }
+
+    @Test
+    public void testHS() {
+        System.out.println(getClass().getSimpleName());
+        Call[] calls = {
+            new Call("pressureHS", 0) {
+                @Override
+                double call(double h, double s) {
+                    return if97.pressureHS(h, s);
+                }
+            },
+            new Call("temperatureHS", 0) {
+                @Override
+                double call(double h, double s) {
+                    return if97.temperatureHS(h, s);
+                }
+            },
+            new Call("vapourFractionHS", 0) {
+                @Override
+                double call(double h, double s) {
+                    return if97.vapourFractionHS(h, s);
+                }
+            }
+        };
+        for (Call call : calls) {
+            assertBudget(call, HS);
+        }
+    }
+
+    @Test
+    public void testPH() {
+        System.out.println(getClass().getSimpleName());
+        Call[] calls = {
+            new Call("temperaturePH", 0) {
+                @Override
+                double call(double p, double h) {
+                    return if97.temperaturePH(p, h);
+                }
+            },
+            new Call("specificEntropyPH", 0) {
+                @Override
+                double call(double p, double h) {
+                    return if97.specificEntropyPH(p, h);
+                }
+            },
+            new Call("specificVolumePH", 0) {
+                @Override
+                double call(double p, double h) {
+                    return if97.specificVolumePH(p, h);
+                }
+            },
+            new Call("isobaricHeatCapacityPH", 0) {
+                @Override
+                double call(double p, double h) {
+                    return if97.isobaricHeatCapacityPH(p, h);
+                }
+            },
+            new Call("dynamicViscosityPH", 0) {
+                @Override
+                double call(double p, double h) {
+                    return if97.dynamicViscosityPH(p, h);
+                }
+            },
+            new Call("thermalConductivityPH", 0) {
+                @Override
+                double call(double p, double h) {
+                    return if97.thermalConductivityPH(p, h);
+                }
+            }
+        };
+        for (Call call : calls) {
+            assertBudget(call, PH);
+        }
+    }
+
+    @Test
+    public void testPT() {
+        System.out.println(getClass().getSimpleName());
+        Call[] calls = {
+            new Call("specificEnthalpyPT", 0) {
+                @Override
+                double call(double p, double T) {
+                    return if97.specificEnthalpyPT(p, T);
+                }
+            },
+            new Call("specificVolumePT", 0) {
+                @Override
+                double call(double p, double T) {
+                    return if97.specificVolumePT(p, T);
+                }
+            },
+            new Call("specificEntropyPT", 0) {
+                @Override
+                double call(double p, double T) {
+                    return if97.specificEntropyPT(p, T);
+                }
+            },
+            new Call("isobaricHeatCapacityPT", 0) {
+                @Override
+                double call(double p, double T) {
+                    return if97.isobaricHeatCapacityPT(p, T);
+                }
+            },
+            new Call("compressibilityPT", 0) {
+                @Override
+                double call(double p, double T) {
+                    return if97.compressibilityPT(p, T);
+                }
+            },
+            new Call("dynamicViscosityPT", 0) {
+                @Override
+                double call(double p, double T) {
+                    return if97.dynamicViscosityPT(p, T);
+                }
+            },
+            new Call("thermalConductivityPT", 0) {
+                @Override
+                double call(double p, double T) {
+                    return if97.thermalConductivityPT(p, T);
+                }
+            },
+            new Call("PrandtlPT", 0) {
+                @Override
+                double call(double p, double T) {
+                    return if97.PrandtlPT(p, T);
+                }
+            }
+        };
+        for (Call call : calls) {
+            assertBudget(call, PT);
+        }
+    }
+}
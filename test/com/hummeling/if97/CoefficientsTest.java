@@ -0,0 +1,85 @@
+/*
+ * CoefficientsTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ralph Hummeling &lt;<a
+ * href="mailto:engineering@hummeling.com?subject=IF97%20Java%20library">engineering@hummeling.com</a>&gt;
+ */
+public class CoefficientsTest {
+
+    @Test
+    public void testColumns() {
+        System.out.println(getClass().getSimpleName());
+        Coefficients IJn = new Coefficients(new double[][]{
+            {-2, 3, 0.5},
+            {0, -1, -1.5},
+            {4, 0, 2.5}
+        });
+        assertArrayEquals(new int[]{-2, 0, 4}, IJn.I);
+        assertArrayEquals(new int[]{3, -1, 0}, IJn.J);
+        assertArrayEquals(new double[]{0.5, -1.5, 2.5}, IJn.n, 0);
+
+        Coefficients In = new Coefficients(new double[][]{
+            {1, 0.5},
+            {3, -1.5}
+        });
+        assertArrayEquals(new int[]{1, 3}, In.I);
+        assertArrayEquals(new int[]{0, 0}, In.J);
+        assertArrayEquals(new double[]{0.5, -1.5}, In.n, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonIntegerExponent() {
+        System.out.println(getClass().getSimpleName());
+        new Coefficients(new double[][]{
+            {1, 0.25, 0.978224486826}
+        });
+    }
+
+    @Test
+    public void testPolynomial() {
+        double tol = 1e-12;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        Coefficients IJn = new Coefficients(new double[][]{
+            {-2, 3, 0.5},
+            {0, -1, -1.5},
+            {0, 2, 0.25},
+            {4, 0, 2.5}
+        });
+        double[][] X = new double[][]{
+            {0.7, 1.3},
+            {-1.1, 0.4},
+            {2.0, -0.9}
+        };
+        for (double[] x : X) {
+            double expected = 0.5 * Math.pow(x[0], -2) * Math.pow(x[1], 3)
+                    - 1.5 / x[1]
+                    + 0.25 * x[1] * x[1]
+                    + 2.5 * Math.pow(x[0], 4);
+            assertEquals(expected, Region.polynomial(IJn, x[0], x[1]), tol);
+        }
+    }
+}
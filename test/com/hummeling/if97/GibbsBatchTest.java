@@ -0,0 +1,82 @@
+/*
+ * GibbsBatchTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ralph Hummeling &lt;<a
+ * href="mailto:engineering@hummeling.com?subject=IF97%20Java%20library">engineering@hummeling.com</a>&gt;
+ */
+public class GibbsBatchTest {
+
+    @Test
+    public void testBatch() throws OutOfRangeException {
+        double tol = 1e-12;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        IF97.UnitSystem unitSystem = IF97.UnitSystem.DEFAULT;
+        int n = 1000;
+        double[] p = new double[n], T = new double[n], out = new double[n];
+        boolean[] outOfRange = new boolean[n];
+
+        // regions 1, 2 & 5 interleaved, some points out of range, region 3
+        // lacks some (p,T) derivatives
+        for (int i = 0; i < n; i++) {
+            p[i] = 0.001 + 0.107 * i;
+            T[i] = 273.15 + (i * 997 % 2100);
+
+            if (T[i] > 623.15 && T[i] < 863.15 && p[i] > Region.pressureB23(T[i])) {
+                T[i] = 300;
+            }
+        }
+        for (IF97.Function function : IF97.Function.values()) {
+            if (!GibbsBatch.supports(function)) {
+                continue;
+            }
+            int count = new GibbsBatch(GibbsBatch.BLOCK).batch(function, unitSystem.UNITS.PRESSURE,
+                    unitSystem.UNITS.TEMPERATURE, Units.IDENTITY, p, T, out, outOfRange, 0, n);
+            int expectedCount = 0;
+
+            for (int i = 0; i < n; i++) {
+                try {
+                    double expected = function.calculate(p[i], T[i]);
+                    assertFalse(outOfRange[i]);
+                    assertEquals(function.toString(), expected, out[i], Math.max(Math.abs(expected), 1) * tol);
+
+                } catch (OutOfRangeException e) {
+                    assertTrue(outOfRange[i]);
+                    assertTrue(Double.isNaN(out[i]));
+                    expectedCount++;
+                }
+            }
+            assertEquals(expectedCount, count);
+        }
+    }
+
+    @Test
+    public void testSupports() {
+        System.out.println(getClass().getSimpleName());
+        assertTrue(GibbsBatch.supports(IF97.Function.SPECIFIC_ENTHALPY_PT));
+        assertFalse(GibbsBatch.supports(IF97.Function.TEMPERATURE_PH));
+    }
+}
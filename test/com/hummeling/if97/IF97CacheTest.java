@@ -0,0 +1,256 @@
+/*
+ * IF97CacheTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ralph Hummeling &lt;<a
+ * href="mailto:engineering@hummeling.com?subject=IF97%20Java%20library">engineering@hummeling.com</a>&gt;
+ */
+public class IF97CacheTest {
+
+    // not all properties are available in regions 3 & 4
+    private static final double[][] PT = new double[][]{
+        {3, 300},
+        {80, 300},
+        {0.0035, 300},
+        {30, 700},
+        {0.5, 1500}
+    }, PH = new double[][]{
+        {3, 500},
+        {80, 500},
+        {3, 4000},
+        {25, 5000}
+    };
+
+    @Test
+    public void testCapacity() {
+        System.out.println(getClass().getSimpleName());
+        IF97 if97 = new IF97();
+
+        assertEquals(1, new IF97Cache(if97, 1).getCapacity());
+        assertEquals(8, new IF97Cache(if97, 5).getCapacity());
+        assertEquals(1024, new IF97Cache(if97, 1024).getCapacity());
+
+        for (int capacity : new int[]{0, -1, IF97Cache.MAX_CAPACITY + 1}) {
+            try {
+                new IF97Cache(if97, capacity);
+                fail("Capacity accepted: " + capacity);
+
+            } catch (IllegalArgumentException e) {
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrency() throws InterruptedException {
+        System.out.println(getClass().getSimpleName());
+        final IF97 if97 = new IF97();
+
+        // small capacity, so threads keep evicting each other's entries
+        final IF97Cache cache = new IF97Cache(if97, 4);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread[] threads = new Thread[4];
+
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 20000; i++) {
+                            double[] x = PT[(i + offset) % PT.length];
+                            assertEquals(if97.specificEnthalpyPT(x[0], x[1]), cache.specificEnthalpyPT(x[0], x[1]), 0);
+                            assertEquals(if97.specificVolumePT(x[0], x[1]), cache.specificVolumePT(x[0], x[1]), 0);
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+        assertEquals(4 * 20000 * 2, cache.getHits() + cache.getMisses());
+    }
+
+    @Test
+    public void testEviction() {
+        System.out.println(getClass().getSimpleName());
+        IF97 if97 = new IF97();
+        IF97Cache cache = new IF97Cache(if97, 4);
+
+        for (double T = 300; T < 400; T++) {
+            assertEquals(if97.specificEnthalpyPT(1, T), cache.specificEnthalpyPT(1, T), 0);
+        }
+        assertEquals(0, cache.getHits());
+        assertEquals(100, cache.getMisses());
+
+        // a frequently used entry survives a stream of new entries
+        cache.specificEnthalpyPT(1, 273.16);
+
+        for (double T = 300; T < 400; T++) {
+            cache.specificEnthalpyPT(1, 273.16);
+            cache.specificEnthalpyPT(1, T + 0.5);
+        }
+        assertEquals(100, cache.getHits());
+    }
+
+    @Test
+    public void testHitAllocation() {
+        System.out.println(getClass().getSimpleName());
+        final IF97Cache cache = new IF97Cache(new IF97(), 64);
+
+        AllocationTest.assertAllocationFree(new Runnable() {
+            @Override
+            public void run() {
+                for (double[] x : PT) {
+                    cache.specificEntropyPT(x[0], x[1]);
+                }
+            }
+        }, 100000);
+    }
+
+    @Test
+    public void testHitsMisses() {
+        System.out.println(getClass().getSimpleName());
+        IF97Cache cache = new IF97Cache(new IF97(), 1024);
+
+        for (int i = 0; i < 3; i++) {
+            for (double[] x : PT) {
+                cache.specificEnthalpyPT(x[0], x[1]);
+                cache.specificEntropyPT(x[0], x[1]);
+            }
+            for (double[] x : PH) {
+                cache.temperaturePH(x[0], x[1]);
+            }
+        }
+        int queries = 2 * PT.length + PH.length;
+        assertEquals(queries, cache.getMisses());
+        assertEquals(2 * queries, cache.getHits());
+
+        // same inputs, other property
+        cache.specificVolumePT(PT[0][0], PT[0][1]);
+        assertEquals(queries + 1, cache.getMisses());
+
+        cache.clear();
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        cache.specificEnthalpyPT(PT[0][0], PT[0][1]);
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testOutOfRange() {
+        System.out.println(getClass().getSimpleName());
+        IF97 if97 = new IF97(IF97.UnitSystem.ENGINEERING);
+        IF97Cache cache = new IF97Cache(if97, 16);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.specificEnthalpyPT(1, 3000);
+                fail("Out-of-range temperature accepted.");
+
+            } catch (OutOfRangeException e) {
+                assertEquals(IF97.Quantity.T.toString(), e.getQuantity());
+            }
+        }
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testUnitSystem() {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        IF97 if97 = new IF97(), reference = new IF97();
+        IF97Cache cache = new IF97Cache(if97, 16);
+
+        cache.specificEnthalpyPT(PT[0][0], PT[0][1]);
+
+        // the cache keeps the units in use at construction
+        if97.setUnitSystem(IF97.UnitSystem.ENGINEERING);
+
+        for (double[] x : PT) {
+            assertEquals(reference.specificEnthalpyPT(x[0], x[1]), cache.specificEnthalpyPT(x[0], x[1]), tol);
+        }
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testValues() {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+
+        for (IF97.UnitSystem unitSystem : new IF97.UnitSystem[]{IF97.UnitSystem.DEFAULT, IF97.UnitSystem.ENGINEERING}) {
+            IF97 if97 = new IF97(unitSystem);
+            IF97Cache cache = new IF97Cache(if97, 256);
+
+            // second round is answered from the cache
+            for (int round = 0; round < 2; round++) {
+                for (double[] x : PT) {
+                    double p = IF97.convertFromDefault(unitSystem.PRESSURE, x[0]),
+                            T = IF97.convertFromDefault(unitSystem.TEMPERATURE, x[1]);
+
+                    assertEquals(if97.PrandtlPT(p, T), cache.PrandtlPT(p, T), tol);
+                    assertEquals(if97.compressibilityPT(p, T), cache.compressibilityPT(p, T), tol);
+                    assertEquals(if97.dielectricConstantPT(p, T), cache.dielectricConstantPT(p, T), tol);
+                    assertEquals(if97.dynamicViscosityPT(p, T), cache.dynamicViscosityPT(p, T), tol);
+                    assertEquals(if97.isobaricCubicExpansionCoefficientPT(p, T), cache.isobaricCubicExpansionCoefficientPT(p, T), tol);
+                    assertEquals(if97.isobaricHeatCapacityPT(p, T), cache.isobaricHeatCapacityPT(p, T), tol);
+                    assertEquals(if97.isochoricHeatCapacityPT(p, T), cache.isochoricHeatCapacityPT(p, T), tol);
+                    assertEquals(if97.kinematicViscosityPT(p, T), cache.kinematicViscosityPT(p, T), tol);
+                    assertEquals(if97.specificEnthalpyPT(p, T), cache.specificEnthalpyPT(p, T), tol);
+                    assertEquals(if97.specificEntropyPT(p, T), cache.specificEntropyPT(p, T), tol);
+                    assertEquals(if97.specificInternalEnergyPT(p, T), cache.specificInternalEnergyPT(p, T), tol);
+                    assertEquals(if97.specificVolumePT(p, T), cache.specificVolumePT(p, T), tol);
+                    assertEquals(if97.thermalConductivityPT(p, T), cache.thermalConductivityPT(p, T), tol);
+                }
+                for (double[] x : PH) {
+                    double p = IF97.convertFromDefault(unitSystem.PRESSURE, x[0]),
+                            h = IF97.convertFromDefault(unitSystem.SPECIFIC_ENTHALPY, x[1]);
+
+                    assertEquals(if97.PrandtlPH(p, h), cache.PrandtlPH(p, h), tol);
+                    assertEquals(if97.compressibilityPH(p, h), cache.compressibilityPH(p, h), tol);
+                    assertEquals(if97.dielectricConstantPH(p, h), cache.dielectricConstantPH(p, h), tol);
+                    assertEquals(if97.dynamicViscosityPH(p, h), cache.dynamicViscosityPH(p, h), tol);
+                    assertEquals(if97.isobaricCubicExpansionCoefficientPH(p, h), cache.isobaricCubicExpansionCoefficientPH(p, h), tol);
+                    assertEquals(if97.isobaricHeatCapacityPH(p, h), cache.isobaricHeatCapacityPH(p, h), tol);
+                    assertEquals(if97.isochoricHeatCapacityPH(p, h), cache.isochoricHeatCapacityPH(p, h), tol);
+                    assertEquals(if97.kinematicViscosityPH(p, h), cache.kinematicViscosityPH(p, h), tol);
+                    assertEquals(if97.specificEntropyPH(p, h), cache.specificEntropyPH(p, h), tol);
+                    assertEquals(if97.specificInternalEnergyPH(p, h), cache.specificInternalEnergyPH(p, h), tol);
+                    assertEquals(if97.specificVolumePH(p, h), cache.specificVolumePH(p, h), tol);
+                    assertEquals(if97.temperaturePH(p, h), cache.temperaturePH(p, h), tol);
+                    assertEquals(if97.thermalConductivityPH(p, h), cache.thermalConductivityPH(p, h), tol);
+                }
+            }
+            assertTrue(cache.getHits() > 0);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * IF97TaylorCacheTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ralph Hummeling &lt;<a
+ * href="mailto:engineering@hummeling.com?subject=IF97%20Java%20library">engineering@hummeling.com</a>&gt;
+ */
+public class IF97TaylorCacheTest {
+
+    @Test
+    public void testConstructor() {
+        System.out.println(getClass().getSimpleName());
+        IF97TaylorCache cache = new IF97TaylorCache(IF97.UnitSystem.DEFAULT, 8, 1e-3, 1e-6);
+
+        assertEquals(8, cache.getCapacity());
+        assertEquals(1e-3, cache.getNeighbourhood(), 0);
+        assertEquals(1e-6, cache.getTolerance(), 0);
+
+        double[][] X = new double[][]{
+            {0, 1e-3, 1e-6},
+            {8, 0, 1e-6},
+            {8, 1e-3, -1},
+            {8, Double.NaN, 1e-6}
+        };
+        for (double[] x : X) {
+            try {
+                new IF97TaylorCache(IF97.UnitSystem.DEFAULT, (int) x[0], x[1], x[2]);
+                fail("Arguments accepted: " + x[0] + ", " + x[1] + ", " + x[2]);
+
+            } catch (IllegalArgumentException e) {
+            }
+        }
+        try {
+            new IF97TaylorCache((Units) null, 8, 1e-3, 1e-6);
+            fail("Null units accepted.");
+
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testCustomUnits() {
+        System.out.println(getClass().getSimpleName());
+        Units fahrenheit = Units.builder().temperature(5d / 9, 459.67 * 5 / 9).build();
+        IF97 if97 = new IF97(fahrenheit);
+        IF97TaylorCache cache = new IF97TaylorCache(fahrenheit, 4, 1e-3, 1e-6);
+
+        for (double T : new double[]{80, 572, 1000}) {
+            double expected = if97.specificEnthalpyPT(1, T);
+            assertEquals(expected, cache.specificEnthalpyPT(1, T), 1e-12 * Math.abs(expected));
+        }
+        try {
+            cache.specificEnthalpyPT(1, 5000);
+            fail("Out-of-range temperature accepted.");
+
+        } catch (OutOfRangeException e) {
+        }
+    }
+
+    @Test
+    public void testExactRepeat() {
+        System.out.println(getClass().getSimpleName());
+        IF97 if97 = new IF97();
+        IF97TaylorCache cache = new IF97TaylorCache(IF97.UnitSystem.DEFAULT, 4, 1e-3, 1e-6);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(if97.specificEnthalpyPT(3, 300), cache.specificEnthalpyPT(3, 300), 0);
+            assertEquals(if97.specificVolumePT(3, 300), cache.specificVolumePT(3, 300), 0);
+        }
+        assertEquals(1, cache.getMisses());
+        assertEquals(5, cache.getHits());
+
+        cache.clear();
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        cache.specificEnthalpyPT(3, 300);
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testOutOfRange() {
+        System.out.println(getClass().getSimpleName());
+        IF97 if97 = new IF97(IF97.UnitSystem.ENGINEERING);
+        IF97TaylorCache cache = new IF97TaylorCache(IF97.UnitSystem.ENGINEERING, 4, 1e-3, 1e-6);
+
+        try {
+            cache.specificEnthalpyPT(1, 3000);
+            fail("Out-of-range temperature accepted.");
+
+        } catch (OutOfRangeException e) {
+            try {
+                if97.specificEnthalpyPT(1, 3000);
+
+            } catch (OutOfRangeException e2) {
+                assertEquals(e2.getMessage(), e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testRegionBoundary() {
+        double tol = 1e-6;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        IF97 if97 = new IF97();
+        IF97TaylorCache cache = new IF97TaylorCache(IF97.UnitSystem.DEFAULT, 4, 1e-2, tol);
+
+        // heating through the saturation temperature of 1 MPa, 453.03 K
+        for (double T = 450; T < 456; T += 0.01) {
+            double expected = if97.specificEnthalpyPT(1, T);
+            assertEquals(expected, cache.specificEnthalpyPT(1, T), tol * (Math.abs(expected) + T * if97.isobaricHeatCapacityPT(1, T)));
+        }
+    }
+
+    @Test
+    public void testTransient() {
+        double tol = 1e-7;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+
+        for (IF97.UnitSystem unitSystem : new IF97.UnitSystem[]{IF97.UnitSystem.DEFAULT, IF97.UnitSystem.ENGINEERING}) {
+            IF97 if97 = new IF97(unitSystem);
+            IF97TaylorCache cache = new IF97TaylorCache(unitSystem, 16, 1e-2, tol);
+
+            // slow compression & heating through regions 1, 3 & 2
+            for (int i = 0; i < 20000; i++) {
+                double kelvin = 550 + i * 0.01,
+                        p = IF97.convertFromDefault(unitSystem.PRESSURE, 20 + 10 * Math.sin(i * 1e-4)),
+                        T = IF97.convertFromDefault(unitSystem.TEMPERATURE, kelvin);
+                MutableThermodynamicState state = if97.statePT(p, T, new MutableThermodynamicState());
+
+                double h = cache.specificEnthalpyPT(p, T),
+                        s = cache.specificEntropyPT(p, T),
+                        u = cache.specificInternalEnergyPT(p, T),
+                        v = cache.specificVolumePT(p, T);
+
+                double du_dT = if97.partialDerivativePT(p, T, IF97.Quantity.T, IF97.Quantity.p, IF97.Quantity.u);
+
+                // error relative to magnitude plus change over temperature
+                assertEquals(state.h, h, tol * (Math.abs(state.h) + kelvin * state.cp));
+                assertEquals(state.s, s, tol * (Math.abs(state.s) + state.cp));
+                assertEquals(state.u, u, tol * (Math.abs(state.u) + kelvin * Math.abs(du_dT)));
+                assertEquals(state.v, v, tol * (Math.abs(state.v) + kelvin * state.v * state.alpha));
+            }
+            // most time steps are extrapolated
+            assertTrue(cache.getMisses() < 20000 / 2);
+        }
+    }
+}
@@ -33,6 +33,114 @@ public class IF97Test {
     double TOLERANCE = 1e-8;
     IF97 if97 = new IF97();
 
+    @Test
+    public void testBatchParallel() throws OutOfRangeException {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        int n = 1000;
+        double[] p = new double[n], T = new double[n],
+                expected = new double[n], out = new double[n];
+        boolean[] expectedOutOfRange = new boolean[n], outOfRange = new boolean[n];
+
+        for (int i = 0; i < n; i++) {
+            p[i] = 0.01 + 0.11 * i;
+            T[i] = 280 + 2.1 * i;
+        }
+        int count = if97.specificVolumePT(p, T, expected, expectedOutOfRange);
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+
+        try {
+            assertEquals(count, if97.specificVolumePT(p, T, out, outOfRange, pool, 7));
+            assertArrayEquals(expected, out, tol);
+            assertArrayEquals(expectedOutOfRange, outOfRange);
+
+            try {
+                if97.specificVolumePT(p, T, out, outOfRange, pool, 0);
+                fail("zero threshold accepted");
+            } catch (IllegalArgumentException e) {
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatchOutOfRangeAllocation() {
+        System.out.println(getClass().getSimpleName());
+        int n = 100000, runs = 10;
+        final double[] p = new double[n], x = new double[n], out = new double[n];
+        final boolean[] outOfRange = new boolean[n];
+
+        java.util.Arrays.fill(p, -1);
+        java.util.Arrays.fill(x, 300);
+
+        // out-of-range elements are caught by the range checks, no exceptions
+        long bytes = AllocationTest.allocatedBytes(new Runnable() {
+            @Override
+            public void run() {
+                if97.specificEnthalpyPT(p, x, out, outOfRange);
+                if97.temperaturePH(p, x, out, outOfRange);
+            }
+        }, runs);
+        assertTrue("allocated " + bytes + " bytes", bytes < 2L * runs * n);
+        assertTrue(outOfRange[n - 1]);
+        assertTrue(Double.isNaN(out[n - 1]));
+    }
+
+    @Test
+    public void testBatchPH() throws OutOfRangeException {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        double[] p = {10, 10, 25, 10, 25, -1},
+                h = {1000, 3000, 2000, 2000, 5000, 1000},
+                out = new double[p.length];
+        boolean[] outOfRange = new boolean[p.length];
+
+        assertEquals(1, if97.temperaturePH(p, h, out, outOfRange));
+        for (int i = 0; i < p.length - 1; i++) {
+            assertFalse(outOfRange[i]);
+            assertEquals(if97.temperaturePH(p[i], h[i]), out[i], tol);
+        }
+        assertTrue(outOfRange[p.length - 1]);
+        assertTrue(Double.isNaN(out[p.length - 1]));
+    }
+
+    @Test
+    public void testBatchPT() throws OutOfRangeException {
+        double tol = 1e-9;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        IF97 engineering = new IF97(IF97.UnitSystem.ENGINEERING);
+        double[] p = {30, 800, 0.035, 300, 5, 300, 300},
+                T = {26.85, 26.85, 26.85, 426.85, 1226.85, 1726.85, 2500},
+                out = new double[p.length];
+        boolean[] outOfRange = new boolean[p.length];
+
+        assertEquals(1, engineering.specificEnthalpyPT(p, T, out, outOfRange));
+        for (int i = 0; i < p.length - 1; i++) {
+            assertFalse(outOfRange[i]);
+            assertEquals(engineering.specificEnthalpyPT(p[i], T[i]), out[i], tol);
+        }
+        assertTrue(outOfRange[p.length - 1]);
+        assertTrue(Double.isNaN(out[p.length - 1]));
+
+        // buffers, only the remaining elements are processed
+        java.nio.DoubleBuffer pBuffer = java.nio.DoubleBuffer.wrap(p, 1, 3),
+                TBuffer = java.nio.DoubleBuffer.wrap(T, 1, 3),
+                outBuffer = java.nio.DoubleBuffer.allocate(3);
+
+        assertEquals(0, engineering.specificVolumePT(pBuffer, TBuffer, outBuffer, null));
+        assertEquals(1, pBuffer.position());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(engineering.specificVolumePT(p[i + 1], T[i + 1]), outBuffer.get(i), tol);
+        }
+
+        try {
+            engineering.specificEnthalpyPT(p, T, new double[1], null);
+            fail("length mismatch accepted");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
     @Test
     public void testDielectricConstantPT() throws OutOfRangeException {
         double tol = 1e-4;
@@ -47,6 +155,175 @@ public class IF97Test {
         }
     }
 
+    @Test
+    public void testOf() throws Exception {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        final IF97 shared = IF97.of(IF97.UnitSystem.ENGINEERING);
+        IF97 reference = new IF97(IF97.UnitSystem.ENGINEERING);
+
+        assertSame(shared, IF97.of(IF97.UnitSystem.ENGINEERING));
+        assertNotSame(shared, IF97.of(IF97.UnitSystem.DEFAULT));
+        assertTrue(shared.isImmutable());
+        assertFalse(reference.isImmutable());
+        assertTrue(IF97.of(Units.of(IF97.UnitSystem.SI)).isImmutable());
+
+        try {
+            shared.setUnitSystem(IF97.UnitSystem.SI);
+            fail("Unit system of shared instance changed.");
+
+        } catch (UnsupportedOperationException e) {
+        }
+        try {
+            shared.setUnits(Units.of(IF97.UnitSystem.SI));
+            fail("Units of shared instance changed.");
+
+        } catch (UnsupportedOperationException e) {
+        }
+        final int n = 200;
+        final double[] expected = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            expected[i] = reference.specificEnthalpyPT(1 + i, 20 + 3 * i);
+        }
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(4);
+
+        try {
+            java.util.List<java.util.concurrent.Future<Boolean>> futures = new java.util.ArrayList<>();
+
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(new java.util.concurrent.Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        for (int i = 0; i < n; i++) {
+                            if (shared.specificEnthalpyPT(1 + i, 20 + 3 * i) != expected[i]) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (java.util.concurrent.Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRangeStatus() throws OutOfRangeException {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        IF97 if97 = new IF97(IF97.UnitSystem.ENGINEERING);
+        RangeStatus status = new RangeStatus();
+        double[][] PT = new double[][]{
+            {30, 30},
+            {1000, 500},
+            {0, 30},
+            {1001, 30},
+            {30, -1},
+            {600, 1000},
+            {30, 1801}
+        }, PH = new double[][]{
+            {30, 100},
+            {300, 3000},
+            {0.001, 100},
+            {600, 6000},
+            {1200, 700},
+            {1, -10}
+        }, HS = new double[][]{
+            {3000, 6},
+            {100, 0.3},
+            {1000, 8},
+            {4000, 5.5},
+            {-100, 0.1}
+        };
+        for (double[] x : PT) {
+            double expected;
+
+            try {
+                expected = if97.specificEnthalpyPT(x[0], x[1]);
+
+            } catch (OutOfRangeException e) {
+                assertTrue(Double.isNaN(if97.specificEnthalpyPT(x[0], x[1], status)));
+                assertFalse(status.isInRange());
+                assertEquals(e.getQuantity(), status.getQuantity().toString());
+                assertEquals(e.getValue(), status.getValue(), tol);
+                assertEquals(e.getLimit(), status.getLimit(), tol);
+                assertEquals(e.getMessage(), status.toString());
+                assertEquals(e.getMessage(), status.toException().getMessage());
+                continue;
+            }
+            assertEquals(expected, if97.specificEnthalpyPT(x[0], x[1], status), tol);
+            assertTrue(status.isInRange());
+            assertNull(status.toException());
+        }
+        for (double[] x : PH) {
+            double expected;
+
+            try {
+                expected = if97.temperaturePH(x[0], x[1]);
+
+            } catch (OutOfRangeException e) {
+                assertTrue(Double.isNaN(if97.temperaturePH(x[0], x[1], status)));
+                assertEquals(e.getMessage(), status.toString());
+                continue;
+            }
+            assertEquals(expected, if97.temperaturePH(x[0], x[1], status), tol);
+            assertTrue(status.isInRange());
+
+            // transport properties are limited by the (p,T) equations
+            try {
+                expected = if97.dynamicViscosityPH(x[0], x[1]);
+
+            } catch (OutOfRangeException e) {
+                assertTrue(Double.isNaN(if97.dynamicViscosityPH(x[0], x[1], status)));
+                assertEquals(e.getMessage(), status.toString());
+                continue;
+            }
+            assertEquals(expected, if97.dynamicViscosityPH(x[0], x[1], status), tol);
+            assertTrue(status.isInRange());
+        }
+        for (double[] x : HS) {
+            double expected;
+
+            assertEquals(if97.temperatureHS(x[0], x[1]), if97.temperatureHS(x[0], x[1], status), tol);
+            assertTrue(status.isInRange());
+
+            try {
+                expected = if97.PrandtlHS(x[0], x[1]);
+
+            } catch (OutOfRangeException e) {
+                assertTrue(Double.isNaN(if97.PrandtlHS(x[0], x[1], status)));
+                assertEquals(e.getMessage(), status.toString());
+                continue;
+            }
+            assertEquals(expected, if97.PrandtlHS(x[0], x[1], status), tol);
+            assertTrue(status.isInRange());
+        }
+    }
+
+    @Test
+    public void testRangeStatusAllocation() {
+        System.out.println(getClass().getSimpleName());
+        final IF97 if97 = new IF97();
+        final RangeStatus status = new RangeStatus();
+
+        AllocationTest.assertAllocationFree(new Runnable() {
+            @Override
+            public void run() {
+                if97.specificVolumePT(120, 300, status);
+                if97.PrandtlHS(4000, 5.5, status);
+                if97.specificEntropyPH(1e-4, 300, status);
+                if97.dynamicViscosityPH(120, 700, status);
+                if97.isobaricHeatCapacityPH(1, -10, status);
+            }
+        }, 100000);
+        assertEquals(IF97.Quantity.T, status.getQuantity());
+    }
+
     @Test
     public void testRefractiveIndexPTLambda() throws OutOfRangeException {
         double tol = 1e-6;
@@ -159,11 +436,52 @@ public class IF97Test {
     public void testPartialDerivativePT() throws OutOfRangeException {
         double tol = 1e-5;
         System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
-        double[][] X = new double[][]{};
+        double[][] X = new double[][]{
+            {3, 300}, // region 1
+            {0.0035, 700}, // region 2
+            {30, 700},
+            {30, 1500} // region 5
+        };
+        IF97.Quantity[] Z = {IF97.Quantity.nu, IF97.Quantity.u, IF97.Quantity.h,
+            IF97.Quantity.s, IF97.Quantity.g, IF97.Quantity.f};
         for (double[] x : X) {
-            System.out.println("region: " + Region.getRegionPT(x[1], x[2]).getName());
-            assertEquals(x[0], if97.partialDerivativePT(x[1], x[2],
-                    IF97.Quantity.p, IF97.Quantity.nu, IF97.Quantity.u), tol);
+            double p = x[0], T = x[1], dp = 1e-5 * p, dT = 1e-5 * T;
+            System.out.println("region: " + Region.getRegionPT(p, T).getName());
+
+            // central differences in default units
+            for (IF97.Quantity z : Z) {
+                double dz_dp = (propertyPT(z, p + dp, T) - propertyPT(z, p - dp, T)) / (2 * dp),
+                        dz_dT = (propertyPT(z, p, T + dT) - propertyPT(z, p, T - dT)) / (2 * dT);
+
+                assertEquals(z.name(), dz_dp, if97.partialDerivativePT(p, T, IF97.Quantity.p, IF97.Quantity.T, z), tol * Math.abs(dz_dp));
+                assertEquals(z.name(), dz_dT, if97.partialDerivativePT(p, T, IF97.Quantity.T, IF97.Quantity.p, z), tol * Math.abs(dz_dT));
+            }
+            assertEquals(T, if97.partialDerivativePT(p, T, IF97.Quantity.s, IF97.Quantity.p, IF97.Quantity.h), tol * T);
+        }
+
+        // region 3, the backward specific volume isn't differentiated
+        double p = 25, T = 650, nu = if97.specificVolumePT(p, T);
+
+        assertEquals(T, if97.partialDerivativePT(p, T, IF97.Quantity.s, IF97.Quantity.p, IF97.Quantity.h), tol * T);
+        assertEquals(1e3 * nu, if97.partialDerivativePT(p, T, IF97.Quantity.p, IF97.Quantity.T, IF97.Quantity.g), tol * 1e3 * nu);
+        assertEquals(-1e3 * p, if97.partialDerivativePT(p, T, IF97.Quantity.nu, IF97.Quantity.T, IF97.Quantity.f), tol * 1e3 * p);
+    }
+
+    private double propertyPT(IF97.Quantity z, double p, double T) {
+
+        switch (z) {
+            case nu:
+                return if97.specificVolumePT(p, T);
+            case u:
+                return if97.specificInternalEnergyPT(p, T);
+            case h:
+                return if97.specificEnthalpyPT(p, T);
+            case s:
+                return if97.specificEntropyPT(p, T);
+            case g:
+                return if97.specificEnthalpyPT(p, T) - T * if97.specificEntropyPT(p, T);
+            default:
+                return if97.specificInternalEnergyPT(p, T) - T * if97.specificEntropyPT(p, T);
         }
     }
 
@@ -242,6 +560,267 @@ public class IF97Test {
         }
     }
 
+    @Test
+    public void testStateHS() throws OutOfRangeException {
+        double tol = 1e-6;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        double[][] X = new double[][]{
+            {1200, 3},
+            {3000, 7},
+            {1900, 4},
+            {1000, 3}
+        };
+        for (double[] x : X) {
+            ThermodynamicState state = if97.stateHS(x[0], x[1]);
+            assertEquals(x[0], state.getSpecificEnthalpy(), 1e-2 * x[0]);
+            assertEquals(x[1], state.getSpecificEntropy(), 1e-2 * x[1]);
+            assertEquals(if97.pressureHS(x[0], x[1]), state.getPressure(), tol);
+        }
+        ThermodynamicState state = if97.stateHS(1000, 3);
+        assertEquals(4, state.getRegion());
+        assertEquals(if97.vapourFractionHS(1000, 3), state.getVapourFraction(), 1e-3);
+        assertTrue(Double.isNaN(state.getIsobaricHeatCapacity()));
+
+        // region 1 below the region 1-3 boundary's entropy range
+        state = if97.stateHS(1385.2, 3.3146);
+        assertEquals(1, state.getRegion());
+        assertEquals(12.75, state.getPressure(), 0.01);
+        assertEquals(581, state.getTemperature(), 0.5);
+
+        // beyond 100 MPa, classified as region 3
+        try {
+            if97.stateHS(3798.35, 5.038);
+            fail("Out-of-range point accepted.");
+
+        } catch (OutOfRangeException e) {
+        }
+        assertTrue(Double.isNaN(if97.specificInternalEnergyHS(3798.35, 5.038, new RangeStatus())));
+    }
+
+    @Test
+    public void testStatePH() throws OutOfRangeException {
+        double tol = 1e-8;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        double[][] X = new double[][]{
+            {10, 1000},
+            {10, 3000},
+            {25, 2000},
+            {25, 5000}
+        };
+        for (double[] x : X) {
+            ThermodynamicState state = if97.statePH(x[0], x[1]);
+            double T = if97.temperaturePH(x[0], x[1]),
+                    eta = if97.dynamicViscosityPH(x[0], x[1]),
+                    lambda = if97.thermalConductivityPH(x[0], x[1]);
+
+            assertEquals(x[1], state.getSpecificEnthalpy(), 0);
+
+            // regions 3 & 5 are solved from the basic equations, see testStatePHRoundTrip
+            if (state.getRegion() == 3 || state.getRegion() == 5) {
+                continue;
+            }
+            assertEquals(T, state.getTemperature(), tol);
+            assertEquals(eta, state.getDynamicViscosity(), tol);
+            assertEquals(lambda, state.getThermalConductivity(), tol);
+        }
+        ThermodynamicState state = if97.statePH(10, 2000);
+        double Tsat = if97.saturationTemperatureP(10),
+                h1 = Regions.REGION1.specificEnthalpyPT(10, Tsat),
+                h2 = Regions.REGION2.specificEnthalpyPT(10, Tsat),
+                x = (2000 - h1) / (h2 - h1);
+        assertEquals(4, state.getRegion());
+        assertEquals(Tsat, state.getTemperature(), tol);
+        assertEquals(x, state.getVapourFraction(), tol);
+        assertEquals(2000, state.getSpecificEnthalpy(), tol);
+        assertEquals(1 / state.getSpecificVolume(), state.getDensity(), tol);
+        assertTrue(Double.isNaN(state.getDynamicViscosity()));
+        assertTrue(Double.isNaN(state.getThermalConductivity()));
+    }
+
+    @Test
+    public void testStatePHRoundTrip() throws OutOfRangeException {
+        double tol = 1e-9;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        double[][] X = new double[][]{
+            {22.069, 2067.5},
+            {22.1, 2087},
+            {23, 1900},
+            {25, 2300},
+            {40, 2000},
+            {100, 1700},
+            {1, 500},
+            {10, 3500},
+            {30, 5000}
+        };
+        for (double[] x : X) {
+            ThermodynamicState state = if97.statePH(x[0], x[1]);
+            double h = state.getSpecificInternalEnergy() + state.getPressure() * state.getSpecificVolume() * 1e3;
+
+            assertEquals(x[0], state.getPressure(), 0);
+            assertEquals(x[1], state.getSpecificEnthalpy(), 0);
+
+            if (state.getRegion() == 3) {
+                assertEquals(x[1], h, tol * x[1]);
+                assertEquals(state.getSpecificEntropy(), Regions.REGION3.specificEntropyRhoT(state.getDensity(), state.getTemperature()), tol);
+
+            } else if (state.getRegion() == 5) {
+                assertEquals(x[1], h, tol * x[1]);
+                assertEquals(x[1], if97.specificEnthalpyPT(x[0], state.getTemperature()), tol * x[1]);
+
+            } else {
+                // backward equations within their inconsistency
+                assertEquals(x[1], h, 1e-4 * x[1]);
+            }
+        }
+    }
+
+    @Test
+    public void testStatePT() throws OutOfRangeException {
+        double tol = 1e-8;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        double[][] X = new double[][]{
+            {1, 3, 300},
+            {2, 0.0035, 300},
+            {2, 30, 700},
+            {5, 0.5, 1500},
+            {5, 30, 2000}
+        };
+        for (double[] x : X) {
+            double p = x[1], T = x[2];
+            Region region = Region.getRegionPT(p, T);
+            ThermodynamicState state = if97.statePT(p, T);
+
+            assertEquals((int) x[0], state.getRegion());
+            assertEquals(p, state.getPressure(), 0);
+            assertEquals(T, state.getTemperature(), 0);
+            assertEquals(region.specificVolumePT(p, T), state.getSpecificVolume(), tol);
+            assertEquals(region.specificEnthalpyPT(p, T), state.getSpecificEnthalpy(), tol);
+            assertEquals(region.specificEntropyPT(p, T), state.getSpecificEntropy(), tol);
+            assertEquals(region.specificInternalEnergyPT(p, T), state.getSpecificInternalEnergy(), tol);
+            assertEquals(region.specificIsobaricHeatCapacityPT(p, T), state.getIsobaricHeatCapacity(), tol);
+            assertEquals(region.specificIsochoricHeatCapacityPT(p, T), state.getIsochoricHeatCapacity(), tol);
+            assertEquals(region.speedOfSoundPT(p, T), state.getSpeedOfSound(), tol);
+            assertEquals(region.isobaricCubicExpansionCoefficientPT(p, T), state.getIsobaricCubicExpansionCoefficient(), tol);
+            assertEquals(region.isothermalCompressibilityPT(p, T), state.getCompressibility(), tol);
+            assertEquals(if97.dynamicViscosityPT(p, T), state.getDynamicViscosity(), tol);
+            assertEquals(if97.thermalConductivityPT(p, T), state.getThermalConductivity(), tol);
+        }
+
+        // region 3, compared with the density based methods
+        double p = 25, T = 650, rho = 1 / Regions.REGION3.specificVolumePT(p, T);
+        Region3 region = Regions.REGION3;
+        ThermodynamicState state = if97.statePT(p, T);
+
+        assertEquals(3, state.getRegion());
+        assertEquals(rho, state.getDensity(), tol);
+        assertEquals(region.specificEnthalpyRhoT(rho, T), state.getSpecificEnthalpy(), tol);
+        assertEquals(region.specificEntropyRhoT(rho, T), state.getSpecificEntropy(), tol);
+        assertEquals(region.specificInternalEnergyRhoT(rho, T), state.getSpecificInternalEnergy(), tol);
+        assertEquals(region.specificIsobaricHeatCapacityRhoT(rho, T), state.getIsobaricHeatCapacity(), tol);
+        assertEquals(region.specificIsochoricHeatCapacityRhoT(rho, T), state.getIsochoricHeatCapacity(), tol);
+        assertEquals(region.speedOfSoundRhoT(rho, T), state.getSpeedOfSound(), tol);
+        assertEquals(region.isobaricCubicExpansionCoefficientRhoT(rho, T), state.getIsobaricCubicExpansionCoefficient(), tol);
+        assertEquals(region.isothermalCompressibilityRhoT(rho, T), state.getCompressibility(), tol);
+
+        // unit conversion
+        IF97 engineering = new IF97(IF97.UnitSystem.ENGINEERING);
+        state = engineering.statePT(30, 300);
+        assertEquals(engineering.specificEnthalpyPT(30, 300), state.getSpecificEnthalpy(), tol);
+        assertEquals(engineering.specificVolumePT(30, 300), state.getSpecificVolume(), tol);
+        assertEquals(engineering.dynamicViscosityPT(30, 300), state.getDynamicViscosity(), tol);
+        assertEquals(engineering.thermalConductivityPT(30, 300), state.getThermalConductivity(), tol);
+    }
+
+    @Test
+    public void testStatePTAllocation() throws OutOfRangeException {
+        System.out.println(getClass().getSimpleName());
+        final MutableThermodynamicState state = new MutableThermodynamicState();
+        final double[][] X = new double[][]{
+            {3, 300},
+            {0.0035, 300},
+            {25, 650},
+            {0.5, 1500}
+        };
+
+        AllocationTest.assertAllocationFree(new Runnable() {
+            @Override
+            public void run() {
+                for (double[] x : X) {
+                    if97.statePT(x[0], x[1], state);
+                }
+            }
+        }, 100000);
+    }
+
+    @Test
+    public void testStateVU() throws OutOfRangeException {
+        double tol = 1e-9;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        double[][] X = new double[][]{
+            {1, 3, 300},
+            {1, 0.01, 290},
+            {1, 80, 500},
+            {2, 0.0035, 300},
+            {2, 30, 700},
+            {2, 60, 1050}
+        };
+        for (double[] x : X) {
+            double p = x[1], T = x[2];
+            ThermodynamicState expected = if97.statePT(p, T),
+                    state = if97.stateVU(expected.getSpecificVolume(), expected.getSpecificInternalEnergy());
+
+            assertEquals((int) x[0], state.getRegion());
+            assertEquals(T, state.getTemperature(), T * tol);
+            assertEquals(p, state.getPressure(), 1e-6);
+            assertEquals(expected.getSpecificEnthalpy(), state.getSpecificEnthalpy(), 1e-6);
+            assertEquals(expected.getSpecificEntropy(), state.getSpecificEntropy(), tol);
+            assertEquals(expected.getVapourFraction(), state.getVapourFraction(), 0);
+        }
+
+        // region 3 by density, the backward specific volume isn't exactly consistent
+        for (double[] x : new double[][]{{500, 650}, {200, 645}, {322, 700}, {400, 750}}) {
+            double rho = x[0], T = x[1];
+            MutableThermodynamicState expected = new MutableThermodynamicState();
+            Regions.REGION3.stateRhoT(rho, T, expected);
+            ThermodynamicState state = if97.stateVU(1 / rho, expected.getSpecificInternalEnergy());
+
+            assertEquals(3, state.getRegion());
+            assertEquals(T, state.getTemperature(), T * tol);
+            assertEquals(expected.getPressure(), state.getPressure(), 1e-6);
+            assertEquals(rho, state.getDensity(), rho * tol);
+        }
+
+        // wet steam, below & above 623.15 K
+        for (double[] x : new double[][]{{373.15, 0.3}, {500, 0.9}, {640, 0.5}}) {
+            double T = x[0], ps = if97.saturationPressureT(T),
+                    v1 = if97.specificVolumePT(ps, T - 1e-9), v2 = if97.specificVolumePT(ps, T + 1e-9),
+                    u1 = if97.specificInternalEnergyPT(ps, T - 1e-9), u2 = if97.specificInternalEnergyPT(ps, T + 1e-9);
+
+            if (T > 623.15) {
+                v1 = 1 / Regions.REGION3.saturatedDensityT(T, false);
+                v2 = 1 / Regions.REGION3.saturatedDensityT(T, true);
+                u1 = Regions.REGION3.specificInternalEnergyRhoT(1 / v1, T);
+                u2 = Regions.REGION3.specificInternalEnergyRhoT(1 / v2, T);
+            }
+            ThermodynamicState state = if97.stateVU(v1 + x[1] * (v2 - v1), u1 + x[1] * (u2 - u1));
+
+            assertEquals(4, state.getRegion());
+            assertEquals(T, state.getTemperature(), 1e-6);
+            assertEquals(ps, state.getPressure(), 1e-6);
+            assertEquals(x[1], state.getVapourFraction(), 1e-6);
+        }
+
+        // out-of-range: colder than 273.15 K, denser than at 100 MPa, above 100 MPa
+        for (double[] x : new double[][]{{1e-3, -100}, {9e-4, 100}, {1e-3, 1000}}) {
+            try {
+                if97.stateVU(x[0], x[1]);
+                fail("Out-of-range state accepted: " + x[0] + ", " + x[1]);
+
+            } catch (OutOfRangeException e) {
+            }
+        }
+    }
+
     @Test
     public void testSurfaceTensionT() throws OutOfRangeException {
         double tol = 1e-10;
@@ -293,6 +872,30 @@ public class IF97Test {
         }
     }
 
+    @Test
+    public void testTemperatureVU() throws OutOfRangeException {
+        double tol = 1e-9;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        IF97 engineering = new IF97(IF97.UnitSystem.ENGINEERING);
+        double[][] X = new double[][]{
+            {10, 20}, // region 1
+            {200, 300},
+            {0.5, 200}, // region 2
+            {300, 700}
+        };
+        for (double[] x : X) {
+            double p = x[0], T = x[1],
+                    v = engineering.specificVolumePT(p, T),
+                    u = engineering.specificInternalEnergyPT(p, T);
+
+            assertEquals(T, engineering.temperatureVU(v, u), (T + 273.15) * tol);
+            assertEquals(p, engineering.pressureVU(v, u), 1e-5);
+            assertEquals(engineering.specificEnthalpyPT(p, T), engineering.specificEnthalpyVU(v, u), 1e-6);
+            assertEquals(engineering.specificEntropyPT(p, T), engineering.specificEntropyVU(v, u), 1e-9);
+            assertEquals(engineering.statePT(p, T).getVapourFraction(), engineering.vapourFractionVU(v, u), 0);
+        }
+    }
+
     @Test
     public void testThermalConductivityPT() throws OutOfRangeException {
         double tol = 1e-6;
@@ -307,6 +910,63 @@ public class IF97Test {
         }
     }
 
+    @Test
+    public void testUnits() throws OutOfRangeException {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        IF97 engineering = new IF97(IF97.UnitSystem.ENGINEERING),
+                built = new IF97(Units.builder()
+                        .pressure(0.1, 0)
+                        .temperature(1, 273.15)
+                        .thermalConductivity(1e3, 0)
+                        .build());
+        double[] p = {1, 30, 300}, T = {25, 400, 1200}, out = new double[3], expected = new double[3];
+
+        // same conversions yield identical results
+        for (int i = 0; i < p.length; i++) {
+            assertEquals(engineering.specificEnthalpyPT(p[i], T[i]), built.specificEnthalpyPT(p[i], T[i]), tol);
+            assertEquals(engineering.thermalConductivityPT(p[i], T[i]), built.thermalConductivityPT(p[i], T[i]), tol);
+            assertEquals(engineering.temperaturePH(p[i], 2000), built.temperaturePH(p[i], 2000), tol);
+            assertEquals(engineering.statePT(p[i], T[i]).getSpecificVolume(),
+                    built.statePT(p[i], T[i]).getSpecificVolume(), tol);
+        }
+        engineering.specificVolumePT(p, T, expected, null);
+        built.specificVolumePT(p, T, out, null);
+        assertArrayEquals(expected, out, tol);
+
+        // degrees Fahrenheit
+        IF97 fahrenheit = new IF97(Units.builder().temperature(5d / 9, 459.67 * 5 / 9).build());
+        assertEquals(if97.specificEnthalpyPT(3, 300), fahrenheit.specificEnthalpyPT(3, 80.33), 1e-9);
+        assertEquals(80.33, fahrenheit.statePT(3, 80.33).getTemperature(), 1e-12);
+        assertEquals(212, fahrenheit.saturationTemperatureP(0.101418), 1e-3);
+
+        try {
+            fahrenheit.specificEnthalpyPT(3, 0);
+            fail("Out-of-range temperature accepted.");
+
+        } catch (OutOfRangeException e) {
+            assertEquals(32, e.getLimit(), 1e-12);
+        }
+
+        // changing the units of an instance
+        IF97 changing = new IF97();
+        changing.setUnits(Units.of(IF97.UnitSystem.ENGINEERING));
+        assertEquals(engineering.specificEnthalpyPT(1, 25), changing.specificEnthalpyPT(1, 25), tol);
+
+        try {
+            Units.builder().pressure(0, 0);
+            fail("Zero scale accepted.");
+
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            Units.builder().temperature(1, Double.NaN);
+            fail("NaN bias accepted.");
+
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
     @Test
     public void testViscosityPT() throws OutOfRangeException {
         double tol = 1e-12;
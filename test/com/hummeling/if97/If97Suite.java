@@ -30,14 +30,22 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+    com.hummeling.if97.AllocationTest.class,
+    com.hummeling.if97.CoefficientsTest.class,
+    com.hummeling.if97.GibbsBatchTest.class,
+    com.hummeling.if97.IF97CacheTest.class,
     com.hummeling.if97.IF97Test.class,
+    com.hummeling.if97.IF97TaylorCacheTest.class,
     com.hummeling.if97.Region1Test.class,
     com.hummeling.if97.Region2MetaTest.class,
     com.hummeling.if97.Region2Test.class,
     com.hummeling.if97.Region3Test.class,
     com.hummeling.if97.Region4Test.class,
     com.hummeling.if97.Region5Test.class,
-    com.hummeling.if97.RegionTest.class
+    com.hummeling.if97.RegionTest.class,
+    com.hummeling.if97.SplineTablesPHTest.class,
+    com.hummeling.if97.StateTrackerTest.class,
+    com.hummeling.if97.TraceRecorderTest.class
 })
 public class If97Suite {
 }
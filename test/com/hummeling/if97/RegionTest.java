@@ -20,6 +20,8 @@
  */
 package com.hummeling.if97;
 
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
 import org.junit.*;
 import static org.junit.Assert.*;
 
@@ -32,6 +34,152 @@ public class RegionTest {
 
     double TOLERANCE = 1e-8;
 
+    /**
+     * First calls into the library in a fresh JVM, see testInitialization.
+     */
+    public static class FirstCall {
+
+        public static void main(String[] args) throws InterruptedException {
+            final IF97 if97 = new IF97();
+
+            if (args[0].equals("saturation")) {
+                System.out.println(if97.saturationPressureT(400));
+                return;
+            }
+            final CountDownLatch start = new CountDownLatch(1);
+            Thread[] threads = {
+                new Thread() {
+                    @Override
+                    public void run() {
+                        await(start);
+                        if97.specificEnthalpyPT(3, 300);
+                    }
+                },
+                new Thread() {
+                    @Override
+                    public void run() {
+                        await(start);
+                        if97.saturationPressureT(400);
+                    }
+                }
+            };
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            start.countDown();
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        private static void await(CountDownLatch latch) {
+            try {
+                latch.await();
+
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Test
+    public void testDispatch() throws OutOfRangeException {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        double[][] pT = {{3, 300}, {30, 700}, {25, 650}, {30, 2000}};
+
+        for (double[] x : pT) {
+            double p = x[0], T = x[1];
+            Region region = Region.getRegionPT(p, T);
+            MutableThermodynamicState expected = new MutableThermodynamicState(),
+                    state = new MutableThermodynamicState();
+
+            assertEquals(region.getName(), "Region " + region.ID);
+            assertEquals(region.specificEnthalpyPT(p, T), RegionDispatch.specificEnthalpyPT(region, p, T), tol);
+            assertEquals(region.specificEntropyPT(p, T), RegionDispatch.specificEntropyPT(region, p, T), tol);
+            assertEquals(region.specificVolumePT(p, T), RegionDispatch.specificVolumePT(region, p, T), tol);
+            assertEquals(region.speedOfSoundPT(p, T), RegionDispatch.speedOfSoundPT(region, p, T), tol);
+            region.statePT(p, T, expected);
+            RegionDispatch.statePT(region, p, T, state);
+            assertEquals(expected.h, state.h, tol);
+            assertEquals(expected.kappa, state.kappa, tol);
+        }
+        Region meta = new Region2Meta();
+        assertEquals(0, meta.ID);
+        assertEquals(meta.specificEnthalpyPT(1, 450), RegionDispatch.specificEnthalpyPT(meta, 1, 450), tol);
+    }
+
+    @Test
+    public void testInitialization() throws Exception {
+        System.out.println(getClass().getSimpleName());
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+        // region classes used before Region, single-threaded & racing
+        for (String mode : new String[]{"saturation", "concurrent", "concurrent", "concurrent", "concurrent"}) {
+            Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    FirstCall.class.getName(), mode).redirectErrorStream(true).start();
+            long deadline = System.currentTimeMillis() + 30000;
+            Integer exit = null;
+
+            while (exit == null && System.currentTimeMillis() < deadline) {
+                try {
+                    exit = process.exitValue();
+
+                } catch (IllegalThreadStateException e) {
+                    Thread.sleep(50);
+                }
+            }
+            if (exit == null) {
+                process.destroy();
+                fail("Class initialization deadlocked: " + mode);
+            }
+            assertEquals("First call failed: " + mode, 0, (int) exit);
+        }
+    }
+
+    @Test
+    public void testIntPow() {
+        double tol = 1e-12;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        double[] X = new double[]{-1.7, -0.3, 0.9, 1.222, 7.1};
+
+        for (double x : X) {
+            for (int n = -41; n <= 41; n++) {
+                double expected = Math.pow(x, n);
+                assertEquals(expected, Region.intPow(x, n), Math.abs(expected) * tol);
+            }
+        }
+    }
+
+    @Test
+    public void testIsInRange() {
+        System.out.println(getClass().getSimpleName());
+        RangeStatus status = new RangeStatus();
+
+        // includes every limit of the region classification
+        for (double p = -1; p < 120; p += 0.37) {
+            for (double x = 200; x < 6000; x += 10.3) {
+                try {
+                    Region.getRegionPT(p, x);
+                    assertTrue(Region.isInRangePT(p, x, new RangeStatus()));
+
+                } catch (OutOfRangeException e) {
+                    assertFalse(Region.isInRangePT(p, x, status));
+                    assertEquals(e.getMessage(), status.toString());
+                }
+                try {
+                    Region.getRegionPH(p, x);
+                    assertTrue(Region.isInRangePH(p, x, new RangeStatus()));
+
+                } catch (OutOfRangeException e) {
+                    assertFalse(Region.isInRangePH(p, x, status));
+                    assertEquals(e.getMessage(), status.toString());
+                }
+            }
+        }
+    }
+
     @Test
     public void testPressureB23() throws OutOfRangeException {
         double tol = 1e-8;
@@ -65,6 +213,80 @@ public class RegionTest {
         }
     }
 
+    @Test
+    public void testRegionHSAllocation() throws OutOfRangeException {
+        System.out.println(getClass().getSimpleName());
+        final double[][] X = new double[][]{
+            {1200, 3},
+            {3000, 7},
+            {1900, 4},
+            {1000, 3}
+        };
+
+        AllocationTest.assertAllocationFree(new Runnable() {
+            @Override
+            public void run() {
+                for (double[] x : X) {
+                    Region.getRegionHS(x[0], x[1]);
+                }
+            }
+        }, 100000);
+    }
+
+    @Test
+    public void testRegionInstances() throws OutOfRangeException {
+        System.out.println(getClass().getSimpleName());
+        assertSame(Region.getRegionPT(3, 300), Region.getRegionPT(80, 500));
+        assertSame(Region.getRegionPT(0.0035, 300), Region.getRegionPT(30, 700));
+        assertSame(Region.getRegionPT(25, 650), Region.getRegionPT(25, 660));
+        assertSame(Region.getRegionPT(0.5, 1500), Region.getRegionPT(30, 2000));
+        assertSame(Region.getRegionPH(10, 1000), Region.getRegionPH(3, 500));
+        assertSame(Region.getRegionPH(10, 2000), Region.getRegionPH(3, 2000));
+        assertSame(Region.getRegionHS(1200, 3), Region.getRegionHS(1500, 3.4));
+        assertSame(Region.getRegionHS(1000, 3), Region.getRegionHS(1100, 3));
+    }
+
+    @Test
+    public void testRegionPHAllocation() throws OutOfRangeException {
+        System.out.println(getClass().getSimpleName());
+        final double[][] X = new double[][]{
+            {10, 1000},
+            {10, 3000},
+            {25, 2000},
+            {10, 2000},
+            {25, 5000}
+        };
+
+        AllocationTest.assertAllocationFree(new Runnable() {
+            @Override
+            public void run() {
+                for (double[] x : X) {
+                    Region.getRegionPH(x[0], x[1]);
+                }
+            }
+        }, 100000);
+    }
+
+    @Test
+    public void testRegionPTAllocation() throws OutOfRangeException {
+        System.out.println(getClass().getSimpleName());
+        final double[][] X = new double[][]{
+            {3, 300},
+            {0.0035, 300},
+            {25, 650},
+            {0.5, 1500}
+        };
+
+        AllocationTest.assertAllocationFree(new Runnable() {
+            @Override
+            public void run() {
+                for (double[] x : X) {
+                    Region.getRegionPT(x[0], x[1]);
+                }
+            }
+        }, 100000);
+    }
+
     @Test
     public void testRegionPH() throws OutOfRangeException {
         double[][] X = new double[][]{
@@ -88,6 +310,26 @@ public class RegionTest {
         }
     }
 
+    @Test
+    public void testSaturatedDensityT() throws OutOfRangeException {
+        double tol = 1e-9;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        Region3 region = Regions.REGION3;
+
+        for (double T : new double[]{623.16, 630, 640, 645, 647}) {
+            double ps = Region4.saturationPressureT(T),
+                    rho1 = region.saturatedDensityT(T, false),
+                    rho2 = region.saturatedDensityT(T, true);
+
+            // phase equilibrium: equal pressures & Gibbs free energies
+            assertTrue(rho1 > rho2);
+            assertEquals(ps, region.pressureRhoT(rho1, T), ps * tol);
+            assertEquals(ps, region.pressureRhoT(rho2, T), ps * tol);
+            assertEquals(region.specificEnthalpyRhoT(rho1, T) - T * region.specificEntropyRhoT(rho1, T),
+                    region.specificEnthalpyRhoT(rho2, T) - T * region.specificEntropyRhoT(rho2, T), 1e-2);
+        }
+    }
+
     @Test
     public void testSpecificEnthalpy1() throws OutOfRangeException {
         double tol = 1e-6;
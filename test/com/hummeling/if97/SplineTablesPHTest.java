@@ -0,0 +1,234 @@
+/*
+ * SplineTablesPHTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ralph Hummeling &lt;<a
+ * href="mailto:engineering@hummeling.com?subject=IF97%20Java%20library">engineering@hummeling.com</a>&gt;
+ */
+public class SplineTablesPHTest {
+
+    private static final double tol = 1e-5;
+    private static SplineTablesPH splines;
+
+    @BeforeClass
+    public static void setUpClass() {
+        splines = new SplineTablesPH(tol, 60, 40);
+    }
+
+    @Test
+    public void testConstructor() {
+        System.out.println(getClass().getSimpleName());
+        assertEquals(tol, splines.getTolerance(), 0);
+        assertTrue(splines.getCoverage() > 0.5);
+        assertTrue(splines.getCoverage() <= 1);
+
+        try {
+            new SplineTablesPH(0);
+            fail("Zero tolerance accepted.");
+
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            new SplineTablesPH(tol, 3, 40);
+            fail("Too few nodes accepted.");
+
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testPH() {
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+
+        for (IF97.UnitSystem unitSystem : new IF97.UnitSystem[]{IF97.UnitSystem.DEFAULT, IF97.UnitSystem.ENGINEERING}) {
+            IF97 exact = new IF97(unitSystem), spline = new IF97(unitSystem, splines);
+            double[] pressures = new double[80], enthalpies = new double[90];
+            int covered = 0;
+
+            // includes wet steam, region 5 & out-of-range points
+            for (int i = 0; i < pressures.length; i++) {
+                pressures[i] = IF97.convertFromDefault(unitSystem.PRESSURE, 3e-4 * Math.pow(1.17, i));
+            }
+            for (int j = 0; j < enthalpies.length; j++) {
+                enthalpies[j] = IF97.convertFromDefault(unitSystem.SPECIFIC_ENTHALPY, 23 + 47.3 * j);
+            }
+            for (double p : pressures) {
+                for (double h : enthalpies) {
+                    if (!Double.isNaN(splines.interpolate(IF97.convertToDefault(unitSystem.PRESSURE, p),
+                            IF97.convertToDefault(unitSystem.SPECIFIC_ENTHALPY, h), SplineTablesPH.TEMPERATURE))) {
+                        covered++;
+                    }
+                    for (int k = 0; k < 4; k++) {
+                        double expected;
+
+                        try {
+                            expected = propertyPH(exact, k, p, h);
+
+                        } catch (OutOfRangeException e) {
+                            try {
+                                propertyPH(spline, k, p, h);
+                                fail("Out-of-range point accepted: " + p + ", " + h);
+
+                            } catch (OutOfRangeException e2) {
+                                assertEquals(e.getMessage(), e2.getMessage());
+                            }
+                            continue;
+                        }
+                        double scale = k == 0 ? 273.15 : k == 1 ? 0 : 1;
+                        assertEquals(expected, propertyPH(spline, k, p, h), Math.max(Math.abs(expected), scale) * tol);
+                    }
+                }
+            }
+            assertTrue(covered > 1000);
+        }
+    }
+
+    @Test
+    public void testEntryPointsPH() {
+        System.out.println(getClass().getSimpleName());
+        IF97 spline = new IF97(IF97.UnitSystem.DEFAULT, splines);
+        int n = 0;
+        double[] pressures = new double[2000], enthalpies = new double[pressures.length];
+
+        for (double p = 0.002; p < 100; p *= 1.4) {
+            for (double h = 50; h < 4000 && n < pressures.length; h += 83.7) {
+                pressures[n] = p;
+                enthalpies[n++] = h;
+            }
+        }
+        pressures = Arrays.copyOf(pressures, n);
+        enthalpies = Arrays.copyOf(enthalpies, n);
+        double[] temperatures = new double[n], volumes = new double[n];
+        boolean[] outOfRange = new boolean[n];
+        RangeStatus status = new RangeStatus();
+
+        spline.temperaturePH(pressures, enthalpies, temperatures, outOfRange);
+        spline.specificVolumePH(pressures, enthalpies, volumes, outOfRange);
+
+        for (int i = 0; i < n; i++) {
+            double p = pressures[i], h = enthalpies[i], T, v;
+
+            try {
+                T = spline.temperaturePH(p, h);
+                v = spline.specificVolumePH(p, h);
+
+            } catch (OutOfRangeException e) {
+                assertTrue(outOfRange[i]);
+                continue;
+            }
+            assertEquals(T, temperatures[i], 0);
+            assertEquals(v, volumes[i], 0);
+            assertEquals(T, spline.temperaturePH(p, h, status), 0);
+            assertEquals(v, spline.specificVolumePH(p, h, status), 0);
+
+            // wet steam is mixed, uncovered points are solved from the equations
+            if (Double.isNaN(splines.interpolate(p, h, SplineTablesPH.TEMPERATURE))) {
+                continue;
+            }
+            ThermodynamicState state = spline.statePH(p, h);
+            double x = state.getVapourFraction();
+
+            assertEquals(T, state.getTemperature(), 0);
+
+            if (!(x > 0 && x < 1)) {
+                assertEquals(v, state.getSpecificVolume(), 0);
+                assertEquals(spline.specificEntropyPH(p, h), state.getSpecificEntropy(), 0);
+                assertEquals(spline.specificInternalEnergyPH(p, h), state.getSpecificInternalEnergy(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testWriteMap() throws IOException {
+        System.out.println(getClass().getSimpleName());
+        Path path = Files.createTempFile("if97", ".sbtl"),
+                corrupt = Files.createTempFile("if97", ".sbtl"),
+                foreign = Files.createTempFile("if97", ".sbtl");
+
+        try {
+            splines.write(path);
+            SplineTablesPH mapped = SplineTablesPH.map(path);
+
+            assertEquals(splines.getTolerance(), mapped.getTolerance(), 0);
+            assertEquals(splines.getCoverage(), mapped.getCoverage(), 0);
+
+            for (double p = 0.001; p < 100; p *= 1.3) {
+                for (double h = 50; h < 4000; h += 37.1) {
+                    for (int k = 0; k < SplineTablesPH.PROPERTIES; k++) {
+                        assertEquals(splines.interpolate(p, h, k), mapped.interpolate(p, h, k), 0);
+                    }
+                }
+            }
+
+            // flip a bit of a node value
+            byte[] bytes = Files.readAllBytes(path);
+            bytes[bytes.length / 2] ^= 1;
+            Files.write(corrupt, bytes);
+
+            try {
+                SplineTablesPH.map(corrupt);
+                fail("Corrupt table file accepted.");
+
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("checksum"));
+            }
+            Files.write(foreign, new byte[200]);
+
+            try {
+                SplineTablesPH.map(foreign);
+                fail("Foreign file accepted.");
+
+            } catch (IOException e) {
+                assertTrue(e.getMessage().startsWith("Not a spline table file"));
+            }
+        } finally {
+            // mapped files can't be deleted on some platforms
+            for (Path file : new Path[]{path, corrupt, foreign}) {
+                if (!file.toFile().delete()) {
+                    file.toFile().deleteOnExit();
+                }
+            }
+        }
+    }
+
+    private static double propertyPH(IF97 if97, int property, double p, double h) {
+
+        switch (property) {
+            case 0:
+                return if97.temperaturePH(p, h);
+            case 1:
+                return if97.specificVolumePH(p, h);
+            case 2:
+                return if97.specificEntropyPH(p, h);
+            default:
+                return if97.specificInternalEnergyPH(p, h);
+        }
+    }
+}
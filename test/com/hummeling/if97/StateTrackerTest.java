@@ -0,0 +1,215 @@
+/*
+ * StateTrackerTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import java.util.Random;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ralph Hummeling &lt;<a
+ * href="mailto:engineering@hummeling.com?subject=IF97%20Java%20library">engineering@hummeling.com</a>&gt;
+ */
+public class StateTrackerTest {
+
+    @Test
+    public void testPressureHS() {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        IF97 if97 = new IF97();
+        StateTracker tracker = new StateTracker(IF97.UnitSystem.DEFAULT);
+
+        // heating at constant entropy & expansion at constant enthalpy
+        for (double s = 0.5; s < 11; s += 0.25) {
+            for (double h = 100; h < 4200; h += 1.7) {
+                assertPressureHS(if97, tracker, h, s);
+            }
+        }
+        for (double h = 1000; h < 4000; h += 100) {
+            for (double s = 2; s < 10; s += 0.003) {
+                assertPressureHS(if97, tracker, h, s);
+            }
+        }
+        assertTrue(tracker.getHits() > 10 * tracker.getMisses());
+
+        tracker.reset();
+        assertEquals(0, tracker.getHits());
+        assertEquals(0, tracker.getMisses());
+    }
+
+    @Test
+    public void testTemperaturePH() {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        IF97 if97 = new IF97();
+        StateTracker tracker = new StateTracker(IF97.UnitSystem.DEFAULT);
+
+        // heating at constant pressure through all regions
+        for (double p = 0.0006; p < 100; p *= 1.25) {
+            for (double h = 0; h < 4500; h += 2.3) {
+                assertTemperaturePH(if97, tracker, p, h);
+            }
+        }
+        // boundary enthalpies are evaluated once per pressure
+        assertTrue(tracker.getHits() > 100 * tracker.getMisses());
+
+        // compression at constant enthalpy, e.g. near the critical point
+        for (double h = 1500; h < 3000; h += 25) {
+            for (double p = 10; p < 100; p += 0.03) {
+                assertTemperaturePH(if97, tracker, p, h);
+            }
+        }
+    }
+
+    @Test
+    public void testTemperaturePHDriftingPressure() {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        IF97 if97 = new IF97();
+        StateTracker tracker = new StateTracker(IF97.UnitSystem.DEFAULT);
+        Random random = new Random(97);
+
+        // slow drifts in regions 1, 2, 3a, 3b & 5, away from their boundaries
+        double[][] starts = {{10, 500}, {1, 3000}, {50, 1600}, {30, 2600}, {20, 4500}};
+
+        for (double[] start : starts) {
+            double p = start[0], h = start[1];
+
+            for (int i = 0; i < 20000; i++) {
+                p *= 1 + 1e-4 * random.nextGaussian();
+                h += 0.1 * random.nextGaussian();
+                assertTemperaturePH(if97, tracker, p, h);
+            }
+        }
+        // the remembered boundaries serve the nearby pressures
+        assertTrue(tracker.getMisses() < 100);
+        assertTrue(tracker.getHits() > 1000 * tracker.getMisses());
+    }
+
+    @Test
+    public void testTemperaturePHRandomWalk() {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        IF97 if97 = new IF97();
+        StateTracker tracker = new StateTracker(IF97.UnitSystem.DEFAULT);
+
+        // region changes between points on either side of a boundary
+        assertTemperaturePH(if97, tracker, 10, 1000);
+        assertTemperaturePH(if97, tracker, 10, 2000);
+        assertTemperaturePH(if97, tracker, 36.44, 2622);
+        assertTemperaturePH(if97, tracker, 36.02, 2332);
+
+        Random random = new Random(97);
+        double p = 10, h = 2000;
+
+        for (int i = 0; i < 200000; i++) {
+            p = Math.min(Math.max(p * (1 + 0.1 * random.nextGaussian()), 0.001), 100);
+            h = Math.min(Math.max(h + 50 * random.nextGaussian(), 0), 6000);
+
+            if (random.nextInt(4) == 0) {
+                // stay at the same pressure
+                assertTemperaturePH(if97, tracker, p, h);
+            }
+            assertTemperaturePH(if97, tracker, p, h);
+        }
+    }
+
+    @Test
+    public void testTemperaturePHAllocation() {
+        System.out.println(getClass().getSimpleName());
+        final StateTracker tracker = new StateTracker(IF97.UnitSystem.DEFAULT);
+
+        AllocationTest.assertAllocationFree(new Runnable() {
+            int i;
+
+            @Override
+            public void run() {
+                i++;
+                tracker.temperaturePH(10, 1000 + 1e-4 * i);
+                tracker.pressureHS(3000 + 1e-4 * i, 6.5);
+            }
+        }, 100000);
+    }
+
+    @Test
+    public void testUnitSystem() {
+        double tol = 0;
+        System.out.println(getClass().getSimpleName() + " tolerance: " + tol);
+        IF97 if97 = new IF97(IF97.UnitSystem.ENGINEERING);
+        StateTracker tracker = new StateTracker(IF97.UnitSystem.ENGINEERING);
+
+        for (double h = 3000; h < 3100; h++) {
+            assertEquals(if97.temperaturePH(100, h), tracker.temperaturePH(100, h), tol);
+            assertEquals(if97.pressureHS(h, 7), tracker.pressureHS(h, 7), tol);
+        }
+        try {
+            tracker.temperaturePH(0.001, 3000);
+            fail("Out-of-range pressure accepted.");
+
+        } catch (OutOfRangeException e) {
+            try {
+                if97.temperaturePH(0.001, 3000);
+
+            } catch (OutOfRangeException e2) {
+                assertEquals(e2.getMessage(), e.getMessage());
+            }
+        }
+    }
+
+    private static void assertPressureHS(IF97 if97, StateTracker tracker, double h, double s) {
+        double expected;
+
+        try {
+            expected = if97.pressureHS(h, s);
+
+        } catch (OutOfRangeException e) {
+            try {
+                tracker.pressureHS(h, s);
+                fail("Out-of-range point accepted: " + h + ", " + s);
+
+            } catch (OutOfRangeException e2) {
+                assertEquals(e.getMessage(), e2.getMessage());
+            }
+            return;
+        }
+        assertEquals(h + ", " + s, expected, tracker.pressureHS(h, s), 0);
+    }
+
+    private static void assertTemperaturePH(IF97 if97, StateTracker tracker, double p, double h) {
+        double expected;
+
+        try {
+            expected = if97.temperaturePH(p, h);
+
+        } catch (OutOfRangeException e) {
+            try {
+                tracker.temperaturePH(p, h);
+                fail("Out-of-range point accepted: " + p + ", " + h);
+
+            } catch (OutOfRangeException e2) {
+                assertEquals(e.getMessage(), e2.getMessage());
+            }
+            return;
+        }
+        assertEquals(p + ", " + h, expected, tracker.temperaturePH(p, h), 0);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * TraceRecorderTest.java
+ *
+ * This file is part of IF97.
+ *
+ * IF97 is free software: you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option)
+ * any later version.
+ *
+ * IF97 is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with IF97. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2014 Hummeling Engineering BV (www.hummeling.com)
+ */
+package com.hummeling.if97;
+
+import com.hummeling.if97.IF97.Function;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Ralph Hummeling &lt;<a
+ * href="mailto:engineering@hummeling.com?subject=IF97%20Java%20library">engineering@hummeling.com</a>&gt;
+ */
+public class TraceRecorderTest {
+
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        path = Files.createTempFile("if97", ".trace");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        System.out.println(getClass().getSimpleName());
+        IF97 if97 = new IF97();
+        TraceRecorder recorder = new TraceRecorder(if97, path);
+
+        recorder.specificVolumePT(3, 300);
+        recorder.close();
+        recorder.close();
+        assertEquals(if97.specificVolumePT(3, 500), recorder.specificVolumePT(3, 500), 0);
+        assertEquals(1, Trace.read(path).X.length);
+    }
+
+    @Test
+    public void testConcurrency() throws IOException, InterruptedException {
+        System.out.println(getClass().getSimpleName());
+        final int calls = 20000;
+        final TraceRecorder recorder = new TraceRecorder(new IF97(), path);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread[] threads = new Thread[4];
+
+        // more calls per thread than fit in a block
+        for (int t = 0; t < threads.length; t++) {
+            final int pressure = 1 + t;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < calls; i++) {
+                            recorder.specificEnthalpyPT(pressure, 300 + i * 1e-3);
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        recorder.close();
+        assertNull(failure.get());
+
+        Trace trace = Trace.read(path);
+        int[] count = new int[threads.length];
+
+        assertEquals(threads.length * calls, trace.X.length);
+        assertEquals(1, trace.UNITS.length);
+
+        // calls of each thread in order
+        for (int i = 0; i < trace.X.length; i++) {
+            int t = (int) trace.X[i] - 1;
+            assertEquals(300 + count[t]++ * 1e-3, trace.Y[i], 0);
+        }
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        System.out.println(getClass().getSimpleName());
+        TraceRecorder recorder = new TraceRecorder(new IF97(), path);
+
+        recorder.temperaturePH(3, 500);
+        recorder.close();
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+
+        try {
+            Trace.read(path);
+            fail("Truncated trace accepted.");
+
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Truncated trace file"));
+        }
+        Files.write(path, new byte[200]);
+
+        try {
+            Trace.read(path);
+            fail("Foreign file accepted.");
+
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Not a trace file"));
+        }
+    }
+
+    @Test
+    public void testRecord() throws IOException {
+        System.out.println(getClass().getSimpleName());
+        IF97 if97 = new IF97(IF97.UnitSystem.ENGINEERING);
+
+        try (TraceRecorder recorder = new TraceRecorder(if97, path)) {
+            assertEquals(if97.specificEnthalpyPT(30, 25), recorder.specificEnthalpyPT(30, 25), 0);
+            assertEquals(if97.temperaturePH(1, 2800), recorder.temperaturePH(1, 2800), 0);
+
+            try {
+                recorder.specificVolumePT(2000, 25);
+                fail("Out-of-range point accepted.");
+
+            } catch (OutOfRangeException e) {
+            }
+            if97.setUnitSystem(IF97.UnitSystem.DEFAULT);
+            assertEquals(if97.dynamicViscosityRhoT(1000, 300), recorder.dynamicViscosityRhoT(1000, 300), 0);
+        }
+        Trace trace = Trace.read(path);
+
+        assertArrayEquals(new Function[]{Function.SPECIFIC_ENTHALPY_PT, Function.TEMPERATURE_PH,
+            Function.SPECIFIC_VOLUME_PT, Function.DYNAMIC_VISCOSITY_RHOT}, trace.FUNCTIONS);
+        assertArrayEquals(new double[]{30, 1, 2000, 1000}, trace.X, 0);
+        assertArrayEquals(new double[]{25, 2800, 25, 300}, trace.Y, 0);
+        assertArrayEquals(new int[]{0, 0, 0, 1}, trace.UNIT);
+        assertArrayEquals(IF97.UnitSystem.ENGINEERING.UNITS.pairs(), trace.UNITS[0].pairs(), 0);
+        assertTrue(trace.UNITS[1].DEFAULT);
+    }
+
+    @Test
+    public void testSplines() throws IOException {
+        System.out.println(getClass().getSimpleName());
+        IF97 if97 = new IF97(IF97.UnitSystem.ENGINEERING.UNITS, new SplineTablesPH(1e-3, 60, 40));
+
+        // interpolated, so evaluating without the tables would differ
+        try (TraceRecorder recorder = new TraceRecorder(if97, path)) {
+            assertEquals(if97.temperaturePH(1, 2800), recorder.temperaturePH(1, 2800), 0);
+            assertNotEquals(IF97.of(IF97.UnitSystem.ENGINEERING).temperaturePH(1, 2800),
+                    recorder.temperaturePH(1, 2800), 0);
+        }
+    }
+}